@@ -23,7 +23,7 @@ package org.drasyl.channel;
 
 /**
  * Signals that the path to the remote peer has been changed from direct to relayed or vice versa.
- * Actual path type can be retrieved by calling {@link JavaDrasylChannel#isDirectPathPresent()}.
+ * Actual path type can be retrieved by calling {@link org.drasyl.channel.rs.RustDrasylChannel#isDirectPathPresent()}.
  */
 public final class ChannelDirectPathChanged {
     public static final ChannelDirectPathChanged INSTANCE = new ChannelDirectPathChanged();
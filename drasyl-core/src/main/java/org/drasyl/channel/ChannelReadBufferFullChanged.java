@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel;
+
+/**
+ * Signals that the read buffer of the channel has become full or has been drained below its low
+ * water mark again. While the read buffer is full, further messages from the remote peer are held
+ * back or dropped, so applications may want to throttle the remote peer. Actual state can be
+ * retrieved by calling {@link org.drasyl.channel.rs.RustDrasylChannel#isReadBufferFull()}.
+ */
+public final class ChannelReadBufferFullChanged {
+    public static final ChannelReadBufferFullChanged INSTANCE = new ChannelReadBufferFullChanged();
+
+    private ChannelReadBufferFullChanged() {
+        // singleton
+    }
+}
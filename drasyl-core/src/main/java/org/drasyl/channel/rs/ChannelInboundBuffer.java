@@ -41,13 +41,22 @@ public final class ChannelInboundBuffer {
             AtomicLongFieldUpdater.newUpdater(ChannelInboundBuffer.class, "totalPendingSize");
     private static final AtomicIntegerFieldUpdater<ChannelInboundBuffer> FULL_UPDATER =
             AtomicIntegerFieldUpdater.newUpdater(ChannelInboundBuffer.class, "full");
-    @SuppressWarnings({ "FieldCanBeLocal", "UnusedDeclaration" })
+    private static final AtomicIntegerFieldUpdater<ChannelInboundBuffer> HOLDING_SIZE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(ChannelInboundBuffer.class, "holdingSize");
+    private static final AtomicLongFieldUpdater<ChannelInboundBuffer> DROPPED_MESSAGES_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(ChannelInboundBuffer.class, "droppedMessages");
     private final RustDrasylChannel channel;
     private final Queue<ByteBuf> queue = PlatformDependent.newMpscQueue();
+    // messages held back while the buffer is full
+    private final Queue<ByteBuf> holdingQueue = PlatformDependent.newMpscQueue();
     @SuppressWarnings("UnusedDeclaration")
     private volatile long totalPendingSize;
     @SuppressWarnings("UnusedDeclaration")
     private volatile int full;
+    @SuppressWarnings("UnusedDeclaration")
+    private volatile int holdingSize;
+    @SuppressWarnings("UnusedDeclaration")
+    private volatile long droppedMessages;
 
     ChannelInboundBuffer(final RustDrasylChannel channel) {
         this.channel = requireNonNull(channel);
@@ -59,6 +68,55 @@ public final class ChannelInboundBuffer {
         incrementPendingInboundBytes(size);
     }
 
+    /**
+     * Adds {@code msg} to this buffer if the buffer is not full. Otherwise, {@code msg} is held back
+     * until the buffer has fallen below its low water mark again. If already
+     * {@code holdingCapacity} messages are held back, {@code msg} is released and counted as
+     * dropped. Messages are always read in the order they were offered.
+     *
+     * @return {@code true} if {@code msg} was added or held back, {@code false} if it was dropped
+     */
+    public boolean offerMessage(final ByteBuf msg, final int holdingCapacity) {
+        if (holdingSize <= 0 && isNotFull()) {
+            addMessage(msg);
+            return true;
+        }
+        else if (holdingSize < holdingCapacity) {
+            holdingQueue.add(msg);
+            HOLDING_SIZE_UPDATER.incrementAndGet(this);
+            return true;
+        }
+        else {
+            DROPPED_MESSAGES_UPDATER.incrementAndGet(this);
+            msg.release();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of messages that have been dropped by
+     * {@link #offerMessage(ByteBuf, int)}.
+     */
+    public long droppedMessages() {
+        return droppedMessages;
+    }
+
+    /**
+     * Moves held back messages to the buffer until it is full again. Must only be called by the
+     * reader of this buffer.
+     */
+    private void drainHoldingQueue() {
+        while (isNotFull()) {
+            final ByteBuf msg = holdingQueue.poll();
+            if (msg == null) {
+                break;
+            }
+            addMessage(msg);
+            // decrement after msg has been added to ensure offerMessage can not overtake msg
+            HOLDING_SIZE_UPDATER.decrementAndGet(this);
+        }
+    }
+
     /**
      * Increment the pending bytes which will be read at some point. This method is thread-safe!
      */
@@ -92,6 +150,9 @@ public final class ChannelInboundBuffer {
             final int oldValue = full;
             final int newValue = oldValue & ~1;
             if (FULL_UPDATER.compareAndSet(this, oldValue, newValue)) {
+                if (oldValue != newValue) {
+                    channel.fireReadBufferFullChanged();
+                }
                 break;
             }
         }
@@ -102,6 +163,9 @@ public final class ChannelInboundBuffer {
             final int oldValue = full;
             final int newValue = oldValue | 1;
             if (FULL_UPDATER.compareAndSet(this, oldValue, newValue)) {
+                if (oldValue != newValue) {
+                    channel.fireReadBufferFullChanged();
+                }
                 break;
             }
         }
@@ -120,10 +184,17 @@ public final class ChannelInboundBuffer {
      * {@code null} if nothing is there to read.
      */
     public ByteBuf remove() {
-        final ByteBuf current = queue.poll();
+        ByteBuf current = queue.poll();
+        if (current == null && holdingSize != 0) {
+            drainHoldingQueue();
+            current = queue.poll();
+        }
         if (current != null) {
             final int size = current.readableBytes();
             decrementPendingInboundBytes(size);
+            if (holdingSize != 0) {
+                drainHoldingQueue();
+            }
         }
         return current;
     }
@@ -133,7 +204,7 @@ public final class ChannelInboundBuffer {
      * {@link ChannelInboundBuffer} or {@code false} otherwise.
      */
     public boolean isEmpty() {
-        return queue.isEmpty();
+        return queue.isEmpty() && holdingQueue.isEmpty();
     }
 
     public void close() {
@@ -141,5 +212,8 @@ public final class ChannelInboundBuffer {
         while ((msg = queue.poll()) != null) {
             ReferenceCountUtil.release(msg);
         }
+        while ((msg = holdingQueue.poll()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
     }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel.rs;
+
+import org.drasyl.identity.DrasylAddress;
+import org.drasyl.identity.IdentityPublicKey;
+import org.drasyl.util.logging.Logger;
+import org.drasyl.util.logging.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.drasyl.util.InetSocketAddressUtil.socketAddressFromString;
+import static org.drasyl.util.InetSocketAddressUtil.socketAddressToString;
+
+/**
+ * File-based discovery of nodes running on the same host. Every node writes its UDP endpoint to
+ * {@code <path>/<networkId>/<publicKey>.txt} and periodically refreshes this file. Files that have
+ * not been refreshed within the lease time are considered outdated.
+ */
+final class LocalHostDiscovery {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalHostDiscovery.class);
+    static final String FILE_SUFFIX = ".txt";
+
+    private LocalHostDiscovery() {
+        // util class
+    }
+
+    /**
+     * Returns the endpoints of all up-to-date nodes found in {@code path} for network
+     * {@code networkId}. {@code self} is excluded.
+     */
+    static Map<DrasylAddress, InetSocketAddress> discover(final Path path,
+                                                          final int networkId,
+                                                          final Duration leaseTime,
+                                                          final DrasylAddress self) {
+        final Path directory = directory(path, networkId);
+        final Map<DrasylAddress, InetSocketAddress> endpoints = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return endpoints;
+        }
+
+        final long minLastModified = System.currentTimeMillis() - leaseTime.toMillis();
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (final Path file : files) {
+                final String fileName = file.getFileName().toString();
+                try {
+                    final IdentityPublicKey publicKey = IdentityPublicKey.of(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()));
+                    if (!publicKey.equals(self) && Files.getLastModifiedTime(file).toMillis() >= minLastModified) {
+                        endpoints.put(publicKey, socketAddressFromString(Files.readString(file, UTF_8).trim()));
+                    }
+                }
+                catch (final IOException | IllegalArgumentException e) {
+                    LOG.debug("Ignore invalid local host discovery file `{}`.", file, e);
+                }
+            }
+        }
+        catch (final IOException e) {
+            LOG.warn("Unable to search `{}` for other nodes.", directory, e);
+        }
+
+        return endpoints;
+    }
+
+    /**
+     * Writes (or refreshes) the file announcing {@code endpoint} for {@code self}.
+     */
+    static void register(final Path path,
+                         final int networkId,
+                         final DrasylAddress self,
+                         final InetSocketAddress endpoint) throws IOException {
+        final Path directory = Files.createDirectories(directory(path, networkId));
+        // write to temporary file first, so that other nodes will never read partial files
+        final Path tmpFile = Files.createTempFile(directory, self.toString(), ".tmp");
+        try {
+            Files.writeString(tmpFile, socketAddressToString(endpoint), UTF_8);
+            Files.move(tmpFile, file(path, networkId, self), REPLACE_EXISTING, ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Removes the file written by {@link #register(Path, int, DrasylAddress, InetSocketAddress)}.
+     */
+    static void unregister(final Path path,
+                           final int networkId,
+                           final DrasylAddress self) throws IOException {
+        Files.deleteIfExists(file(path, networkId, self));
+    }
+
+    private static Path directory(final Path path, final int networkId) {
+        return path.resolve(String.valueOf(networkId));
+    }
+
+    private static Path file(final Path path, final int networkId, final DrasylAddress self) {
+        return directory(path, networkId).resolve(self.toString() + FILE_SUFFIX);
+    }
+}
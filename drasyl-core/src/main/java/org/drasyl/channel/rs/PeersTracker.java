@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel.rs;
+
+import org.drasyl.identity.DrasylAddress;
+import org.drasyl.identity.IdentityPublicKey;
+import org.drasyl.util.internal.UnstableApi;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_peers_list;
+import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_pk;
+import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_reachable;
+import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_super_peer;
+import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers;
+import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers_free;
+import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers_len;
+import static org.drasyl.channel.rs.Libdrasyl.ensureSuccess;
+import static java.util.Objects.requireNonNull;
+import static org.drasyl.identity.IdentityPublicKey.KEY_LENGTH_AS_BYTES;
+
+/**
+ * Keeps a snapshot of the peers known to libdrasyl. The snapshot is stored in primitive arrays, so
+ * polling a stable topology does not create any objects. On each {@link #poll(long)}, only peers
+ * whose reachability has changed are reported to the {@link Listener}s. Peers that are no longer
+ * listed are reported as unreachable. A peer is reachable if a direct path to it is present.
+ * <p>
+ * This class is thread-safe. Listeners are notified in order while holding the tracker's lock.
+ */
+@UnstableApi
+public class PeersTracker {
+    static final byte SUPER_PEER = 1;
+    static final byte REACHABLE = 2;
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private final byte[] addrScratch = new byte[Long.BYTES];
+    private final byte[] pkScratch = new byte[KEY_LENGTH_AS_BYTES];
+    // current snapshot
+    private byte[] keys = new byte[0];
+    private byte[] flags = new byte[0];
+    private int size;
+    // open-addressed index over the current snapshot. Holds entry index + 1, 0 means empty slot
+    private int[] index = new int[2];
+    // buffers of the previous snapshot, reused for the next one
+    private byte[] nextKeys = new byte[0];
+    private byte[] nextFlags = new byte[0];
+    private boolean[] seen = new boolean[0];
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    // libdrasyl reports static routes as super peers
+    private byte[][] staticRoutes = new byte[0][];
+    private volatile int reachableSuperPeers;
+    private volatile long lastPollNanos;
+
+    /**
+     * Polls the current peers from libdrasyl node {@code bind} and reports changes to the
+     * {@link Listener}s.
+     *
+     * @return {@code true} if the reachability of at least one peer has changed
+     */
+    public synchronized boolean poll(final long bind) {
+        ensureSuccess(drasyl_node_peers_list(bind, addrScratch));
+        final long peersList = (long) LONG_VIEW.get(addrScratch, 0);
+        ensureSuccess(drasyl_peers_list_peers(peersList, addrScratch));
+        final long peers = (long) LONG_VIEW.get(addrScratch, 0);
+
+        final int peersLen;
+        try {
+            peersLen = (int) drasyl_peers_list_peers_len(peers);
+            if (nextFlags.length < peersLen) {
+                nextKeys = new byte[peersLen * KEY_LENGTH_AS_BYTES];
+                nextFlags = new byte[peersLen];
+            }
+            for (int i = 0; i < peersLen; i++) {
+                ensureSuccess(drasyl_peers_list_peer_pk(peers, i, pkScratch));
+                System.arraycopy(pkScratch, 0, nextKeys, i * KEY_LENGTH_AS_BYTES, KEY_LENGTH_AS_BYTES);
+                byte peerFlags = 0;
+                if (ensureSuccess(drasyl_peers_list_peer_super_peer(peers, i)) == 1 && !isStaticRoute(pkScratch)) {
+                    peerFlags |= SUPER_PEER;
+                }
+                if (ensureSuccess(drasyl_peers_list_peer_reachable(peers, i)) == 1) {
+                    peerFlags |= REACHABLE;
+                }
+                nextFlags[i] = peerFlags;
+            }
+        }
+        finally {
+            ensureSuccess(drasyl_peers_list_peers_free(peers));
+        }
+
+        return update(nextKeys, nextFlags, peersLen);
+    }
+
+    private boolean isStaticRoute(final byte[] key) {
+        for (final byte[] staticRoute : staticRoutes) {
+            if (Arrays.equals(staticRoute, key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the peers that have been passed to libdrasyl as super peers only to establish static
+     * routes. These peers will not be reported as super peers.
+     */
+    public synchronized void staticRoutes(final Collection<? extends DrasylAddress> staticRoutes) {
+        this.staticRoutes = staticRoutes.stream().map(DrasylAddress::toByteArray).toArray(byte[][]::new);
+    }
+
+    /**
+     * Replaces the current snapshot with the given one and reports changes to the
+     * {@link Listener}s. The tracker takes ownership of {@code newKeys} and {@code newFlags}.
+     *
+     * @return {@code true} if the reachability of at least one peer has changed
+     */
+    synchronized boolean update(final byte[] newKeys, final byte[] newFlags, final int newSize) {
+        lastPollNanos = System.nanoTime();
+        if (seen.length < size) {
+            seen = new boolean[size];
+        }
+
+        boolean changed = false;
+        int newReachableSuperPeers = 0;
+        for (int i = 0; i < newSize; i++) {
+            final byte newPeerFlags = newFlags[i];
+            if ((newPeerFlags & (SUPER_PEER | REACHABLE)) == (SUPER_PEER | REACHABLE)) {
+                newReachableSuperPeers++;
+            }
+
+            final int j = indexOf(newKeys, i);
+            byte oldPeerFlags = 0;
+            if (j != -1) {
+                oldPeerFlags = flags[j];
+                seen[j] = true;
+            }
+            if (((oldPeerFlags ^ newPeerFlags) & REACHABLE) != 0) {
+                changed = true;
+                notify(newKeys, i, newPeerFlags);
+            }
+        }
+        for (int j = 0; j < size; j++) {
+            if (!seen[j] && (flags[j] & REACHABLE) != 0) {
+                // peer is gone
+                changed = true;
+                notify(keys, j, (byte) (flags[j] & ~REACHABLE));
+            }
+            seen[j] = false;
+        }
+
+        nextKeys = keys;
+        nextFlags = flags;
+        keys = newKeys;
+        flags = newFlags;
+        size = newSize;
+        reachableSuperPeers = newReachableSuperPeers;
+        rebuildIndex();
+
+        return changed;
+    }
+
+    /**
+     * Returns the number of reachable super peers contained in the current snapshot.
+     */
+    public int reachableSuperPeers() {
+        return reachableSuperPeers;
+    }
+
+    /**
+     * Returns the value of {@link System#nanoTime()} at the time of the last poll, or {@code 0} if
+     * no poll has taken place yet.
+     */
+    public long lastPollNanos() {
+        return lastPollNanos;
+    }
+
+    /**
+     * Returns {@code true} if {@code peer} is reachable according to the current snapshot.
+     */
+    public synchronized boolean isReachable(final DrasylAddress peer) {
+        final int j = indexOf(peer.toByteArray(), 0);
+        return j != -1 && (flags[j] & REACHABLE) != 0;
+    }
+
+    /**
+     * Adds a {@link Listener} notified about reachability changes.
+     */
+    public void addListener(final Listener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    /**
+     * Removes a {@link Listener} previously added by {@link #addListener(Listener)}.
+     */
+    public void removeListener(final Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notify(final byte[] keys,
+                        final int i,
+                        final byte peerFlags) {
+        if (!listeners.isEmpty()) {
+            final int from = i * KEY_LENGTH_AS_BYTES;
+            final IdentityPublicKey peer = IdentityPublicKey.of(Arrays.copyOfRange(keys, from, from + KEY_LENGTH_AS_BYTES));
+            for (final Listener listener : listeners) {
+                listener.peerChanged(peer, (peerFlags & SUPER_PEER) != 0, (peerFlags & REACHABLE) != 0);
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the {@code i}-th key of {@code otherKeys} in the current snapshot or
+     * {@code -1}.
+     */
+    private int indexOf(final byte[] otherKeys, final int i) {
+        final int from = i * KEY_LENGTH_AS_BYTES;
+        // fast path: peers are usually listed in the same order
+        if (i < size && Arrays.equals(keys, from, from + KEY_LENGTH_AS_BYTES, otherKeys, from, from + KEY_LENGTH_AS_BYTES)) {
+            return i;
+        }
+
+        final int mask = index.length - 1;
+        for (int slot = hash(otherKeys, from) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            final int j = index[slot] - 1;
+            final int jFrom = j * KEY_LENGTH_AS_BYTES;
+            if (Arrays.equals(keys, jFrom, jFrom + KEY_LENGTH_AS_BYTES, otherKeys, from, from + KEY_LENGTH_AS_BYTES)) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    private void rebuildIndex() {
+        final int capacity = Math.max(2, Integer.highestOneBit(Math.max(size, 1)) << 2);
+        if (index.length != capacity) {
+            index = new int[capacity];
+        }
+        else {
+            Arrays.fill(index, 0);
+        }
+
+        final int mask = capacity - 1;
+        for (int j = 0; j < size; j++) {
+            int slot = hash(keys, j * KEY_LENGTH_AS_BYTES) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = j + 1;
+        }
+    }
+
+    private static int hash(final byte[] keys, final int from) {
+        // public keys are uniformly distributed
+        final long hash = (long) LONG_VIEW.get(keys, from);
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Gets notified about peers whose reachability has changed.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void peerChanged(IdentityPublicKey peer, boolean superPeer, boolean reachable);
+    }
+}
@@ -34,10 +34,13 @@ import io.netty.channel.DefaultAddressedEnvelope;
 import io.netty.channel.DefaultChannelConfig;
 import io.netty.channel.EventLoop;
 import io.netty.channel.RecvByteBufAllocator.Handle;
+import io.netty.channel.VoidChannelPromise;
 import io.netty.util.concurrent.Future;
 import io.netty.util.internal.InternalThreadLocalMap;
 import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.StringUtil;
+import org.drasyl.channel.ChannelDirectPathChanged;
+import org.drasyl.channel.ChannelReadBufferFullChanged;
 import org.drasyl.channel.DrasylChannel;
 import org.drasyl.identity.DrasylAddress;
 import org.drasyl.identity.Identity;
@@ -49,8 +52,7 @@ import java.net.SocketAddress;
 import java.nio.channels.AlreadyConnectedException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.NotYetConnectedException;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static java.util.Objects.requireNonNull;
@@ -74,11 +76,6 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
     private static final AtomicReferenceFieldUpdater<RustDrasylChannel, Future> FINISH_READ_FUTURE_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(RustDrasylChannel.class, Future.class, "finishReadFuture");
 
-    public boolean isDirectPathPresent() {
-        // FIXME
-        throw new RuntimeException("not implemented yet");
-    }
-
     enum State {OPEN, CONNECTED, CLOSED}
 
     private static final ChannelMetadata METADATA = new ChannelMetadata(false);
@@ -89,13 +86,30 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
             readInbound();
         }
     };
+    private final Runnable finishReadTask = this::finishRead0;
+    private final Runnable fireDirectPathChangedTask = () -> pipeline().fireUserEventTriggered(ChannelDirectPathChanged.INSTANCE);
+    private final Runnable fireReadBufferFullChangedTask = () -> pipeline().fireUserEventTriggered(ChannelReadBufferFullChanged.INSTANCE);
     private volatile State state;
     private volatile Identity identity; // NOSONAR
     private final DrasylAddress remoteAddress;
+    // passed to libdrasyl on every send
+    private final byte[] remoteAddressBytes;
+    private final ChannelPromise parentVoidPromise;
     private volatile boolean readInProgress;
     private volatile boolean writeInProgress;
     private volatile Future<?> finishReadFuture;
     volatile ChannelPromise registeredPromise;
+    private volatile boolean directPathPresent;
+    // intra VM binding, only accessed by this channel's event loop
+    private int intraVmPeerVersion = -1;
+    private RustDrasylServerChannel intraVmPeerServerChannel;
+    private RustDrasylChannel intraVmPeer;
+    // only accessed by the RustDrasylServerChannel's read loop processing this channel's messages
+    // (the read loop itself, or the shard read loop selected by the remote address)
+    boolean readCompletePending;
+    // number of messages that are passed over via registeredPromise's listeners and have not been
+    // queued yet. As long as this is not zero, subsequent messages must take the same route
+    final AtomicInteger pendingHandovers = new AtomicInteger();
 
     @UnstableApi
     RustDrasylChannel(final Channel parent,
@@ -106,7 +120,9 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
         this.state = state;
         this.identity = requireNonNull(identity);
         this.remoteAddress = remoteAddress;
+        this.remoteAddressBytes = remoteAddress != null ? remoteAddress.toByteArray() : null;
         this.registeredPromise = pipeline().newPromise();
+        this.parentVoidPromise = parent != null ? new VoidChannelPromise(parent, false) : null;
     }
 
     RustDrasylChannel(final RustDrasylServerChannel parent,
@@ -144,6 +160,14 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
 
     @Override
     protected void doRegister() {
+        // seed after this channel has been made known to the parent, from now on changes are
+        // passed by the parent
+        if (parent() != null) {
+            final PeersTracker peersTracker = parent().peersTracker();
+            synchronized (peersTracker) {
+                directPathPresent = peersTracker.isReachable(remoteAddress);
+            }
+        }
         state = CONNECTED;
         eventLoop().execute(() -> registeredPromise.setSuccess());
     }
@@ -167,6 +191,9 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
         state = State.CLOSED;
 
         readInProgress = false;
+        intraVmPeerVersion = -1;
+        intraVmPeerServerChannel = null;
+        intraVmPeer = null;
         unsafe().inboundBuffer().close();
     }
 
@@ -239,6 +266,62 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
         unsafe().inboundBuffer().addMessage(msg);
     }
 
+    /**
+     * Places {@code msg} in the queue for inbound messages like {@link #queueRead(ByteBuf)}. If the
+     * read buffer is full, {@code msg} is held back until the read buffer has been drained. If
+     * already {@code holdingQueueCapacity} messages are held back, {@code msg} is dropped.
+     *
+     * @return {@code true} if {@code msg} was queued or held back, {@code false} if it was dropped
+     */
+    boolean offerRead(final ByteBuf msg, final int holdingQueueCapacity) {
+        return unsafe().inboundBuffer().offerMessage(msg, holdingQueueCapacity);
+    }
+
+    /**
+     * Returns the number of inbound messages from the remote peer that have been dropped because
+     * the read buffer of this channel was full.
+     */
+    public long messagesDropped() {
+        return unsafe().inboundBuffer().droppedMessages();
+    }
+
+    /**
+     * Returns the remote address as byte array. The returned array must not be modified.
+     */
+    byte[] remoteAddressBytes() {
+        return remoteAddressBytes;
+    }
+
+    /**
+     * Returns {@code true} if a direct path to the remote peer is present. Otherwise, messages are
+     * relayed by a super peer. Changes are signaled by {@link ChannelDirectPathChanged}.
+     */
+    public boolean isDirectPathPresent() {
+        return directPathPresent;
+    }
+
+    /**
+     * Updates {@link #isDirectPathPresent()} and fires {@link ChannelDirectPathChanged} through the
+     * pipeline if the value has changed.
+     */
+    void directPathPresent(final boolean directPathPresent) {
+        if (this.directPathPresent != directPathPresent) {
+            this.directPathPresent = directPathPresent;
+            if (isRegistered()) {
+                eventLoop().execute(fireDirectPathChangedTask);
+            }
+        }
+    }
+
+    /**
+     * Fires {@link ChannelReadBufferFullChanged} through the pipeline.
+     */
+    void fireReadBufferFullChanged() {
+        if (isRegistered()) {
+            eventLoop().execute(fireReadBufferFullChangedTask);
+        }
+    }
+
     /**
      * This method start processing (if any) queued inbound messages. This method ensures that
      * read/write order is respected. Therefore, if channel is currently writing, these writes are
@@ -278,10 +361,10 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
     private void runFinishReadTask() {
         try {
             if (writeInProgress) {
-                finishReadFuture = eventLoop().submit(this::finishRead0);
+                finishReadFuture = eventLoop().submit(finishReadTask);
             }
             else {
-                eventLoop().execute(this::finishRead0);
+                eventLoop().execute(finishReadTask);
             }
         }
         catch (final Throwable cause) {
@@ -310,8 +393,10 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
 
         writeInProgress = true;
         boolean doParentFlush = false;
-        final Set<RustDrasylChannel> intraVmChannelsWrittenTo = new HashSet<>();
+        RustDrasylChannel intraVmChannelWrittenTo = null;
         try {
+            resolveIntraVmPeer();
+
             while (true) {
                 final ByteBuf buf = (ByteBuf) in.current();
                 if (buf == null) {
@@ -319,18 +404,23 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
                 }
 
                 // Intra VM
-                final RustDrasylServerChannel peerServerChannel = RustDrasylServerChannel.serverChannels.get(remoteAddress);
-                if (peerServerChannel != null) {
-                    final RustDrasylChannel drasylChannel = peerServerChannel.getChannel(identity.getAddress());
-                    if (drasylChannel != null) {
+                if (intraVmPeerServerChannel != null) {
+                    if (intraVmPeer == null) {
+                        final RustDrasylChannel drasylChannel = intraVmPeerServerChannel.getChannel(identity.getAddress());
+                        if (drasylChannel != null && drasylChannel.registeredPromise.isSuccess() && drasylChannel.isOpen()) {
+                            intraVmPeer = drasylChannel;
+                        }
+                    }
+
+                    if (intraVmPeer != null) {
                         LOG.trace("Pass message via IntraVm to peer `{}`.", remoteAddress);
-                        drasylChannel.queueRead(buf.retain());
-                        intraVmChannelsWrittenTo.add(drasylChannel);
+                        intraVmPeer.queueRead(buf.retain());
+                        intraVmChannelWrittenTo = intraVmPeer;
                     }
                     else {
                         buf.retain();
                         final boolean lastMsg = in.size() == 1;
-                        peerServerChannel.serve(identity.getAddress()).addListener((ChannelFutureListener) future -> {
+                        intraVmPeerServerChannel.serve(identity.getAddress()).addListener((ChannelFutureListener) future -> {
                             if (future.isSuccess()) {
                                 final RustDrasylChannel drasylChannel1 = (RustDrasylChannel) future.channel();
                                 LOG.trace("Pass message via IntraVm to peer `{}`.", remoteAddress);
@@ -352,7 +442,7 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
 
                     if (parent().isWritable()) {
                         doParentFlush = true;
-                        parent().write(inetMsg);
+                        parent().write(inetMsg, parentVoidPromise);
                     }
                     else {
                         break;
@@ -370,8 +460,21 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
             parent().flush();
         }
 
-        for (final RustDrasylChannel channel : intraVmChannelsWrittenTo) {
-            channel.finishRead();
+        if (intraVmChannelWrittenTo != null) {
+            intraVmChannelWrittenTo.finishRead();
+        }
+    }
+
+    /**
+     * Resolves the server channel of the remote peer if it lives in the same VM. The result is
+     * cached until the set of intra VM server channels changes or the peer's channel is closed.
+     */
+    private void resolveIntraVmPeer() {
+        final int version = RustDrasylServerChannel.SERVER_CHANNELS_VERSION.get();
+        if (version != intraVmPeerVersion || (intraVmPeer != null && !intraVmPeer.isOpen())) {
+            intraVmPeerServerChannel = RustDrasylServerChannel.serverChannels.get(remoteAddress);
+            intraVmPeer = null;
+            intraVmPeerVersion = version;
         }
     }
 
@@ -407,7 +510,7 @@ public class RustDrasylChannel extends AbstractChannel implements DrasylChannel
 
     /**
      * Returns {@code true} if and only if the total number of pending bytes exceed the read
-     * watermark of this channel.
+     * watermark of this channel. Changes are signaled by {@link ChannelReadBufferFullChanged}.
      */
     public boolean isReadBufferFull() {
         return !unsafe().inboundBuffer().isNotFull();
@@ -23,7 +23,6 @@ package org.drasyl.channel.rs;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.AbstractServerChannel;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
@@ -41,12 +40,16 @@ import io.netty.channel.EventLoop;
 import io.netty.channel.RecvByteBufAllocator;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.Future;
+import io.netty.util.internal.PlatformDependent;
+import io.netty.util.internal.SystemPropertyUtil;
 import org.drasyl.channel.DrasylChannel;
 import org.drasyl.channel.DrasylServerChannel;
 import org.drasyl.identity.DrasylAddress;
 import org.drasyl.identity.Identity;
 import org.drasyl.identity.IdentityPublicKey;
-import org.drasyl.util.Pair;
+import org.drasyl.identity.IdentityPublicKeyCache;
 import org.drasyl.util.internal.UnstableApi;
 import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
@@ -56,14 +59,19 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.drasyl.channel.rs.Libdrasyl.MAX_PEERS_DEFAULT;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_bind;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_bind_free;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_opts_builder_arm_messages;
@@ -82,14 +90,8 @@ import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_opts_builder_super_pee
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_opts_builder_udp_port;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_opts_builder_udp_port_none;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_opts_mtu;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_peers_list;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_send_to;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_pk;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_reachable;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_super_peer;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers_free;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers_len;
+import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_udp_port;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_recv_buf_free;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_recv_buf_len;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_recv_buf_new;
@@ -97,6 +99,8 @@ import static org.drasyl.channel.rs.Libdrasyl.drasyl_recv_buf_recv;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_recv_buf_rx;
 import static org.drasyl.channel.rs.Libdrasyl.drasyl_recv_buf_tx;
 import static org.drasyl.channel.rs.Libdrasyl.ensureSuccess;
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.DEFAULT_SUPER_PEERS;
+import static org.drasyl.util.PlatformDependent.currentThreadAllocatedBytes;
 
 /**
  * A virtual {@link io.netty.channel.ServerChannel} used for overlay network management. This
@@ -112,7 +116,20 @@ import static org.drasyl.channel.rs.Libdrasyl.ensureSuccess;
 public class RustDrasylServerChannel extends AbstractServerChannel implements DrasylServerChannel {
     private static final Logger LOG = LoggerFactory.getLogger(RustDrasylServerChannel.class);
     public static final byte[] TIMEOUT_SENDER = new byte[IdentityPublicKey.KEY_LENGTH_AS_BYTES];
+    static final int SENDER_CACHE_MIN_CAPACITY = 64;
+    static final int SENDER_CACHE_MAX_CAPACITY = 1 << 16;
+    public static final long PEERS_SNAPSHOT_MAX_AGE_NANOS = 100_000_000L;
+    static final long PEERS_MIN_POLL_INTERVAL_MS = 100;
+    static final long PEERS_MAX_POLL_INTERVAL_MS = 1_600;
+    static final int SEND_STAGING_INITIAL_CAPACITY = 1_500;
+    // reading from libdrasyl is suspended while a read loop has this many batches pending
+    static final int MAX_PENDING_BATCHES_PER_READ_LOOP = 16;
+    // read loops are shut down without quiet period. Pending batches are still processed
+    static final long READ_LOOP_SHUTDOWN_TIMEOUT_MS = 1_000;
+    static final boolean RECV_ALLOCATION_TRACKING = SystemPropertyUtil.getBoolean("org.drasyl.channel.rs.recv-allocation-tracking", false);
     static Map<DrasylAddress, RustDrasylServerChannel> serverChannels = new ConcurrentHashMap<>();
+    // incremented on every change of serverChannels, used to invalidate cached intra VM bindings
+    static final AtomicInteger SERVER_CHANNELS_VERSION = new AtomicInteger();
     public long bind;
     private int mtu;
     private long recvBuf;
@@ -128,7 +145,19 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
     private final EventLoop readLoop = new DefaultEventLoop();
     private boolean readPending;
     final Runnable readTask = this::doRead;
-    private final List<Object> readBuf = new ArrayList<>();
+    // the following fields are only accessed by the readLoop and are reused across doRead() runs
+    private final byte[] recvSenderBytes = new byte[IdentityPublicKey.KEY_LENGTH_AS_BYTES];
+    private byte[] recvPayloadBytes;
+    private IdentityPublicKeyCache senderCache;
+    private final ReadBatch readBatch = new ReadBatch(null);
+    ReadShard[] readShards;
+    private volatile long messagesRead;
+    private volatile long bytesAllocatedWhileReading;
+    private final LongAdder messagesDropped = new LongAdder();
+    private final PeersTracker peersTracker = new PeersTracker();
+    private final Runnable pollPeersTask = this::pollPeers;
+    private final Runnable announceLocalHostTask = this::announceLocalHost;
+    private long peersPollInterval = PEERS_MIN_POLL_INTERVAL_MS;
 
     @SuppressWarnings("java:S2384")
     RustDrasylServerChannel(final State state,
@@ -182,6 +211,11 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
             ensureSuccess(drasyl_node_opts_builder_network_id(builder, config().getNetworkId()));
         }
 
+        // sized to hold all peers libdrasyl will track with a few spare slots to keep probe
+        // sequences short
+        final long maxPeers = config().getMaxPeers() != null ? config().getMaxPeers() : MAX_PEERS_DEFAULT;
+        senderCache = new IdentityPublicKeyCache((int) Math.max(SENDER_CACHE_MIN_CAPACITY, Math.min(2 * maxPeers, SENDER_CACHE_MAX_CAPACITY)));
+
         final long recvBufCap = config().getRecvBufCap();
         recvBuf = drasyl_recv_buf_new(recvBufCap);
         final long recvBufTx = drasyl_recv_buf_tx(recvBuf);
@@ -209,16 +243,24 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
         if (config().getHelloMaxAge() != null) {
             ensureSuccess(drasyl_node_opts_builder_hello_max_age(builder, config().getHelloMaxAge().toMillis()));
         }
-        if (config().getSuperPeers() != null) {
-            final StringBuilder superPeers = new StringBuilder();
-            for (final Entry<IdentityPublicKey, InetSocketAddress> entry : config().getSuperPeers().entrySet()) {
-                if (superPeers.length() > 0) {
-                    superPeers.append(" ");
+        final Map<DrasylAddress, InetSocketAddress> staticRoutes = staticRoutes();
+        if (config().getSuperPeers() != null || !staticRoutes.isEmpty()) {
+            final Map<IdentityPublicKey, InetSocketAddress> superPeers = config().getSuperPeers() != null ? config().getSuperPeers() : DEFAULT_SUPER_PEERS;
+            final StringBuilder endpoints = new StringBuilder();
+            for (final Entry<IdentityPublicKey, InetSocketAddress> entry : superPeers.entrySet()) {
+                appendEndpoint(endpoints, entry.getKey(), entry.getValue());
+            }
+            // libdrasyl has no notion of static routes. Passing them as super peers makes
+            // libdrasyl contact them directly right after bind
+            final List<DrasylAddress> staticRoutesOnly = new ArrayList<>();
+            for (final Entry<DrasylAddress, InetSocketAddress> entry : staticRoutes.entrySet()) {
+                if (!superPeers.containsKey(entry.getKey())) {
+                    appendEndpoint(endpoints, entry.getKey(), entry.getValue());
+                    staticRoutesOnly.add(entry.getKey());
                 }
-                superPeers.append("udp://").append(entry.getValue().getHostString()).append(":").append(entry.getValue().getPort()).append("?publicKey=").append(entry.getKey()).append("&networkId=").append(config.getNetworkId());
-
             }
-            ensureSuccess(drasyl_node_opts_builder_super_peers(builder, superPeers.toString()));
+            peersTracker.staticRoutes(staticRoutesOnly);
+            ensureSuccess(drasyl_node_opts_builder_super_peers(builder, endpoints.toString()));
         }
         if (config().isProcessUnites() != null) {
             ensureSuccess(drasyl_node_opts_builder_process_unites(builder, config().isProcessUnites()));
@@ -234,8 +276,105 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
         // bind Node
         final ByteBuffer bindBuf = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
         mtu = drasyl_node_opts_mtu(opts);
+        recvPayloadBytes = new byte[mtu];
         ensureSuccess(drasyl_node_bind(opts, bindBuf.array()));
         bind = bindBuf.getLong();
+
+        if (config().getReadLoops() > 1) {
+            initReadShards(config().getReadLoops());
+        }
+
+        if (config().isIntraVmDiscoveryEnabled()) {
+            serverChannels.put(this.identity.getAddress(), this);
+            SERVER_CHANNELS_VERSION.incrementAndGet();
+        }
+
+        peersTracker.addListener(this::peerChanged);
+        eventLoop().execute(pollPeersTask);
+        if (config().getLocalHostDiscoveryPath() != null) {
+            eventLoop().execute(announceLocalHostTask);
+        }
+    }
+
+    private void appendEndpoint(final StringBuilder endpoints,
+                                final DrasylAddress publicKey,
+                                final InetSocketAddress address) {
+        if (endpoints.length() > 0) {
+            endpoints.append(" ");
+        }
+        endpoints.append("udp://").append(address.getHostString()).append(":").append(address.getPort()).append("?publicKey=").append(publicKey).append("&networkId=").append(config.getNetworkId());
+    }
+
+    /**
+     * Returns the configured static routes together with the nodes found by local host discovery.
+     * Configured static routes take precedence.
+     */
+    private Map<DrasylAddress, InetSocketAddress> staticRoutes() {
+        final Path localHostDiscoveryPath = config().getLocalHostDiscoveryPath();
+        if (localHostDiscoveryPath == null) {
+            return config().getStaticRoutes();
+        }
+
+        final Map<DrasylAddress, InetSocketAddress> staticRoutes = LocalHostDiscovery.discover(localHostDiscoveryPath, config().getNetworkId(), config().getLocalHostDiscoveryLeaseTime(), identity.getAddress());
+        staticRoutes.putAll(config().getStaticRoutes());
+        return staticRoutes;
+    }
+
+    /**
+     * Announces this node's UDP port for local host discovery. The announcement is refreshed twice
+     * per lease time.
+     */
+    private void announceLocalHost() {
+        if (!isActive()) {
+            return;
+        }
+
+        final int udpPort = drasyl_node_udp_port(bind);
+        if (udpPort > 0) {
+            try {
+                LocalHostDiscovery.register(config().getLocalHostDiscoveryPath(), config().getNetworkId(), identity.getAddress(), new InetSocketAddress("127.0.0.1", udpPort));
+            }
+            catch (final IOException e) {
+                LOG.warn("Unable to announce node for local host discovery:", e);
+            }
+        }
+        eventLoop().schedule(announceLocalHostTask, config().getLocalHostDiscoveryLeaseTime().toMillis() / 2, MILLISECONDS);
+    }
+
+    /**
+     * Polls libdrasyl's peers. The poll interval starts at {@link #PEERS_MIN_POLL_INTERVAL_MS} and
+     * is doubled after every poll without changes up to {@link #PEERS_MAX_POLL_INTERVAL_MS}.
+     */
+    private void pollPeers() {
+        if (!isActive()) {
+            return;
+        }
+
+        try {
+            if (peersTracker.poll(bind)) {
+                peersPollInterval = PEERS_MIN_POLL_INTERVAL_MS;
+            }
+            else {
+                // topology is stable, back off
+                peersPollInterval = Math.min(peersPollInterval * 2, PEERS_MAX_POLL_INTERVAL_MS);
+            }
+        }
+        catch (final RuntimeException e) {
+            LOG.warn("Unable to poll peers:", e);
+        }
+        eventLoop().schedule(pollPeersTask, peersPollInterval, MILLISECONDS);
+    }
+
+    /**
+     * Passes reachability changes reported by {@link #peersTracker} to the child channel.
+     */
+    private void peerChanged(final IdentityPublicKey peer,
+                             final boolean superPeer,
+                             final boolean reachable) {
+        final RustDrasylChannel channel = getChannel(peer);
+        if (channel != null) {
+            channel.directPathPresent(reachable);
+        }
     }
 
     @Override
@@ -266,8 +405,18 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
     protected void doClose() {
         if (state != State.CLOSED) {
             // Update the internal state before the closeFuture<?> is notified.
-            if (config().isIntraVmDiscoveryEnabled()) {
+            if (config().isIntraVmDiscoveryEnabled() && identity != null) {
                 serverChannels.remove(identity.getAddress());
+                SERVER_CHANNELS_VERSION.incrementAndGet();
+            }
+
+            if (config().getLocalHostDiscoveryPath() != null && identity != null) {
+                try {
+                    LocalHostDiscovery.unregister(config().getLocalHostDiscoveryPath(), config().getNetworkId(), identity.getAddress());
+                }
+                catch (final IOException e) {
+                    LOG.debug("Unable to remove local host discovery announcement:", e);
+                }
             }
 
             if (identity != null) {
@@ -275,10 +424,21 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
             }
             state = State.CLOSED;
 
+            // shut down all read loops at once and free bind and recvBuf not before all loops
+            // have terminated, as they might still be accessed by a running read
+            final List<Future<?>> terminationFutures = new ArrayList<>();
+            terminationFutures.add(readLoop.shutdownGracefully(0, READ_LOOP_SHUTDOWN_TIMEOUT_MS, MILLISECONDS));
+            if (readShards != null) {
+                for (final ReadShard readShard : readShards) {
+                    terminationFutures.add(readShard.loop.shutdownGracefully(0, READ_LOOP_SHUTDOWN_TIMEOUT_MS, MILLISECONDS));
+                }
+            }
+            for (final Future<?> terminationFuture : terminationFutures) {
+                terminationFuture.awaitUninterruptibly();
+            }
+
             ensureSuccess(drasyl_node_bind_free(bind));
             ensureSuccess(drasyl_recv_buf_free(recvBuf));
-
-            readLoop.shutdownGracefully().awaitUninterruptibly();
         }
     }
 
@@ -295,9 +455,21 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
         readLoop.execute(readTask);
     }
 
-    @SuppressWarnings({ "java:S135", "java:S1117", "java:S1181", "java:S1874", "java:S3776" })
+    void initReadShards(final int readLoops) {
+        readShards = new ReadShard[readLoops];
+        for (int i = 0; i < readShards.length; i++) {
+            readShards[i] = new ReadShard();
+        }
+    }
+
+    @SuppressWarnings({ "java:S135", "java:S1181", "java:S3776" })
     private void doRead() {
-        if (!readPending) {
+        if (!readPending || state == State.CLOSED) {
+            // bind and recvBuf might already have been freed by doClose()
+            return;
+        }
+        if (readShardBehind()) {
+            // keep the read pending. The shard will resume reading once it has caught up
             return;
         }
         readPending = false;
@@ -307,19 +479,20 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
         final RecvByteBufAllocator.Handle allocHandle = unsafe().recvBufAllocHandle();
         allocHandle.reset(config);
         final ByteBufAllocator alloc = config().getAllocator();
+        final long allocatedBytesBefore = RECV_ALLOCATION_TRACKING ? currentThreadAllocatedBytes() : -1;
 
         Throwable exception = null;
         int recvBufLen = 1;
         try {
             do {
                 for (int i = 0; i < recvBufLen; i++) {
-                    final byte[] senderBytes = new byte[IdentityPublicKey.KEY_LENGTH_AS_BYTES];
-                    final byte[] bufBytes = new byte[mtu];
-                    final int size = drasyl_recv_buf_recv(bind, recvBufRx, senderBytes, bufBytes, mtu);
-                    final IdentityPublicKey sender = IdentityPublicKey.of(senderBytes);
+                    // libdrasyl copies into our scratch arrays. Only the actual payload is copied
+                    // into a (pooled) buffer of matching size
+                    final int size = drasyl_recv_buf_recv(bind, recvBufRx, recvSenderBytes, recvPayloadBytes, mtu);
+                    final IdentityPublicKey sender = senderCache.get(recvSenderBytes);
                     final ByteBuf buf = alloc.buffer(size);
-                    buf.writeBytes(bufBytes, 0, size);
-                    readBuf.add(Pair.of(sender, buf));
+                    buf.writeBytes(recvPayloadBytes, 0, size);
+                    addToBatch(sender, buf);
 
                     allocHandle.incMessagesRead(1);
                 }
@@ -330,55 +503,14 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
             exception = e;
         }
 
-        final Set<DrasylAddress> readCompletePending = ConcurrentHashMap.newKeySet();
-        final int size = readBuf.size();
-        for (int i = 0; i < size; i++) {
-            final Object o = readBuf.get(i);
-            final Pair<IdentityPublicKey, ByteBuf> pair = (Pair<IdentityPublicKey, ByteBuf>) o;
-            final IdentityPublicKey sender = pair.first();
-            final ByteBuf buf = pair.second();
-
-            final RustDrasylChannel drasylChannel = this.getChannel(sender);
-            if (drasylChannel != null) {
-                if (!drasylChannel.isReadBufferFull()) {
-                    drasylChannel.queueRead(buf);
-                    readCompletePending.add(sender);
-                }
-                else {
-                    ReferenceCountUtil.release(buf);
-                }
-            }
-            else {
-                readCompletePending.add(sender);
-                this.serve(sender).addListener((ChannelFutureListener) future -> {
-                    if (future.isSuccess()) {
-                        final RustDrasylChannel drasylChannel1 = (RustDrasylChannel) future.channel();
-                        drasylChannel1.queueRead(buf);
-                    }
-                    else {
-                        ReferenceCountUtil.release(buf);
-                    }
-
-                });
-            }
-        }
-        readBuf.clear();
+        final int size = dispatchBatches();
         allocHandle.readComplete();
 
-        for (final DrasylAddress sender : readCompletePending) {
-            final RustDrasylChannel drasylChannel = this.getChannel(sender);
-            if (drasylChannel != null && drasylChannel.isRegistered()) {
-                drasylChannel.finishRead();
-            }
-            else {
-                readCompletePending.add(sender);
-                this.serve(sender).addListener((ChannelFutureListener) future -> {
-                    if (future.isSuccess()) {
-                        final RustDrasylChannel drasylChannel1 = (RustDrasylChannel) future.channel();
-                        drasylChannel1.finishRead();
-                    }
-
-                });
+        if (size > 0) {
+            // only written by readLoop
+            messagesRead += size;
+            if (allocatedBytesBefore != -1) {
+                bytesAllocatedWhileReading += currentThreadAllocatedBytes() - allocatedBytesBefore;
             }
         }
 
@@ -403,6 +535,189 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
         }
     }
 
+    /**
+     * Adds the message from {@code sender} to the batch of the current read run. If multiple read
+     * loops are used, all messages from the same sender will always end up in the same loop. This
+     * ensures that per-peer message ordering is preserved.
+     */
+    void addToBatch(final IdentityPublicKey sender, final ByteBuf buf) {
+        if (readShards == null) {
+            readBatch.add(sender, buf);
+            return;
+        }
+
+        final ReadShard shard = readShards[Math.floorMod(sender.hashCode(), readShards.length)];
+        if (shard.pendingBatch == null) {
+            final ReadBatch batch = shard.freeBatches.poll();
+            shard.pendingBatch = batch != null ? batch : new ReadBatch(shard);
+        }
+        shard.pendingBatch.add(sender, buf);
+    }
+
+    /**
+     * Passes all messages collected in this read run to the child channels. If multiple read loops
+     * are used, the batches are handed over to the read loops of their shards.
+     *
+     * @return number of dispatched messages
+     */
+    @SuppressWarnings("java:S1181")
+    int dispatchBatches() {
+        if (readShards == null) {
+            final int size = readBatch.size();
+            readBatch.run();
+            return size;
+        }
+
+        int size = 0;
+        for (final ReadShard shard : readShards) {
+            final ReadBatch batch = shard.pendingBatch;
+            if (batch != null) {
+                shard.pendingBatch = null;
+                size += batch.size();
+                shard.pendingBatches.incrementAndGet();
+                try {
+                    shard.loop.execute(batch);
+                }
+                catch (final Throwable e) {
+                    // loop has been shut down
+                    shard.pendingBatches.decrementAndGet();
+                    batch.release();
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if a read loop has {@link #MAX_PENDING_BATCHES_PER_READ_LOOP} batches
+     * pending. Reading from libdrasyl must then be suspended until the shard has caught up, so that
+     * a slow shard cannot make its task queue grow without bound. The shard will resume reading.
+     */
+    boolean readShardBehind() {
+        if (readShards == null) {
+            return false;
+        }
+
+        for (final ReadShard shard : readShards) {
+            if (shard.pendingBatches.get() >= MAX_PENDING_BATCHES_PER_READ_LOOP) {
+                shard.resumeRead = true;
+                // check again, as the shard might have caught up before seeing resumeRead
+                if (shard.pendingBatches.get() >= MAX_PENDING_BATCHES_PER_READ_LOOP) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called by the read loop of {@code shard} after a batch has been processed.
+     */
+    @SuppressWarnings("java:S1181")
+    private void batchDone(final ReadShard shard) {
+        if (shard.pendingBatches.decrementAndGet() < MAX_PENDING_BATCHES_PER_READ_LOOP && shard.resumeRead) {
+            shard.resumeRead = false;
+            try {
+                readLoop.execute(readTask);
+            }
+            catch (final Throwable e) {
+                // channel has been closed
+            }
+        }
+    }
+
+    /**
+     * Passes {@code buf} received from {@code sender} to the corresponding child channel. The
+     * child channel will be created if necessary. Child channels that have received a message are
+     * added to {@code readCompletePending}. If the child channel's read buffer is full, the message
+     * is held back or dropped (see
+     * {@link RustDrasylServerChannelConfig#READ_HOLDING_QUEUE_CAPACITY}).
+     */
+    private void queueRead(final IdentityPublicKey sender,
+                           final ByteBuf buf,
+                           final List<RustDrasylChannel> readCompletePending) {
+        final RustDrasylChannel drasylChannel = this.getChannel(sender);
+        if (drasylChannel != null && drasylChannel.registeredPromise.isSuccess() && drasylChannel.pendingHandovers.get() == 0) {
+            if (drasylChannel.offerRead(buf, config().getReadHoldingQueueCapacity())) {
+                if (!drasylChannel.readCompletePending) {
+                    drasylChannel.readCompletePending = true;
+                    readCompletePending.add(drasylChannel);
+                }
+            }
+            else {
+                messagesDropped.increment();
+            }
+        }
+        else {
+            // channel is being created or preceding messages are still being passed over.
+            // Messages are passed over via the registration future, whose listeners are notified
+            // in order. pendingHandovers ensures that subsequent messages take the same route
+            // until all of them have been queued, so we do not overtake preceding messages
+            final ChannelFuture registeredFuture = this.serve(sender);
+            if (registeredFuture.cause() != null) {
+                ReferenceCountUtil.release(buf);
+                return;
+            }
+
+            final RustDrasylChannel drasylChannel1 = (RustDrasylChannel) registeredFuture.channel();
+            drasylChannel1.pendingHandovers.incrementAndGet();
+            registeredFuture.addListener((ChannelFutureListener) future -> {
+                try {
+                    if (future.isSuccess()) {
+                        drasylChannel1.queueRead(buf);
+                        drasylChannel1.finishRead();
+                    }
+                    else {
+                        ReferenceCountUtil.release(buf);
+                    }
+                }
+                finally {
+                    drasylChannel1.pendingHandovers.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the number of messages read from libdrasyl so far.
+     */
+    public long messagesRead() {
+        return messagesRead;
+    }
+
+    /**
+     * Returns the number of messages read from libdrasyl that have been dropped because the read
+     * buffer of the receiving child channel was full. Per-peer numbers are provided by
+     * {@link RustDrasylChannel#messagesDropped()}.
+     */
+    public long messagesDropped() {
+        return messagesDropped.sum();
+    }
+
+    /**
+     * Returns the average number of heap bytes allocated by the read loop per message read from
+     * libdrasyl. This includes everything the read loop allocates: the buffers passed to the child
+     * channels are pooled by default and, therefore, not counted. A value of {@code 0} means that
+     * the receive path runs allocation-free in steady state. Returns {@code -1} if the system
+     * property {@code org.drasyl.channel.rs.recv-allocation-tracking} is not set to {@code true} or
+     * the JVM does not support allocation accounting.
+     */
+    public long bytesAllocatedPerMessageRead() {
+        final long myMessagesRead = messagesRead;
+        if (!RECV_ALLOCATION_TRACKING || currentThreadAllocatedBytes() == -1 || myMessagesRead == 0) {
+            return -1;
+        }
+        return bytesAllocatedWhileReading / myMessagesRead;
+    }
+
+    /**
+     * Returns the maximum number of bytes a single message written to a child channel may have.
+     * Returns {@code 0} if this channel has not been bound yet.
+     */
+    public int mtu() {
+        return mtu;
+    }
+
     @Override
     public RustDrasylServerChannelConfig config() {
         return config;
@@ -457,44 +772,77 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
         return Libdrasyl.drasyl_node_udp_port(this.bind);
     }
 
-    public boolean hasReachableSuperPeer() {
-        final ByteBuffer peersListBuf = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
-        ensureSuccess(drasyl_node_peers_list(this.bind, peersListBuf.array()));
-        final long peersList = peersListBuf.getLong();
-        final ByteBuffer peersBuf = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
-        ensureSuccess(drasyl_peers_list_peers(peersList, peersBuf.array()));
-        final long peers = peersBuf.getLong();
-
-        try {
-            final long peersLen = drasyl_peers_list_peers_len(peers);
-            for (int i = 0; i < peersLen; i++) {
-                final byte[] pkBytes = new byte[IdentityPublicKey.KEY_LENGTH_AS_BYTES];
-                ensureSuccess(drasyl_peers_list_peer_pk(peers, i, pkBytes));
-                final IdentityPublicKey publicKey = IdentityPublicKey.of(pkBytes);
-                final boolean isSuperPeer = ensureSuccess(drasyl_peers_list_peer_super_peer(peers, i)) == 1;
-                final boolean isReachable = ensureSuccess(drasyl_peers_list_peer_reachable(peers, i)) == 1;
-
-                if (isSuperPeer) {
-                    if (isReachable) {
-                        return true;
-                    }
-                }
-            }
+    /**
+     * Returns the {@link PeersTracker} holding a snapshot of the peers known to this node.
+     */
+    public PeersTracker peersTracker() {
+        return peersTracker;
+    }
 
+    /**
+     * Returns {@code true} if this node is registered at at least one super peer. Uses the
+     * snapshot of {@link #peersTracker()} and polls libdrasyl only if the snapshot is older than
+     * {@link #PEERS_SNAPSHOT_MAX_AGE_NANOS}.
+     */
+    public boolean hasReachableSuperPeer() {
+        if (!isActive()) {
             return false;
         }
-        finally {
-            ensureSuccess(drasyl_peers_list_peers_free(peers));
+        if (System.nanoTime() - peersTracker.lastPollNanos() > PEERS_SNAPSHOT_MAX_AGE_NANOS) {
+            peersTracker.poll(bind);
         }
+        return peersTracker.reachableSuperPeers() > 0;
     }
 
-    private static class ChannelToLibdrasylHandler extends ChannelOutboundHandlerAdapter {
+    static class ChannelToLibdrasylHandler extends ChannelOutboundHandlerAdapter {
+        // per-thread staging array the payload of outbound messages is gathered into
+        private static final FastThreadLocal<byte[]> SEND_STAGING = new FastThreadLocal<>() {
+            @Override
+            protected byte[] initialValue() {
+                return new byte[SEND_STAGING_INITIAL_CAPACITY];
+            }
+        };
         private final RustDrasylServerChannel parent;
 
         public ChannelToLibdrasylHandler(final RustDrasylServerChannel parent) {
             this.parent = requireNonNull(parent);
         }
 
+        /**
+         * Returns {@code recipient} as byte array. The array cached by {@code recipient}'s child
+         * channel is used if present. The returned array must not be modified.
+         */
+        static byte[] recipientBytes(final RustDrasylServerChannel parent,
+                                     final DrasylAddress recipient) {
+            final RustDrasylChannel channel = parent.getChannel(recipient);
+            if (channel != null && channel.remoteAddressBytes() != null) {
+                return channel.remoteAddressBytes();
+            }
+            return recipient.toByteArray();
+        }
+
+        /**
+         * Returns an array whose first {@code content.readableBytes()} bytes contain the readable
+         * bytes of {@code content}. The backing array of {@code content} is returned if it starts
+         * with the readable bytes. Otherwise, the readable bytes are gathered into this thread's
+         * staging array. Composite buffers are gathered component by component in a single pass.
+         * The returned array is only valid until the next call on the same thread.
+         */
+        static byte[] contentBytes(final ByteBuf content) {
+            if (content.hasArray() && content.arrayOffset() + content.readerIndex() == 0) {
+                return content.array();
+            }
+
+            final int length = content.readableBytes();
+            byte[] staging = SEND_STAGING.get();
+            if (staging.length < length) {
+                staging = new byte[length];
+                SEND_STAGING.set(staging);
+            }
+            content.getBytes(content.readerIndex(), staging, 0, length);
+            return staging;
+        }
+
         @SuppressWarnings("unchecked")
         @Override
         public void write(ChannelHandlerContext ctx,
@@ -502,12 +850,16 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
                           ChannelPromise promise) throws Exception {
             if (msg instanceof DefaultAddressedEnvelope && ((DefaultAddressedEnvelope<?, ?>) msg).content() instanceof ByteBuf && ((DefaultAddressedEnvelope<?, ?>) msg).recipient() instanceof DrasylAddress) {
                 final DrasylAddress recipient = ((DefaultAddressedEnvelope<ByteBuf, DrasylAddress>) msg).recipient();
-                final byte[] recipientBytes = recipient.toByteArray();
+                final byte[] recipientBytes = recipientBytes(parent, recipient);
                 final ByteBuf content = ((DefaultAddressedEnvelope<ByteBuf, DrasylAddress>) msg).content();
-                final byte[] contentBytes = ByteBufUtil.getBytes(content);
-                content.release();
-
-                final int result = drasyl_node_send_to(this.parent.bind, recipientBytes, contentBytes, contentBytes.length);
+                final int contentLength = content.readableBytes();
+                final int result;
+                try {
+                    result = drasyl_node_send_to(this.parent.bind, recipientBytes, contentBytes(content), contentLength);
+                }
+                finally {
+                    content.release();
+                }
                 if (result == 0) {
                     promise.setSuccess();
                 }
@@ -533,4 +885,74 @@ public class RustDrasylServerChannel extends AbstractServerChannel implements Dr
             ctx.fireChannelRead(msg);
         }
     }
+
+    /**
+     * Messages read from libdrasyl in one run, that must be passed to child channels. Batches are
+     * recycled to keep the receive path allocation-free.
+     */
+    private final class ReadBatch implements Runnable {
+        private final ReadShard shard;
+        private final List<IdentityPublicKey> senders = new ArrayList<>();
+        private final List<ByteBuf> bufs = new ArrayList<>();
+        private final List<RustDrasylChannel> readCompletePending = new ArrayList<>();
+
+        ReadBatch(final ReadShard shard) {
+            this.shard = shard;
+        }
+
+        void add(final IdentityPublicKey sender, final ByteBuf buf) {
+            senders.add(sender);
+            bufs.add(buf);
+        }
+
+        int size() {
+            return bufs.size();
+        }
+
+        @Override
+        public void run() {
+            final int size = bufs.size();
+            for (int i = 0; i < size; i++) {
+                queueRead(senders.get(i), bufs.get(i), readCompletePending);
+            }
+            senders.clear();
+            bufs.clear();
+
+            final int pendingSize = readCompletePending.size();
+            for (int i = 0; i < pendingSize; i++) {
+                final RustDrasylChannel drasylChannel = readCompletePending.get(i);
+                drasylChannel.readCompletePending = false;
+                drasylChannel.finishRead();
+            }
+            readCompletePending.clear();
+
+            if (shard != null) {
+                shard.freeBatches.offer(this);
+                batchDone(shard);
+            }
+        }
+
+        void release() {
+            for (final ByteBuf buf : bufs) {
+                ReferenceCountUtil.release(buf);
+            }
+            senders.clear();
+            bufs.clear();
+        }
+    }
+
+    /**
+     * An additional read loop. All messages of a given sender are always processed by the same
+     * shard.
+     */
+    static final class ReadShard {
+        final EventLoop loop = new DefaultEventLoop();
+        private final Queue<ReadBatch> freeBatches = PlatformDependent.newMpscQueue();
+        // batches handed over to loop but not yet processed
+        final AtomicInteger pendingBatches = new AtomicInteger();
+        // set by RustDrasylServerChannel's readLoop if it has suspended reading due to this shard
+        private volatile boolean resumeRead;
+        // only accessed by RustDrasylServerChannel's readLoop
+        private ReadBatch pendingBatch;
+    }
 }
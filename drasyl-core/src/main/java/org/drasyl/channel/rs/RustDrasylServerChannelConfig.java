@@ -25,12 +25,13 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.DefaultChannelConfig;
-import io.netty.channel.WriteBufferWaterMark;
 import org.drasyl.channel.DrasylServerChannelConfig;
 import org.drasyl.channel.ReadBufferWaterMark;
+import org.drasyl.identity.DrasylAddress;
 import org.drasyl.identity.IdentityPublicKey;
 
 import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Map;
 
@@ -39,6 +40,7 @@ import static java.util.Objects.requireNonNull;
 import static org.drasyl.channel.rs.Libdrasyl.MAX_PEERS_DEFAULT;
 import static org.drasyl.channel.rs.Libdrasyl.RECV_BUF_CAP_DEFAULT;
 import static org.drasyl.util.Preconditions.requireNonNegative;
+import static org.drasyl.util.Preconditions.requirePositive;
 
 /**
  * The {@link ChannelConfig} for {@link RustDrasylServerChannel}s.
@@ -65,7 +67,41 @@ public class RustDrasylServerChannelConfig extends DefaultChannelConfig implemen
     public static final ChannelOption<String> HELLO_ENDPOINTS = valueOf("HELLO_ENDPOINTS");
     public static final ChannelOption<Duration> HOUSEKEEPING_DELAY = valueOf("HOUSEKEEPING_DELAY");
     public static final ChannelOption<Boolean> INTRA_VM_DISCOVERY_ENABLED = valueOf("INTRA_VM_DISCOVERY_ENABLED");
-    public static final ChannelOption<WriteBufferWaterMark> READ_BUFFER_WATER_MARK = valueOf("READ_BUFFER_WATER_MARK");
+    public static final ChannelOption<ReadBufferWaterMark> READ_BUFFER_WATER_MARK = valueOf("READ_BUFFER_WATER_MARK");
+    /**
+     * Number of messages per peer that are held back while the peer's read buffer is full. Held
+     * back messages are delivered in order once the read buffer has fallen below its low water
+     * mark. Messages exceeding this capacity are dropped. {@code 0} drops all messages arriving
+     * while the read buffer is full.
+     */
+    public static final ChannelOption<Integer> READ_HOLDING_QUEUE_CAPACITY = valueOf("READ_HOLDING_QUEUE_CAPACITY");
+    /**
+     * Number of threads passing inbound messages to the child channels. All messages from the
+     * same peer are always processed by the same thread. Reading from libdrasyl is suspended
+     * while one of these threads falls behind.
+     */
+    public static final ChannelOption<Integer> READ_LOOPS = valueOf("READ_LOOPS");
+    /**
+     * Peers known to be reachable at the given endpoints. libdrasyl will contact them directly
+     * right from the start instead of waiting for a super peer to help with hole punching. The
+     * remote peer should also have a static route to this node.
+     * <p>
+     * libdrasyl has no notion of static routes, so these peers are passed as super peers: this node
+     * registers itself to them and may use them as relays. They do not count towards the node's
+     * online state.
+     */
+    public static final ChannelOption<Map<DrasylAddress, InetSocketAddress>> STATIC_ROUTES = valueOf("STATIC_ROUTES");
+    /**
+     * Directory used to discover other nodes running on the same host. This node announces its
+     * UDP port there and uses all nodes found at bind time as {@link #STATIC_ROUTES} (including
+     * their use as relays). {@code null} disables local host discovery.
+     */
+    public static final ChannelOption<Path> LOCAL_HOST_DISCOVERY_PATH = valueOf("LOCAL_HOST_DISCOVERY_PATH");
+    /**
+     * Time after which a node announcement in {@link #LOCAL_HOST_DISCOVERY_PATH} is considered
+     * outdated. This node refreshes its own announcement twice within this time.
+     */
+    public static final ChannelOption<Duration> LOCAL_HOST_DISCOVERY_LEASE_TIME = valueOf("LOCAL_HOST_DISCOVERY_LEASE_TIME");
 
     private volatile Integer networkId = 1;
     private volatile Integer udpPort;
@@ -81,6 +117,11 @@ public class RustDrasylServerChannelConfig extends DefaultChannelConfig implemen
     private volatile Duration housekeepingDelay;
     private volatile Boolean intraVmDiscoveryEnabled = true;
     private volatile ReadBufferWaterMark readBufferWaterMark = ReadBufferWaterMark.DEFAULT;
+    private volatile int readLoops = 1;
+    private volatile int readHoldingQueueCapacity;
+    private volatile Map<DrasylAddress, InetSocketAddress> staticRoutes = Map.of();
+    private volatile Path localHostDiscoveryPath;
+    private volatile Duration localHostDiscoveryLeaseTime = Duration.ofMinutes(1);
 
     public RustDrasylServerChannelConfig(final Channel channel) {
         super(channel);
@@ -103,7 +144,12 @@ public class RustDrasylServerChannelConfig extends DefaultChannelConfig implemen
                 HELLO_ENDPOINTS,
                 HOUSEKEEPING_DELAY,
                 INTRA_VM_DISCOVERY_ENABLED,
-                READ_BUFFER_WATER_MARK
+                READ_BUFFER_WATER_MARK,
+                READ_LOOPS,
+                READ_HOLDING_QUEUE_CAPACITY,
+                STATIC_ROUTES,
+                LOCAL_HOST_DISCOVERY_PATH,
+                LOCAL_HOST_DISCOVERY_LEASE_TIME
         );
     }
 
@@ -152,6 +198,21 @@ public class RustDrasylServerChannelConfig extends DefaultChannelConfig implemen
         if (option == READ_BUFFER_WATER_MARK) {
             return (T) getReadBufferWaterMark();
         }
+        if (option == READ_LOOPS) {
+            return (T) Integer.valueOf(getReadLoops());
+        }
+        if (option == READ_HOLDING_QUEUE_CAPACITY) {
+            return (T) Integer.valueOf(getReadHoldingQueueCapacity());
+        }
+        if (option == STATIC_ROUTES) {
+            return (T) getStaticRoutes();
+        }
+        if (option == LOCAL_HOST_DISCOVERY_PATH) {
+            return (T) getLocalHostDiscoveryPath();
+        }
+        if (option == LOCAL_HOST_DISCOVERY_LEASE_TIME) {
+            return (T) getLocalHostDiscoveryLeaseTime();
+        }
         return super.getOption(option);
     }
 
@@ -212,6 +273,26 @@ public class RustDrasylServerChannelConfig extends DefaultChannelConfig implemen
         return readBufferWaterMark;
     }
 
+    public int getReadLoops() {
+        return readLoops;
+    }
+
+    public int getReadHoldingQueueCapacity() {
+        return readHoldingQueueCapacity;
+    }
+
+    public Map<DrasylAddress, InetSocketAddress> getStaticRoutes() {
+        return staticRoutes;
+    }
+
+    public Path getLocalHostDiscoveryPath() {
+        return localHostDiscoveryPath;
+    }
+
+    public Duration getLocalHostDiscoveryLeaseTime() {
+        return localHostDiscoveryLeaseTime;
+    }
+
     @Override
     public <T> boolean setOption(final ChannelOption<T> option, final T value) {
         validate(option, value);
@@ -258,6 +339,21 @@ public class RustDrasylServerChannelConfig extends DefaultChannelConfig implemen
         else if (option == READ_BUFFER_WATER_MARK) {
             setReadBufferWaterMark((ReadBufferWaterMark) value);
         }
+        else if (option == READ_LOOPS) {
+            setReadLoops((Integer) value);
+        }
+        else if (option == READ_HOLDING_QUEUE_CAPACITY) {
+            setReadHoldingQueueCapacity((Integer) value);
+        }
+        else if (option == STATIC_ROUTES) {
+            setStaticRoutes((Map<DrasylAddress, InetSocketAddress>) value);
+        }
+        else if (option == LOCAL_HOST_DISCOVERY_PATH) {
+            setLocalHostDiscoveryPath((Path) value);
+        }
+        else if (option == LOCAL_HOST_DISCOVERY_LEASE_TIME) {
+            setLocalHostDiscoveryLeaseTime((Duration) value);
+        }
         else {
             return super.setOption(option, value);
         }
@@ -362,4 +458,39 @@ public class RustDrasylServerChannelConfig extends DefaultChannelConfig implemen
         }
         this.readBufferWaterMark = requireNonNull(readBufferWaterMark);
     }
+
+    private void setReadLoops(final int readLoops) {
+        if (channel.isRegistered()) {
+            throw CAN_ONLY_CHANGED_BEFORE_REGISTRATION_EXCEPTION;
+        }
+        this.readLoops = requirePositive(readLoops);
+    }
+
+    private void setReadHoldingQueueCapacity(final int readHoldingQueueCapacity) {
+        if (channel.isRegistered()) {
+            throw CAN_ONLY_CHANGED_BEFORE_REGISTRATION_EXCEPTION;
+        }
+        this.readHoldingQueueCapacity = requireNonNegative(readHoldingQueueCapacity);
+    }
+
+    private void setStaticRoutes(final Map<DrasylAddress, InetSocketAddress> staticRoutes) {
+        if (channel.isRegistered()) {
+            throw CAN_ONLY_CHANGED_BEFORE_REGISTRATION_EXCEPTION;
+        }
+        this.staticRoutes = requireNonNull(staticRoutes);
+    }
+
+    private void setLocalHostDiscoveryPath(final Path localHostDiscoveryPath) {
+        if (channel.isRegistered()) {
+            throw CAN_ONLY_CHANGED_BEFORE_REGISTRATION_EXCEPTION;
+        }
+        this.localHostDiscoveryPath = localHostDiscoveryPath;
+    }
+
+    private void setLocalHostDiscoveryLeaseTime(final Duration localHostDiscoveryLeaseTime) {
+        if (channel.isRegistered()) {
+            throw CAN_ONLY_CHANGED_BEFORE_REGISTRATION_EXCEPTION;
+        }
+        this.localHostDiscoveryLeaseTime = requirePositive(localHostDiscoveryLeaseTime);
+    }
 }
@@ -21,6 +21,8 @@
  */
 package org.drasyl.crypto;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.drasyl.crypto.loader.LibraryLoader;
 import org.drasyl.crypto.sodium.DrasylSodium;
 import org.drasyl.crypto.sodium.DrasylSodiumWrapper;
@@ -391,6 +393,81 @@ public class Crypto {
         return messageBytes;
     }
 
+    /**
+     * Encrypts the readable bytes of {@code buf} in place like
+     * {@link #encrypt(byte[], byte[], Nonce, SessionPair)}. The authentication code is appended to
+     * {@code buf}, so its readable bytes will contain the cipher text afterwards. If {@code buf}
+     * has a memory address, no copies are made.
+     *
+     * @param buf         the message to encrypt
+     * @param authTag     some authentication tag
+     * @param nonce       the fresh nonce
+     * @param sessionPair the session pair
+     * @throws CryptoException      if any error occurs during encryption
+     * @throws NullPointerException if {@code buf} or {@code authTag} is {@code null}
+     */
+    public void encryptInPlace(final ByteBuf buf,
+                               final byte[] authTag,
+                               final Nonce nonce,
+                               final SessionPair sessionPair) throws CryptoException {
+        requireNonNull(buf);
+        requireNonNull(authTag);
+        requireNonNull(sessionPair.getTx());
+
+        final int messageLength = buf.readableBytes();
+        buf.ensureWritable(DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES);
+        if (buf.hasMemoryAddress()) {
+            final long address = buf.memoryAddress() + buf.readerIndex();
+            if (!sodium.cryptoAeadXChaCha20Poly1305IetfEncrypt(address, address, messageLength, authTag, nonce.toByteArray(), sessionPair.getTx().getArray())) {
+                throw new CryptoException("Could not encrypt the given message with the given parameters.");
+            }
+        }
+        else {
+            final byte[] cipherBytes = encrypt(ByteBufUtil.getBytes(buf), authTag, nonce, sessionPair);
+            buf.setBytes(buf.readerIndex(), cipherBytes);
+        }
+        buf.writerIndex(buf.writerIndex() + DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES);
+    }
+
+    /**
+     * Decrypts the readable bytes of {@code buf} in place like
+     * {@link #decrypt(byte[], byte[], Nonce, SessionPair)}. The authentication code is removed
+     * from {@code buf}, so its readable bytes will contain the message afterwards. If {@code buf}
+     * has a memory address, no copies are made.
+     *
+     * @param buf         the cipher text to decrypt
+     * @param authTag     some authentication tag
+     * @param nonce       the fresh nonce
+     * @param sessionPair the session pair
+     * @throws CryptoException      if any error occurs during decryption
+     * @throws NullPointerException if {@code buf} or {@code authTag} is {@code null}
+     */
+    public void decryptInPlace(final ByteBuf buf,
+                               final byte[] authTag,
+                               final Nonce nonce,
+                               final SessionPair sessionPair) throws CryptoException {
+        requireNonNull(buf);
+        requireNonNull(authTag);
+        requireNonNull(sessionPair.getRx());
+
+        final int cipherLength = buf.readableBytes();
+        if (cipherLength < DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES) {
+            throw new CryptoException("Could not decrypt the given cipher text. Cipher text is smaller than " + DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES + " bytes");
+        }
+
+        if (buf.hasMemoryAddress()) {
+            final long address = buf.memoryAddress() + buf.readerIndex();
+            if (!sodium.cryptoAeadXChaCha20Poly1305IetfDecrypt(address, address, cipherLength, authTag, nonce.toByteArray(), sessionPair.getRx().getArray())) {
+                throw new CryptoException("Could not decrypt the given cipher text.");
+            }
+        }
+        else {
+            final byte[] messageBytes = decrypt(ByteBufUtil.getBytes(buf), authTag, nonce, sessionPair);
+            buf.setBytes(buf.readerIndex(), messageBytes);
+        }
+        buf.writerIndex(buf.writerIndex() - DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES);
+    }
+
     /**
      * Creates a signature for the given {@code message} with the given {@code secretKey} in
      * detached mode (signature is not appended to message, rather it is standalone).
@@ -188,6 +188,50 @@ public class DrasylSodiumWrapper {
         return null; // NOSONAR
     }
 
+    /**
+     * This function encrypts the {@code mLen} bytes at memory address {@code m} and writes the
+     * cipher text ({@code mLen + }{@link #XCHACHA20POLY1305_IETF_ABYTES} bytes) to memory address
+     * {@code c}. {@code c} and {@code m} may point to the same address for in-place encryption.
+     *
+     * @param c    the memory address the cipher text is written to
+     * @param m    the memory address of the message
+     * @param mLen the length of the message
+     * @param ad   the authentication tag
+     * @param nPub the public nonce
+     * @param k    the key for encryption
+     * @return {@code true} if successful
+     */
+    public boolean cryptoAeadXChaCha20Poly1305IetfEncrypt(final long c,
+                                                         final long m,
+                                                         final long mLen,
+                                                         final byte[] ad,
+                                                         final byte[] nPub,
+                                                         final byte[] k) {
+        return successful(getSodium().crypto_aead_xchacha20poly1305_ietf_encrypt(new Pointer(c), null, new Pointer(m), mLen, ad, ad.length, null, nPub, k));
+    }
+
+    /**
+     * This function decrypts the {@code cLen} bytes at memory address {@code c} and writes the
+     * message ({@code cLen - }{@link #XCHACHA20POLY1305_IETF_ABYTES} bytes) to memory address
+     * {@code m}. {@code m} and {@code c} may point to the same address for in-place decryption.
+     *
+     * @param m    the memory address the message is written to
+     * @param c    the memory address of the cipher text
+     * @param cLen the length of the cipher text
+     * @param ad   the authentication tag
+     * @param nPub the public nonce
+     * @param k    the key for encryption
+     * @return {@code true} if successful
+     */
+    public boolean cryptoAeadXChaCha20Poly1305IetfDecrypt(final long m,
+                                                         final long c,
+                                                         final long cLen,
+                                                         final byte[] ad,
+                                                         final byte[] nPub,
+                                                         final byte[] k) {
+        return successful(getSodium().crypto_aead_xchacha20poly1305_ietf_decrypt(new Pointer(m), null, null, new Pointer(c), cLen, ad, ad.length, nPub, k));
+    }
+
     /**
      * Returns a signature for a message. This does not prepend the signature to the message.
      *
@@ -124,4 +124,28 @@ public class Sodium {
             byte[] nPub,
             byte[] k
     );
+
+    public native int crypto_aead_xchacha20poly1305_ietf_encrypt(
+            Pointer c,
+            long[] cLen,
+            Pointer m,
+            long mLen,
+            byte[] ad,
+            long adLen,
+            byte[] nSec,
+            byte[] nPub,
+            byte[] k
+    );
+
+    public native int crypto_aead_xchacha20poly1305_ietf_decrypt(
+            Pointer m,
+            long[] mLen,
+            byte[] nSec,
+            Pointer c,
+            long cLen,
+            byte[] ad,
+            long adLen,
+            byte[] nPub,
+            byte[] k
+    );
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020-2024 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.remote.protocol;
+
+import io.netty.util.internal.SystemPropertyUtil;
+import org.drasyl.crypto.Crypto;
+import org.drasyl.util.internal.UnstableApi;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+import static org.drasyl.handler.remote.protocol.Nonce.NONCE_LENGTH;
+
+/**
+ * Generates {@link Nonce}s consisting of a random prefix followed by a monotonic counter. This is
+ * considerably cheaper than {@link Nonce#randomNonce()}, as the CSPRNG is only consulted once per
+ * {@link #CAPACITY} nonces. With a {@link #PREFIX_LENGTH} bytes long random prefix, nonces of
+ * different sequences used with the same key will not collide.
+ * <p>
+ * Once the counter is exhausted, the sequence continues with a fresh random prefix. Users that can
+ * rotate their key should do so before, see {@link #count()}.
+ * <p>
+ * This class is thread-safe.
+ */
+@UnstableApi
+public class NonceSequence {
+    /**
+     * If {@code false}, {@link #next()} returns {@link Nonce#randomNonce()}.
+     */
+    public static final boolean ENABLED = SystemPropertyUtil.getBoolean("org.drasyl.nonce.sequence", true);
+    public static final int PREFIX_LENGTH = NONCE_LENGTH - Integer.BYTES;
+    /**
+     * Number of nonces that can be generated before the counter wraps.
+     */
+    public static final long CAPACITY = 1L << Integer.SIZE;
+    private final byte[] prefix;
+    private long counter;
+
+    NonceSequence(final byte[] prefix, final long counter) {
+        if (requireNonNull(prefix).length != PREFIX_LENGTH) {
+            throw new IllegalArgumentException("prefix must be " + PREFIX_LENGTH + " bytes long.");
+        }
+        this.prefix = prefix;
+        this.counter = counter;
+    }
+
+    public NonceSequence() {
+        this(Crypto.randomBytes(PREFIX_LENGTH), 0);
+    }
+
+    /**
+     * Returns the next nonce of this sequence.
+     *
+     * @return the next nonce of this sequence
+     */
+    public Nonce next() {
+        if (!ENABLED) {
+            return Nonce.randomNonce();
+        }
+
+        final byte[] bytes;
+        final int value;
+        synchronized (this) {
+            if (counter == CAPACITY) {
+                // counter would wrap, continue with a fresh prefix
+                System.arraycopy(Crypto.randomBytes(PREFIX_LENGTH), 0, prefix, 0, PREFIX_LENGTH);
+                counter = 0;
+            }
+            bytes = Arrays.copyOf(prefix, NONCE_LENGTH);
+            value = (int) counter++;
+        }
+        bytes[PREFIX_LENGTH] = (byte) (value >>> 24);
+        bytes[PREFIX_LENGTH + 1] = (byte) (value >>> 16);
+        bytes[PREFIX_LENGTH + 2] = (byte) (value >>> 8);
+        bytes[PREFIX_LENGTH + 3] = (byte) value;
+
+        return Nonce.ofDirect(bytes);
+    }
+
+    /**
+     * Returns the number of nonces generated with the current prefix.
+     *
+     * @return the number of nonces generated with the current prefix
+     */
+    public synchronized long count() {
+        return counter;
+    }
+}
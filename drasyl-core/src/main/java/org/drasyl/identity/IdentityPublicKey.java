@@ -50,7 +50,6 @@ public class IdentityPublicKey extends DrasylAddress implements PublicKey {
     private final transient Worm<KeyAgreementPublicKey> convertedKey = Worm.of();
     public static final IdentityPublicKey ZERO_ID = IdentityPublicKey.of(new byte[KEY_LENGTH_AS_BYTES]);
     private final byte[] bytes;
-    private boolean hashCodeSet;
     private int hashCode;
 
     private IdentityPublicKey(@NonNull final byte[] bytes) {
@@ -100,11 +99,14 @@ public class IdentityPublicKey extends DrasylAddress implements PublicKey {
 
     @Override
     public int hashCode() {
-        if (!hashCodeSet) {
-            hashCodeSet = true;
-            hashCode = getBytes().hashCode();
+        // single field to make this method race-free without synchronization (similar to
+        // String#hashCode)
+        int h = hashCode;
+        if (h == 0) {
+            h = getBytes().hashCode();
+            hashCode = h;
         }
-        return hashCode;
+        return h;
     }
 
     @Override
@@ -119,6 +121,13 @@ public class IdentityPublicKey extends DrasylAddress implements PublicKey {
         return false;
     }
 
+    /**
+     * Returns {@code true} if this key consists of {@code other}. Does not copy the key.
+     */
+    boolean contentEquals(final byte[] other) {
+        return Arrays.equals(bytes, other);
+    }
+
     @Override
     public void writeTo(final ByteBuf out) {
         out.writeBytes(bytes);
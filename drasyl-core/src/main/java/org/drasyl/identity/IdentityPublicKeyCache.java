@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.identity;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.drasyl.identity.IdentityPublicKey.KEY_LENGTH_AS_BYTES;
+import static org.drasyl.util.Preconditions.requirePositive;
+
+/**
+ * A bounded, lock-free cache that maps raw public key bytes to their (interned)
+ * {@link IdentityPublicKey}. Used on hot paths where many threads convert received key bytes to
+ * {@link IdentityPublicKey}s and {@link IdentityPublicKey#of(byte[])} (which copies the bytes and
+ * synchronizes on the intern pool) would be a bottleneck.
+ * <p>
+ * The cache is open-addressed. Because public keys are uniformly distributed, the first 8 bytes of
+ * a key are used as hash. On a full probe sequence, the home slot of the key is overwritten. This
+ * class is thread-safe.
+ */
+public class IdentityPublicKeyCache {
+    static final int MAX_PROBES = 4;
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private final AtomicReferenceArray<IdentityPublicKey> slots;
+    private final int mask;
+
+    /**
+     * @param capacity minimal number of keys the cache should be able to hold. Will be rounded up
+     *                 to the next power of two
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public IdentityPublicKeyCache(final int capacity) {
+        final int size = Integer.highestOneBit(Math.max(requirePositive(capacity) - 1, 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the {@link IdentityPublicKey} for {@code bytes}. {@code bytes} is not retained by this
+     * cache and can therefore be reused by the caller.
+     *
+     * @param bytes public key
+     * @return {@link IdentityPublicKey}
+     * @throws NullPointerException     if {@code bytes} is {@code null}
+     * @throws IllegalArgumentException if {@code bytes} has wrong key size
+     */
+    public IdentityPublicKey get(final byte[] bytes) {
+        if (bytes.length != KEY_LENGTH_AS_BYTES) {
+            throw new IllegalArgumentException("key has wrong size.");
+        }
+
+        final long hash = (long) LONG_VIEW.get(bytes, 0);
+        final int home = (int) (hash ^ (hash >>> 32)) & mask;
+        for (int i = 0; i < MAX_PROBES; i++) {
+            final int index = (home + i) & mask;
+            final IdentityPublicKey key = slots.get(index);
+            if (key == null) {
+                return put(index, bytes);
+            }
+            else if (key.contentEquals(bytes)) {
+                return key;
+            }
+        }
+
+        // probe sequence exhausted, replace home slot
+        return put(home, bytes);
+    }
+
+    private IdentityPublicKey put(final int index, final byte[] bytes) {
+        final IdentityPublicKey key = IdentityPublicKey.of(bytes);
+        // a racing put for another key might overwrite this slot. That is fine, as this only
+        // results in a future cache miss
+        slots.lazySet(index, key);
+        return key;
+    }
+
+    /**
+     * Returns the number of slots of this cache.
+     */
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -24,6 +24,8 @@ package org.drasyl.util;
 import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.Field;
 
 /**
@@ -36,6 +38,7 @@ public final class PlatformDependent {
     // See https://github.com/oracle/graal/blob/master/sdk/src/org.graalvm.nativeimage/src/org/graalvm/nativeimage/
     // ImageInfo.java
     private static final boolean RUNNING_IN_NATIVE_IMAGE = System.getProperty("org.graalvm.nativeimage.imagecode") != null;
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = detectThreadMXBean();
 
     private PlatformDependent() {
         // util class
@@ -62,6 +65,19 @@ public final class PlatformDependent {
         return !RUNNING_IN_NATIVE_IMAGE;
     }
 
+    /**
+     * Returns the number of bytes the current thread has allocated on the heap since it has been
+     * started, or {@code -1} if the runtime does not support thread allocation accounting.
+     *
+     * @return number of bytes allocated by the current thread or {@code -1}
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN != null) {
+            return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
     static float javaSpecificationVersion() {
         return Float.parseFloat(System.getProperty("java.specification.version", "11"));
     }
@@ -73,4 +89,24 @@ public final class PlatformDependent {
 
         return majorVersion;
     }
+
+    @SuppressWarnings("java:S1181")
+    private static com.sun.management.ThreadMXBean detectThreadMXBean() {
+        if (RUNNING_IN_NATIVE_IMAGE) {
+            return null;
+        }
+
+        try {
+            final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+                ((com.sun.management.ThreadMXBean) bean).setThreadAllocatedMemoryEnabled(true);
+                return (com.sun.management.ThreadMXBean) bean;
+            }
+        }
+        catch (final Throwable e) {
+            LOG.debug("Thread allocation accounting not available.", e);
+        }
+
+        return null;
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel.rs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.drasyl.channel.ReadBufferWaterMark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChannelInboundBufferTest {
+    @Mock(answer = RETURNS_DEEP_STUBS)
+    private RustDrasylChannel channel;
+    private ChannelInboundBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        when(channel.parent().config().getReadBufferWaterMark()).thenReturn(new ReadBufferWaterMark(2, 4));
+        buffer = new ChannelInboundBuffer(channel);
+    }
+
+    @Nested
+    class OfferMessage {
+        @Test
+        void shouldHoldBackMessagesWhileFullAndDeliverThemInOrder() {
+            final ByteBuf msg1 = Unpooled.wrappedBuffer(new byte[5]);
+            final ByteBuf msg2 = Unpooled.wrappedBuffer(new byte[1]);
+            final ByteBuf msg3 = Unpooled.wrappedBuffer(new byte[1]);
+
+            assertTrue(buffer.offerMessage(msg1, 1));
+            assertFalse(buffer.isNotFull());
+            assertTrue(buffer.offerMessage(msg2, 1));
+            assertFalse(buffer.offerMessage(msg3, 1));
+
+            assertEquals(0, msg3.refCnt());
+            assertEquals(1, buffer.droppedMessages());
+
+            assertSame(msg1, buffer.remove());
+            assertTrue(buffer.isNotFull());
+            assertSame(msg2, buffer.remove());
+            assertNull(buffer.remove());
+            assertTrue(buffer.isEmpty());
+            verify(channel, times(2)).fireReadBufferFullChanged();
+        }
+
+        @Test
+        void shouldNotOvertakeHeldBackMessages() {
+            final ByteBuf msg1 = Unpooled.wrappedBuffer(new byte[5]);
+            final ByteBuf msg2 = Unpooled.wrappedBuffer(new byte[5]);
+            final ByteBuf msg3 = Unpooled.wrappedBuffer(new byte[1]);
+
+            buffer.offerMessage(msg1, 10);
+            buffer.offerMessage(msg2, 10);
+
+            // drains msg2, which fills the buffer again
+            assertSame(msg1, buffer.remove());
+            buffer.offerMessage(msg3, 10);
+
+            assertSame(msg2, buffer.remove());
+            assertSame(msg3, buffer.remove());
+            assertTrue(buffer.isEmpty());
+        }
+    }
+}
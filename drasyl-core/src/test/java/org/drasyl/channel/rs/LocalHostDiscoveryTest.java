@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel.rs;
+
+import org.drasyl.identity.DrasylAddress;
+import org.drasyl.identity.IdentityPublicKey;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.drasyl.channel.rs.LocalHostDiscovery.FILE_SUFFIX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalHostDiscoveryTest {
+    private static final IdentityPublicKey PEER_1 = IdentityPublicKey.of("18cdb282be8d1293f5040cd620a91aca86a475682e4ddc397deabe300aad9127");
+    private static final IdentityPublicKey PEER_2 = IdentityPublicKey.of("c0900bcfabc493d062ecd293265f571edb70b85313ba4cdda96c9f77163ba62d");
+    private static final Duration LEASE_TIME = Duration.ofMinutes(1);
+
+    @Nested
+    class Discover {
+        @Test
+        void shouldReturnOtherNodesOfSameNetwork(@TempDir final Path path) throws IOException {
+            LocalHostDiscovery.register(path, 1, PEER_1, new InetSocketAddress("127.0.0.1", 22527));
+            LocalHostDiscovery.register(path, 1, PEER_2, new InetSocketAddress("127.0.0.1", 22528));
+            LocalHostDiscovery.register(path, 2, PEER_2, new InetSocketAddress("127.0.0.1", 22529));
+
+            final Map<DrasylAddress, InetSocketAddress> endpoints = LocalHostDiscovery.discover(path, 1, LEASE_TIME, PEER_1);
+
+            assertEquals(Map.of(PEER_2, new InetSocketAddress("127.0.0.1", 22528)), endpoints);
+        }
+
+        @Test
+        void shouldIgnoreOutdatedAndInvalidFiles(@TempDir final Path path) throws IOException {
+            LocalHostDiscovery.register(path, 1, PEER_1, new InetSocketAddress("127.0.0.1", 22527));
+            Files.setLastModifiedTime(path.resolve("1").resolve(PEER_1 + FILE_SUFFIX), FileTime.fromMillis(System.currentTimeMillis() - 2 * LEASE_TIME.toMillis()));
+            Files.writeString(path.resolve("1").resolve("foo" + FILE_SUFFIX), "127.0.0.1:22528");
+            Files.writeString(path.resolve("1").resolve(PEER_2 + FILE_SUFFIX), "127.0.0.1:bar");
+
+            assertTrue(LocalHostDiscovery.discover(path, 1, LEASE_TIME, PEER_2).isEmpty());
+        }
+
+        @Test
+        void shouldReturnNothingIfDirectoryDoesNotExist(@TempDir final Path path) {
+            assertTrue(LocalHostDiscovery.discover(path.resolve("missing"), 1, LEASE_TIME, PEER_1).isEmpty());
+        }
+    }
+
+    @Nested
+    class Unregister {
+        @Test
+        void shouldRemoveAnnouncement(@TempDir final Path path) throws IOException {
+            LocalHostDiscovery.register(path, 1, PEER_1, new InetSocketAddress("127.0.0.1", 22527));
+
+            LocalHostDiscovery.unregister(path, 1, PEER_1);
+
+            assertFalse(Files.exists(path.resolve("1").resolve(PEER_1 + FILE_SUFFIX)));
+            assertTrue(LocalHostDiscovery.discover(path, 1, LEASE_TIME, PEER_2).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel.rs;
+
+import org.drasyl.channel.rs.PeersTracker.Listener;
+import org.drasyl.identity.IdentityPublicKey;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.drasyl.channel.rs.PeersTracker.REACHABLE;
+import static org.drasyl.channel.rs.PeersTracker.SUPER_PEER;
+import static org.drasyl.identity.IdentityPublicKey.KEY_LENGTH_AS_BYTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PeersTrackerTest {
+    private static final IdentityPublicKey PEER_1 = IdentityPublicKey.of("18cdb282be8d1293f5040cd620a91aca86a475682e4ddc397deabe300aad9127");
+    private static final IdentityPublicKey PEER_2 = IdentityPublicKey.of("c0900bcfabc493d062ecd293265f571edb70b85313ba4cdda96c9f77163ba62d");
+
+    private static byte[] keys(final IdentityPublicKey... peers) {
+        final byte[] keys = new byte[peers.length * KEY_LENGTH_AS_BYTES];
+        for (int i = 0; i < peers.length; i++) {
+            System.arraycopy(peers[i].toByteArray(), 0, keys, i * KEY_LENGTH_AS_BYTES, KEY_LENGTH_AS_BYTES);
+        }
+        return keys;
+    }
+
+    @Nested
+    class Update {
+        @Test
+        void shouldOnlyReportChangedPeers(@Mock final Listener listener) {
+            final PeersTracker tracker = new PeersTracker();
+            tracker.addListener(listener);
+
+            assertTrue(tracker.update(keys(PEER_1, PEER_2), new byte[]{ SUPER_PEER | REACHABLE, 0 }, 2));
+            verify(listener).peerChanged(PEER_1, true, true);
+            assertEquals(1, tracker.reachableSuperPeers());
+
+            // same topology, different order
+            assertFalse(tracker.update(keys(PEER_2, PEER_1), new byte[]{ 0, SUPER_PEER | REACHABLE }, 2));
+
+            assertTrue(tracker.update(keys(PEER_2, PEER_1), new byte[]{ REACHABLE, SUPER_PEER }, 2));
+            verify(listener).peerChanged(PEER_2, false, true);
+            verify(listener).peerChanged(PEER_1, true, false);
+            assertEquals(0, tracker.reachableSuperPeers());
+
+            verifyNoMoreInteractions(listener);
+        }
+
+        @Test
+        void shouldReportVanishedPeersAsUnreachable(@Mock final Listener listener) {
+            final PeersTracker tracker = new PeersTracker();
+            tracker.addListener(listener);
+
+            tracker.update(keys(PEER_1, PEER_2), new byte[]{ REACHABLE, REACHABLE }, 2);
+            assertTrue(tracker.update(keys(PEER_2), new byte[]{ REACHABLE }, 1));
+
+            verify(listener).peerChanged(PEER_1, false, false);
+        }
+    }
+
+    @Nested
+    class IsReachable {
+        @Test
+        void shouldReturnReachabilityFromSnapshot() {
+            final PeersTracker tracker = new PeersTracker();
+            tracker.update(keys(PEER_1, PEER_2), new byte[]{ 0, REACHABLE }, 2);
+
+            assertFalse(tracker.isReachable(PEER_1));
+            assertTrue(tracker.isReachable(PEER_2));
+            assertFalse(tracker.isReachable(IdentityPublicKey.ZERO_ID));
+        }
+    }
+}
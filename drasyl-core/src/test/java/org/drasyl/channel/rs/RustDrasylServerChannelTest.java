@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel.rs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import org.drasyl.channel.rs.RustDrasylServerChannel.ChannelToLibdrasylHandler;
+import org.drasyl.channel.rs.RustDrasylServerChannel.ReadShard;
+import org.drasyl.identity.DrasylAddress;
+import org.drasyl.identity.IdentityPublicKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.time.Duration.ofSeconds;
+import static org.awaitility.Awaitility.await;
+import static org.drasyl.channel.rs.RustDrasylServerChannel.MAX_PENDING_BATCHES_PER_READ_LOOP;
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.READ_HOLDING_QUEUE_CAPACITY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static test.util.IdentityTestUtil.ID_1;
+import static test.util.IdentityTestUtil.ID_2;
+import static test.util.IdentityTestUtil.ID_3;
+import static test.util.IdentityTestUtil.ID_4;
+import static test.util.IdentityTestUtil.ID_5;
+
+class RustDrasylServerChannelTest {
+    private static final IdentityPublicKey PEER = IdentityPublicKey.of("18cdb282be8d1293f5040cd620a91aca86a475682e4ddc397deabe300aad9127");
+
+    @Nested
+    class ChannelToLibdrasylHandlerTest {
+        @Test
+        void recipientBytesShouldUseArrayCachedByChildChannel() {
+            final Map<DrasylAddress, RustDrasylChannel> channels = new ConcurrentHashMap<>();
+            final RustDrasylServerChannel parent = new RustDrasylServerChannel(RustDrasylServerChannel.State.ACTIVE, channels, ID_1, null);
+            final RustDrasylChannel child = new RustDrasylChannel(parent, RustDrasylChannel.State.CONNECTED, ID_1, PEER);
+            channels.put(PEER, child);
+
+            assertSame(child.remoteAddressBytes(), ChannelToLibdrasylHandler.recipientBytes(parent, PEER));
+            assertArrayEquals(PEER.toByteArray(), ChannelToLibdrasylHandler.recipientBytes(parent, PEER));
+            assertArrayEquals(ID_1.getAddress().toByteArray(), ChannelToLibdrasylHandler.recipientBytes(parent, ID_1.getAddress()));
+        }
+
+        @Test
+        void contentBytesShouldReturnBackingArrayIfItStartsWithReadableBytes() {
+            final byte[] array = { 1, 2, 3 };
+            final ByteBuf content = Unpooled.wrappedBuffer(array);
+
+            assertSame(array, ChannelToLibdrasylHandler.contentBytes(content));
+        }
+
+        @Test
+        void contentBytesShouldGatherCompositeBuffer() {
+            final CompositeByteBuf content = Unpooled.compositeBuffer();
+            content.addComponent(true, Unpooled.directBuffer().writeShort(3));
+            content.addComponent(true, Unpooled.wrappedBuffer(new byte[]{ 0, 1, 2, 3 }).skipBytes(1));
+            content.skipBytes(1);
+
+            try {
+                final byte[] bytes = ChannelToLibdrasylHandler.contentBytes(content);
+
+                assertArrayEquals(ByteBufUtil.getBytes(content), Arrays.copyOf(bytes, content.readableBytes()));
+                assertArrayEquals(new byte[]{ 3, 1, 2, 3 }, Arrays.copyOf(bytes, content.readableBytes()));
+            }
+            finally {
+                content.release();
+            }
+        }
+    }
+
+    @Nested
+    class ReadLoops {
+        private final IdentityPublicKey[] peers = {
+                PEER,
+                ID_2.getIdentityPublicKey(),
+                ID_3.getIdentityPublicKey(),
+                ID_4.getIdentityPublicKey(),
+                ID_5.getIdentityPublicKey()
+        };
+        private final Map<DrasylAddress, RustDrasylChannel> channels = new ConcurrentHashMap<>();
+        private final Map<DrasylAddress, List<Integer>> received = new ConcurrentHashMap<>();
+        private EventLoopGroup group;
+        private RustDrasylServerChannel parent;
+
+        @BeforeEach
+        void setUp() throws InterruptedException {
+            group = new DefaultEventLoopGroup(2);
+            parent = new RustDrasylServerChannel(RustDrasylServerChannel.State.ACTIVE, channels, ID_1, null);
+            parent.config().setOption(READ_HOLDING_QUEUE_CAPACITY, 100_000);
+            parent.initReadShards(4);
+
+            for (final IdentityPublicKey peer : peers) {
+                final List<Integer> messages = new ArrayList<>();
+                received.put(peer, messages);
+                final RustDrasylChannel child = new RustDrasylChannel(parent, RustDrasylChannel.State.CONNECTED, ID_1, peer);
+                child.pipeline().addLast(new SimpleChannelInboundHandler<ByteBuf>() {
+                    @Override
+                    protected void channelRead0(final ChannelHandlerContext ctx,
+                                                final ByteBuf msg) {
+                        synchronized (messages) {
+                            messages.add(msg.readInt());
+                        }
+                    }
+                });
+                channels.put(peer, child);
+                group.register(child).sync();
+            }
+        }
+
+        @AfterEach
+        void tearDown() {
+            for (final ReadShard shard : parent.readShards) {
+                shard.loop.shutdownGracefully();
+            }
+            group.shutdownGracefully();
+        }
+
+        @Test
+        void shouldPreserveOrderOfMessagesFromSamePeer() {
+            final int messages = 2_000;
+            for (int i = 0; i < messages; i++) {
+                for (final IdentityPublicKey peer : peers) {
+                    parent.addToBatch(peer, Unpooled.buffer(Integer.BYTES).writeInt(i));
+                }
+                if (i % 7 == 0) {
+                    // end of read run. Wait like doRead() does while a shard is behind
+                    while (parent.readShardBehind()) {
+                        Thread.yield();
+                    }
+                    parent.dispatchBatches();
+                }
+            }
+            parent.dispatchBatches();
+
+            final List<Integer> expected = IntStream.range(0, messages).boxed().collect(Collectors.toList());
+            for (final IdentityPublicKey peer : peers) {
+                final List<Integer> messagesOfPeer = received.get(peer);
+                await().atMost(ofSeconds(10)).until(() -> {
+                    synchronized (messagesOfPeer) {
+                        return messagesOfPeer.size() == messages;
+                    }
+                });
+                synchronized (messagesOfPeer) {
+                    assertEquals(expected, messagesOfPeer);
+                }
+            }
+            assertEquals(0, parent.messagesDropped());
+        }
+
+        @Test
+        void shouldNotOvertakeMessagesPassedOverViaRegistration() throws InterruptedException {
+            final RustDrasylChannel child = channels.get(PEER);
+            final CountDownLatch latch = new CountDownLatch(1);
+            child.eventLoop().execute(() -> {
+                try {
+                    latch.await();
+                }
+                catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            // pretend the child channel is still being registered
+            child.registeredPromise = child.newPromise();
+
+            parent.addToBatch(PEER, Unpooled.buffer(Integer.BYTES).writeInt(0));
+            parent.dispatchBatches();
+            await().atMost(ofSeconds(10)).until(() -> child.pendingHandovers.get() == 1);
+
+            // registration completes, but the listener passing over the first message has not run yet
+            child.registeredPromise.setSuccess();
+            parent.addToBatch(PEER, Unpooled.buffer(Integer.BYTES).writeInt(1));
+            parent.dispatchBatches();
+            await().atMost(ofSeconds(10)).until(() -> child.pendingHandovers.get() == 2);
+
+            latch.countDown();
+            final List<Integer> messagesOfPeer = received.get(PEER);
+            await().atMost(ofSeconds(10)).until(() -> {
+                synchronized (messagesOfPeer) {
+                    return messagesOfPeer.size() == 2;
+                }
+            });
+            synchronized (messagesOfPeer) {
+                assertEquals(List.of(0, 1), messagesOfPeer);
+            }
+            assertEquals(0, child.pendingHandovers.get());
+        }
+
+        @Test
+        void shouldSuspendReadingWhileShardIsBehind() throws InterruptedException {
+            final CountDownLatch latch = new CountDownLatch(1);
+            for (final ReadShard shard : parent.readShards) {
+                shard.loop.execute(() -> {
+                    try {
+                        latch.await();
+                    }
+                    catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            for (int i = 0; i < MAX_PENDING_BATCHES_PER_READ_LOOP; i++) {
+                assertFalse(parent.readShardBehind());
+                parent.addToBatch(PEER, Unpooled.buffer(Integer.BYTES).writeInt(i));
+                parent.dispatchBatches();
+            }
+            assertTrue(parent.readShardBehind());
+
+            latch.countDown();
+            await().atMost(ofSeconds(10)).until(() -> !parent.readShardBehind());
+            final List<Integer> messagesOfPeer = received.get(PEER);
+            await().atMost(ofSeconds(10)).until(() -> {
+                synchronized (messagesOfPeer) {
+                    return messagesOfPeer.size() == MAX_PENDING_BATCHES_PER_READ_LOOP;
+                }
+            });
+        }
+    }
+}
@@ -21,6 +21,9 @@
  */
 package org.drasyl.crypto;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.drasyl.crypto.sodium.DrasylSodiumWrapper;
 import org.drasyl.crypto.sodium.SessionPair;
 import org.drasyl.crypto.sodium.Sodium;
@@ -38,6 +41,8 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -295,6 +300,26 @@ class CryptoTest {
 
             assertThrows(CryptoException.class, () -> crypto.encrypt(message, new byte[0], nonce, sessionPair));
         }
+
+        @ParameterizedTest
+        @ValueSource(booleans = { true, false })
+        void shouldEncryptByteBufInPlace(final boolean direct) throws CryptoException {
+            final ImmutableByteArray key = ImmutableByteArray.of(new byte[32]);
+            final SessionPair sessionPair = SessionPair.of(key, key);
+            final Nonce nonce = Nonce.randomNonce();
+            final byte[] message = "Hello World".getBytes(UTF_8);
+            final ByteBuf buf = direct ? Unpooled.directBuffer(message.length) : Unpooled.buffer(message.length);
+            buf.writeBytes(message);
+
+            try {
+                Crypto.INSTANCE.encryptInPlace(buf, new byte[0], nonce, sessionPair);
+
+                assertArrayEquals(Crypto.INSTANCE.encrypt(message, new byte[0], nonce, sessionPair), ByteBufUtil.getBytes(buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
     }
 
     @Nested
@@ -334,6 +359,41 @@ class CryptoTest {
 
             assertThrows(CryptoException.class, () -> crypto.decrypt(cipher, new byte[0], nonce, sessionPair));
         }
+
+        @ParameterizedTest
+        @ValueSource(booleans = { true, false })
+        void shouldDecryptByteBufInPlace(final boolean direct) throws CryptoException {
+            final ImmutableByteArray key = ImmutableByteArray.of(new byte[32]);
+            final SessionPair sessionPair = SessionPair.of(key, key);
+            final Nonce nonce = Nonce.randomNonce();
+            final byte[] message = "Hello World".getBytes(UTF_8);
+            final byte[] cipher = Crypto.INSTANCE.encrypt(message, new byte[0], nonce, sessionPair);
+            final ByteBuf buf = direct ? Unpooled.directBuffer(cipher.length) : Unpooled.buffer(cipher.length);
+            buf.writeBytes(cipher);
+
+            try {
+                Crypto.INSTANCE.decryptInPlace(buf, new byte[0], nonce, sessionPair);
+
+                assertArrayEquals(message, ByteBufUtil.getBytes(buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
+
+        @Test
+        void shouldRejectByteBufSmallerThanAuthenticationCode() {
+            final ImmutableByteArray key = ImmutableByteArray.of(new byte[32]);
+            final SessionPair sessionPair = SessionPair.of(key, key);
+            final ByteBuf buf = Unpooled.wrappedBuffer(new byte[8]);
+
+            try {
+                assertThrows(CryptoException.class, () -> Crypto.INSTANCE.decryptInPlace(buf, new byte[0], Nonce.randomNonce(), sessionPair));
+            }
+            finally {
+                buf.release();
+            }
+        }
     }
 
     @Nested
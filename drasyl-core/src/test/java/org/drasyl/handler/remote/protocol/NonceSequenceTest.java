@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020-2024 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.remote.protocol;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.drasyl.handler.remote.protocol.NonceSequence.CAPACITY;
+import static org.drasyl.handler.remote.protocol.NonceSequence.PREFIX_LENGTH;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NonceSequenceTest {
+    @Nested
+    class Next {
+        @Test
+        void shouldReturnPrefixFollowedByCounter() {
+            final byte[] prefix = new byte[PREFIX_LENGTH];
+            Arrays.fill(prefix, (byte) 7);
+            final NonceSequence sequence = new NonceSequence(prefix, 0x01020304L);
+
+            final byte[] nonce = sequence.next().toByteArray();
+
+            assertArrayEquals(prefix, Arrays.copyOf(nonce, PREFIX_LENGTH));
+            assertArrayEquals(new byte[]{ 1, 2, 3, 4 }, Arrays.copyOfRange(nonce, PREFIX_LENGTH, Nonce.NONCE_LENGTH));
+            assertEquals(0x01020305L, sequence.count());
+        }
+
+        @Test
+        void shouldReturnDistinctNonces() {
+            final NonceSequence sequence = new NonceSequence();
+
+            final Nonce nonceA = sequence.next();
+            final Nonce nonceB = sequence.next();
+
+            assertEquals(2, sequence.count());
+            assertNotEquals(nonceA, nonceB);
+        }
+
+        @Test
+        void shouldContinueWithFreshPrefixIfCounterIsExhausted() {
+            final byte[] prefix = new byte[PREFIX_LENGTH];
+            final NonceSequence sequence = new NonceSequence(prefix.clone(), CAPACITY);
+
+            final byte[] nonce = sequence.next().toByteArray();
+
+            assertFalse(Arrays.equals(prefix, Arrays.copyOf(nonce, PREFIX_LENGTH)));
+            assertArrayEquals(new byte[4], Arrays.copyOfRange(nonce, PREFIX_LENGTH, Nonce.NONCE_LENGTH));
+            assertEquals(1, sequence.count());
+        }
+    }
+
+    @Nested
+    class Constructor {
+        @Test
+        void shouldRejectPrefixWithWrongLength() {
+            final byte[] prefix = new byte[PREFIX_LENGTH + 1];
+            assertThrows(IllegalArgumentException.class, () -> new NonceSequence(prefix, 0));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.identity;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import test.util.IdentityTestUtil;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdentityPublicKeyCacheTest {
+    @Nested
+    class Constructor {
+        @Test
+        void shouldRoundUpCapacityToPowerOfTwo() {
+            assertEquals(2, new IdentityPublicKeyCache(1).capacity());
+            assertEquals(64, new IdentityPublicKeyCache(64).capacity());
+            assertEquals(128, new IdentityPublicKeyCache(65).capacity());
+        }
+
+        @Test
+        void shouldRejectNonPositiveCapacity() {
+            assertThrows(IllegalArgumentException.class, () -> new IdentityPublicKeyCache(0));
+        }
+    }
+
+    @Nested
+    class Get {
+        @Test
+        void shouldReturnInternedKey() {
+            final IdentityPublicKeyCache cache = new IdentityPublicKeyCache(16);
+            final IdentityPublicKey publicKey = IdentityTestUtil.ID_1.getIdentityPublicKey();
+            final byte[] bytes = publicKey.toByteArray();
+
+            assertSame(publicKey, cache.get(bytes));
+            assertSame(publicKey, cache.get(bytes));
+        }
+
+        @Test
+        void shouldNotRetainPassedArray() {
+            final IdentityPublicKeyCache cache = new IdentityPublicKeyCache(16);
+            final IdentityPublicKey publicKey = IdentityTestUtil.ID_1.getIdentityPublicKey();
+            final byte[] bytes = publicKey.toByteArray();
+
+            final IdentityPublicKey cachedKey = cache.get(bytes);
+            bytes[0]++;
+
+            assertEquals(publicKey, cachedKey);
+            assertEquals(IdentityPublicKey.of(bytes), cache.get(bytes));
+        }
+
+        @Test
+        void shouldReturnCorrectKeysWhenCapacityIsExceeded() {
+            final IdentityPublicKeyCache cache = new IdentityPublicKeyCache(2);
+
+            for (int i = 0; i < 100; i++) {
+                final byte[] bytes = new byte[IdentityPublicKey.KEY_LENGTH_AS_BYTES];
+                ThreadLocalRandom.current().nextBytes(bytes);
+
+                assertEquals(IdentityPublicKey.of(bytes), cache.get(bytes));
+            }
+        }
+
+        @Test
+        void shouldRejectInvalidKeys() {
+            final IdentityPublicKeyCache cache = new IdentityPublicKeyCache(16);
+
+            assertThrows(IllegalArgumentException.class, () -> cache.get(new byte[0]));
+        }
+    }
+}
@@ -25,10 +25,12 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import static org.drasyl.util.PlatformDependent.currentThreadAllocatedBytes;
 import static org.drasyl.util.PlatformDependent.javaSpecificationVersion;
 import static org.drasyl.util.PlatformDependent.javaVersion;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 class PlatformDependentTest {
@@ -56,4 +58,17 @@ class PlatformDependentTest {
             assertThat(javaSpecificationVersion(), greaterThan(0f));
         }
     }
+
+    @Nested
+    class CurrentThreadAllocatedBytes {
+        @Test
+        void shouldReturnMonotonicCounter() {
+            final long before = currentThreadAllocatedBytes();
+            final byte[] garbage = new byte[1024];
+            final long after = currentThreadAllocatedBytes();
+
+            assertThat(garbage.length, greaterThan(0));
+            assertThat(after, greaterThanOrEqualTo(before));
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+
+import java.util.List;
+
+import static org.drasyl.handler.codec.AggregateEncoder.LENGTH_FIELD_LENGTH;
+
+/**
+ * A decoder that splits aggregates created by {@link AggregateEncoder} back into the original
+ * messages. For example, if you received the following packet:
+ * <pre>
+ * +-------+--------+---------+
+ * | 1 | A | 2 | BC | 3 | DEF |
+ * +-------+--------+---------+
+ * </pre>
+ * A {@link AggregateDecoder} will decode it into the following three messages:
+ * <pre>
+ * +---+----+-----+
+ * | A | BC | DEF |
+ * +---+----+-----+
+ * </pre>
+ */
+public class AggregateDecoder extends MessageToMessageDecoder<ByteBuf> {
+    @Override
+    protected void decode(final ChannelHandlerContext ctx,
+                          final ByteBuf in,
+                          final List<Object> out) throws Exception {
+        while (in.isReadable()) {
+            if (in.readableBytes() < LENGTH_FIELD_LENGTH) {
+                throw new CorruptedFrameException("Aggregate contains truncated length field.");
+            }
+            final int length = in.readUnsignedShort();
+            if (in.readableBytes() < length) {
+                throw new CorruptedFrameException("Aggregate announces message of " + length + " bytes, but only " + in.readableBytes() + " bytes are left.");
+            }
+            out.add(in.readRetainedSlice(length));
+        }
+    }
+}
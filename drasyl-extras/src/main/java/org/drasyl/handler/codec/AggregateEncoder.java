@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.drasyl.util.Preconditions.requireNonNegative;
+import static org.drasyl.util.Preconditions.requirePositive;
+
+/**
+ * An encoder that coalesces all {@link ByteBuf}s written between two flushes into aggregates not
+ * larger than {@link #maxAggregateLength}. Each message is prefixed with its length as unsigned
+ * short. For example, if you write the following three messages and then flush:
+ * <pre>
+ * +---+----+-----+
+ * | A | BC | DEF |
+ * +---+----+-----+
+ * </pre>
+ * A {@link AggregateEncoder}{@code (16, 0)} will encode them into the following single packet:
+ * <pre>
+ * +-------+--------+---------+
+ * | 1 | A | 2 | BC | 3 | DEF |
+ * +-------+--------+---------+
+ * </pre>
+ * Messages that do not fit into an empty aggregate are sent in an aggregate of their own, which is
+ * then larger than {@link #maxAggregateLength}. Messages larger than {@value #MAX_MESSAGE_LENGTH}
+ * bytes are rejected with a {@link TooLongFrameException}. Messages other than {@link ByteBuf}s are
+ * passed through after the current aggregate has been written, so they never overtake preceding
+ * messages.
+ * <p>
+ * If a flush deadline is given, a {@link #flush(ChannelHandlerContext)} does not flush the current
+ * aggregate immediately but at most {@link #flushDeadlineMicros} microseconds later. This allows
+ * subsequent {@code writeAndFlush} calls to share the same aggregate.
+ * <p>
+ * Use {@link AggregateDecoder} on the receiving side.
+ */
+public class AggregateEncoder extends ChannelOutboundHandlerAdapter {
+    public static final int LENGTH_FIELD_LENGTH = 2;
+    public static final int MAX_MESSAGE_LENGTH = 0xFFFF;
+    private final int maxAggregateLength;
+    private final long flushDeadlineMicros;
+    private final List<ChannelPromise> promises = new ArrayList<>();
+    private ByteBuf aggregate;
+    private ScheduledFuture<?> flushTask;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxAggregateLength  the maximum length of an aggregate
+     * @param flushDeadlineMicros maximum time in microseconds a flushed message may be delayed to
+     *                            wait for further messages. {@code 0} flushes immediately
+     */
+    public AggregateEncoder(final int maxAggregateLength, final long flushDeadlineMicros) {
+        this.maxAggregateLength = requirePositive(maxAggregateLength);
+        this.flushDeadlineMicros = requireNonNegative(flushDeadlineMicros);
+    }
+
+    /**
+     * Creates a new instance that flushes immediately.
+     *
+     * @param maxAggregateLength the maximum length of an aggregate
+     */
+    public AggregateEncoder(final int maxAggregateLength) {
+        this(maxAggregateLength, 0);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx,
+                      final Object msg,
+                      final ChannelPromise promise) {
+        if (!(msg instanceof ByteBuf)) {
+            // do not overtake the messages in the current aggregate
+            writeAggregate(ctx);
+            ctx.write(msg, promise);
+            return;
+        }
+
+        final ByteBuf buf = (ByteBuf) msg;
+        try {
+            final int length = buf.readableBytes();
+            if (length > MAX_MESSAGE_LENGTH) {
+                promise.tryFailure(new TooLongFrameException("Message of " + length + " bytes exceeds maximum length of " + MAX_MESSAGE_LENGTH + " bytes."));
+                return;
+            }
+
+            final int frameLength = LENGTH_FIELD_LENGTH + length;
+            if (aggregate != null && aggregate.writableBytes() < frameLength) {
+                writeAggregate(ctx);
+            }
+            if (aggregate == null) {
+                final int capacity = Math.max(maxAggregateLength, frameLength);
+                aggregate = ctx.alloc().buffer(capacity, capacity);
+            }
+
+            aggregate.writeShort(length).writeBytes(buf);
+            promises.add(promise);
+        }
+        finally {
+            buf.release();
+        }
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+        if (flushDeadlineMicros == 0 || aggregate == null) {
+            flushNow(ctx);
+        }
+        else {
+            // flush already completed aggregates, the current one has to wait for the deadline
+            ctx.flush();
+            if (flushTask == null) {
+                flushTask = ctx.executor().schedule(() -> {
+                    flushTask = null;
+                    flushNow(ctx);
+                }, flushDeadlineMicros, MICROSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+        flushNow(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        flushNow(ctx);
+    }
+
+    private void flushNow(final ChannelHandlerContext ctx) {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        writeAggregate(ctx);
+        ctx.flush();
+    }
+
+    private void writeAggregate(final ChannelHandlerContext ctx) {
+        if (aggregate == null) {
+            return;
+        }
+
+        final ByteBuf buf = aggregate;
+        aggregate = null;
+        if (promises.size() == 1) {
+            ctx.write(buf, promises.get(0));
+        }
+        else {
+            final ChannelPromise[] aggregatePromises = promises.toArray(new ChannelPromise[0]);
+            ctx.write(buf).addListener((ChannelFutureListener) future -> {
+                for (final ChannelPromise promise : aggregatePromises) {
+                    if (future.isSuccess()) {
+                        promise.trySuccess();
+                    }
+                    else {
+                        promise.tryFailure(future.cause());
+                    }
+                }
+            });
+        }
+        promises.clear();
+    }
+}
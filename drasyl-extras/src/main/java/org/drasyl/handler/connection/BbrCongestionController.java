@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2020-2022 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+import org.drasyl.util.logging.Logger;
+import org.drasyl.util.logging.LoggerFactory;
+
+import java.util.ArrayDeque;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.drasyl.handler.connection.Segment.lessThanOrEqualTo;
+import static org.drasyl.util.NumberUtil.max;
+import static org.drasyl.util.NumberUtil.min;
+
+/**
+ * Model-based congestion control inspired by <a href="https://datatracker.ietf.org/doc/html/draft-cardwell-iccrg-bbr-congestion-control">BBR</a>.
+ * <p>
+ * Instead of interpreting losses as congestion signal, this controller continuously estimates the
+ * bottleneck bandwidth (maximum delivery rate seen over the last {@value #BTL_BW_FILTER_LENGTH}
+ * round trips) and the round-trip propagation delay (minimum round-trip time seen over the last 10
+ * seconds). The congestion window is then set to a multiple of their product, the
+ * bandwidth-delay product (BDP). Random, non-congestive losses therefore do not reduce the sending
+ * rate.
+ * <p>
+ * The controller moves through the states STARTUP (exponential growth until the bandwidth estimate
+ * stops increasing), DRAIN (removing the queue created during STARTUP), PROBE_BW (steady state),
+ * and PROBE_RTT (briefly reducing the window to refresh an expired round-trip time estimate). As
+ * segments are not paced by the bandwidth estimate, the window alone limits the amount of data in
+ * flight: DRAIN limits it to one BDP and PROBE_BW to {@value #CWND_GAIN} BDPs. Only retransmission
+ * timeouts reduce the window to one segment.
+ * <p>
+ * Delivery rates and round-trip times are measured with {@link ConnectionConfig#clock()}, so their
+ * resolution is limited by its granularity.
+ */
+public class BbrCongestionController implements CongestionController {
+    private static final Logger LOG = LoggerFactory.getLogger(BbrCongestionController.class);
+    // BBR: 2/ln(2), the smallest gain that allows the sending rate to double each round trip
+    static final double HIGH_GAIN = 2.885;
+    static final double CWND_GAIN = 2;
+    // BBR: pacing gains cycled through in PROBE_BW, one per round trip
+    static final double[] PACING_GAIN_CYCLE = { 1.25, 0.75, 1, 1, 1, 1, 1, 1 };
+    static final int BTL_BW_FILTER_LENGTH = 10;
+    static final long MIN_RTT_FILTER_LENGTH = SECONDS.toNanos(10);
+    static final long PROBE_RTT_DURATION = MILLISECONDS.toNanos(200);
+    static final int MIN_PIPE_CWND_SEGMENTS = 4;
+    // segments in flight, in send order
+    private final ArrayDeque<SendSample> sendSamples = new ArrayDeque<>();
+    // per-round maxima of the delivery rate in bytes per second
+    private final double[] btlBwSamples = new double[BTL_BW_FILTER_LENGTH];
+    private Mode mode = Mode.STARTUP;
+    private double cwndGain = HIGH_GAIN;
+    private int cycleIndex;
+    // total number of bytes acknowledged so far and the time this number was last updated
+    private long delivered;
+    private long deliveredTime;
+    private long firstSentTime;
+    private long highestSentSeq;
+    private boolean anySent;
+    private long nextRoundDelivered;
+    private long roundCount;
+    private boolean roundStart;
+    // bottleneck bandwidth in bytes per second
+    private double btlBw;
+    // round-trip propagation delay in nanoseconds, -1 until the first measurement
+    private long minRtt = -1;
+    private long minRttStamp;
+    private boolean minRttExpired;
+    private double fullBw;
+    private int fullBwCount;
+    private boolean filledPipe;
+    private long probeRttDoneStamp;
+    private boolean probeRttRoundDone;
+    private long priorCwnd;
+
+    @Override
+    public void onSend(final ChannelHandlerContext ctx,
+                       final TransmissionControlBlock tcb,
+                       final Segment seg) {
+        if (seg.len() == 0 || (anySent && lessThanOrEqualTo(seg.nxtSeq(), highestSentSeq))) {
+            return;
+        }
+
+        final long now = tcb.config().clock().nanoTime();
+        if (sendSamples.isEmpty()) {
+            // nothing in flight. start a new sampling interval
+            firstSentTime = now;
+            deliveredTime = now;
+        }
+        sendSamples.add(new SendSample(seg.nxtSeq(), now, delivered, deliveredTime, firstSentTime));
+        highestSentSeq = seg.nxtSeq();
+        anySent = true;
+    }
+
+    @Override
+    public void onAck(final ChannelHandlerContext ctx,
+                      final TransmissionControlBlock tcb,
+                      final long ackedBytes) {
+        updateModel(ctx, tcb, ackedBytes);
+        updateCwnd(ctx, tcb, ackedBytes);
+    }
+
+    @Override
+    public void onFastRetransmit(final ChannelHandlerContext ctx,
+                                 final TransmissionControlBlock tcb) {
+        // the retransmitted segment would yield a misleading sample
+        sendSamples.poll();
+
+        // losses are no congestion signal. keep the window and, like RFC 5681, inflate it by the
+        // three segments that have left the network.
+        priorCwnd = tcb.cwnd();
+        tcb.cwnd(ctx, priorCwnd + 3L * tcb.smss());
+    }
+
+    @Override
+    public void onDuplicateAck(final ChannelHandlerContext ctx,
+                               final TransmissionControlBlock tcb) {
+        tcb.cwnd(ctx, tcb.cwnd() + tcb.smss());
+    }
+
+    @Override
+    public void onProbeRepairedLoss(final ChannelHandlerContext ctx,
+                                    final TransmissionControlBlock tcb) {
+        // losses are no congestion signal
+    }
+
+    @Override
+    public void onPartialAck(final ChannelHandlerContext ctx,
+                             final TransmissionControlBlock tcb,
+                             final long ackedBytes) {
+        updateModel(ctx, tcb, ackedBytes);
+        CongestionController.super.onPartialAck(ctx, tcb, ackedBytes);
+    }
+
+    @Override
+    public void onFastRecoveryExit(final ChannelHandlerContext ctx,
+                                   final TransmissionControlBlock tcb,
+                                   final long ackedBytes) {
+        tcb.cwnd(ctx, priorCwnd);
+        onAck(ctx, tcb, ackedBytes);
+    }
+
+    @Override
+    public void onRetransmissionTimeout(final ChannelHandlerContext ctx,
+                                        final TransmissionControlBlock tcb) {
+        // everything in flight is considered lost
+        sendSamples.clear();
+        LOG.trace("{} Congestion Control: Timeout. Set cwnd to 1 full-sized segment.", ctx.channel());
+        tcb.cwnd(ctx, tcb.effSndMss());
+    }
+
+    private void updateModel(final ChannelHandlerContext ctx,
+                             final TransmissionControlBlock tcb,
+                             final long ackedBytes) {
+        final long now = tcb.config().clock().nanoTime();
+        delivered += ackedBytes;
+        deliveredTime = now;
+
+        // find most recently sent segment that is now acknowledged
+        SendSample sample = null;
+        while (!sendSamples.isEmpty() && lessThanOrEqualTo(sendSamples.peek().endSeq, tcb.sndUna())) {
+            sample = sendSamples.poll();
+        }
+
+        roundStart = false;
+        if (sample != null) {
+            if (sample.delivered >= nextRoundDelivered) {
+                nextRoundDelivered = delivered;
+                roundCount++;
+                roundStart = true;
+                btlBwSamples[(int) (roundCount % BTL_BW_FILTER_LENGTH)] = 0;
+            }
+
+            // delivery rate: bytes delivered since the sample was sent, divided by the longer of
+            // the send and ack intervals to not overestimate the rate on ACK compression
+            firstSentTime = sample.sendTime;
+            final long sendElapsed = sample.sendTime - sample.firstSentTime;
+            final long ackElapsed = now - sample.deliveredTime;
+            final long interval = Math.max(sendElapsed, ackElapsed);
+            if (interval > 0) {
+                final double rate = (delivered - sample.delivered) * 1e9 / interval;
+                updateBtlBw(rate);
+            }
+            updateMinRtt(now - sample.sendTime, now);
+        }
+
+        checkFullPipe();
+        updateMode(ctx, tcb, now);
+    }
+
+    private void updateBtlBw(final double rate) {
+        final int slot = (int) (roundCount % BTL_BW_FILTER_LENGTH);
+        if (rate > btlBwSamples[slot]) {
+            btlBwSamples[slot] = rate;
+        }
+        double max = 0;
+        for (final double sample : btlBwSamples) {
+            max = Math.max(max, sample);
+        }
+        btlBw = max;
+    }
+
+    private void updateMinRtt(final long rtt, final long now) {
+        minRttExpired = minRtt != -1 && now - minRttStamp > MIN_RTT_FILTER_LENGTH;
+        if (minRtt == -1 || rtt <= minRtt || minRttExpired) {
+            minRtt = rtt;
+            minRttStamp = now;
+        }
+    }
+
+    private void checkFullPipe() {
+        if (filledPipe || !roundStart) {
+            return;
+        }
+
+        if (btlBw >= fullBw * 1.25) {
+            // bandwidth still growing
+            fullBw = btlBw;
+            fullBwCount = 0;
+        }
+        else if (++fullBwCount >= 3) {
+            // three rounds without significant growth
+            filledPipe = true;
+        }
+    }
+
+    private void updateMode(final ChannelHandlerContext ctx,
+                            final TransmissionControlBlock tcb,
+                            final long now) {
+        if (mode == Mode.STARTUP && filledPipe) {
+            enterMode(ctx, Mode.DRAIN, 1);
+        }
+        if (mode == Mode.DRAIN && tcb.flightSize() <= bdp()) {
+            enterMode(ctx, Mode.PROBE_BW, CWND_GAIN);
+        }
+        else if (mode == Mode.PROBE_BW && roundStart) {
+            cycleIndex = (cycleIndex + 1) % PACING_GAIN_CYCLE.length;
+        }
+
+        if (mode != Mode.PROBE_RTT && minRttExpired) {
+            // refresh round-trip propagation delay with an almost empty pipe
+            priorCwnd = tcb.cwnd();
+            probeRttDoneStamp = 0;
+            enterMode(ctx, Mode.PROBE_RTT, 1);
+        }
+        if (mode == Mode.PROBE_RTT) {
+            if (probeRttDoneStamp == 0 && tcb.flightSize() <= minPipeCwnd(tcb)) {
+                probeRttDoneStamp = now + PROBE_RTT_DURATION;
+                probeRttRoundDone = false;
+                nextRoundDelivered = delivered;
+            }
+            else if (probeRttDoneStamp != 0) {
+                if (roundStart) {
+                    probeRttRoundDone = true;
+                }
+                if (probeRttRoundDone && now > probeRttDoneStamp) {
+                    minRttStamp = now;
+                    minRttExpired = false;
+                    tcb.cwnd(ctx, max(tcb.cwnd(), priorCwnd));
+                    if (filledPipe) {
+                        enterMode(ctx, Mode.PROBE_BW, CWND_GAIN);
+                    }
+                    else {
+                        enterMode(ctx, Mode.STARTUP, HIGH_GAIN);
+                    }
+                }
+            }
+        }
+    }
+
+    private void enterMode(final ChannelHandlerContext ctx,
+                           final Mode newMode,
+                           final double newCwndGain) {
+        LOG.trace("{} Congestion Control: Change from {} to {} (BtlBw={}B/s, RTprop={}ns).", ctx.channel(), mode, newMode, (long) btlBw, minRtt);
+        mode = newMode;
+        cwndGain = newCwndGain;
+    }
+
+    private void updateCwnd(final ChannelHandlerContext ctx,
+                            final TransmissionControlBlock tcb,
+                            final long ackedBytes) {
+        final long minPipeCwnd = minPipeCwnd(tcb);
+        if (mode == Mode.PROBE_RTT) {
+            tcb.cwnd(ctx, min(tcb.cwnd(), minPipeCwnd));
+            return;
+        }
+
+        final long cwnd;
+        if (btlBw == 0 || minRtt == -1) {
+            // no model yet
+            cwnd = tcb.cwnd() + ackedBytes;
+        }
+        else {
+            final long targetCwnd = max((long) (cwndGain * bdp()), minPipeCwnd);
+            if (filledPipe) {
+                cwnd = min(tcb.cwnd() + ackedBytes, targetCwnd);
+            }
+            else if (tcb.cwnd() < targetCwnd) {
+                cwnd = tcb.cwnd() + ackedBytes;
+            }
+            else {
+                cwnd = tcb.cwnd();
+            }
+        }
+        tcb.cwnd(ctx, max(cwnd, minPipeCwnd));
+    }
+
+    /**
+     * Paces at the estimated bottleneck bandwidth. During STARTUP, the rate grows as fast as the
+     * window. DRAIN paces below the bandwidth to remove the queue created during STARTUP. PROBE_BW
+     * paces above the bandwidth for one round trip to discover bandwidth that has become available,
+     * and below it for the next round trip to remove the queue this may have created.
+     */
+    @Override
+    public double pacingRate(final TransmissionControlBlock tcb) {
+        switch (mode) {
+            case STARTUP:
+                return HIGH_GAIN * btlBw;
+            case DRAIN:
+                return btlBw / HIGH_GAIN;
+            case PROBE_BW:
+                return PACING_GAIN_CYCLE[cycleIndex] * btlBw;
+            default:
+                return btlBw;
+        }
+    }
+
+    private double bdp() {
+        return btlBw * minRtt / 1e9;
+    }
+
+    private static long minPipeCwnd(final TransmissionControlBlock tcb) {
+        return (long) MIN_PIPE_CWND_SEGMENTS * tcb.smss();
+    }
+
+    /**
+     * Returns the current estimate of the bottleneck bandwidth in bytes per second.
+     *
+     * @return the current estimate of the bottleneck bandwidth in bytes per second
+     */
+    public double btlBw() {
+        return btlBw;
+    }
+
+    /**
+     * Returns the current estimate of the round-trip propagation delay in nanoseconds, or
+     * {@code -1} if no round-trip time has been measured yet.
+     *
+     * @return the current estimate of the round-trip propagation delay in nanoseconds
+     */
+    public long minRtt() {
+        return minRtt;
+    }
+
+    Mode mode() {
+        return mode;
+    }
+
+    @Override
+    public String toString() {
+        return "BBR(" + mode + ", BtlBw=" + (long) btlBw + "B/s, RTprop=" + minRtt + "ns)";
+    }
+
+    enum Mode {
+        STARTUP,
+        DRAIN,
+        PROBE_BW,
+        PROBE_RTT
+    }
+
+    private static class SendSample {
+        final long endSeq;
+        final long sendTime;
+        final long delivered;
+        final long deliveredTime;
+        final long firstSentTime;
+
+        SendSample(final long endSeq,
+                   final long sendTime,
+                   final long delivered,
+                   final long deliveredTime,
+                   final long firstSentTime) {
+            this.endSeq = endSeq;
+            this.sendTime = sendTime;
+            this.delivered = delivered;
+            this.deliveredTime = deliveredTime;
+            this.firstSentTime = firstSentTime;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020-2022 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Controls the congestion window ({@link TransmissionControlBlock#cwnd()}) of a connection.
+ * <p>
+ * The {@link ConnectionHandler} detects acknowledgements, duplicate acknowledgements, and
+ * retransmission timeouts and performs the required retransmissions. Implementations of this
+ * interface only decide how {@code cwnd} and {@code ssthresh} react to these events. Each
+ * {@link TransmissionControlBlock} obtains its own instance from
+ * {@link ConnectionConfig#congestionControllerSupplier()}, so implementations may keep
+ * per-connection state. All methods are called from the channel's event loop.
+ *
+ * @see RenoCongestionController
+ * @see CubicCongestionController
+ * @see BbrCongestionController
+ */
+public interface CongestionController {
+    /**
+     * Called when {@code seg} is written to the network for the first time. Retransmissions are not
+     * reported.
+     */
+    void onSend(ChannelHandlerContext ctx, TransmissionControlBlock tcb, Segment seg);
+
+    /**
+     * Called when an acknowledgement for {@code ackedBytes} previously unacknowledged bytes
+     * arrives outside of fast recovery.
+     */
+    void onAck(ChannelHandlerContext ctx, TransmissionControlBlock tcb, long ackedBytes);
+
+    /**
+     * Called when the third duplicate acknowledgement in a row arrives. The segment starting at
+     * {@link TransmissionControlBlock#sndUna()} has just been retransmitted and fast recovery
+     * begins.
+     */
+    void onFastRetransmit(ChannelHandlerContext ctx, TransmissionControlBlock tcb);
+
+    /**
+     * Called for every further duplicate acknowledgement received during fast recovery.
+     */
+    void onDuplicateAck(ChannelHandlerContext ctx, TransmissionControlBlock tcb);
+
+    /**
+     * Called when the first acknowledgement of previously unacknowledged data ends fast
+     * recovery.
+     */
+    void onFastRecoveryExit(ChannelHandlerContext ctx,
+                            TransmissionControlBlock tcb,
+                            long ackedBytes);
+
+    /**
+     * Called when an acknowledgement of previously unacknowledged data arrives during loss recovery
+     * based on selective acknowledgements, but not all data outstanding at the start of the loss
+     * recovery has been acknowledged yet. By default, {@code cwnd} is deflated by the amount of new
+     * data acknowledged as described in RFC 6582.
+     *
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc6582#section-3.2">RFC 6582, Section
+     * 3.2.</a>
+     */
+    default void onPartialAck(final ChannelHandlerContext ctx,
+                              final TransmissionControlBlock tcb,
+                              final long ackedBytes) {
+        // RFC 6582: deflate the congestion window by the amount of new data acknowledged by the
+        // RFC 6582: cumulative acknowledgment field. If the partial ACK acknowledges at least one
+        // RFC 6582: SMSS of new data, then add back SMSS bytes to the congestion window.
+        long newCwnd = tcb.cwnd() - ackedBytes;
+        if (ackedBytes >= tcb.smss()) {
+            newCwnd += tcb.smss();
+        }
+        tcb.cwnd(ctx, Math.max(newCwnd, tcb.smss()));
+    }
+
+    /**
+     * Called when the acknowledgement of a retransmitted loss probe indicates that the probe has
+     * repaired a loss at the tail of a flight. By then, the flight has already been acknowledged.
+     * By default, {@code cwnd} is therefore halved, and not the amount of outstanding data as
+     * with fast retransmit.
+     *
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc8985#section-7.4">RFC 8985, Section
+     * 7.4.</a>
+     */
+    default void onProbeRepairedLoss(final ChannelHandlerContext ctx,
+                                     final TransmissionControlBlock tcb) {
+        tcb.ssthresh(ctx, Math.max(tcb.cwnd() / 2, 2L * tcb.smss()));
+        tcb.cwnd(ctx, tcb.ssthresh());
+    }
+
+    /**
+     * Returns the rate in bytes per second at which new data is sent if
+     * {@link ConnectionConfig#pacing()} is enabled, or {@code 0} to not pace new data. By default,
+     * {@code cwnd} is spread across the smoothed round-trip time. Like Linux, this rate is doubled
+     * during slow start and increased by 20% otherwise, so that pacing does not limit the growth of
+     * {@code cwnd}. As {@code cwnd} is inflated for every segment that has left the network during
+     * loss recovery, the window restored after recovery is paced instead.
+     */
+    default double pacingRate(final TransmissionControlBlock tcb) {
+        if (tcb.sRtt() == 0) {
+            // no round-trip time measured yet
+            return 0;
+        }
+
+        final long window;
+        if (tcb.retransmissionQueue().inLossRecovery(tcb)) {
+            window = Math.min(tcb.cwnd(), tcb.ssthresh());
+        }
+        else {
+            window = tcb.cwnd();
+        }
+        final double gain = tcb.doSlowStart() ? 2 : 1.2;
+        return gain * window / (tcb.sRtt() * tcb.config().clock().g());
+    }
+
+    /**
+     * Called when the retransmission timer expired and the earliest unacknowledged segment has been
+     * retransmitted.
+     */
+    void onRetransmissionTimeout(ChannelHandlerContext ctx, TransmissionControlBlock tcb);
+}
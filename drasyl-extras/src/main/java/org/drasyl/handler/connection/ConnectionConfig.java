@@ -53,6 +53,7 @@ public abstract class ConnectionConfig {
             .sndBufSupplier(SendBuffer::new)
             .rtnsQSupplier(channel -> new RetransmissionQueue())
             .rcfBufSupplier(ReceiveBuffer::new)
+            .congestionControllerSupplier(RenoCongestionController::new)
             .tcbSupplier((config, channel) -> new TransmissionControlBlock(
                     config,
                     0,
@@ -81,9 +82,13 @@ public abstract class ConnectionConfig {
             .msl(ofSeconds(2))
             .noDelay(true)
             .overrideTimeout(ofMillis(100))
+            .ackDelay(Duration.ZERO)
             .fs(1d / 2)
             .userTimeout(ofSeconds(60))
             .timestamps(false)
+            .sack(false)
+            .rackTlp(false)
+            .pacing(false)
             .rto(ofSeconds(1))
             .lBound(ofSeconds(1))
             .uBound(ofSeconds(60))
@@ -95,7 +100,7 @@ public abstract class ConnectionConfig {
 
                 @Override
                 public long time() {
-                    final long time = System.nanoTime() / 100_000; // convert to 10ms granularity
+                    final long time = System.nanoTime() / 1_000_000; // convert to 1ms granularity
                     if (offset == 0) {
                         // clocks does not require to be synchronized between sender and receiver.
                         // to reduce time till  overflow, start at 0
@@ -106,7 +111,7 @@ public abstract class ConnectionConfig {
 
                 @Override
                 public double g() {
-                    return 1.0 / 100; // 10ms granularity
+                    return 1.0 / 1_000; // 1ms granularity
                 }
             })
             .mmsS(IP_MTU - DRASYL_HDR_SIZE)
@@ -127,6 +132,8 @@ public abstract class ConnectionConfig {
 
     public abstract Supplier<ReceiveBuffer> rcfBufSupplier();
 
+    public abstract Supplier<CongestionController> congestionControllerSupplier();
+
     public abstract BiFunction<ConnectionConfig, Channel, TransmissionControlBlock> tcbSupplier();
 
     public abstract boolean activeOpen();
@@ -141,6 +148,12 @@ public abstract class ConnectionConfig {
 
     public abstract boolean timestamps();
 
+    public abstract boolean sack();
+
+    public abstract boolean rackTlp();
+
+    public abstract boolean pacing();
+
     public abstract double alpha();
 
     public abstract double beta();
@@ -155,6 +168,8 @@ public abstract class ConnectionConfig {
 
     public abstract Duration overrideTimeout();
 
+    public abstract Duration ackDelay();
+
     public abstract Duration rto();
 
     public abstract int mmsS();
@@ -170,6 +185,13 @@ public abstract class ConnectionConfig {
 
         // clock granularity in seconds
         double g();
+
+        /**
+         * Returns {@link #time()} in nanoseconds. The resolution is limited by {@link #g()}.
+         */
+        default long nanoTime() {
+            return Math.round(time() * g() * 1_000_000_000L);
+        }
     }
 
     @AutoValue.Builder
@@ -197,6 +219,14 @@ public abstract class ConnectionConfig {
          */
         public abstract Builder rcfBufSupplier(final Supplier<ReceiveBuffer> rcfBufSupplier);
 
+        /**
+         * Used to create the {@link CongestionController} of each connection.
+         * {@link RenoCongestionController} is used by default. On paths with a large
+         * bandwidth-delay product, {@link CubicCongestionController} or
+         * {@link BbrCongestionController} utilize the available bandwidth considerably better.
+         */
+        public abstract Builder congestionControllerSupplier(final Supplier<CongestionController> congestionControllerSupplier);
+
         /**
          * Used to create the {@link TransmissionControlBlock}.
          */
@@ -246,6 +276,21 @@ public abstract class ConnectionConfig {
          */
         public abstract Builder overrideTimeout(final Duration overrideTimeout);
 
+        /**
+         * Defines how long the acknowledgement of received data is delayed at most. Delayed
+         * acknowledgements are sent for at least every second full-sized segment, or piggybacked
+         * on data sent in the opposite direction, which roughly halves the number of segments sent
+         * by the receiver of a bulk transfer. Out-of-order segments are always acknowledged
+         * immediately. According to RFC 1122, the delay must be less than 0.5 seconds. A value of
+         * zero disables delayed acknowledgements. Default value is zero.
+         *
+         * @see <a href="https://www.rfc-editor.org/rfc/rfc1122#section-4.2.3.2">RFC 1122,
+         * Section 4.2.3.2.</a>
+         * @see <a href="https://www.rfc-editor.org/rfc/rfc5681#section-4.2">RFC 5681, Section
+         * 4.2.</a>
+         */
+        public abstract Builder ackDelay(final Duration ackDelay);
+
         /**
          * A constant used by the Nagle algorithm. Recommended value is 1/2. The default is set to
          * this recommendation
@@ -273,6 +318,48 @@ public abstract class ConnectionConfig {
          */
         public abstract Builder timestamps(final boolean timestamps);
 
+        /**
+         * Enables the Selective Acknowledgment (SACK) option. If both peers agree on SACK, the
+         * receiver informs the sender about all segments that have arrived successfully, so the
+         * sender need retransmit only the segments that have actually been lost. This greatly
+         * improves the performance when multiple segments are lost from one window of data.
+         * Disabled by default.
+         *
+         * @see <a href="https://www.rfc-editor.org/rfc/rfc2018">RFC 2018</a>
+         * @see <a href="https://www.rfc-editor.org/rfc/rfc6675">RFC 6675</a>
+         */
+        public abstract Builder sack(final boolean sack);
+
+        /**
+         * Enables time-based loss detection using RACK-TLP. Instead of counting duplicate
+         * acknowledgements, a segment is considered lost if a segment sent after it has been
+         * acknowledged and a reordering window has passed. Losses at the tail of a flight, which
+         * cause no further acknowledgements, are repaired by sending a probe segment after about
+         * two round-trip times instead of waiting for the retransmission timeout. Requires
+         * {@link #sack(boolean)}. Disabled by default.
+         *
+         * @see #sack(boolean)
+         * @see <a href="https://www.rfc-editor.org/rfc/rfc8985">RFC 8985</a>
+         */
+        public abstract Builder rackTlp(final boolean rackTlp);
+
+        /**
+         * Enables pacing of new data. Instead of sending a whole congestion window in a single
+         * burst, segments are spread across the round-trip time at the rate returned by
+         * {@link CongestionController#pacingRate(TransmissionControlBlock)}. This prevents bursts
+         * from overflowing receive buffers and queues along the path. Retransmissions are not
+         * paced. The default rate is derived from the smoothed round-trip time, which is only
+         * measured with {@link #timestamps(boolean)}. Paced senders keep queues filled more
+         * evenly, so this should be combined with {@link #rackTlp(boolean)} to detect lost
+         * retransmissions without waiting for the retransmission timeout. Disabled by default.
+         * <p>
+         * All paced connections of an {@link io.netty.channel.EventLoop} share a single timer, so
+         * pacing does not add a scheduled task per connection.
+         *
+         * @see #rackTlp(boolean)
+         */
+        public abstract Builder pacing(final boolean pacing);
+
         /**
          * The retransmission timeout (RTO) is the amount of time that a connection waits before
          * retransmitting a packet that has not been acknowledged.
@@ -31,16 +31,20 @@ import io.netty.handler.codec.UnsupportedMessageTypeException;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.PromiseNotifier;
 import io.netty.util.concurrent.ScheduledFuture;
+import org.drasyl.handler.connection.SegmentOption.SackOption;
 import org.drasyl.handler.connection.SegmentOption.TimestampsOption;
 import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.lang.Boolean.FALSE;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.drasyl.handler.connection.RetransmissionQueue.DUP_THRESH;
 import static org.drasyl.handler.connection.Segment.ACK;
 import static org.drasyl.handler.connection.Segment.FIN;
 import static org.drasyl.handler.connection.Segment.PSH;
@@ -54,6 +58,8 @@ import static org.drasyl.handler.connection.Segment.lessThan;
 import static org.drasyl.handler.connection.Segment.lessThanOrEqualTo;
 import static org.drasyl.handler.connection.Segment.sub;
 import static org.drasyl.handler.connection.SegmentOption.MAXIMUM_SEGMENT_SIZE;
+import static org.drasyl.handler.connection.SegmentOption.SACK;
+import static org.drasyl.handler.connection.SegmentOption.SACK_PERMITTED;
 import static org.drasyl.handler.connection.SegmentOption.TIMESTAMPS;
 import static org.drasyl.handler.connection.State.CLOSED;
 import static org.drasyl.handler.connection.State.CLOSE_WAIT;
@@ -82,7 +88,8 @@ import static org.drasyl.util.Preconditions.requireInRange;
  * Extensions for High Performance</a>. Furthermore, the congestion control algorithms slow start,
  * congestion avoidance, fast retransmit, and fast recovery as described in <a
  * href="https://www.rfc-editor.org/rfc/rfc5681#section-3.1">RFC 5681 TCP Congestion Control</a> are
- * implemented as well.
+ * implemented as well. How the congestion window reacts to these events is decided by the
+ * {@link CongestionController} created by {@link ConnectionConfig#congestionControllerSupplier()}.
  * <p>
  * The <a href="https://www.rfc-editor.org/rfc/rfc9293.html#nagle">Nagle algorithm</a> is used as
  * "Silly Window Syndrome" avoidance algorithm. To improve performance of recovering from multiple
@@ -122,6 +129,9 @@ public class ConnectionHandler extends ChannelDuplexHandler {
     ScheduledFuture<?> retransmissionTimer;
     ScheduledFuture<?> timeWaitTimer;
     ScheduledFuture<?> zeroWindowProber;
+    ScheduledFuture<?> delayedAckTimer;
+    // either the RACK reordering timer or the TLP probe timer. Both are never armed at once
+    ScheduledFuture<?> rackTimer;
     private ChannelPromise establishedPromise;
     private boolean userCallReceiveAlreadyEnqueued;
     private boolean userCallCloseAlreadyEnqueued;
@@ -902,6 +912,8 @@ public class ConnectionHandler extends ChannelDuplexHandler {
         cancelUserTimer(ctx);
         cancelRetransmissionTimer(ctx);
         cancelTimeWaitTimer(ctx);
+        cancelDelayedAckTimer(ctx);
+        cancelRackTimer(ctx);
     }
 
     void changeState(final ChannelHandlerContext ctx, final State newState) {
@@ -1040,6 +1052,8 @@ public class ConnectionHandler extends ChannelDuplexHandler {
                 }
             }
 
+            negotiateSack(ctx, seg);
+
             // RFC 9293: Set RCV.NXT to SEG.SEQ+1, IRS is set to SEG.SEQ,
             tcb.rcvNxt(advanceSeq(seg.seq(), 1));
             tcb.irs(seg.seq());
@@ -1245,6 +1259,8 @@ public class ConnectionHandler extends ChannelDuplexHandler {
                 }
             }
 
+            negotiateSack(ctx, seg);
+
             if (greaterThan(tcb.sndUna(), tcb.iss())) {
                 LOG.trace("{} Remote peer has ACKed our SYN and sent us its SYN `{}`. Handshake on our side is completed.", ctx.channel(), seg);
 
@@ -1356,6 +1372,7 @@ public class ConnectionHandler extends ChannelDuplexHandler {
                 // RFC 6298: (5.2) When all outstanding data has been acknowledged, turn off the
                 // RFC 6298:       retransmission timer.
                 cancelRetransmissionTimer(ctx);
+                cancelRackTimer(ctx);
             }
             else {
                 LOG.trace("{} New, but not all outstanding data ({} segments still in queue) has been acknowledged. Restart the retransmission timer.", ctx.channel(), tcb.retransmissionQueue().size());
@@ -1874,6 +1891,11 @@ public class ConnectionHandler extends ChannelDuplexHandler {
                         // RFC 9293: data to user RECEIVE buffers. Data from segments can be moved into
                         // RFC 9293: buffers until either the buffer is full or the segment is empty.
                         final boolean outOfOrder = seg.seq() != tcb.rcvNxt();
+                        // RFC 5681: Out-of-order data segments SHOULD be acknowledged immediately,
+                        // RFC 5681: in order to accelerate loss recovery. [...] In addition, a TCP
+                        // RFC 5681: receiver SHOULD send an immediate ACK when the incoming segment
+                        // RFC 5681: fills in all or part of a gap in the sequence space.
+                        final boolean fillsGap = tcb.receiveBuffer().size() != 0;
                         tcb.receiveBuffer().receive(ctx, tcb, seg);
 
                         // RFC 9293: If the segment empties and carries a PUSH flag, then the user is
@@ -1907,6 +1929,11 @@ public class ConnectionHandler extends ChannelDuplexHandler {
 
                         // RFC 9293: Please note the window management suggestions in Section 3.8.
 
+                        if (!outOfOrder && !fillsGap && delayAck(ctx, seg)) {
+                            LOG.trace("{} Delay ACKnowledgement of `{}`.", ctx.channel(), seg);
+                            break;
+                        }
+
                         // RFC 9293: Send an acknowledgment of the form:
                         // RFC 9293: <SEQ=SND.NXT><ACK=RCV.NXT><CTL=ACK>
                         final Segment response = formSegment(ctx, tcb.sndNxt(), tcb.rcvNxt(), ACK);
@@ -1923,9 +1950,6 @@ public class ConnectionHandler extends ChannelDuplexHandler {
                         }
                         else {
                             // otherwise, flush is automatically performed on channelReadComplete
-                            // TODO:
-                            //  RFC 9293: an ACK should not be excessively delayed; in particular, the
-                            //  RFC 9293: delay MUST be less than 0.5 seconds (MUST-40)
                         }
 
                         break;
@@ -2170,6 +2194,14 @@ public class ConnectionHandler extends ChannelDuplexHandler {
         // RFC 9293: acknowledged are removed.
         removeAcknowledgedSegmentsFromRetransmissionQueue(ctx);
 
+        if (tcb.sackOk()) {
+            final SackOption sackOpt = (SackOption) seg.options().get(SACK);
+            if (sackOpt != null) {
+                // RFC 6675: update the scoreboard via the Update () routine.
+                tcb.retransmissionQueue().sack(ctx, tcb, sackOpt);
+            }
+        }
+
         // RFC 9293: Users should receive positive acknowledgments for buffers that have been SENT
         // RFC 9293: and fully acknowledged (i.e., SEND buffer should be returned with "ok"
         // RFC 9293: response).
@@ -2180,35 +2212,26 @@ public class ConnectionHandler extends ChannelDuplexHandler {
             LOG.trace("{} Congestion Control: Fast Retransmit/Fast Recovery: Got duplicate ACK {}#{}. {} unACKed bytes remaining.", ctx.channel(), seg.ack(), tcb.duplicateAcks(), tcb.flightSize());
 
             if (tcb.duplicateAcks() == 3) {
-                // Reno
-                // RFC 5681: 2.  When the third duplicate ACK is received, a TCP MUST
-                // RFC 5681:     set ssthresh to no more than the value given in equation (4).
-                // RFC 5681:     When [RFC3042] is in use, additional data sent in limited
-                // RFC 5681:     transmit MUST NOT be included in this calculation.
-                // RFC 5681: ssthresh = max (FlightSize / 2, 2*SMSS)            (4)
-                LOG.trace("{} Congestion Control: Fast Recovery: Got third duplicate ACK in a row: Set ssthresh to `max(FlightSize/2,2*SMSS) = max({}/2,2*{})`.", ctx.channel(), tcb.flightSize(), tcb.smss());
-                tcb.ssthresh(ctx, max(tcb.flightSize() / 2, 2L * tcb.smss()));
-
                 // RFC 5681: 3. The lost segment starting at SND.UNA MUST be retransmitted
                 final Segment retransmission = nextSegmentOnRetransmissionQueue(ctx, tcb);
                 assert retransmission != null;
                 LOG.trace("{} Congestion Control: Fast Retransmit: Got third duplicate ACK in a row. Retransmit lost segment `{}`.", ctx.channel(), retransmission);
                 ctx.writeAndFlush(retransmission);
 
-                // RFC 5681:    and cwnd set to ssthresh plus 3*SMSS. This artificially
-                // RFC 5681:    "inflates" the congestion window by the number of segments
-                // RFC 5681:    (three) that have left the network and which the receiver has
-                // RFC 5681:    buffered.
-                LOG.trace("{} Congestion Control: Fast Retransmit: Got third duplicate ACK in a row. Inflate cwnd to `ssthresh plus 3*SMSS`.", ctx.channel());
-                tcb.cwnd(ctx, tcb.ssthresh() + 3L * tcb.smss());
+                if (tcb.sackOk()) {
+                    // RFC 6675: RecoveryPoint = HighData.
+                    tcb.recoveryPoint(tcb.sndNxt());
+                    tcb.retransmissionQueue().retransmitted(tcb, tcb.retransmissionQueue().nextSegment());
+                }
+
+                tcb.congestionController().onFastRetransmit(ctx, tcb);
+
+                retransmitLostSegments(ctx);
             }
             else if (tcb.duplicateAcks() > 3) {
-                // RFC 5681: 4. For each additional duplicate ACK received (after the third), cwnd
-                // RFC 5681:    MUST be incremented by SMSS. This artificially inflates the
-                // RFC 5681:    congestion window in order to reflect the additional segment that
-                // RFC 5681:    has left the network.
-                LOG.trace("{} Congestion Control: Fast Recovery: Got additional duplicate ACK (#{}). Increment cwnd by SMSS.", ctx.channel(), tcb.duplicateAcks());
-                tcb.cwnd(ctx, tcb.cwnd() + tcb.smss());
+                tcb.congestionController().onDuplicateAck(ctx, tcb);
+
+                retransmitLostSegments(ctx);
 
                 // RFC 5681: 5.  When previously unsent data is available and the new value of
                 // RFC 5681:     cwnd and the receiver's advertised window allow, a TCP SHOULD
@@ -2217,75 +2240,43 @@ public class ConnectionHandler extends ChannelDuplexHandler {
             }
         }
         else if (tcb.duplicateAcks() != 0) {
-            // Reno
             if (ackedBytes > 0) {
-                // RFC 5681: the "fast recovery" algorithm governs the transmission of new data
-                // RFC 5681: until a non-duplicate ACK arrives.
-                LOG.trace("{} Congestion Control: Fast Recovery: Got non-duplicate ACK. Exit Fast Recovery.", ctx.channel(), state());
-
-                // exit fast recovery procedure
-                tcb.resetDuplicateAcks();
-
-                // RFC 5681: 6.  When the next ACK arrives that acknowledges previously
-                // RFC 5681:     unacknowledged data, a TCP MUST set cwnd to ssthresh (the value
-                // RFC 5681:     set in step 2). This is termed "deflating" the window.
-                LOG.trace("{} Congestion Control: Fast Recovery: Got non-duplicate ACK. Deflate cwnd to ssthresh.", ctx.channel());
-                tcb.cwnd(ctx, tcb.ssthresh());
-            }
-        }
-        else {
-            if (tcb.doSlowStart()) {
-                // RFC 5681: During slow start, a TCP increments cwnd by at most SMSS bytes for
-                // RFC 5681: each ACK received that cumulatively acknowledges new data.
-                // RFC 5681: While traditionally TCP implementations have increased cwnd by
-                // RFC 5681: precisely SMSS bytes upon receipt of an ACK covering new data, we
-                // RFC 5681: RECOMMEND that TCP implementations increase cwnd, per:
-                // RFC 5681:
-                // RFC 5681:    cwnd += min (N, SMSS)                      (2)
-                // RFC 5681:
-                // RFC 5681: where N is the number of previously unacknowledged bytes acknowledged
-                // RFC 5681: in the incoming ACK.
-                final long n = ackedBytes;
-                if (n > 0) {
-                    final long increment = min(n, tcb.smss());
-                    LOG.trace("{} Congestion Control: Slow Start: {} new bytes has ben ACKed. Increase cwnd by {}.", ctx.channel(), ackedBytes, increment);
-                    tcb.cwnd(ctx, tcb.cwnd() + increment);
+                if (tcb.sackOk() && lessThan(seg.ack(), tcb.recoveryPoint())) {
+                    // RFC 6675: Once a TCP is in the loss recovery phase, the following procedure
+                    // RFC 6675: MUST be used for each arriving ACK
+                    // (partial ACK. Stay in loss recovery and retransmit the remaining holes)
+                    LOG.trace("{} Congestion Control: Loss Recovery: Got partial ACK. Stay in Loss Recovery until RecoveryPoint {} is ACKed.", ctx.channel(), tcb.recoveryPoint());
+                    tcb.congestionController().onPartialAck(ctx, tcb, ackedBytes);
+                }
+                else {
+                    // RFC 5681: the "fast recovery" algorithm governs the transmission of new
+                    // RFC 5681: data until a non-duplicate ACK arrives.
+                    LOG.trace("{} Congestion Control: Fast Recovery: Got non-duplicate ACK. Exit Fast Recovery.", ctx.channel(), state());
+
+                    // exit fast recovery procedure
+                    tcb.resetDuplicateAcks();
+                    tcb.congestionController().onFastRecoveryExit(ctx, tcb, ackedBytes);
                 }
             }
-            else {
-                // RFC 5681: During congestion avoidance, cwnd is incremented by roughly 1
-                // RFC 5681: full-sized segment per round-trip time (RTT).
-
-                // RFC 5681: The RECOMMENDED way to increase cwnd during congestion avoidance is to
-                // RFC 5681: count the number of bytes that have been acknowledged by ACKs for new
-                // RFC 5681: data. (A drawback of this implementation is that it requires
-                // RFC 5681: maintaining an additional state variable.) When the number of bytes
-                // RFC 5681: acknowledged reaches cwnd, then cwnd can be incremented by up to SMSS
-                // RFC 5681: bytes. Note that during congestion avoidance, cwnd MUST NOT be
-                // RFC 5681: increased by more than SMSS bytes per RTT. This method both allows TCPs
-                // RFC 5681: to increase cwnd by one segment per RTT in the face of delayed ACKs and
-                // RFC 5681: provides robustness against ACK Division attacks.
-
-                // RFC 5681: Another common formula that a TCP MAY use to update cwnd during
-                // RFC 5681: congestion avoidance is given in equation (3):
-                // RFC 5681:
-                // RFC 5681:    cwnd += SMSS*SMSS/cwnd                     (3)
-                // RFC 5681:
-                // RFC 5681: This adjustment is executed on every incoming ACK that acknowledges new
-                // RFC 5681: data. Equation (3) provides an acceptable approximation to the
-                // RFC 5681: underlying principle of increasing cwnd by 1 full-sized segment per
-                // RFC 5681: RTT. (Note that for a connection in which the receiver is acknowledging
-                // RFC 5681: every-other packet, (3) is less aggressive than allowed -- roughly
-                // RFC 5681: increasing cwnd every second RTT.)
-
-                // RFC 5681: Implementation Note: Since integer arithmetic is usually used in TCP
-                // RFC 5681: implementations, the formula given in equation (3) can fail to increase
-                // RFC 5681: cwnd when the congestion window is larger than SMSS*SMSS. If the above
-                // RFC 5681: formula yields 0, the result SHOULD be rounded up to 1 byte.
-                final long increment = (long) Math.ceil(((double) tcb.smss() * tcb.smss()) / tcb.cwnd());
-                LOG.trace("{} Congestion Control: Congestion Avoidance: {} new bytes has ben ACKed. Increase cwnd by {}.", ctx.channel(), ackedBytes, increment);
-                tcb.cwnd(ctx, tcb.cwnd() + increment);
+        }
+        else if (ackedBytes > 0) {
+            tcb.congestionController().onAck(ctx, tcb, ackedBytes);
+        }
+
+        boolean enteredLossRecovery = false;
+        if (tcb.rackTlp()) {
+            if (tcb.retransmissionQueue().endProbeEpisode(seg.ack()) && !tcb.retransmissionQueue().inLossRecovery(tcb)) {
+                // RFC 8985: TLP loss detection. Without D-SACK we cannot tell whether the original
+                // transmission has arrived as well. Assume that the probe has repaired a loss.
+                LOG.trace("{} Congestion Control: TLP: Probe has been ACKed. Assume it has repaired a loss.", ctx.channel());
+                tcb.congestionController().onProbeRepairedLoss(ctx, tcb);
             }
+
+            enteredLossRecovery = rackDetectLossAndArmTimer(ctx);
+        }
+
+        if (!isRfc5681Duplicate || enteredLossRecovery) {
+            retransmitLostSegments(ctx);
         }
 
         if (isRfc9293Duplicate) {
@@ -2347,6 +2338,14 @@ public class ConnectionHandler extends ChannelDuplexHandler {
         return false;
     }
 
+    private void negotiateSack(final ChannelHandlerContext ctx, final Segment seg) {
+        // RFC 2018: Sack-Permitted Option
+        if (config.sack() && seg.options().containsKey(SACK_PERMITTED)) {
+            LOG.trace("{} Remote peer permits SACK. Turn on SACK.OK.", ctx.channel());
+            tcb.turnOnSackOk();
+        }
+    }
+
     Segment formSegment(final ChannelHandlerContext ctx,
                         final int srcPort,
                         final int dstPort,
@@ -2358,6 +2357,12 @@ public class ConnectionHandler extends ChannelDuplexHandler {
         // SEG.WND is set in OutgoingSegmentQueue#flush
         final Segment seg = new Segment(srcPort, dstPort, seq, ack, ctl, 0, options, data);
 
+        if ((ctl & ACK) != 0 && tcb != null && ack == tcb.rcvNxt()) {
+            // this segment acknowledges all received data. Any delayed ACK is no longer required
+            tcb.delayedAckBytes(0);
+            cancelDelayedAckTimer(ctx);
+        }
+
         if ((ctl & SYN) != 0) {
             // RFC 9293: TCP implementations SHOULD send an MSS Option in every SYN segment
             // RFC 9293: when its receive MSS differs from the default 536 for IPv4 or 1220 for IPv6
@@ -2395,6 +2400,30 @@ public class ConnectionHandler extends ChannelDuplexHandler {
             }
         }
 
+        if (config.sack()) {
+            if ((ctl & SYN) != 0) {
+                // RFC 2018: This two-byte option may be sent in a SYN by a TCP that has been
+                // RFC 2018: extended to receive (and presumably process) the SACK option once the
+                // RFC 2018: connection has opened.
+                if ((ctl & ACK) == 0 || (tcb != null && tcb.sackOk())) {
+                    options.put(SACK_PERMITTED, true);
+                }
+            }
+            else if ((ctl & ACK) != 0 && !data.isReadable() && tcb != null && tcb.sackOk()) {
+                // RFC 2018: If the data receiver has received a SACK-Permitted option on the SYN
+                // RFC 2018: for this connection, the data receiver MAY elect to generate SACK
+                // RFC 2018: options as described below.
+                // RFC 2018: If sent at all, SACK options SHOULD be included in all ACKs which do
+                // RFC 2018: not ACK the highest sequence number in the data receiver's queue.
+                // SACK options are only attached to segments without data, so that they never
+                // exceed the MSS
+                final SackOption sackOpt = tcb.receiveBuffer().sackOption(config.timestamps() ? 3 : 4);
+                if (sackOpt != null) {
+                    options.put(SACK, sackOpt);
+                }
+            }
+        }
+
         return seg;
     }
 
@@ -2551,23 +2580,65 @@ public class ConnectionHandler extends ChannelDuplexHandler {
         // RFC 6298:       seconds (for the value of RTO after the doubling operation outlined
         // RFC 6298:       in 5.5).
         startRetransmissionTimer(ctx, tcb);
+        cancelRackTimer(ctx);
+
+        if (tcb.sackOk()) {
+            // RFC 6675: If an RTO occurs during loss recovery as specified in this document,
+            // RFC 6675: RecoveryPoint MUST be set to HighData. Further, the new value of
+            // RFC 6675: RecoveryPoint MUST be preserved and the loss recovery algorithm outlined
+            // RFC 6675: in this document MUST be terminated.
+            tcb.recoveryPoint(tcb.sndNxt());
+            tcb.resetDuplicateAcks();
+            tcb.retransmissionQueue().retransmissionTimeout(tcb);
+        }
+
+        tcb.congestionController().onRetransmissionTimeout(ctx, tcb);
+    }
+
+    /**
+     * Retransmits the segments that are considered lost according to the SACK scoreboard, as long
+     * as the congestion window permits.
+     *
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc6675#section-5">RFC 6675, Section 5.</a>
+     */
+    private void retransmitLostSegments(final ChannelHandlerContext ctx) {
+        final RetransmissionQueue retransmissionQueue = tcb.retransmissionQueue();
+        if (!tcb.sackOk() || !retransmissionQueue.hasScoreboard()) {
+            return;
+        }
 
-        // RFC 5681: When a TCP sender detects segment loss using the retransmission timer and
-        // RFC 5681: the given segment has not yet been resent by way of the retransmission
-        // RFC 5681: timer, the value of ssthresh MUST be set to no more than the value given in
-        // RFC 5681: equation (4):
-        // RFC 5681: ssthresh = max (FlightSize / 2, 2*SMSS) (4)
-        LOG.trace("{} Congestion Control: Segment loss. Set ssthresh to `max(FlightSize/2,2*SMSS) = max({}/2,2*{})`.", ctx.channel(), tcb.flightSize(), tcb.smss());
-        tcb.ssthresh(ctx, max(tcb.flightSize() / 2, 2L * tcb.smss()));
+        final List<Segment> lost = new ArrayList<>();
+        long pipe = retransmissionQueue.scoreboard(tcb, lost);
+        boolean flush = false;
+        for (final Segment seg : lost) {
+            // RFC 6675: (C) If cwnd - pipe >= 1 SMSS, the sender SHOULD transmit one or more
+            // RFC 6675:     segments as follows:
+            if (tcb.cwnd() - pipe < tcb.smss()) {
+                break;
+            }
+
+            // RFC 6675: (C.1) The scoreboard MUST be queried via NextSeg () for the sequence
+            // RFC 6675:       number range of the next segment to transmit (if any), and the
+            // RFC 6675:       given segment sent.
+            final Segment retransmission = formSegment(ctx, seg.seq(), seg.ack(), seg.ctl(), seg.content().copy());
+            LOG.trace("{} Congestion Control: Loss Recovery: Retransmit lost segment `{}`.", ctx.channel(), retransmission);
+            ctx.write(retransmission);
+            flush = true;
+
+            // RFC 6675: (C.3) If any of the data octets sent in (C.1) are below HighData,
+            // RFC 6675:       HighRxt MUST be set to the highest sequence number of the
+            // RFC 6675:       retransmitted segment
+            retransmissionQueue.retransmitted(tcb, seg);
 
-        // RFC 5681: Furthermore, upon a timeout (as specified in [RFC2988]) cwnd MUST be set to
-        // RFC 5681: no more than the loss window, LW, which equals 1 full-sized segment
-        // RFC 5681: (regardless of the value of IW).  Therefore, after retransmitting the
-        // RFC 5681: dropped segment the TCP sender uses the slow start algorithm to increase
-        // RFC 5681: the window from 1 full-sized segment to the new value of ssthresh, at which
-        // RFC 5681: point congestion avoidance again takes over.
-        LOG.trace("{} Congestion Control: Timeout. Set cmd to no more than the loss window, which equals to 1 full-sized segment", ctx.channel());
-        tcb.cwnd(ctx, tcb.effSndMss());
+            // RFC 6675: (C.4) The estimate of the amount of data outstanding in the network must
+            // RFC 6675:       be updated by incrementing pipe by the number of octets transmitted
+            // RFC 6675:       in (C.1).
+            pipe += seg.len();
+        }
+
+        if (flush) {
+            ctx.flush();
+        }
     }
 
     private Segment nextSegmentOnRetransmissionQueue(final ChannelHandlerContext ctx,
@@ -2599,6 +2670,156 @@ public class ConnectionHandler extends ChannelDuplexHandler {
         retransmissionTimer = ctx.executor().schedule(() -> retransmissionTimeout(ctx, tcb, rto), rto, MILLISECONDS);
     }
 
+    /**
+     * Marks segments as lost according to RACK and enters loss recovery if necessary. Afterwards,
+     * either the RACK reordering timer or the TLP probe timer is armed.
+     *
+     * @return {@code true} if loss recovery has been entered
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc8985#section-6.2">RFC 8985, Section
+     * 6.2.</a>
+     */
+    private boolean rackDetectLossAndArmTimer(final ChannelHandlerContext ctx) {
+        final RetransmissionQueue retransmissionQueue = tcb.retransmissionQueue();
+        // RFC 8985: RACK_detect_loss_and_arm_timer()
+        final long timeout = retransmissionQueue.detectLoss(ctx, tcb);
+
+        boolean enteredLossRecovery = false;
+        if (retransmissionQueue.hasLostSegments() && !retransmissionQueue.inLossRecovery(tcb)) {
+            // losses detected by RACK start the same loss recovery as DupThresh duplicate ACKs
+            LOG.trace("{} Congestion Control: RACK: Lost segments detected. Enter Loss Recovery.", ctx.channel());
+            tcb.recoveryPoint(tcb.sndNxt());
+            tcb.duplicateAcks(DUP_THRESH);
+            tcb.congestionController().onFastRetransmit(ctx, tcb);
+            enteredLossRecovery = true;
+        }
+
+        cancelRackTimer(ctx);
+        if (timeout > 0) {
+            // RFC 8985: If timeout != 0
+            // RFC 8985:     Arm the RACK timer to call RACK_detect_loss_and_arm_timer() after
+            // RFC 8985:     timeout
+            LOG.trace("{} RACK reordering timer created: Timeout {}ms.", ctx.channel(), timeout);
+            rackTimer = ctx.executor().schedule(() -> rackReorderingTimeout(ctx), timeout, MILLISECONDS);
+        }
+        else {
+            scheduleProbeTimer(ctx);
+        }
+
+        return enteredLossRecovery;
+    }
+
+    /**
+     * RACK reordering timeout as described in <a href="https://www.rfc-editor.org/rfc/rfc8985#section-6.3">RFC
+     * 8985, Section 6.3</a>.
+     */
+    void rackReorderingTimeout(final ChannelHandlerContext ctx) {
+        rackTimer = null;
+        if (tcb == null) {
+            return;
+        }
+
+        LOG.trace("{} RACK reordering timer timeout.", ctx.channel());
+        rackDetectLossAndArmTimer(ctx);
+        retransmitLostSegments(ctx);
+    }
+
+    /**
+     * Arms the TLP probe timer if no RACK-TLP timer is pending, data is outstanding, and the
+     * connection is not recovering from a loss.
+     *
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc8985#section-7.2">RFC 8985, Section
+     * 7.2.</a>
+     */
+    void scheduleProbeTimer(final ChannelHandlerContext ctx) {
+        final RetransmissionQueue retransmissionQueue = tcb.retransmissionQueue();
+        if (rackTimer != null ||
+                retransmissionQueue.isEmpty() ||
+                retransmissionQueue.probeOutstanding() ||
+                retransmissionQueue.hasScoreboard() ||
+                retransmissionQueue.inLossRecovery(tcb)) {
+            return;
+        }
+
+        // RFC 8985: TLP_calc_PTO():
+        final long srtt = retransmissionQueue.srtt();
+        long pto;
+        if (srtt != -1) {
+            // RFC 8985: PTO = 2 * SRTT
+            pto = 2 * srtt;
+            // RFC 8985: If FlightSize is one segment:
+            // RFC 8985:    PTO += WCDelAckT
+            // (we expect the remote peer to delay its acknowledgements like we do)
+            if (retransmissionQueue.size() == 1) {
+                pto += config.ackDelay().toMillis();
+            }
+            // do not probe more often than every 10ms on paths with very small RTTs
+            pto = max(pto, 10L);
+        }
+        else {
+            // RFC 8985: PTO = 1 sec
+            pto = config.rto().toMillis();
+        }
+
+        // RFC 8985: If Now() + PTO > TCP_RTO_expire():
+        // RFC 8985:    PTO = TCP_RTO_expire() - Now()
+        if (retransmissionTimer != null) {
+            pto = min(pto, retransmissionTimer.getDelay(MILLISECONDS));
+        }
+        if (pto <= 0) {
+            return;
+        }
+
+        LOG.trace("{} TLP probe timer created: Timeout {}ms.", ctx.channel(), pto);
+        rackTimer = ctx.executor().schedule(() -> probeTimeout(ctx), pto, MILLISECONDS);
+    }
+
+    /**
+     * TLP probe timeout as described in <a href="https://www.rfc-editor.org/rfc/rfc8985#section-7.3">RFC
+     * 8985, Section 7.3</a>. Sends a probe segment that elicits an acknowledgement, which allows
+     * RACK to detect losses at the tail of a flight.
+     */
+    void probeTimeout(final ChannelHandlerContext ctx) {
+        rackTimer = null;
+        if (tcb == null || tcb.retransmissionQueue().isEmpty()) {
+            return;
+        }
+
+        final RetransmissionQueue retransmissionQueue = tcb.retransmissionQueue();
+        final long usableWindow = tcb.sndWnd() - tcb.flightSize();
+        if (tcb.sendBuffer().length() > 0 && usableWindow > 0) {
+            // RFC 8985: If an unsent segment exists AND
+            // RFC 8985:    the receive window allows new data to be sent:
+            // RFC 8985:       Send the next unsent segment
+            LOG.trace("{} TLP probe timer timeout. Send new data as probe.", ctx.channel());
+            segmentizeAndSendData(ctx, min(tcb.sendBuffer().length(), tcb.effSndMss(), usableWindow));
+            // RFC 8985: TLP.end_seq = SND.NXT
+            retransmissionQueue.probeSent(tcb.sndNxt(), false);
+            tcb.flush(ctx);
+        }
+        else {
+            // RFC 8985: Else
+            // RFC 8985:    Retransmit the last segment
+            final Segment seg = retransmissionQueue.lastSegment();
+            final Segment probe = formSegment(ctx, seg.seq(), seg.ack(), seg.ctl(), seg.content().copy());
+            LOG.trace("{} TLP probe timer timeout. Retransmit last segment `{}` as probe.", ctx.channel(), probe);
+            ctx.writeAndFlush(probe);
+            retransmissionQueue.retransmitted(tcb, seg);
+            // RFC 8985: TLP.end_seq = SND.NXT
+            retransmissionQueue.probeSent(tcb.sndNxt(), true);
+        }
+
+        // RFC 8985: Arm the RTO timer
+        restartRetransmissionTimer(ctx, tcb);
+    }
+
+    private void cancelRackTimer(final ChannelHandlerContext ctx) {
+        if (rackTimer != null) {
+            rackTimer.cancel(false);
+            rackTimer = null;
+            LOG.trace("{} RACK-TLP timer cancelled.", ctx.channel());
+        }
+    }
+
     private void restartTimeWaitTimer(final ChannelHandlerContext ctx) {
         // RFC 9293: When a connection is closed actively, it MUST linger in the TIME-WAIT state for
         // RFC 9293: a time 2xMSL (Maximum Segment Lifetime) (MUST-13)
@@ -2645,6 +2866,60 @@ public class ConnectionHandler extends ChannelDuplexHandler {
         }
     }
 
+    /**
+     * Returns {@code true} if the acknowledgement of {@code seg} is delayed and the delayed ACK
+     * timer is running.
+     *
+     * @see ConnectionConfig#ackDelay()
+     */
+    private boolean delayAck(final ChannelHandlerContext ctx, final Segment seg) {
+        final long ackDelay = config.ackDelay().toMillis();
+        if (ackDelay <= 0) {
+            return false;
+        }
+
+        // RFC 5681: an ACK SHOULD be generated for at least every second full-sized segment
+        final long delayedAckBytes = tcb.delayedAckBytes() + seg.len();
+        if (delayedAckBytes >= 2L * (config.mmsR() - SEG_HDR_SIZE)) {
+            return false;
+        }
+
+        tcb.delayedAckBytes(delayedAckBytes);
+        tcb.incrementAcksSaved();
+        if (delayedAckTimer == null) {
+            // RFC 5681: and MUST be generated within 500 ms of the arrival of the first
+            // RFC 5681: unacknowledged packet.
+            LOG.trace("{} Delayed ACK timer created: Timeout {}ms.", ctx.channel(), ackDelay);
+            delayedAckTimer = ctx.executor().schedule(() -> delayedAckTimeout(ctx), ackDelay, MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Sends the acknowledgement of all data received so far, as the delayed ACK timer has
+     * expired.
+     */
+    void delayedAckTimeout(final ChannelHandlerContext ctx) {
+        delayedAckTimer = null;
+        if (tcb == null) {
+            return;
+        }
+
+        final Segment response = formSegment(ctx, tcb.sndNxt(), tcb.rcvNxt(), ACK);
+        LOG.trace("{} Delayed ACK timer timeout. Send `{}`.", ctx.channel(), response);
+        tcb.sendAndFlush(ctx, response);
+        // one of the delayed acknowledgements has been sent anyway
+        tcb.decrementAcksSaved();
+    }
+
+    private void cancelDelayedAckTimer(final ChannelHandlerContext ctx) {
+        if (delayedAckTimer != null) {
+            delayedAckTimer.cancel(false);
+            delayedAckTimer = null;
+            LOG.trace("{} Delayed ACK timer cancelled.", ctx.channel());
+        }
+    }
+
     private void startZeroWindowProbing(final ChannelHandlerContext ctx) {
         if (zeroWindowProber == null && !tcb.sendBuffer().isEmpty()) {
             // RFC 9293: The transmitting host SHOULD send the first zero-window probe when a zero
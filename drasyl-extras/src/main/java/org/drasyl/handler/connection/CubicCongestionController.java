@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2020-2022 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+import org.drasyl.util.logging.Logger;
+import org.drasyl.util.logging.LoggerFactory;
+
+import static org.drasyl.handler.connection.Segment.greaterThanOrEqualTo;
+import static org.drasyl.util.NumberUtil.max;
+import static org.drasyl.util.NumberUtil.min;
+
+/**
+ * CUBIC congestion control as described in <a href="https://www.rfc-editor.org/rfc/rfc9438">RFC
+ * 9438</a>.
+ * <p>
+ * Instead of growing the congestion window by one segment per round-trip time, the window follows
+ * a cubic function of the time elapsed since the last congestion event. Growth is therefore
+ * independent of the round-trip time, which lets long fat networks recover their window quickly
+ * after a loss. Slow start, fast retransmit, and fast recovery are performed as described in <a
+ * href="https://www.rfc-editor.org/rfc/rfc5681">RFC 5681</a>, but the window is reduced by the
+ * factor {@link #BETA_CUBIC} instead of halved.
+ * <p>
+ * The round-trip time required by the window calculation is measured by this controller using
+ * {@link ConnectionConfig#clock()}, so the Timestamps option does not have to be enabled.
+ */
+public class CubicCongestionController implements CongestionController {
+    private static final Logger LOG = LoggerFactory.getLogger(CubicCongestionController.class);
+    // RFC 9438: C: constant that determines the aggressiveness of CUBIC in competing with other
+    // RFC 9438: congestion control algorithms in high-BDP networks.
+    static final double C = 0.4;
+    // RFC 9438: β_cubic: CUBIC multiplicative decrease factor
+    static final double BETA_CUBIC = 0.7;
+    // RFC 9438: α_cubic: CUBIC additive increase factor used in the Reno-friendly region
+    static final double ALPHA_CUBIC = 3 * (1 - BETA_CUBIC) / (1 + BETA_CUBIC);
+    // RFC 9438: t_epoch: the time in seconds at which the current congestion avoidance stage
+    // RFC 9438: started
+    private long epochStart;
+    private boolean epochStarted;
+    // RFC 9438: W_max: size of cwnd in segments just before cwnd was reduced in the last congestion
+    // RFC 9438: event
+    private double wMax;
+    // RFC 9438: K: the time period in seconds it takes to increase the congestion window size at
+    // RFC 9438: the beginning of the current congestion avoidance stage to W_max
+    private double k;
+    // RFC 9438: W_est: an estimate for the congestion window in segments in the Reno-friendly
+    // RFC 9438: region
+    private double wEst;
+    // fraction of a byte the window should have grown by, but could not
+    private double cwndRemainder;
+    // smoothed round-trip time in nanoseconds, 0 until the first measurement
+    private long sRtt;
+    private long rttSeq;
+    private long rttSendTime;
+    private boolean rttPending;
+
+    @Override
+    public void onSend(final ChannelHandlerContext ctx,
+                       final TransmissionControlBlock tcb,
+                       final Segment seg) {
+        if (!rttPending) {
+            rttPending = true;
+            rttSeq = seg.nxtSeq();
+            rttSendTime = tcb.config().clock().nanoTime();
+        }
+    }
+
+    @Override
+    public void onAck(final ChannelHandlerContext ctx,
+                      final TransmissionControlBlock tcb,
+                      final long ackedBytes) {
+        final long now = tcb.config().clock().nanoTime();
+        updateRtt(tcb, now);
+
+        if (tcb.doSlowStart()) {
+            // RFC 9438: CUBIC MUST employ a slow-start algorithm when cwnd is no more than
+            // RFC 9438: ssthresh.
+            final long increment = min(ackedBytes, tcb.smss());
+            LOG.trace("{} Congestion Control: Slow Start: {} new bytes has ben ACKed. Increase cwnd by {}.", ctx.channel(), ackedBytes, increment);
+            tcb.cwnd(ctx, tcb.cwnd() + increment);
+            return;
+        }
+
+        final double smss = tcb.smss();
+        final double cwnd = tcb.cwnd() / smss;
+        if (!epochStarted) {
+            // RFC 9438: t_epoch is the time when the current congestion avoidance stage started
+            epochStarted = true;
+            epochStart = now;
+            wEst = cwnd;
+            cwndRemainder = 0;
+            if (wMax <= cwnd) {
+                // no congestion event yet or window already beyond W_max: start at the plateau
+                wMax = cwnd;
+                k = 0;
+            }
+            else {
+                // RFC 9438: K = cubic_root((W_max - cwnd_epoch) / C)
+                k = Math.cbrt((wMax - cwnd) / C);
+            }
+        }
+
+        // RFC 9438: t = current_time - t_epoch
+        final double t = (now - epochStart) / 1e9;
+        final double rtt = sRtt / 1e9;
+
+        // RFC 9438: W_est = W_est + α_cubic * segments_acked / cwnd
+        // RFC 9438: Once W_est has grown to reach the cwnd at the time of most recently setting
+        // RFC 9438: ssthresh -- that is, W_est >= cwnd_prior -- the sender SHOULD set α_cubic to 1
+        final double alpha = wEst >= wMax ? 1 : ALPHA_CUBIC;
+        wEst += alpha * (ackedBytes / smss) / cwnd;
+
+        final double target;
+        if (wCubic(t) < wEst) {
+            // RFC 9438: When receiving a new ACK in congestion avoidance (where cwnd could be
+            // RFC 9438: greater than or less than W_max), CUBIC checks whether W_cubic(t) is less
+            // RFC 9438: than W_est. If so, CUBIC is in the Reno-friendly region and cwnd SHOULD be
+            // RFC 9438: set to W_est at each reception of a new ACK.
+            target = wEst;
+        }
+        else {
+            // RFC 9438: target = cwnd                  if W_cubic(t + RTT) < cwnd
+            // RFC 9438:          1.5 * cwnd            if W_cubic(t + RTT) > 1.5 * cwnd
+            // RFC 9438:          W_cubic(t + RTT)      otherwise
+            final double wCubic = wCubic(t + rtt);
+            final double clampedTarget = Math.min(Math.max(wCubic, cwnd), 1.5 * cwnd);
+            // RFC 9438: cwnd MUST be incremented by (target - cwnd) / cwnd for each received new
+            // RFC 9438: ACK
+            target = cwnd + (clampedTarget - cwnd) / cwnd * (ackedBytes / smss);
+        }
+
+        final double increment = (target - cwnd) * smss + cwndRemainder;
+        if (increment > 0) {
+            final long wholeIncrement = (long) increment;
+            cwndRemainder = increment - wholeIncrement;
+            if (wholeIncrement > 0) {
+                LOG.trace("{} Congestion Control: Congestion Avoidance: {} new bytes has ben ACKed. Increase cwnd by {}.", ctx.channel(), ackedBytes, wholeIncrement);
+                tcb.cwnd(ctx, tcb.cwnd() + wholeIncrement);
+            }
+        }
+    }
+
+    @Override
+    public void onFastRetransmit(final ChannelHandlerContext ctx,
+                                 final TransmissionControlBlock tcb) {
+        rttPending = false;
+        // the window may be inflated by fast recovery or not be fully used, so the amount of
+        // outstanding data is used as the window in which the congestion event occurred
+        congestionEvent(ctx, tcb, min(tcb.cwnd(), tcb.flightSize()));
+
+        // RFC 5681: and cwnd set to ssthresh plus 3*SMSS.
+        tcb.cwnd(ctx, tcb.ssthresh() + 3L * tcb.smss());
+    }
+
+    @Override
+    public void onDuplicateAck(final ChannelHandlerContext ctx,
+                               final TransmissionControlBlock tcb) {
+        // RFC 5681: 4. For each additional duplicate ACK received (after the third), cwnd
+        // RFC 5681:    MUST be incremented by SMSS.
+        tcb.cwnd(ctx, tcb.cwnd() + tcb.smss());
+    }
+
+    @Override
+    public void onFastRecoveryExit(final ChannelHandlerContext ctx,
+                                   final TransmissionControlBlock tcb,
+                                   final long ackedBytes) {
+        updateRtt(tcb, tcb.config().clock().nanoTime());
+
+        // RFC 5681: 6.  When the next ACK arrives that acknowledges previously
+        // RFC 5681:     unacknowledged data, a TCP MUST set cwnd to ssthresh
+        tcb.cwnd(ctx, tcb.ssthresh());
+    }
+
+    @Override
+    public void onRetransmissionTimeout(final ChannelHandlerContext ctx,
+                                        final TransmissionControlBlock tcb) {
+        rttPending = false;
+        // RFC 9438: In the case of a timeout, CUBIC follows Reno to reduce cwnd [RFC5681] but sets
+        // RFC 9438: ssthresh using β_cubic (same as in Section 4.6) in a way that is different
+        // RFC 9438: from Reno TCP [RFC5681].
+        congestionEvent(ctx, tcb, min(tcb.cwnd(), tcb.flightSize()));
+        tcb.cwnd(ctx, tcb.effSndMss());
+    }
+
+    @Override
+    public void onProbeRepairedLoss(final ChannelHandlerContext ctx,
+                                    final TransmissionControlBlock tcb) {
+        rttPending = false;
+        // the flight has already been acknowledged
+        congestionEvent(ctx, tcb, tcb.cwnd());
+        tcb.cwnd(ctx, tcb.ssthresh());
+    }
+
+    private void congestionEvent(final ChannelHandlerContext ctx,
+                                 final TransmissionControlBlock tcb,
+                                 final long window) {
+        final double cwnd = (double) window / tcb.smss();
+
+        // RFC 9438: With fast convergence, when a congestion event occurs, W_max is updated as
+        // RFC 9438: follows, before the window reduction described in Section 4.6.
+        // RFC 9438: W_max = cwnd * (1 + β_cubic) / 2   if cwnd < W_max and fast convergence is enabled,
+        // RFC 9438:         cwnd                       otherwise,
+        if (cwnd < wMax) {
+            wMax = cwnd * (1 + BETA_CUBIC) / 2;
+        }
+        else {
+            wMax = cwnd;
+        }
+        epochStarted = false;
+
+        // RFC 9438: ssthresh = cwnd * β_cubic
+        // RFC 9438: ssthresh = max(ssthresh, 2)
+        final long newSsthresh = max((long) (window * BETA_CUBIC), 2L * tcb.smss());
+        LOG.trace("{} Congestion Control: Congestion event. Set W_max to {} segments and ssthresh to {}.", ctx.channel(), wMax, newSsthresh);
+        tcb.ssthresh(ctx, newSsthresh);
+    }
+
+    // RFC 9438: W_cubic(t) = C * (t - K)^3 + W_max
+    private double wCubic(final double t) {
+        final double d = t - k;
+        return C * d * d * d + wMax;
+    }
+
+    private void updateRtt(final TransmissionControlBlock tcb, final long now) {
+        if (rttPending && greaterThanOrEqualTo(tcb.sndUna(), rttSeq)) {
+            rttPending = false;
+            final long rtt = now - rttSendTime;
+            if (sRtt == 0) {
+                sRtt = rtt;
+            }
+            else {
+                // RFC 6298: SRTT <- (1 - alpha) * SRTT + alpha * R'
+                sRtt = sRtt - sRtt / 8 + rtt / 8;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CUBIC(W_max=" + wMax + ", K=" + k + ")";
+    }
+}
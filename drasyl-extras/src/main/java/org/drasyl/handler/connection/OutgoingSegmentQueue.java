@@ -82,6 +82,7 @@ public class OutgoingSegmentQueue {
                       final TransmissionControlBlock tcb) {
         LOG.trace("{} Flush outgoing segment queue ({} segments).", ctx.channel(), size());
         final boolean doFlush = !queue.isEmpty();
+        boolean dataSent = false;
         Segment seg;
         while ((seg = (Segment) queue.poll()) != null) {
             if (seg.wnd() != tcb.rcvWnd()) {
@@ -94,6 +95,8 @@ public class OutgoingSegmentQueue {
             if (seg.mustBeAcked()) {
                 // ACKnowledgement necessary. Add SEG to retransmission queue
                 tcb.retransmissionQueue().add(ctx, seg, tcb);
+                tcb.congestionController().onSend(ctx, tcb, seg);
+                dataSent = true;
             }
 
             // write SEQ to network
@@ -104,6 +107,11 @@ public class OutgoingSegmentQueue {
             LOG.trace("{} Flush channel after at least one SEG has been written to network.", ctx.channel());
             ctx.flush();
         }
+
+        if (dataSent && tcb.rackTlp()) {
+            // RACK-TLP: arm the probe timer after new data has been sent
+            ((ConnectionHandler) ctx.handler()).scheduleProbeTimer(ctx);
+        }
     }
 
     /**
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020-2023 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Wakes up paced connections once they may send their next segment of new data. All connections
+ * served by the same {@link EventExecutor} share one timer: only the earliest wakeup is scheduled,
+ * and each wakeup serves all connections due by then in the order they started waiting. Therefore,
+ * pacing does not add a scheduled task per connection.
+ * <p>
+ * All methods must be called from the executor of the given {@link ChannelHandlerContext}.
+ */
+final class PacingTimer {
+    // a timer only exists while connections of its executor are waiting
+    private static final Map<EventExecutor, PacingTimer> TIMERS = new ConcurrentHashMap<>();
+    private final EventExecutor executor;
+    private final Map<TransmissionControlBlock, ChannelHandlerContext> waiting = new LinkedHashMap<>();
+    private ScheduledFuture<?> wakeup;
+
+    PacingTimer(final EventExecutor executor) {
+        this.executor = requireNonNull(executor);
+    }
+
+    /**
+     * Wakes up {@code tcb} once {@link TransmissionControlBlock#pacingDelayNanos()} has elapsed by
+     * calling {@link TransmissionControlBlock#pacingTimerExpired(ChannelHandlerContext)}. Does
+     * nothing if {@code tcb} is already waiting.
+     */
+    static void schedule(final ChannelHandlerContext ctx, final TransmissionControlBlock tcb) {
+        TIMERS.computeIfAbsent(ctx.executor(), PacingTimer::new).add(ctx, tcb);
+    }
+
+    /**
+     * Stops waking up {@code tcb}.
+     */
+    static void cancel(final ChannelHandlerContext ctx, final TransmissionControlBlock tcb) {
+        final PacingTimer timer = TIMERS.get(ctx.executor());
+        if (timer != null) {
+            timer.remove(tcb);
+        }
+    }
+
+    private void add(final ChannelHandlerContext ctx, final TransmissionControlBlock tcb) {
+        if (waiting.putIfAbsent(tcb, ctx) == null) {
+            scheduleWakeup(tcb.pacingDelayNanos());
+        }
+    }
+
+    private void remove(final TransmissionControlBlock tcb) {
+        if (waiting.remove(tcb) != null && waiting.isEmpty()) {
+            if (wakeup != null) {
+                wakeup.cancel(false);
+                wakeup = null;
+            }
+            TIMERS.remove(executor, this);
+        }
+    }
+
+    /**
+     * Ensures that a wakeup is scheduled in not more than {@code delayNanos}.
+     */
+    private void scheduleWakeup(final long delayNanos) {
+        if (wakeup != null) {
+            if (wakeup.getDelay(NANOSECONDS) <= delayNanos) {
+                return;
+            }
+            wakeup.cancel(false);
+        }
+        wakeup = executor.schedule(this::wakeup, delayNanos, NANOSECONDS);
+    }
+
+    private void wakeup() {
+        wakeup = null;
+
+        // collect due connections first, as they may start waiting again while being served
+        final List<Entry<TransmissionControlBlock, ChannelHandlerContext>> due = new ArrayList<>();
+        long nextDelayNanos = Long.MAX_VALUE;
+        final Iterator<Entry<TransmissionControlBlock, ChannelHandlerContext>> iterator = waiting.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Entry<TransmissionControlBlock, ChannelHandlerContext> entry = iterator.next();
+            final long delayNanos = entry.getKey().pacingDelayNanos();
+            if (delayNanos <= 0) {
+                due.add(entry);
+                iterator.remove();
+            }
+            else {
+                nextDelayNanos = Math.min(nextDelayNanos, delayNanos);
+            }
+        }
+
+        for (final Entry<TransmissionControlBlock, ChannelHandlerContext> entry : due) {
+            entry.getKey().pacingTimerExpired(entry.getValue());
+        }
+
+        if (nextDelayNanos != Long.MAX_VALUE) {
+            scheduleWakeup(nextDelayNanos);
+        }
+        else if (waiting.isEmpty()) {
+            TIMERS.remove(executor, this);
+        }
+    }
+
+    /**
+     * Returns the timer of {@code executor}, or {@code null} if no connection of it is waiting.
+     */
+    static PacingTimer get(final EventExecutor executor) {
+        return TIMERS.get(executor);
+    }
+
+    /**
+     * Returns the number of waiting connections.
+     */
+    int waiting() {
+        return waiting.size();
+    }
+}
@@ -25,9 +25,13 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.DefaultByteBufHolder;
 import io.netty.channel.ChannelHandlerContext;
+import org.drasyl.handler.connection.SegmentOption.SackOption;
 import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.drasyl.handler.connection.Segment.add;
 import static org.drasyl.handler.connection.Segment.greaterThan;
 import static org.drasyl.handler.connection.Segment.greaterThanOrEqualTo;
@@ -55,6 +59,8 @@ public class ReceiveBuffer {
     private int size;
     // number of bytes in our linked list
     private int bytes;
+    // sequence number of the most recently received segment
+    private long lastReceivedSeq;
 
     ReceiveBuffer(final ReceiveBufferBlock head,
                   final ByteBuf headBuf,
@@ -115,12 +121,62 @@ public class ReceiveBuffer {
         return "RCV.BUF(len: " + bytes() + ", frg: " + blocks + ")";
     }
 
+    /**
+     * Returns a SACK option reporting the blocks of data that are held in this buffer but can not
+     * be read yet as preceding bytes are missing. Returns {@code null} if no such block exists.
+     *
+     * @param maxBlocks maximum number of blocks to report
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc2018#section-4">RFC 2018, Section 4.</a>
+     */
+    public SackOption sackOption(final int maxBlocks) {
+        if (head == null) {
+            return null;
+        }
+
+        final List<Long> edges = new ArrayList<>();
+        ReceiveBufferBlock current = head;
+        while (current != null) {
+            // RFC 2018: Each contiguous block of data queued at the data receiver is defined in
+            // RFC 2018: the SACK option by two 32-bit unsigned integers in network byte order
+            final long leftEdge = current.seq();
+            while (current.next != null && add(current.lastSeq(), 1) == current.next.seq()) {
+                current = current.next;
+            }
+            final long rightEdge = add(current.lastSeq(), 1);
+
+            // RFC 2018: The first SACK block (i.e., the one immediately following the kind and
+            // RFC 2018: length fields in the option) MUST specify the contiguous block of data
+            // RFC 2018: containing the segment which triggered this ACK
+            if (lessThanOrEqualTo(leftEdge, lastReceivedSeq) && lessThan(lastReceivedSeq, rightEdge)) {
+                edges.add(0, rightEdge);
+                edges.add(0, leftEdge);
+            }
+            else {
+                edges.add(leftEdge);
+                edges.add(rightEdge);
+            }
+
+            current = current.next;
+        }
+
+        // RFC 2018: If there are more than that number of blocks to report, the data receiver
+        // RFC 2018: can not report them all
+        while (edges.size() > maxBlocks * 2) {
+            edges.remove(edges.size() - 1);
+            edges.remove(edges.size() - 1);
+        }
+
+        return new SackOption(edges);
+    }
+
     @SuppressWarnings({ "java:S1066", "java:S3776", "java:S6541" })
     public void receive(final ChannelHandlerContext ctx,
                         final TransmissionControlBlock tcb,
                         final Segment seg) {
         final ByteBuf content = seg.content();
         if (content.isReadable()) {
+            lastReceivedSeq = seg.seq();
+
             // (T/TCP or TCP Fast Open not implemented; SYN/FIN flag might require special attention)
             assert !seg.isSyn() && !seg.isFin() : "not supported (yet)";
 
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020-2022 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+import org.drasyl.util.logging.Logger;
+import org.drasyl.util.logging.LoggerFactory;
+
+import static org.drasyl.util.NumberUtil.max;
+import static org.drasyl.util.NumberUtil.min;
+
+/**
+ * Slow start, congestion avoidance, fast retransmit, and fast recovery as described in <a
+ * href="https://www.rfc-editor.org/rfc/rfc5681">RFC 5681</a>. This is the default
+ * {@link CongestionController}.
+ */
+public class RenoCongestionController implements CongestionController {
+    private static final Logger LOG = LoggerFactory.getLogger(RenoCongestionController.class);
+
+    @Override
+    public void onSend(final ChannelHandlerContext ctx,
+                       final TransmissionControlBlock tcb,
+                       final Segment seg) {
+        // not required
+    }
+
+    @Override
+    public void onAck(final ChannelHandlerContext ctx,
+                      final TransmissionControlBlock tcb,
+                      final long ackedBytes) {
+        if (tcb.doSlowStart()) {
+            // RFC 5681: During slow start, a TCP increments cwnd by at most SMSS bytes for
+            // RFC 5681: each ACK received that cumulatively acknowledges new data.
+            // RFC 5681: While traditionally TCP implementations have increased cwnd by
+            // RFC 5681: precisely SMSS bytes upon receipt of an ACK covering new data, we
+            // RFC 5681: RECOMMEND that TCP implementations increase cwnd, per:
+            // RFC 5681:
+            // RFC 5681:    cwnd += min (N, SMSS)                      (2)
+            // RFC 5681:
+            // RFC 5681: where N is the number of previously unacknowledged bytes acknowledged
+            // RFC 5681: in the incoming ACK.
+            final long increment = min(ackedBytes, tcb.smss());
+            LOG.trace("{} Congestion Control: Slow Start: {} new bytes has ben ACKed. Increase cwnd by {}.", ctx.channel(), ackedBytes, increment);
+            tcb.cwnd(ctx, tcb.cwnd() + increment);
+        }
+        else {
+            // RFC 5681: During congestion avoidance, cwnd is incremented by roughly 1
+            // RFC 5681: full-sized segment per round-trip time (RTT).
+
+            // RFC 5681: The RECOMMENDED way to increase cwnd during congestion avoidance is to
+            // RFC 5681: count the number of bytes that have been acknowledged by ACKs for new
+            // RFC 5681: data. (A drawback of this implementation is that it requires
+            // RFC 5681: maintaining an additional state variable.) When the number of bytes
+            // RFC 5681: acknowledged reaches cwnd, then cwnd can be incremented by up to SMSS
+            // RFC 5681: bytes. Note that during congestion avoidance, cwnd MUST NOT be
+            // RFC 5681: increased by more than SMSS bytes per RTT. This method both allows TCPs
+            // RFC 5681: to increase cwnd by one segment per RTT in the face of delayed ACKs and
+            // RFC 5681: provides robustness against ACK Division attacks.
+
+            // RFC 5681: Another common formula that a TCP MAY use to update cwnd during
+            // RFC 5681: congestion avoidance is given in equation (3):
+            // RFC 5681:
+            // RFC 5681:    cwnd += SMSS*SMSS/cwnd                     (3)
+            // RFC 5681:
+            // RFC 5681: This adjustment is executed on every incoming ACK that acknowledges new
+            // RFC 5681: data. Equation (3) provides an acceptable approximation to the
+            // RFC 5681: underlying principle of increasing cwnd by 1 full-sized segment per
+            // RFC 5681: RTT. (Note that for a connection in which the receiver is acknowledging
+            // RFC 5681: every-other packet, (3) is less aggressive than allowed -- roughly
+            // RFC 5681: increasing cwnd every second RTT.)
+
+            // RFC 5681: Implementation Note: Since integer arithmetic is usually used in TCP
+            // RFC 5681: implementations, the formula given in equation (3) can fail to increase
+            // RFC 5681: cwnd when the congestion window is larger than SMSS*SMSS. If the above
+            // RFC 5681: formula yields 0, the result SHOULD be rounded up to 1 byte.
+            final long increment = (long) Math.ceil(((double) tcb.smss() * tcb.smss()) / tcb.cwnd());
+            LOG.trace("{} Congestion Control: Congestion Avoidance: {} new bytes has ben ACKed. Increase cwnd by {}.", ctx.channel(), ackedBytes, increment);
+            tcb.cwnd(ctx, tcb.cwnd() + increment);
+        }
+    }
+
+    @Override
+    public void onFastRetransmit(final ChannelHandlerContext ctx,
+                                 final TransmissionControlBlock tcb) {
+        // RFC 5681: 2.  When the third duplicate ACK is received, a TCP MUST
+        // RFC 5681:     set ssthresh to no more than the value given in equation (4).
+        // RFC 5681:     When [RFC3042] is in use, additional data sent in limited
+        // RFC 5681:     transmit MUST NOT be included in this calculation.
+        // RFC 5681: ssthresh = max (FlightSize / 2, 2*SMSS)            (4)
+        LOG.trace("{} Congestion Control: Fast Recovery: Got third duplicate ACK in a row: Set ssthresh to `max(FlightSize/2,2*SMSS) = max({}/2,2*{})`.", ctx.channel(), tcb.flightSize(), tcb.smss());
+        tcb.ssthresh(ctx, max(tcb.flightSize() / 2, 2L * tcb.smss()));
+
+        // RFC 5681: 3. The lost segment starting at SND.UNA MUST be retransmitted
+        // (this is done by the ConnectionHandler)
+
+        // RFC 5681:    and cwnd set to ssthresh plus 3*SMSS. This artificially
+        // RFC 5681:    "inflates" the congestion window by the number of segments
+        // RFC 5681:    (three) that have left the network and which the receiver has
+        // RFC 5681:    buffered.
+        LOG.trace("{} Congestion Control: Fast Retransmit: Got third duplicate ACK in a row. Inflate cwnd to `ssthresh plus 3*SMSS`.", ctx.channel());
+        tcb.cwnd(ctx, tcb.ssthresh() + 3L * tcb.smss());
+    }
+
+    @Override
+    public void onDuplicateAck(final ChannelHandlerContext ctx,
+                               final TransmissionControlBlock tcb) {
+        // RFC 5681: 4. For each additional duplicate ACK received (after the third), cwnd
+        // RFC 5681:    MUST be incremented by SMSS. This artificially inflates the
+        // RFC 5681:    congestion window in order to reflect the additional segment that
+        // RFC 5681:    has left the network.
+        LOG.trace("{} Congestion Control: Fast Recovery: Got additional duplicate ACK (#{}). Increment cwnd by SMSS.", ctx.channel(), tcb.duplicateAcks());
+        tcb.cwnd(ctx, tcb.cwnd() + tcb.smss());
+    }
+
+    @Override
+    public void onFastRecoveryExit(final ChannelHandlerContext ctx,
+                                   final TransmissionControlBlock tcb,
+                                   final long ackedBytes) {
+        // RFC 5681: 6.  When the next ACK arrives that acknowledges previously
+        // RFC 5681:     unacknowledged data, a TCP MUST set cwnd to ssthresh (the value
+        // RFC 5681:     set in step 2). This is termed "deflating" the window.
+        LOG.trace("{} Congestion Control: Fast Recovery: Got non-duplicate ACK. Deflate cwnd to ssthresh.", ctx.channel());
+        tcb.cwnd(ctx, tcb.ssthresh());
+    }
+
+    @Override
+    public void onRetransmissionTimeout(final ChannelHandlerContext ctx,
+                                        final TransmissionControlBlock tcb) {
+        // RFC 5681: When a TCP sender detects segment loss using the retransmission timer and
+        // RFC 5681: the given segment has not yet been resent by way of the retransmission
+        // RFC 5681: timer, the value of ssthresh MUST be set to no more than the value given in
+        // RFC 5681: equation (4):
+        // RFC 5681: ssthresh = max (FlightSize / 2, 2*SMSS) (4)
+        LOG.trace("{} Congestion Control: Segment loss. Set ssthresh to `max(FlightSize/2,2*SMSS) = max({}/2,2*{})`.", ctx.channel(), tcb.flightSize(), tcb.smss());
+        tcb.ssthresh(ctx, max(tcb.flightSize() / 2, 2L * tcb.smss()));
+
+        // RFC 5681: Furthermore, upon a timeout (as specified in [RFC2988]) cwnd MUST be set to
+        // RFC 5681: no more than the loss window, LW, which equals 1 full-sized segment
+        // RFC 5681: (regardless of the value of IW).  Therefore, after retransmitting the
+        // RFC 5681: dropped segment the TCP sender uses the slow start algorithm to increase
+        // RFC 5681: the window from 1 full-sized segment to the new value of ssthresh, at which
+        // RFC 5681: point congestion avoidance again takes over.
+        LOG.trace("{} Congestion Control: Timeout. Set cmd to no more than the loss window, which equals to 1 full-sized segment", ctx.channel());
+        tcb.cwnd(ctx, tcb.effSndMss());
+    }
+
+    @Override
+    public String toString() {
+        return "Reno";
+    }
+}
@@ -22,13 +22,25 @@
 package org.drasyl.handler.connection;
 
 import io.netty.channel.ChannelHandlerContext;
+import org.drasyl.handler.connection.SegmentOption.SackOption;
 import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
 import static org.drasyl.handler.connection.Segment.greaterThan;
+import static org.drasyl.handler.connection.Segment.greaterThanOrEqualTo;
+import static org.drasyl.handler.connection.Segment.lessThan;
+import static org.drasyl.handler.connection.Segment.lessThanOrEqualTo;
 
 /**
  * Represents the retransmission queue that holds segments that need to be retransmitted due to
@@ -40,8 +52,41 @@ import static org.drasyl.handler.connection.Segment.greaterThan;
  */
 public class RetransmissionQueue {
     private static final Logger LOG = LoggerFactory.getLogger(RetransmissionQueue.class);
+    // RFC 6675: DupThresh = The number of duplicate acknowledgments required to trigger a fast
+    // RFC 6675: retransmission.
+    static final int DUP_THRESH = 3;
     private final ArrayDeque<Segment> queue;
+    // RFC 6675: scoreboard: segments selectively acknowledged by the receiver
+    private final Set<Segment> sacked = Collections.newSetFromMap(new IdentityHashMap<>());
+    // RFC 6675: scoreboard: segments already retransmitted during the current loss recovery
+    private final Set<Segment> retransmitted = Collections.newSetFromMap(new IdentityHashMap<>());
+    // RFC 8985: Segment.xmit_ts: the time of the most recent transmission of each outstanding
+    // RFC 8985: segment. Only maintained if RACK-TLP is used
+    private final Map<Segment, Long> xmitTimes = new IdentityHashMap<>();
+    // RFC 8985: segments marked lost by RACK that have not been retransmitted since
+    private final Set<Segment> rackLost = Collections.newSetFromMap(new IdentityHashMap<>());
     private long firstSegmentSentTime;
+    // all segments sent before this sequence number are considered lost after a retransmission
+    // timeout. -1 if no retransmission timeout is being recovered from
+    private long timeoutRecoveryPoint = -1;
+    // RFC 8985: RACK.xmit_ts, RACK.end_seq: transmission time and ending sequence number of the
+    // RFC 8985: most recently sent segment that has been delivered. -1 if nothing was delivered
+    private long rackXmitTs = -1;
+    private long rackEndSeq;
+    // RFC 8985: RACK.rtt: RTT of the most recently sent segment that has been delivered
+    private long rackRtt;
+    // RFC 8985: RACK.min_RTT. -1 if no RTT sample has been taken yet
+    private long rackMinRtt = -1;
+    // smoothed RTT based on RACK's RTT samples. -1 if no RTT sample has been taken yet
+    private long srtt = -1;
+    // RFC 8985: RACK.reordering_seen
+    private boolean reorderingSeen;
+    // highest sequence number delivered so far. -1 if nothing was delivered
+    private long fack = -1;
+    // RFC 8985: TLP.end_seq. -1 if no TLP episode is in progress
+    private long tlpEndSeq = -1;
+    // RFC 8985: TLP.is_retrans
+    private boolean tlpIsRetrans;
 
     RetransmissionQueue(final ArrayDeque<Segment> queue) {
         this.queue = requireNonNull(queue);
@@ -55,7 +100,12 @@ public class RetransmissionQueue {
                     final Segment seg,
                     final TransmissionControlBlock tcb) {
         LOG.trace("{} Add SEG `{}` to RTNS.Q.", ctx.channel(), seg);
-        queue.add(seg.copy()); // FIXME: any chance to prevent expensive copy?
+        final Segment copy = seg.copy(); // FIXME: any chance to prevent expensive copy?
+        queue.add(copy);
+        if (tcb.rackTlp()) {
+            // RACK-TLP requires the time of the most recent transmission of each segment
+            xmitTimes.put(copy, tcb.config().clock().time());
+        }
 
         // RFC 5482: The Transmission Control Protocol (TCP) specification [RFC0793] defines a
         // RFC 5482: local, per-connection "user timeout" parameter that specifies the maximum
@@ -98,6 +148,13 @@ public class RetransmissionQueue {
             if (greaterThan(tcb.sndUna(), seg.lastSeq())) {
                 // fully ACKed
                 somethingWasAcked = true;
+                final Long xmitTs = xmitTimes.remove(seg);
+                if (xmitTs != null && !sacked.contains(seg)) {
+                    rackUpdate(tcb, seg, xmitTs);
+                }
+                sacked.remove(seg);
+                retransmitted.remove(seg);
+                rackLost.remove(seg);
                 seg.release();
                 queue.remove();
             }
@@ -112,18 +169,330 @@ public class RetransmissionQueue {
             }
         }
 
+        if (timeoutRecoveryPoint != -1 && greaterThanOrEqualTo(tcb.sndUna(), timeoutRecoveryPoint)) {
+            timeoutRecoveryPoint = -1;
+        }
+
         return somethingWasAcked;
     }
 
+    /**
+     * Marks all segments that are fully covered by the blocks of {@code sackOption} as selectively
+     * acknowledged.
+     *
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc6675#section-5">RFC 6675, Section 5.</a>
+     */
+    public void sack(final ChannelHandlerContext ctx,
+                     final TransmissionControlBlock tcb,
+                     final SackOption sackOption) {
+        final List<Long> edges = sackOption.edges;
+        for (int i = 0; i + 1 < edges.size(); i += 2) {
+            final long leftEdge = edges.get(i);
+            final long rightEdge = edges.get(i + 1);
+
+            for (final Segment seg : queue) {
+                if (greaterThanOrEqualTo(seg.seq(), rightEdge)) {
+                    break;
+                }
+                if (seg.len() != 0 && lessThanOrEqualTo(leftEdge, seg.seq()) && lessThanOrEqualTo(seg.nxtSeq(), rightEdge) && sacked.add(seg)) {
+                    LOG.trace("{} SEG `{}` has been SACKed.", ctx.channel(), seg);
+                    rackLost.remove(seg);
+                    final Long xmitTs = xmitTimes.get(seg);
+                    if (xmitTs != null) {
+                        rackUpdate(tcb, seg, xmitTs);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the scoreboard contains information that can be used for loss
+     * recovery.
+     */
+    public boolean hasScoreboard() {
+        return !sacked.isEmpty() || timeoutRecoveryPoint != -1 || !rackLost.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if RACK has marked segments as lost that have not been retransmitted
+     * yet.
+     */
+    public boolean hasLostSegments() {
+        return !rackLost.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if the connection is currently recovering from a loss detected by
+     * duplicate acknowledgements, RACK, or the retransmission timer.
+     */
+    public boolean inLossRecovery(final TransmissionControlBlock tcb) {
+        return tcb.duplicateAcks() >= DUP_THRESH || timeoutRecoveryPoint != -1;
+    }
+
+    /**
+     * Determines the segments that are considered lost and have not been retransmitted yet, as well
+     * as the number of bytes still in transit.
+     *
+     * @param tcb  the connection's transmission control block
+     * @param lost is filled with the segments that have to be retransmitted, in order of their
+     *             sequence numbers
+     * @return RFC 6675 "pipe"
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc6675#section-4">RFC 6675, Section 4.</a>
+     */
+    public long scoreboard(final TransmissionControlBlock tcb, final List<Segment> lost) {
+        final int lostBefore = lost.size();
+        long pipe = 0;
+        int sackedSegmentsAbove = 0;
+        long sackedBytesAbove = 0;
+        final Iterator<Segment> iterator = queue.descendingIterator();
+        while (iterator.hasNext()) {
+            final Segment seg = iterator.next();
+            if (sacked.contains(seg)) {
+                sackedSegmentsAbove++;
+                sackedBytesAbove += seg.len();
+                continue;
+            }
+
+            // RFC 6675: IsLost (SeqNum): This routine returns whether the given sequence number
+            // RFC 6675: is considered to be lost. The routine returns true when either DupThresh
+            // RFC 6675: discontiguous SACKed sequences have arrived above 'SeqNum' or more than
+            // RFC 6675: (DupThresh - 1) * SMSS bytes with sequence numbers greater than 'SeqNum'
+            // RFC 6675: have been SACKed.
+            // a segment is also lost if RACK has marked it as such, even if it has already been
+            // retransmitted
+            final boolean isRackLost = rackLost.contains(seg);
+            final boolean isLost = isRackLost ||
+                    (timeoutRecoveryPoint != -1 && lessThan(seg.seq(), timeoutRecoveryPoint)) ||
+                    sackedSegmentsAbove >= DUP_THRESH ||
+                    sackedBytesAbove > (long) (DUP_THRESH - 1) * tcb.smss();
+
+            // RFC 6675: (a) If IsLost (S1) returns false: Pipe is incremented by 1 octet.
+            if (!isLost) {
+                pipe += seg.len();
+            }
+            // RFC 6675: (b) If S1 <= HighRxt: Pipe is incremented by 1 octet.
+            if (retransmitted.contains(seg) && !isRackLost) {
+                pipe += seg.len();
+            }
+            else if (isLost) {
+                lost.add(seg);
+            }
+        }
+        Collections.reverse(lost.subList(lostBefore, lost.size()));
+
+        return pipe;
+    }
+
+    /**
+     * Remembers that {@code seg} has been retransmitted in the current loss recovery.
+     */
+    public void retransmitted(final TransmissionControlBlock tcb, final Segment seg) {
+        retransmitted.add(seg);
+        rackLost.remove(seg);
+        if (xmitTimes.containsKey(seg)) {
+            xmitTimes.put(seg, tcb.config().clock().time());
+        }
+    }
+
+    /**
+     * Marks all outstanding segments as lost that have been sent at least a reordering window
+     * before the most recently sent segment that has been delivered, and that have not been
+     * delivered themselves.
+     *
+     * @param ctx the channel handler context
+     * @param tcb the connection's transmission control block
+     * @return time in milliseconds after which further segments may be considered lost, or
+     * {@code 0} if no reordering timer is required
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc8985#section-6.2">RFC 8985, Section
+     * 6.2.</a>
+     */
+    public long detectLoss(final ChannelHandlerContext ctx, final TransmissionControlBlock tcb) {
+        if (rackXmitTs == -1) {
+            return 0;
+        }
+
+        final long now = tcb.config().clock().time();
+        final long reoWnd = reoWnd(tcb);
+        long timeout = 0;
+        for (final Segment seg : queue) {
+            final Long xmitTs = xmitTimes.get(seg);
+            if (xmitTs == null || sacked.contains(seg) || rackLost.contains(seg)) {
+                continue;
+            }
+
+            // RFC 8985: If RACK_sent_after(RACK.xmit_ts, RACK.end_seq,
+            // RFC 8985:                    Segment.xmit_ts, Segment.end_seq):
+            if (sentAfter(rackXmitTs, rackEndSeq, xmitTs, seg.nxtSeq())) {
+                // RFC 8985: Remaining = Segment.xmit_ts + RACK.rtt + RACK.reo_wnd - Now()
+                final long remaining = xmitTs + rackRtt + reoWnd - now;
+                if (remaining <= 0) {
+                    // RFC 8985: Segment.lost = TRUE
+                    LOG.trace("{} SEG `{}` has been marked as lost by RACK.", ctx.channel(), seg);
+                    rackLost.add(seg);
+                }
+                else {
+                    // RFC 8985: Timeout = max(Remaining, Timeout)
+                    timeout = max(remaining, timeout);
+                }
+            }
+            else if (!retransmitted.contains(seg)) {
+                // segments have been sent in sequence order unless they have been retransmitted.
+                // All remaining segments have therefore been sent after the RACK segment.
+                break;
+            }
+        }
+
+        return timeout;
+    }
+
+    /**
+     * Returns the smoothed round-trip time in milliseconds based on the transmission times of
+     * delivered segments, or {@code -1} if no segment has been delivered yet.
+     */
+    public long srtt() {
+        return srtt;
+    }
+
+    /**
+     * Starts a TLP episode.
+     *
+     * @param endSeq    SND.NXT after the probe has been sent
+     * @param isRetrans {@code true} if the probe was a retransmission
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc8985#section-7.3">RFC 8985, Section
+     * 7.3.</a>
+     */
+    public void probeSent(final long endSeq, final boolean isRetrans) {
+        tlpEndSeq = endSeq;
+        tlpIsRetrans = isRetrans;
+    }
+
+    /**
+     * Returns {@code true} if a probe has been sent and has not been acknowledged yet.
+     */
+    public boolean probeOutstanding() {
+        return tlpEndSeq != -1;
+    }
+
+    /**
+     * Ends the current TLP episode if {@code ack} acknowledges the probe.
+     *
+     * @return {@code true} if the episode has ended and the probe was a retransmission. As D-SACK
+     * is not supported, it is then assumed that the probe has repaired a loss.
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc8985#section-7.4">RFC 8985, Section
+     * 7.4.</a>
+     */
+    public boolean endProbeEpisode(final long ack) {
+        if (tlpEndSeq == -1 || lessThan(ack, tlpEndSeq)) {
+            return false;
+        }
+
+        tlpEndSeq = -1;
+        return tlpIsRetrans;
+    }
+
+    // RFC 8985: RACK_update()
+    private void rackUpdate(final TransmissionControlBlock tcb,
+                            final Segment seg,
+                            final long xmitTs) {
+        // RFC 8985: rtt = Now() - Segment.xmit_ts
+        final long rtt = tcb.config().clock().time() - xmitTs;
+        final boolean isRetransmitted = retransmitted.contains(seg);
+        if (isRetransmitted && rtt < rackMinRtt) {
+            // RFC 8985: If Segment.retransmitted is TRUE:
+            // RFC 8985:    If rtt < RACK.min_RTT:
+            // RFC 8985:       Return
+            // (ACK was most likely caused by the original transmission)
+            return;
+        }
+
+        if (!isRetransmitted) {
+            rackMinRtt = rackMinRtt == -1 ? rtt : min(rackMinRtt, rtt);
+            srtt = srtt == -1 ? rtt : (7 * srtt + rtt) / 8;
+
+            // reordering has been observed if a segment that was never retransmitted is
+            // delivered below the highest sequence number delivered before
+            if (fack != -1 && lessThan(seg.nxtSeq(), fack)) {
+                reorderingSeen = true;
+            }
+        }
+        if (fack == -1 || greaterThan(seg.nxtSeq(), fack)) {
+            fack = seg.nxtSeq();
+        }
+
+        // RFC 8985: If RACK_sent_after(Segment.xmit_ts, Segment.end_seq,
+        // RFC 8985:                    RACK.xmit_ts, RACK.end_seq):
+        if (sentAfter(xmitTs, seg.nxtSeq(), rackXmitTs, rackEndSeq)) {
+            // RFC 8985: RACK.rtt = rtt
+            rackRtt = rtt;
+            // RFC 8985: RACK.xmit_ts = Segment.xmit_ts
+            rackXmitTs = xmitTs;
+            // RFC 8985: RACK.end_seq = Segment.end_seq
+            rackEndSeq = seg.nxtSeq();
+        }
+    }
+
+    // RFC 8985: RACK_update_reo_wnd()
+    private long reoWnd(final TransmissionControlBlock tcb) {
+        // RFC 8985: If RACK.reordering_seen is FALSE:
+        // RFC 8985:    If in loss recovery:
+        // RFC 8985:       Return 0
+        // RFC 8985:    Else if RACK.segs_sacked >= DupThresh:
+        // RFC 8985:       Return 0
+        if (!reorderingSeen && (inLossRecovery(tcb) || sacked.size() >= DUP_THRESH)) {
+            return 0;
+        }
+        // RFC 8985: Return min(RACK.reo_wnd_mult * RACK.min_RTT / 4, SRTT)
+        return max(0, min(rackMinRtt / 4, srtt));
+    }
+
+    // RFC 8985: RACK_sent_after()
+    private static boolean sentAfter(final long t1,
+                                     final long seq1,
+                                     final long t2,
+                                     final long seq2) {
+        return t1 > t2 || (t1 == t2 && greaterThan(seq1, seq2));
+    }
+
+    /**
+     * Called on retransmission timeout. Considers all outstanding segments that have not been
+     * SACKed as lost.
+     *
+     * @see <a href="https://www.rfc-editor.org/rfc/rfc6675#section-5.1">RFC 6675, Section
+     * 5.1.</a>
+     */
+    public void retransmissionTimeout(final TransmissionControlBlock tcb) {
+        // RFC 6675: a TCP sender SHOULD treat all unSACKed segments as lost and retransmit them
+        // RFC 6675: (in order) as the congestion window permits.
+        retransmitted.clear();
+        timeoutRecoveryPoint = tcb.sndNxt();
+        final Segment head = queue.peek();
+        if (head != null) {
+            retransmitted(tcb, head);
+        }
+        // the TLP episode ends with the RTO
+        tlpEndSeq = -1;
+    }
+
     Segment nextSegment() {
         return queue.peek();
     }
 
+    Segment lastSegment() {
+        return queue.peekLast();
+    }
+
     public void release() {
         Segment seg;
         while ((seg = queue.poll()) != null) {
             seg.release();
         }
+        sacked.clear();
+        retransmitted.clear();
+        xmitTimes.clear();
+        rackLost.clear();
+        timeoutRecoveryPoint = -1;
+        tlpEndSeq = -1;
     }
 
     public long firstSegmentSentTime() {
@@ -37,6 +37,7 @@ import static org.drasyl.util.Preconditions.requireNonNegative;
 enum SegmentOption {
     END_OF_OPTION_LIST((byte) 0), // 1 byte
     MAXIMUM_SEGMENT_SIZE((byte) 2), // 3 bytes
+    SACK_PERMITTED((byte) 4), // 1 byte
     SACK((byte) 5), // at least 2 bytes
     TIMESTAMPS((byte) 8); // 9 bytes
     private static final Map<Byte, SegmentOption> OPTIONS;
@@ -67,6 +68,9 @@ enum SegmentOption {
             case MAXIMUM_SEGMENT_SIZE:
                 out.writeShort((Integer) value);
                 return;
+            case SACK_PERMITTED:
+                // option has no value
+                return;
             case TIMESTAMPS:
                 out.writeInt((int) ((TimestampsOption) value).tsVal);
                 out.writeInt((int) ((TimestampsOption) value).tsEcr);
@@ -86,6 +90,8 @@ enum SegmentOption {
         switch (this) {
             case MAXIMUM_SEGMENT_SIZE:
                 return in.readUnsignedShort();
+            case SACK_PERMITTED:
+                return true;
             case TIMESTAMPS:
                 return new TimestampsOption(in.readUnsignedInt(), in.readUnsignedInt());
             case SACK:
@@ -132,7 +138,6 @@ enum SegmentOption {
      *
      * @see <a href="https://www.rfc-editor.org/rfc/rfc2018">RFC 2018</a>
      */
-    @SuppressWarnings("unused")
     static class SackOption {
         final List<Long> edges;
 
@@ -122,6 +122,11 @@ public class TransmissionControlBlock {
     // RFC 9293: transmission of data, overriding the SWS avoidance algorithm. In practice, this
     // RFC 9293: timeout should seldom occur.
     private ScheduledFuture<?> overrideTimer;
+    // Pacing
+    // earliest time (in clock ticks) at which the next segment of new data may be sent
+    private double pacingNextSendTime;
+    // context of this connection while it waits for the PacingTimer, null otherwise
+    private ChannelHandlerContext pacingCtx;
 
     // RFC 7323: Timestamps option
     // RFC 7323: TS.Recent = holds a timestamp to be echoed in TSecr whenever a segment is sent
@@ -131,6 +136,13 @@ public class TransmissionControlBlock {
     // RFC 7323: Snd.TS.OK = remember successfull TSopt negotiation
     private boolean sndTsOk;
 
+    // RFC 2018: SACK-permitted option
+    // remember successfull SACK-permitted negotiation
+    private boolean sackOk;
+    // RFC 6675: RecoveryPoint = the highest octet of data outstanding at the time the sender
+    // RFC 6675: enters loss recovery
+    private long recoveryPoint;
+
     // RFC 6298: Retransmission Timer Computation
     // RFC 6298: RTTVAR = round-trip time variation
     private float rttVar;
@@ -155,6 +167,12 @@ public class TransmissionControlBlock {
     private long lastAdvertisedWindow;
     // RFC 5681:
     private int duplicateAcks;
+    // RFC 1122: Delayed ACKs
+    // number of received bytes whose acknowledgement is currently delayed
+    private long delayedAckBytes;
+    // number of acknowledgements not sent due to delayed ACKs
+    private long acksSaved;
+    private final CongestionController congestionController;
 
     @SuppressWarnings("java:S107")
     TransmissionControlBlock(final ConnectionConfig config,
@@ -207,6 +225,7 @@ public class TransmissionControlBlock {
         this.rttVar = requireNonNegative(rttVar);
         this.sRtt = requireNonNegative(sRtt);
         this.rto = requirePositive(rto);
+        this.congestionController = config.congestionControllerSupplier().get();
     }
 
     @SuppressWarnings("java:S107")
@@ -380,12 +399,12 @@ public class TransmissionControlBlock {
             return false;
         }
         final TransmissionControlBlock that = (TransmissionControlBlock) o;
-        return rcvBuff == that.rcvBuff && localPort == that.localPort && remotePort == that.remotePort && sndUna == that.sndUna && sndNxt == that.sndNxt && sndWnd == that.sndWnd && sndWl1 == that.sndWl1 && sndWl2 == that.sndWl2 && iss == that.iss && rcvNxt == that.rcvNxt && rcvWnd == that.rcvWnd && irs == that.irs && sendMss == that.sendMss && maxSndWnd == that.maxSndWnd && tsRecent == that.tsRecent && lastAckSent == that.lastAckSent && sndTsOk == that.sndTsOk && Double.compare(rttVar, that.rttVar) == 0 && Double.compare(sRtt, that.sRtt) == 0 && rto == that.rto && cwnd == that.cwnd && ssthresh == that.ssthresh && lastAdvertisedWindow == that.lastAdvertisedWindow && duplicateAcks == that.duplicateAcks && Objects.equals(retransmissionQueue, that.retransmissionQueue) && Objects.equals(sendBuffer, that.sendBuffer) && Objects.equals(outgoingSegmentQueue, that.outgoingSegmentQueue) && Objects.equals(receiveBuffer, that.receiveBuffer) && Objects.equals(config, that.config) && Objects.equals(overrideTimer, that.overrideTimer);
+        return rcvBuff == that.rcvBuff && localPort == that.localPort && remotePort == that.remotePort && sndUna == that.sndUna && sndNxt == that.sndNxt && sndWnd == that.sndWnd && sndWl1 == that.sndWl1 && sndWl2 == that.sndWl2 && iss == that.iss && rcvNxt == that.rcvNxt && rcvWnd == that.rcvWnd && irs == that.irs && sendMss == that.sendMss && maxSndWnd == that.maxSndWnd && tsRecent == that.tsRecent && lastAckSent == that.lastAckSent && sndTsOk == that.sndTsOk && sackOk == that.sackOk && Double.compare(rttVar, that.rttVar) == 0 && Double.compare(sRtt, that.sRtt) == 0 && rto == that.rto && cwnd == that.cwnd && ssthresh == that.ssthresh && lastAdvertisedWindow == that.lastAdvertisedWindow && duplicateAcks == that.duplicateAcks && Objects.equals(retransmissionQueue, that.retransmissionQueue) && Objects.equals(sendBuffer, that.sendBuffer) && Objects.equals(outgoingSegmentQueue, that.outgoingSegmentQueue) && Objects.equals(receiveBuffer, that.receiveBuffer) && Objects.equals(config, that.config) && Objects.equals(overrideTimer, that.overrideTimer);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(retransmissionQueue, sendBuffer, outgoingSegmentQueue, receiveBuffer, rcvBuff, config, localPort, remotePort, sndUna, sndNxt, sndWnd, sndWl1, sndWl2, iss, rcvNxt, rcvWnd, irs, sendMss, maxSndWnd, overrideTimer, tsRecent, lastAckSent, sndTsOk, rttVar, sRtt, rto, cwnd, ssthresh, lastAdvertisedWindow, duplicateAcks);
+        return Objects.hash(retransmissionQueue, sendBuffer, outgoingSegmentQueue, receiveBuffer, rcvBuff, config, localPort, remotePort, sndUna, sndNxt, sndWnd, sndWl1, sndWl2, iss, rcvNxt, rcvWnd, irs, sendMss, maxSndWnd, overrideTimer, tsRecent, lastAckSent, sndTsOk, sackOk, rttVar, sRtt, rto, cwnd, ssthresh, lastAdvertisedWindow, duplicateAcks);
     }
 
     @Override
@@ -408,11 +427,14 @@ public class TransmissionControlBlock {
                 ", SendMSS=" + sendMss +
                 ", CWND=" + cwnd +
                 ", SSTHRESH=" + ssthresh +
+                ", CC=" + congestionController +
+                ", ACKS.SAVED=" + acksSaved +
                 '}';
     }
 
     public void delete() {
         cancelOverrideTimer();
+        cancelPacingTimer();
         sendBuffer.release();
         receiveBuffer.release();
     }
@@ -578,11 +600,18 @@ public class TransmissionControlBlock {
             }
 
             if (remainingBytes > 0) {
+                if (pacingDelay() > 0) {
+                    LOG.trace("{} Pacing: Delay {} bytes until the next segment may be sent.", ctx.channel(), readableBytes);
+                    createPacingTimer(ctx);
+                    return;
+                }
+
                 LOG.trace("{} {} bytes in-flight. SND.WND={}/CWND={} bytes allows us to write {} new bytes to network. {} bytes wait to be written. Write {} bytes.", ctx.channel(), flightSize(), sndWnd(), cwnd(), usableWindow, readableBytes, remainingBytes);
                 final ConnectionHandler handler = (ConnectionHandler) ctx.handler();
 
                 final long sentData = handler.segmentizeAndSendData(ctx, (int) remainingBytes);
                 readableBytes -= sentData;
+                paced(sentData);
             }
             else {
                 return;
@@ -627,6 +656,74 @@ public class TransmissionControlBlock {
         }
     }
 
+    /**
+     * Returns the number of clock ticks to wait before the next segment of new data may be sent.
+     */
+    private long pacingDelay() {
+        if (!config.pacing()) {
+            return 0;
+        }
+        return max(0, (long) Math.ceil(pacingNextSendTime - config.clock().time()));
+    }
+
+    /**
+     * Postpones the next transmission of new data by the time it takes to send {@code bytes} at
+     * the pacing rate of the congestion controller.
+     *
+     * @see CongestionController#pacingRate(TransmissionControlBlock)
+     */
+    private void paced(final long bytes) {
+        if (!config.pacing()) {
+            return;
+        }
+
+        final double rate = congestionController.pacingRate(this) * config.clock().g(); // bytes per tick
+        if (rate > 0) {
+            // the clock is too coarse to wake up for every segment. Allow sending the data
+            // accumulated during the last clock tick at once
+            final long now = config.clock().time();
+            pacingNextSendTime = max(pacingNextSendTime, now - 1d) + bytes / rate;
+        }
+    }
+
+    /**
+     * Returns the number of nanoseconds to wait before the next segment of new data may be sent.
+     */
+    long pacingDelayNanos() {
+        return (long) (pacingDelay() * config.clock().g() * 1_000_000_000L);
+    }
+
+    private void createPacingTimer(final ChannelHandlerContext ctx) {
+        if (pacingCtx == null) {
+            LOG.trace("{} Pacing: Wait {}ns for pacing timer.", ctx.channel(), pacingDelayNanos());
+            pacingCtx = ctx;
+            PacingTimer.schedule(ctx, this);
+        }
+    }
+
+    /**
+     * Called by the {@link PacingTimer} once the next segment of new data may be sent.
+     */
+    void pacingTimerExpired(final ChannelHandlerContext ctx) {
+        if (pacingCtx == null) {
+            // connection has been deleted while other connections were served by the same wakeup
+            return;
+        }
+        pacingCtx = null;
+        LOG.trace("{} Pacing: Pacing timer timeout. Try sending enqueued data.", ctx.channel());
+        trySendingPreviouslyUnsentData(ctx, false);
+        if (!outgoingSegmentQueue.isEmpty()) {
+            flush(ctx);
+        }
+    }
+
+    private void cancelPacingTimer() {
+        if (pacingCtx != null) {
+            PacingTimer.cancel(pacingCtx, this);
+            pacingCtx = null;
+        }
+    }
+
     long flightSize() {
         return sub(sndNxt, sndUna);
     }
@@ -667,6 +764,16 @@ public class TransmissionControlBlock {
         return ssthresh;
     }
 
+    /**
+     * Returns the {@link CongestionController} deciding how {@link #cwnd()} and
+     * {@link #ssthresh()} evolve on this connection.
+     *
+     * @return the {@link CongestionController} of this connection
+     */
+    public CongestionController congestionController() {
+        return congestionController;
+    }
+
     public void rcvNxt(final ChannelHandlerContext ctx, final long newRcvNxt) {
         if (LOG.isTraceEnabled() && newRcvNxt != rcvNxt) {
             LOG.trace("{} Advance RCV.NXT from {} to {} (+{}).", ctx.channel(), rcvNxt, newRcvNxt, Segment.sub(newRcvNxt, rcvNxt));
@@ -797,6 +904,32 @@ public class TransmissionControlBlock {
         sndTsOk = true;
     }
 
+    public void turnOnSackOk() {
+        sackOk = true;
+    }
+
+    public boolean sackOk() {
+        return sackOk;
+    }
+
+    /**
+     * Returns {@code true} if losses are detected using RACK-TLP. This requires both peers to
+     * have agreed on SACK.
+     *
+     * @see ConnectionConfig#rackTlp()
+     */
+    public boolean rackTlp() {
+        return sackOk && config.rackTlp();
+    }
+
+    public long recoveryPoint() {
+        return recoveryPoint;
+    }
+
+    public void recoveryPoint(final long recoveryPoint) {
+        this.recoveryPoint = recoveryPoint;
+    }
+
     public void sRtt(final ChannelHandlerContext ctx, final float newSRtt) {
         if (LOG.isTraceEnabled() && newSRtt != sRtt) {
             LOG.trace("{} RTT measurement: {} SRTT from {}ms to {}ms ({}{}ms).", ctx.channel(), (newSRtt > sRtt ? "Increase" : "Decrease"), sRtt, newSRtt, (newSRtt > sRtt ? "+" : ""), newSRtt - sRtt);
@@ -892,6 +1025,35 @@ public class TransmissionControlBlock {
         this.duplicateAcks++;
     }
 
+    public void duplicateAcks(final int duplicateAcks) {
+        this.duplicateAcks = duplicateAcks;
+    }
+
+    public long delayedAckBytes() {
+        return delayedAckBytes;
+    }
+
+    public void delayedAckBytes(final long delayedAckBytes) {
+        this.delayedAckBytes = delayedAckBytes;
+    }
+
+    /**
+     * Returns the number of acknowledgements that have not been sent due to delayed ACKs.
+     *
+     * @see ConnectionConfig#ackDelay()
+     */
+    public long acksSaved() {
+        return acksSaved;
+    }
+
+    public void incrementAcksSaved() {
+        acksSaved++;
+    }
+
+    public void decrementAcksSaved() {
+        acksSaved--;
+    }
+
     public void resetDuplicateAcks() {
         this.duplicateAcks = 0;
     }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.DecoderException;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AggregateDecoderTest {
+    @Test
+    void shouldSplitAggregateIntoMessages() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new AggregateDecoder());
+
+        channel.writeInbound(Unpooled.buffer()
+                .writeShort(1).writeBytes("A".getBytes(UTF_8))
+                .writeShort(0)
+                .writeShort(3).writeBytes("DEF".getBytes(UTF_8)));
+
+        final ByteBuf actual1 = channel.readInbound();
+        assertEquals(Unpooled.copiedBuffer("A", UTF_8), actual1);
+        final ByteBuf actual2 = channel.readInbound();
+        assertEquals(Unpooled.EMPTY_BUFFER, actual2);
+        final ByteBuf actual3 = channel.readInbound();
+        assertEquals(Unpooled.copiedBuffer("DEF", UTF_8), actual3);
+        assertNull(channel.readInbound());
+
+        actual1.release();
+        actual2.release();
+        actual3.release();
+        channel.checkException();
+    }
+
+    @Test
+    void shouldRejectTruncatedAggregate() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new AggregateDecoder());
+
+        final ByteBuf msg = Unpooled.buffer().writeShort(5).writeBytes("AB".getBytes(UTF_8));
+        final DecoderException e = assertThrows(DecoderException.class, () -> channel.writeInbound(msg));
+        assertEquals(CorruptedFrameException.class, e.getClass());
+    }
+}
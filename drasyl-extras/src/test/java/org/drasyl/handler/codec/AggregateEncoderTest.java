@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregateEncoderTest {
+    @Nested
+    class Write {
+        @Test
+        void shouldAggregateAllMessagesWrittenBetweenFlushes() {
+            final EmbeddedChannel channel = new EmbeddedChannel(new AggregateEncoder(16));
+
+            final ChannelFuture future1 = channel.write(Unpooled.copiedBuffer("A", UTF_8));
+            final ChannelFuture future2 = channel.write(Unpooled.copiedBuffer("BC", UTF_8));
+            final ChannelFuture future3 = channel.write(Unpooled.copiedBuffer("DEF", UTF_8));
+            assertNull(channel.readOutbound());
+
+            channel.flush();
+
+            final ByteBuf actual = channel.readOutbound();
+            assertEquals(Unpooled.buffer()
+                    .writeShort(1).writeBytes("A".getBytes(UTF_8))
+                    .writeShort(2).writeBytes("BC".getBytes(UTF_8))
+                    .writeShort(3).writeBytes("DEF".getBytes(UTF_8)), actual);
+            assertTrue(future1.isSuccess());
+            assertTrue(future2.isSuccess());
+            assertTrue(future3.isSuccess());
+            assertNull(channel.readOutbound());
+
+            actual.release();
+            channel.checkException();
+        }
+
+        @Test
+        void shouldStartNewAggregateIfMessageDoesNotFit() {
+            final EmbeddedChannel channel = new EmbeddedChannel(new AggregateEncoder(8));
+
+            channel.write(Unpooled.copiedBuffer("ABC", UTF_8));
+            channel.write(Unpooled.copiedBuffer("DEF", UTF_8));
+            channel.flush();
+
+            final ByteBuf actual1 = channel.readOutbound();
+            assertEquals(Unpooled.buffer().writeShort(3).writeBytes("ABC".getBytes(UTF_8)), actual1);
+            final ByteBuf actual2 = channel.readOutbound();
+            assertEquals(Unpooled.buffer().writeShort(3).writeBytes("DEF".getBytes(UTF_8)), actual2);
+            assertNull(channel.readOutbound());
+
+            actual1.release();
+            actual2.release();
+            channel.checkException();
+        }
+
+        @Test
+        void shouldPassMessageLargerThanAggregateInOwnAggregate() {
+            final EmbeddedChannel channel = new EmbeddedChannel(new AggregateEncoder(4));
+
+            channel.writeAndFlush(Unpooled.copiedBuffer("ABCDEF", UTF_8));
+
+            final ByteBuf actual = channel.readOutbound();
+            assertEquals(Unpooled.buffer().writeShort(6).writeBytes("ABCDEF".getBytes(UTF_8)), actual);
+
+            actual.release();
+            channel.checkException();
+        }
+
+        @Test
+        void shouldWriteCurrentAggregateBeforePassingThroughOtherMessages() {
+            final EmbeddedChannel channel = new EmbeddedChannel(new AggregateEncoder(16));
+
+            channel.write(Unpooled.copiedBuffer("A", UTF_8));
+            channel.write("B");
+            channel.write(Unpooled.copiedBuffer("C", UTF_8));
+            channel.flush();
+
+            final ByteBuf actual1 = channel.readOutbound();
+            assertEquals(Unpooled.buffer().writeShort(1).writeBytes("A".getBytes(UTF_8)), actual1);
+            assertEquals("B", channel.readOutbound());
+            final ByteBuf actual2 = channel.readOutbound();
+            assertEquals(Unpooled.buffer().writeShort(1).writeBytes("C".getBytes(UTF_8)), actual2);
+            assertNull(channel.readOutbound());
+
+            actual1.release();
+            actual2.release();
+            channel.checkException();
+        }
+
+        @Test
+        void shouldRejectMessageExceedingLengthField() {
+            final EmbeddedChannel channel = new EmbeddedChannel(new AggregateEncoder(16));
+
+            final ByteBuf msg = Unpooled.buffer(AggregateEncoder.MAX_MESSAGE_LENGTH + 1).writerIndex(AggregateEncoder.MAX_MESSAGE_LENGTH + 1);
+            final ChannelFuture future = channel.writeAndFlush(msg);
+
+            assertFalse(future.isSuccess());
+            assertThat(future.cause(), instanceOf(TooLongFrameException.class));
+            assertEquals(0, msg.refCnt());
+            assertNull(channel.readOutbound());
+        }
+    }
+
+    @Nested
+    class Flush {
+        @Test
+        void shouldDelayFlushUntilDeadline() {
+            final EmbeddedChannel channel = new EmbeddedChannel(new AggregateEncoder(16, TimeUnit.SECONDS.toMicros(1)));
+
+            channel.writeAndFlush(Unpooled.copiedBuffer("A", UTF_8));
+            channel.writeAndFlush(Unpooled.copiedBuffer("BC", UTF_8));
+            assertNull(channel.readOutbound());
+
+            channel.advanceTimeBy(1, TimeUnit.SECONDS);
+            channel.runScheduledPendingTasks();
+
+            final ByteBuf actual = channel.readOutbound();
+            assertEquals(Unpooled.buffer()
+                    .writeShort(1).writeBytes("A".getBytes(UTF_8))
+                    .writeShort(2).writeBytes("BC".getBytes(UTF_8)), actual);
+            assertNull(channel.readOutbound());
+
+            actual.release();
+            channel.checkException();
+        }
+
+        @Test
+        void shouldFlushPendingAggregateOnClose() {
+            final EmbeddedChannel channel = new EmbeddedChannel(new AggregateEncoder(16, TimeUnit.SECONDS.toMicros(1)));
+
+            channel.writeAndFlush(Unpooled.copiedBuffer("A", UTF_8));
+            channel.close();
+
+            final ByteBuf actual = channel.readOutbound();
+            assertEquals(Unpooled.buffer().writeShort(1).writeBytes("A".getBytes(UTF_8)), actual);
+
+            actual.release();
+        }
+    }
+}
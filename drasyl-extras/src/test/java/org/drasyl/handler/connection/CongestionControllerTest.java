@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020-2023 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.quality.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = LENIENT)
+class CongestionControllerTest {
+    @Nested
+    class Reno {
+        @Test
+        void shouldIncreaseCwndByAtMostSmssDuringSlowStart(@Mock(answer = RETURNS_DEEP_STUBS) final ChannelHandlerContext ctx,
+                                                         @Mock final TransmissionControlBlock tcb) {
+            when(tcb.doSlowStart()).thenReturn(true);
+            when(tcb.cwnd()).thenReturn(2000L);
+            when(tcb.smss()).thenReturn(1000);
+
+            new RenoCongestionController().onAck(ctx, tcb, 1500);
+
+            verify(tcb).cwnd(ctx, 3000);
+        }
+
+        @Test
+        void shouldHalveFlightSizeOnFastRetransmit(@Mock(answer = RETURNS_DEEP_STUBS) final ChannelHandlerContext ctx,
+                                                   @Mock final TransmissionControlBlock tcb) {
+            when(tcb.flightSize()).thenReturn(64_000L);
+            when(tcb.smss()).thenReturn(1000);
+            when(tcb.ssthresh()).thenReturn(32_000L);
+
+            new RenoCongestionController().onFastRetransmit(ctx, tcb);
+
+            verify(tcb).ssthresh(ctx, 32_000);
+            verify(tcb).cwnd(ctx, 35_000);
+        }
+
+        @Test
+        void shouldPaceTwiceTheWindowPerRoundTripDuringSlowStart(@Mock(answer = RETURNS_DEEP_STUBS) final TransmissionControlBlock tcb) {
+            when(tcb.doSlowStart()).thenReturn(true);
+            when(tcb.cwnd()).thenReturn(10_000L);
+            when(tcb.sRtt()).thenReturn(100f);
+            when(tcb.config().clock().g()).thenReturn(1.0 / 1_000);
+
+            assertThat(new RenoCongestionController().pacingRate(tcb), closeTo(200_000, 1));
+        }
+
+        @Test
+        void shouldPaceWindowRestoredAfterLossRecovery(@Mock(answer = RETURNS_DEEP_STUBS) final TransmissionControlBlock tcb) {
+            when(tcb.retransmissionQueue().inLossRecovery(tcb)).thenReturn(true);
+            when(tcb.cwnd()).thenReturn(50_000L);
+            when(tcb.ssthresh()).thenReturn(10_000L);
+            when(tcb.sRtt()).thenReturn(100f);
+            when(tcb.config().clock().g()).thenReturn(1.0 / 1_000);
+
+            assertThat(new RenoCongestionController().pacingRate(tcb), closeTo(120_000, 1));
+        }
+    }
+
+    @Nested
+    class Cubic {
+        @Test
+        void shouldReduceWindowByBetaOnFastRetransmit(@Mock(answer = RETURNS_DEEP_STUBS) final ChannelHandlerContext ctx,
+                                                      @Mock final TransmissionControlBlock tcb) {
+            when(tcb.cwnd()).thenReturn(100_000L);
+            when(tcb.flightSize()).thenReturn(100_000L);
+            when(tcb.smss()).thenReturn(1000);
+            when(tcb.ssthresh()).thenReturn(70_000L);
+
+            new CubicCongestionController().onFastRetransmit(ctx, tcb);
+
+            verify(tcb).ssthresh(ctx, 70_000);
+            verify(tcb).cwnd(ctx, 73_000);
+        }
+    }
+
+    @Nested
+    class Bbr {
+        @Test
+        void shouldEstimateBottleneckBandwidthAndRoundTripPropagationDelay() {
+            final LossyLinkSimulator link = new LossyLinkSimulator(MILLISECONDS.toNanos(50), 2_500_000, 1_000_000, 0, 1_000_000, 42);
+            final AtomicReference<BbrCongestionController> controller = new AtomicReference<>();
+            link.goodput(() -> {
+                controller.set(new BbrCongestionController());
+                return controller.get();
+            }, SECONDS.toNanos(5));
+
+            assertThat(controller.get().btlBw(), closeTo(2_500_000, 250_000));
+            assertThat((double) controller.get().minRtt(), closeTo(MILLISECONDS.toNanos(100), MILLISECONDS.toNanos(5)));
+        }
+    }
+
+    @Nested
+    class OnLossyLink {
+        // 100 ms RTT, 2.5 MB/s bottleneck, and a queue large enough to never overflow: only random
+        // losses are observed
+        private final long duration = SECONDS.toNanos(15);
+
+        private LossyLinkSimulator link() {
+            return new LossyLinkSimulator(MILLISECONDS.toNanos(50), 2_500_000, 1_000_000, 0.0003, 1_000_000, 1);
+        }
+
+        @Test
+        void cubicShouldAchieveHigherGoodputThanReno() {
+            final double reno = link().goodput(RenoCongestionController::new, duration);
+            final double cubic = link().goodput(CubicCongestionController::new, duration);
+
+            assertThat(cubic, greaterThan(reno * 1.2));
+        }
+
+        @Test
+        void bbrShouldAchieveHigherGoodputThanCubic() {
+            final double cubic = link().goodput(CubicCongestionController::new, duration);
+            final double bbr = link().goodput(BbrCongestionController::new, duration);
+
+            assertThat(bbr, greaterThan(cubic * 1.1));
+            assertThat(bbr, greaterThan(2_500_000 * 0.85));
+        }
+    }
+}
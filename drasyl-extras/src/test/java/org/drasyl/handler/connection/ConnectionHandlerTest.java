@@ -48,8 +48,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.stubbing.Answer;
 
+import java.util.function.Consumer;
+
 import static java.time.Duration.ofMillis;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.drasyl.handler.connection.ConnectionConfig.DRASYL_HDR_SIZE;
 import static org.drasyl.handler.connection.ConnectionConfig.IP_MTU;
@@ -84,6 +88,8 @@ import static org.drasyl.handler.connection.State.TIME_WAIT;
 import static org.drasyl.util.RandomUtil.randomBytes;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -2907,6 +2913,102 @@ class ConnectionHandlerTest {
 
                             verify(seg).release();
                         }
+
+                        @Test
+                        void shouldDelayAcknowledgementIfEnabled(@Mock(answer = RETURNS_DEEP_STUBS) final EventExecutor executor) {
+                            when(config.ackDelay()).thenReturn(ofMillis(40));
+                            when(config.mmsR()).thenReturn(1254);
+                            when(tcb.state()).thenReturn(ESTABLISHED);
+                            when(tcb.rcvNxt()).thenReturn(123L);
+                            when(seg.seq()).thenReturn(123L);
+                            when(seg.ack()).thenReturn(88L);
+                            when(tcb.sndUna()).thenReturn(87L);
+                            when(tcb.sndNxt()).thenReturn(88L);
+                            when(tcb.rcvWnd()).thenReturn(10_000L);
+                            when(seg.content().readableBytes()).thenReturn(100);
+                            when(seg.len()).thenReturn(100);
+                            when(ctx.executor()).thenReturn(executor);
+
+                            final ConnectionHandler handler = new ConnectionHandler(PEER_A_PORT, PEER_B_PORT, config, tcb, userTimer, retransmissionTimer, timeWaitTimer, establishedPromise, false, false, closedPromise, null);
+
+                            handler.channelRead(ctx, seg);
+                            handler.channelReadComplete(ctx);
+
+                            verify(tcb.receiveBuffer()).receive(eq(ctx), eq(tcb), any());
+
+                            // RFC 5681: an ACK SHOULD be generated for at least every second
+                            // RFC 5681: full-sized segment, and MUST be generated within 500 ms of
+                            // RFC 5681: the arrival of the first unacknowledged packet.
+                            verify(tcb, never()).send(any(), any());
+                            verify(tcb).delayedAckBytes(100);
+                            verify(tcb).incrementAcksSaved();
+                            verify(executor).schedule(any(Runnable.class), eq(40L), eq(MILLISECONDS));
+                            assertNotNull(handler.delayedAckTimer);
+
+                            verify(seg).release();
+                        }
+
+                        @Test
+                        void shouldAcknowledgeEverySecondFullSizedSegment() {
+                            when(config.ackDelay()).thenReturn(ofMillis(40));
+                            when(config.mmsR()).thenReturn(1254);
+                            when(tcb.state()).thenReturn(ESTABLISHED);
+                            when(tcb.localPort()).thenReturn(PEER_A_PORT);
+                            when(tcb.remotePort()).thenReturn(PEER_B_PORT);
+                            when(tcb.rcvNxt()).thenReturn(123L);
+                            when(seg.seq()).thenReturn(123L);
+                            when(seg.ack()).thenReturn(88L);
+                            when(tcb.sndUna()).thenReturn(87L);
+                            when(tcb.sndNxt()).thenReturn(88L);
+                            when(tcb.rcvWnd()).thenReturn(10_000L);
+                            when(tcb.delayedAckBytes()).thenReturn(1230L);
+                            when(seg.content().readableBytes()).thenReturn(1230);
+                            when(seg.len()).thenReturn(1230);
+
+                            final ConnectionHandler handler = new ConnectionHandler(PEER_A_PORT, PEER_B_PORT, config, tcb, userTimer, retransmissionTimer, timeWaitTimer, establishedPromise, false, false, closedPromise, null);
+
+                            handler.channelRead(ctx, seg);
+                            handler.channelReadComplete(ctx);
+
+                            verify(tcb).send(eq(ctx), segmentCaptor.capture());
+                            assertThat(segmentCaptor.getValue(), allOf(seq(88L), ack(123L), ctl(ACK)));
+                            verify(tcb).delayedAckBytes(0);
+                            verify(tcb, never()).incrementAcksSaved();
+
+                            verify(seg).release();
+                        }
+
+                        @Test
+                        void shouldAcknowledgeSegmentFillingGapImmediately() {
+                            when(config.ackDelay()).thenReturn(ofMillis(40));
+                            when(config.mmsR()).thenReturn(1254);
+                            when(tcb.state()).thenReturn(ESTABLISHED);
+                            when(tcb.localPort()).thenReturn(PEER_A_PORT);
+                            when(tcb.remotePort()).thenReturn(PEER_B_PORT);
+                            when(tcb.rcvNxt()).thenReturn(123L);
+                            when(tcb.receiveBuffer().size()).thenReturn(1);
+                            when(seg.seq()).thenReturn(123L);
+                            when(seg.ack()).thenReturn(88L);
+                            when(tcb.sndUna()).thenReturn(87L);
+                            when(tcb.sndNxt()).thenReturn(88L);
+                            when(tcb.rcvWnd()).thenReturn(10_000L);
+                            when(seg.content().readableBytes()).thenReturn(100);
+                            when(seg.len()).thenReturn(100);
+
+                            final ConnectionHandler handler = new ConnectionHandler(PEER_A_PORT, PEER_B_PORT, config, tcb, userTimer, retransmissionTimer, timeWaitTimer, establishedPromise, false, false, closedPromise, null);
+
+                            handler.channelRead(ctx, seg);
+                            handler.channelReadComplete(ctx);
+
+                            // RFC 5681: a TCP receiver SHOULD send an immediate ACK when the
+                            // RFC 5681: incoming segment fills in all or part of a gap in the
+                            // RFC 5681: sequence space.
+                            verify(tcb).send(eq(ctx), segmentCaptor.capture());
+                            assertThat(segmentCaptor.getValue(), allOf(seq(88L), ack(123L), ctl(ACK)));
+                            verify(tcb, never()).incrementAcksSaved();
+
+                            verify(seg).release();
+                        }
                     }
 
                     @Nested
@@ -3320,6 +3422,7 @@ class ConnectionHandlerTest {
                     when(tcb.retransmissionQueue().nextSegment()).thenReturn(seg);
                     when(tcb.effSndMss()).thenReturn(1401);
                     when(tcb.cwnd()).thenReturn(500L);
+                    when(tcb.congestionController()).thenReturn(new RenoCongestionController());
                     when(seg.content()).thenReturn(Unpooled.buffer());
 
                     final ConnectionHandler handler = new ConnectionHandler(0, 0, config, tcb, userTimer, retransmissionTimer, timeWaitTimer, establishedPromise, false, false, closedPromise, null);
@@ -3359,6 +3462,56 @@ class ConnectionHandlerTest {
                 }
             }
 
+            @Nested
+            class DelayedAckTimeout {
+                @Test
+                void shouldAcknowledgeAllReceivedData(@Mock(answer = RETURNS_DEEP_STUBS) final ScheduledFuture<?> delayedAckTimer) {
+                    when(tcb.localPort()).thenReturn(PEER_A_PORT);
+                    when(tcb.remotePort()).thenReturn(PEER_B_PORT);
+                    when(tcb.sndNxt()).thenReturn(88L);
+                    when(tcb.rcvNxt()).thenReturn(123L);
+
+                    final ConnectionHandler handler = new ConnectionHandler(0, 0, config, tcb, userTimer, retransmissionTimer, timeWaitTimer, establishedPromise, false, false, closedPromise, null);
+                    handler.delayedAckTimer = delayedAckTimer;
+
+                    handler.delayedAckTimeout(ctx);
+
+                    verify(tcb).sendAndFlush(eq(ctx), segmentCaptor.capture());
+                    assertThat(segmentCaptor.getValue(), allOf(seq(88L), ack(123L), ctl(ACK)));
+                    verify(tcb).delayedAckBytes(0);
+                    verify(tcb).decrementAcksSaved();
+                    assertNull(handler.delayedAckTimer);
+                }
+            }
+
+            @Nested
+            class ProbeTimeout {
+                @Test
+                void shouldRetransmitLastSegmentIfNoNewDataCanBeSent(@Mock(answer = RETURNS_DEEP_STUBS) final ScheduledFuture<?> rackTimer) {
+                    when(tcb.localPort()).thenReturn(PEER_A_PORT);
+                    when(tcb.remotePort()).thenReturn(PEER_B_PORT);
+                    when(tcb.sndNxt()).thenReturn(500L);
+                    when(tcb.retransmissionQueue().isEmpty()).thenReturn(false);
+                    when(tcb.sendBuffer().length()).thenReturn(0L);
+                    final Segment last = new Segment(PEER_A_PORT, PEER_B_PORT, 400L, 123L, ACK, Unpooled.buffer(100).writerIndex(100));
+                    when(tcb.retransmissionQueue().lastSegment()).thenReturn(last);
+
+                    final ConnectionHandler handler = new ConnectionHandler(0, 0, config, tcb, userTimer, retransmissionTimer, timeWaitTimer, establishedPromise, false, false, closedPromise, null);
+                    handler.rackTimer = rackTimer;
+
+                    handler.probeTimeout(ctx);
+
+                    verify(ctx).writeAndFlush(segmentCaptor.capture());
+                    assertThat(segmentCaptor.getValue(), allOf(seq(400L), ack(123L), ctl(ACK), len(100)));
+                    verify(tcb.retransmissionQueue()).retransmitted(tcb, last);
+                    verify(tcb.retransmissionQueue()).probeSent(500L, true);
+                    assertNull(handler.rackTimer);
+
+                    segmentCaptor.getValue().release();
+                    last.release();
+                }
+            }
+
             @Nested
             class TimeWaitTimeout {
                 @ParameterizedTest
@@ -3526,4 +3679,53 @@ class ConnectionHandlerTest {
             }
         }
     }
+
+    @Nested
+    class DelayedAcknowledgements {
+        @Test
+        void shouldHalveNumberOfAcknowledgementsWithoutHurtingGoodput() {
+            final long duration = SECONDS.toNanos(5);
+
+            final LossyLinkSimulator immediateLink = link();
+            final double immediate = immediateLink.goodput(BbrCongestionController::new, duration);
+            final LossyLinkSimulator delayedLink = link();
+            final double delayed = delayedLink.goodput(BbrCongestionController::new, config -> config.ackDelay(ofMillis(40)), duration);
+
+            assertThat((double) delayedLink.receiverSegments(), lessThan(immediateLink.receiverSegments() * 0.55));
+            assertThat(delayedLink.receiverAcksSaved(), greaterThan(delayedLink.receiverSegments() * 9 / 10));
+            assertThat(delayed, greaterThan(immediate * 0.95));
+        }
+
+        private LossyLinkSimulator link() {
+            return new LossyLinkSimulator(MILLISECONDS.toNanos(50), 2_500_000, 1_000_000, 0, 1_000_000, 1);
+        }
+    }
+
+    @Nested
+    class Pacing {
+        // a bottleneck queue of 16KB is overflowed by bursts of whole windows
+        private final long duration = SECONDS.toNanos(5);
+
+        private LossyLinkSimulator link() {
+            return new LossyLinkSimulator(MILLISECONDS.toNanos(50), 2_500_000, 16_000, 0, 1_000_000, 1);
+        }
+
+        @Test
+        void shouldImproveGoodputOfCubicOnShallowQueue() {
+            final Consumer<ConnectionConfig.Builder> config = builder -> builder.timestamps(true).sack(true).rackTlp(true);
+            final double bursty = link().goodput(CubicCongestionController::new, config, duration);
+            final double paced = link().goodput(CubicCongestionController::new, config.andThen(builder -> builder.pacing(true)), duration);
+
+            assertThat(paced, greaterThan(bursty * 1.5));
+        }
+
+        @Test
+        void shouldImproveGoodputOfBbrOnShallowQueue() {
+            final Consumer<ConnectionConfig.Builder> config = builder -> builder.sack(true).rackTlp(true);
+            final double bursty = link().goodput(BbrCongestionController::new, config, duration);
+            final double paced = link().goodput(BbrCongestionController::new, config.andThen(builder -> builder.pacing(true)), duration);
+
+            assertThat(paced, greaterThan(bursty * 1.5));
+        }
+    }
 }
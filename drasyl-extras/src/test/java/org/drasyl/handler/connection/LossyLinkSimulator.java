@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2020-2023 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.drasyl.handler.connection.ConnectionConfig.Clock;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.drasyl.handler.connection.Segment.SEG_HDR_SIZE;
+
+/**
+ * Connects two {@link ConnectionHandler}s by a simulated link with a one-way delay, a bottleneck
+ * bandwidth with drop-tail queue in direction of the receiver, and random loss in both directions.
+ * Time is virtual: the simulation jumps from event to event, so long runs on slow links complete
+ * in a fraction of real time and results are reproducible for a given seed.
+ */
+class LossyLinkSimulator {
+    private static final int PORT_A = 1234;
+    private static final int PORT_B = 8080;
+    private static final int WRITE_SIZE = 64 * 1024;
+    private final long delayNanos;
+    private final double bytesPerNano;
+    private final long queueLimitBytes;
+    private final double lossRate;
+    private final int rmem;
+    private final Random random;
+    private final PriorityQueue<Transmission> link = new PriorityQueue<>();
+    private final EmbeddedChannel sender = new EmbeddedChannel();
+    private final EmbeddedChannel receiver = new EmbeddedChannel();
+    private long now;
+    private long linkFreeAt;
+    private long transmissions;
+    private long unackedWrites;
+    private long received;
+    private long receiverSegments;
+    private long receiverAcksSaved;
+    private long queueDrops;
+    // the first transmission of the segment ending at this sequence number is lost. -1 if none
+    private long tailSeq = -1;
+
+    /**
+     * @param delayNanos      one-way propagation delay
+     * @param bytesPerSecond  bottleneck bandwidth in direction of the receiver
+     * @param queueLimitBytes size of the bottleneck queue
+     * @param lossRate        probability of a segment to be lost
+     * @param rmem            receive buffer size of both peers
+     * @param seed            seed for the loss process
+     */
+    LossyLinkSimulator(final long delayNanos,
+                       final long bytesPerSecond,
+                       final long queueLimitBytes,
+                       final double lossRate,
+                       final int rmem,
+                       final long seed) {
+        this.delayNanos = delayNanos;
+        this.bytesPerNano = bytesPerSecond / 1e9;
+        this.queueLimitBytes = queueLimitBytes;
+        this.lossRate = lossRate;
+        this.rmem = rmem;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Transfers as much data as possible for {@code durationNanos} of virtual time.
+     *
+     * @return goodput in bytes per second
+     */
+    double goodput(final Supplier<CongestionController> congestionController,
+                   final long durationNanos) {
+        return goodput(congestionController, builder -> {
+        }, durationNanos);
+    }
+
+    /**
+     * Transfers as much data as possible for {@code durationNanos} of virtual time.
+     *
+     * @param configurer applied to the configuration of both peers
+     * @return goodput in bytes per second
+     */
+    double goodput(final Supplier<CongestionController> congestionController,
+                   final Consumer<ConnectionConfig.Builder> configurer,
+                   final long durationNanos) {
+        connect(config(congestionController, configurer, true), config(RenoCongestionController::new, configurer, false));
+
+        final long end = now + durationNanos;
+        while (now < end) {
+            fillSendBuffer();
+            step(end);
+        }
+        receiverAcksSaved = receiver.pipeline().get(ConnectionHandler.class).tcb.acksSaved();
+
+        disconnect();
+        return received / (durationNanos / 1e9);
+    }
+
+    /**
+     * Sends {@code messages} messages of {@code bytes} each. A message is sent once the previous
+     * one has been fully received. The first transmission of the last segment of every message
+     * except the first one is lost.
+     *
+     * @param configurer applied to the configuration of both peers
+     * @return time in nanoseconds needed to deliver each message except the first one
+     */
+    long[] tailLossLatencies(final Consumer<ConnectionConfig.Builder> configurer,
+                             final int messages,
+                             final int bytes) {
+        connect(config(RenoCongestionController::new, configurer, true), config(RenoCongestionController::new, configurer, false));
+
+        final long[] latencies = new long[messages - 1];
+        for (int i = 0; i < messages; i++) {
+            final long start = now;
+            final long target = received + bytes;
+            if (i > 0) {
+                tailSeq = Segment.add(sender.pipeline().get(ConnectionHandler.class).tcb.sndNxt(), bytes);
+            }
+            sender.writeAndFlush(Unpooled.buffer(bytes).writerIndex(bytes));
+
+            final long deadline = now + SECONDS.toNanos(60);
+            while (received < target && now < deadline) {
+                step(deadline);
+            }
+            if (i > 0) {
+                latencies[i - 1] = now - start;
+            }
+        }
+
+        disconnect();
+        return latencies;
+    }
+
+    /**
+     * Returns the number of segments sent by the receiver during the last transfer.
+     */
+    long receiverSegments() {
+        return receiverSegments;
+    }
+
+    /**
+     * Returns the number of acknowledgements not sent by the receiver during the last transfer.
+     *
+     * @see TransmissionControlBlock#acksSaved()
+     */
+    long receiverAcksSaved() {
+        return receiverAcksSaved;
+    }
+
+    /**
+     * Returns the number of segments dropped by the bottleneck queue during the last transfer.
+     */
+    long queueDrops() {
+        return queueDrops;
+    }
+
+    private ConnectionConfig config(final Supplier<CongestionController> congestionController,
+                                    final Consumer<ConnectionConfig.Builder> configurer,
+                                    final boolean activeOpen) {
+        final ConnectionConfig.Builder builder = ConnectionConfig.newBuilder()
+                .activeOpen(activeOpen)
+                // bulk transfer: avoid sending tiny segments whenever cwnd grows by a few bytes
+                .noDelay(false)
+                .congestionControllerSupplier(congestionController)
+                .rmem(rmem)
+                .userTimeout(ofSeconds(600))
+                .clock(new Clock() {
+                    @Override
+                    public long time() {
+                        return NANOSECONDS.toMillis(now);
+                    }
+
+                    @Override
+                    public double g() {
+                        return 1.0 / 1_000;
+                    }
+                });
+        configurer.accept(builder);
+        return builder.build();
+    }
+
+    private void connect(final ConnectionConfig senderConfig,
+                         final ConnectionConfig receiverConfig) {
+        sender.freezeTime();
+        receiver.freezeTime();
+        receiver.pipeline().addLast(new ConnectionHandler(PORT_B, PORT_A, receiverConfig));
+        sender.pipeline().addLast(new ConnectionHandler(PORT_A, PORT_B, senderConfig));
+    }
+
+    private void disconnect() {
+        abort(sender);
+        abort(receiver);
+        releaseLink();
+    }
+
+    /**
+     * Passes all written segments to the link, jumps to the next event not after {@code end}, and
+     * processes all events due by then.
+     */
+    private void step(final long end) {
+        transmit(sender, receiver, true);
+        transmit(receiver, sender, false);
+
+        // jump to next event
+        long next = end;
+        if (!link.isEmpty()) {
+            next = Math.min(next, link.peek().arrivalTime);
+        }
+        next = Math.min(next, nextScheduledTask(sender));
+        next = Math.min(next, nextScheduledTask(receiver));
+        advance(next - now);
+
+        Transmission transmission;
+        while ((transmission = link.peek()) != null && transmission.arrivalTime <= now) {
+            link.poll();
+            transmission.destination.writeInbound(transmission.seg);
+        }
+        sender.runPendingTasks();
+        receiver.runPendingTasks();
+        drainReceiver();
+    }
+
+    private void fillSendBuffer() {
+        while (unackedWrites < 4L * WRITE_SIZE * 16) {
+            final ByteBuf buf = Unpooled.buffer(WRITE_SIZE).writerIndex(WRITE_SIZE);
+            unackedWrites += WRITE_SIZE;
+            sender.write(buf).addListener(future -> unackedWrites -= WRITE_SIZE);
+        }
+        sender.flush();
+    }
+
+    private void transmit(final EmbeddedChannel source,
+                          final EmbeddedChannel destination,
+                          final boolean bottleneck) {
+        Object msg;
+        while ((msg = source.readOutbound()) != null) {
+            final Segment seg = (Segment) msg;
+            transmissions++;
+            if (source == receiver) {
+                receiverSegments++;
+            }
+
+            if (random.nextDouble() < lossRate) {
+                seg.release();
+                continue;
+            }
+
+            if (source == sender && seg.len() != 0 && seg.nxtSeq() == tailSeq) {
+                // tail loss
+                tailSeq = -1;
+                seg.release();
+                continue;
+            }
+
+            final long arrivalTime;
+            if (bottleneck) {
+                final int size = seg.len() + SEG_HDR_SIZE;
+                final long start = Math.max(now, linkFreeAt);
+                if ((start - now) * bytesPerNano > queueLimitBytes) {
+                    // drop-tail
+                    queueDrops++;
+                    seg.release();
+                    continue;
+                }
+                linkFreeAt = start + (long) (size / bytesPerNano);
+                arrivalTime = linkFreeAt + delayNanos;
+            }
+            else {
+                arrivalTime = now + delayNanos;
+            }
+            link.add(new Transmission(arrivalTime, transmissions, destination, seg));
+        }
+    }
+
+    private void drainReceiver() {
+        Object msg;
+        while ((msg = receiver.readInbound()) != null) {
+            if (msg instanceof ByteBuf) {
+                received += ((ByteBuf) msg).readableBytes();
+            }
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private long nextScheduledTask(final EmbeddedChannel channel) {
+        final long delay = channel.runScheduledPendingTasks();
+        return delay == -1 ? Long.MAX_VALUE : now + Math.max(delay, 1);
+    }
+
+    private void advance(final long nanos) {
+        if (nanos > 0) {
+            sender.advanceTimeBy(nanos, NANOSECONDS);
+            receiver.advanceTimeBy(nanos, NANOSECONDS);
+            now += nanos;
+        }
+        sender.runScheduledPendingTasks();
+        receiver.runScheduledPendingTasks();
+    }
+
+    private static void abort(final EmbeddedChannel channel) {
+        // bypass the handler's close to not perform the closing handshake
+        channel.unsafe().close(channel.voidPromise());
+        channel.finishAndReleaseAll();
+    }
+
+    private void releaseLink() {
+        Transmission transmission;
+        while ((transmission = link.poll()) != null) {
+            transmission.seg.release();
+        }
+    }
+
+    private static class Transmission implements Comparable<Transmission> {
+        final long arrivalTime;
+        final long id;
+        final EmbeddedChannel destination;
+        final Segment seg;
+
+        Transmission(final long arrivalTime,
+                     final long id,
+                     final EmbeddedChannel destination,
+                     final Segment seg) {
+            this.arrivalTime = arrivalTime;
+            this.id = id;
+            this.destination = destination;
+            this.seg = seg;
+        }
+
+        @Override
+        public int compareTo(final Transmission o) {
+            final int result = Long.compare(arrivalTime, o.arrivalTime);
+            return result != 0 ? result : Long.compare(id, o.id);
+        }
+    }
+}
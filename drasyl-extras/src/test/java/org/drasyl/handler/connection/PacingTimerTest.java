@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020-2023 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PacingTimerTest {
+    @Mock
+    private ChannelHandlerContext ctx;
+    @Mock
+    private EventExecutor executor;
+    @Mock
+    private ScheduledFuture<?> wakeup;
+    @Mock
+    private TransmissionControlBlock tcb1;
+    @Mock
+    private TransmissionControlBlock tcb2;
+
+    @BeforeEach
+    void setUp() {
+        when(ctx.executor()).thenReturn(executor);
+        doReturn(wakeup).when(executor).schedule(any(Runnable.class), anyLong(), eq(NANOSECONDS));
+    }
+
+    @Test
+    void shouldServeAllDueConnectionsWithSingleWakeup() {
+        when(tcb1.pacingDelayNanos()).thenReturn(1_000L, 0L);
+        when(tcb2.pacingDelayNanos()).thenReturn(2_000L, 0L);
+        when(wakeup.getDelay(NANOSECONDS)).thenReturn(1_000L);
+
+        PacingTimer.schedule(ctx, tcb1);
+        PacingTimer.schedule(ctx, tcb2);
+        assertEquals(2, PacingTimer.get(executor).waiting());
+
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(task.capture(), eq(1_000L), eq(NANOSECONDS));
+
+        task.getValue().run();
+
+        verify(tcb1).pacingTimerExpired(ctx);
+        verify(tcb2).pacingTimerExpired(ctx);
+        verify(executor, times(1)).schedule(any(Runnable.class), anyLong(), eq(NANOSECONDS));
+        assertNull(PacingTimer.get(executor));
+    }
+
+    @Test
+    void shouldRescheduleWakeupForConnectionsNotDueYet() {
+        when(tcb1.pacingDelayNanos()).thenReturn(1_000L, 0L);
+        when(tcb2.pacingDelayNanos()).thenReturn(2_000L, 800L);
+        when(wakeup.getDelay(NANOSECONDS)).thenReturn(1_000L);
+
+        PacingTimer.schedule(ctx, tcb1);
+        PacingTimer.schedule(ctx, tcb2);
+
+        final ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(task.capture(), eq(1_000L), eq(NANOSECONDS));
+
+        task.getValue().run();
+
+        verify(tcb1).pacingTimerExpired(ctx);
+        verify(tcb2, never()).pacingTimerExpired(ctx);
+        verify(executor).schedule(any(Runnable.class), eq(800L), eq(NANOSECONDS));
+        assertEquals(1, PacingTimer.get(executor).waiting());
+
+        PacingTimer.cancel(ctx, tcb2);
+    }
+
+    @Test
+    void shouldScheduleEarlierWakeupIfNeeded() {
+        when(tcb1.pacingDelayNanos()).thenReturn(2_000L);
+        when(tcb2.pacingDelayNanos()).thenReturn(500L);
+        when(wakeup.getDelay(NANOSECONDS)).thenReturn(2_000L);
+
+        PacingTimer.schedule(ctx, tcb1);
+        PacingTimer.schedule(ctx, tcb2);
+
+        verify(wakeup).cancel(false);
+        verify(executor).schedule(any(Runnable.class), eq(500L), eq(NANOSECONDS));
+
+        PacingTimer.cancel(ctx, tcb1);
+        PacingTimer.cancel(ctx, tcb2);
+    }
+
+    @Test
+    void shouldCancelWakeupOnceNoConnectionWaits() {
+        when(tcb1.pacingDelayNanos()).thenReturn(1_000L);
+
+        PacingTimer.schedule(ctx, tcb1);
+        PacingTimer.cancel(ctx, tcb1);
+
+        verify(wakeup).cancel(false);
+        assertNull(PacingTimer.get(executor));
+    }
+}
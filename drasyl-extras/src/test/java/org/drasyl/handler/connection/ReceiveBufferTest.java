@@ -35,6 +35,8 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+
 import static org.drasyl.handler.connection.Segment.ACK;
 import static org.drasyl.util.RandomUtil.randomBytes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -532,4 +534,50 @@ class ReceiveBufferTest {
             }
         }
     }
+
+    @Nested
+    class CreateSackOption {
+        @Test
+        void shouldReportBlocksStartingWithMostRecentlyReceivedSegment(@Mock final ChannelHandlerContext ctx,
+                                                                        @Mock final SendBuffer sendBuffer) {
+            final ConnectionConfig config = ConnectionConfig.newBuilder()
+                    .rmem(64_000)
+                    .build();
+            final ReceiveBuffer buffer = new ReceiveBuffer();
+            final TransmissionControlBlock tcb = new TransmissionControlBlock(config, 0, 0, 100, 100, 0, 100, 0, 0, sendBuffer, new RetransmissionQueue(), buffer, 0, 0, false);
+
+            final ByteBuf data = Unpooled.buffer(600).writeBytes(randomBytes(600));
+
+            // expected 0, got [100,200), [200,300), [500,600), and [400,500)
+            buffer.receive(ctx, tcb, new Segment(1234, 5678, 100, 100, ACK, data.copy(100, 100)));
+            buffer.receive(ctx, tcb, new Segment(1234, 5678, 200, 100, ACK, data.copy(200, 100)));
+            buffer.receive(ctx, tcb, new Segment(1234, 5678, 500, 100, ACK, data.copy(500, 100)));
+            buffer.receive(ctx, tcb, new Segment(1234, 5678, 400, 100, ACK, data.copy(400, 100)));
+
+            assertEquals(Arrays.asList(400L, 600L, 100L, 300L), buffer.sackOption(4).edges);
+            assertEquals(Arrays.asList(400L, 600L), buffer.sackOption(1).edges);
+
+            data.release();
+            buffer.release();
+        }
+
+        @Test
+        void shouldReturnNullIfNoDataIsMissing(@Mock final ChannelHandlerContext ctx,
+                                               @Mock final SendBuffer sendBuffer) {
+            final ConnectionConfig config = ConnectionConfig.newBuilder()
+                    .rmem(64_000)
+                    .build();
+            final ReceiveBuffer buffer = new ReceiveBuffer();
+            final TransmissionControlBlock tcb = new TransmissionControlBlock(config, 0, 0, 100, 100, 0, 100, 0, 0, sendBuffer, new RetransmissionQueue(), buffer, 0, 0, false);
+
+            final ByteBuf data = Unpooled.buffer(100).writeBytes(randomBytes(100));
+
+            buffer.receive(ctx, tcb, new Segment(1234, 5678, 0, 100, ACK, data.copy()));
+
+            assertNull(buffer.sackOption(4));
+
+            data.release();
+            buffer.release();
+        }
+    }
 }
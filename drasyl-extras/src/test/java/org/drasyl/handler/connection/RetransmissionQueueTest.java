@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2020-2023 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.connection;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import org.drasyl.handler.connection.ConnectionConfig.Clock;
+import org.drasyl.handler.connection.SegmentOption.SackOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.drasyl.handler.connection.Segment.ACK;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetransmissionQueueTest {
+    @Nested
+    class Scoreboard {
+        private final Segment[] segs = new Segment[5];
+        private RetransmissionQueue queue;
+
+        @BeforeEach
+        void setUp() {
+            // five outstanding segments of 100 bytes each: [0,100), [100,200), ..., [400,500)
+            final ArrayDeque<Segment> deque = new ArrayDeque<>();
+            for (int i = 0; i < segs.length; i++) {
+                segs[i] = new Segment(1234, 5678, i * 100L, 0, ACK, Unpooled.buffer(100).writerIndex(100));
+                deque.add(segs[i]);
+            }
+            queue = new RetransmissionQueue(deque);
+        }
+
+        @AfterEach
+        void tearDown() {
+            queue.release();
+        }
+
+        @Test
+        void shouldConsiderSegmentsLostIfDupThreshSegmentsAboveHaveBeenSacked(@Mock(answer = RETURNS_DEEP_STUBS) final ChannelHandlerContext ctx,
+                                                                              @Mock final TransmissionControlBlock tcb) {
+
+            queue.sack(ctx, tcb, new SackOption(Arrays.asList(200L, 500L)));
+
+            final List<Segment> lost = new ArrayList<>();
+            assertEquals(0, queue.scoreboard(tcb, lost));
+            assertThat(lost, contains(segs[0], segs[1]));
+        }
+
+        @Test
+        void shouldNotConsiderSegmentsLostIfTooFewSegmentsAboveHaveBeenSacked(@Mock(answer = RETURNS_DEEP_STUBS) final ChannelHandlerContext ctx,
+                                                                              @Mock final TransmissionControlBlock tcb) {
+            when(tcb.smss()).thenReturn(100);
+
+            queue.sack(ctx, tcb, new SackOption(Arrays.asList(400L, 500L)));
+
+            final List<Segment> lost = new ArrayList<>();
+            assertEquals(400, queue.scoreboard(tcb, lost));
+            assertThat(lost, empty());
+        }
+
+        @Test
+        void shouldNotReturnAlreadyRetransmittedSegments(@Mock(answer = RETURNS_DEEP_STUBS) final ChannelHandlerContext ctx,
+                                                         @Mock final TransmissionControlBlock tcb) {
+
+            queue.sack(ctx, tcb, new SackOption(Arrays.asList(200L, 500L)));
+            queue.retransmitted(tcb, segs[0]);
+
+            final List<Segment> lost = new ArrayList<>();
+            assertEquals(100, queue.scoreboard(tcb, lost));
+            assertThat(lost, contains(segs[1]));
+        }
+
+        @Test
+        void shouldConsiderAllUnsackedSegmentsLostAfterRetransmissionTimeout(@Mock(answer = RETURNS_DEEP_STUBS) final ChannelHandlerContext ctx,
+                                                                             @Mock final TransmissionControlBlock tcb) {
+            when(tcb.sndNxt()).thenReturn(500L);
+
+            queue.sack(ctx, tcb, new SackOption(Arrays.asList(300L, 400L)));
+            queue.retransmissionTimeout(tcb);
+
+            final List<Segment> lost = new ArrayList<>();
+            // the head has been retransmitted by the timeout
+            assertEquals(100, queue.scoreboard(tcb, lost));
+            assertThat(lost, contains(segs[1], segs[2], segs[4]));
+        }
+
+        @Test
+        void shouldForgetAcknowledgedSegments(@Mock(answer = RETURNS_DEEP_STUBS) final ChannelHandlerContext ctx,
+                                              @Mock final TransmissionControlBlock tcb) {
+            when(tcb.sndUna()).thenReturn(500L);
+
+            queue.sack(ctx, tcb, new SackOption(Arrays.asList(400L, 500L)));
+            assertTrue(queue.hasScoreboard());
+
+            queue.removeAcknowledged(ctx, tcb);
+            assertFalse(queue.hasScoreboard());
+        }
+    }
+
+    @Nested
+    class Rack {
+        @Mock(answer = RETURNS_DEEP_STUBS)
+        ChannelHandlerContext ctx;
+        @Mock
+        ConnectionHandler handler;
+        @Mock
+        TransmissionControlBlock tcb;
+        private final RetransmissionQueue queue = new RetransmissionQueue();
+        private long now;
+
+        @BeforeEach
+        void setUp() {
+            final ConnectionConfig config = ConnectionConfig.newBuilder()
+                    .clock(new Clock() {
+                        @Override
+                        public long time() {
+                            return now;
+                        }
+
+                        @Override
+                        public double g() {
+                            return 1.0 / 1_000;
+                        }
+                    })
+                    .build();
+            when(ctx.handler()).thenReturn(handler);
+            when(tcb.config()).thenReturn(config);
+            when(tcb.rackTlp()).thenReturn(true);
+
+            // five segments of 100 bytes each sent 10ms apart: [0,100) at 0ms, ..., [400,500) at 40ms
+            for (int i = 0; i < 5; i++) {
+                send(i * 100L);
+                now += 10;
+            }
+        }
+
+        @AfterEach
+        void tearDown() {
+            queue.release();
+        }
+
+        private void send(final long seq) {
+            final Segment seg = new Segment(1234, 5678, seq, 0, ACK, Unpooled.buffer(100).writerIndex(100));
+            queue.add(ctx, seg, tcb);
+            seg.release();
+        }
+
+        private List<Long> lost() {
+            final List<Segment> lost = new ArrayList<>();
+            queue.scoreboard(tcb, lost);
+            return lost.stream().map(Segment::seq).collect(Collectors.toList());
+        }
+
+        @Test
+        void shouldConsiderSegmentsLostThatHaveBeenSentReorderingWindowBeforeDeliveredSegment() {
+            when(tcb.smss()).thenReturn(100);
+
+            // [400,500) is delivered after 60ms. RACK.reo_wnd = RACK.min_RTT / 4 = 15ms
+            now = 100;
+            queue.sack(ctx, tcb, new SackOption(Arrays.asList(400L, 500L)));
+
+            // [300,400) has been sent at 30ms and will be considered lost in 30 + 60 + 15 - 100 = 5ms
+            assertEquals(5, queue.detectLoss(ctx, tcb));
+            assertTrue(queue.hasLostSegments());
+            assertThat(lost(), contains(0L, 100L, 200L));
+
+            now = 105;
+            assertEquals(0, queue.detectLoss(ctx, tcb));
+            assertThat(lost(), contains(0L, 100L, 200L, 300L));
+        }
+
+        @Test
+        void shouldConsiderRetransmissionLostIfSegmentSentLaterHasBeenDelivered() {
+            now = 100;
+            queue.sack(ctx, tcb, new SackOption(Arrays.asList(100L, 500L)));
+            queue.detectLoss(ctx, tcb);
+            assertThat(lost(), contains(0L));
+
+            // retransmit [0,100) at 100ms and send new data [500,600) at 110ms
+            queue.retransmitted(tcb, queue.nextSegment());
+            assertThat(lost(), empty());
+            now = 110;
+            send(500L);
+
+            // [500,600) is delivered, the retransmission of [0,100) is not
+            now = 180;
+            queue.sack(ctx, tcb, new SackOption(Arrays.asList(100L, 600L)));
+            queue.detectLoss(ctx, tcb);
+            assertThat(lost(), contains(0L));
+        }
+
+        @Test
+        void shouldEndProbeEpisodeOnceProbeHasBeenAcknowledged() {
+            queue.probeSent(500L, true);
+            assertTrue(queue.probeOutstanding());
+
+            assertFalse(queue.endProbeEpisode(400L));
+            assertTrue(queue.probeOutstanding());
+
+            assertTrue(queue.endProbeEpisode(500L));
+            assertFalse(queue.probeOutstanding());
+        }
+    }
+
+    @Nested
+    class OnTailLoss {
+        // link with 100ms RTT on which the last segment of each message is dropped once
+        private LossyLinkSimulator link() {
+            return new LossyLinkSimulator(MILLISECONDS.toNanos(50), 2_500_000, 1_000_000, 0, 1_000_000, 1);
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = { 1_000, 16 * 1024 })
+        void rackTlpShouldRepairTailLossWithoutRetransmissionTimeout(final int bytes) {
+            final long[] withoutRackTlp = link().tailLossLatencies(config -> config.sack(true), 5, bytes);
+            final long[] withRackTlp = link().tailLossLatencies(config -> config.sack(true).rackTlp(true), 5, bytes);
+
+            // without RACK-TLP, the tail loss is repaired by the retransmission timeout of 1s
+            assertThat(Arrays.stream(withoutRackTlp).min().getAsLong(), greaterThan(SECONDS.toNanos(1)));
+            // with RACK-TLP, the probe is sent roughly two RTTs after the last segment
+            assertThat(Arrays.stream(withRackTlp).max().getAsLong(), lessThan(MILLISECONDS.toNanos(600)));
+        }
+    }
+
+    @Nested
+    class OnLossyLink {
+        // BBR does not back off on random losses, so many segments are lost per window of data.
+        // Without selective acknowledgments, each of them costs a retransmission timeout
+        private final long duration = SECONDS.toNanos(5);
+
+        private LossyLinkSimulator link(final double lossRate) {
+            return new LossyLinkSimulator(MILLISECONDS.toNanos(50), 2_500_000, 1_000_000, lossRate, 1_000_000, 1);
+        }
+
+        @ParameterizedTest
+        @ValueSource(doubles = { 0.01, 0.05 })
+        void sackShouldImproveGoodput(final double lossRate) {
+            final double withoutSack = link(lossRate).goodput(BbrCongestionController::new, duration);
+            final double withSack = link(lossRate).goodput(BbrCongestionController::new, config -> config.sack(true), duration);
+
+            assertThat(withSack, greaterThan(withoutSack * 3));
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.drasyl.identity.IdentitySecretKey;
 import org.drasyl.identity.KeyAgreementPublicKey;
 import org.drasyl.identity.KeyAgreementSecretKey;
 import org.drasyl.identity.ProofOfWork;
+import org.drasyl.node.event.dispatch.EventDispatcher;
 import org.drasyl.node.handler.plugin.DrasylPlugin;
 import org.drasyl.node.handler.serialization.Serializer;
 import org.drasyl.util.internal.Nullable;
@@ -106,17 +107,27 @@ public abstract class DrasylConfig {
     public static final String REMOTE_MESSAGE_ARM_APPLICATION_AGREEMENT_MAX_COUNT = "drasyl.remote.message.arm.application.agreement.max-count";
     public static final String REMOTE_MESSAGE_ARM_APPLICATION_AGREEMENT_EXPIRE_AFTER = "drasyl.remote.message.arm.application.agreement.expire-after";
     public static final String REMOTE_MESSAGE_ARM_APPLICATION_AGREEMENT_RETRY_INTERVAL = "drasyl.remote.message.arm.application.agreement.retry-interval";
+    public static final String REMOTE_MESSAGE_ARM_APPLICATION_CRYPTO_OFFLOAD_ENABLED = "drasyl.remote.message.arm.application.crypto-offload.enabled";
+    public static final String REMOTE_MESSAGE_ARM_APPLICATION_CRYPTO_OFFLOAD_MAX_PENDING = "drasyl.remote.message.arm.application.crypto-offload.max-pending";
     public static final String REMOTE_TCP_FALLBACK_ENABLED = "drasyl.remote.tcp-fallback.enabled";
     public static final String REMOTE_TCP_FALLBACK_SERVER_BIND_HOST = "drasyl.remote.tcp-fallback.server.bind-host";
     public static final String REMOTE_TCP_FALLBACK_SERVER_BIND_PORT = "drasyl.remote.tcp-fallback.server.bind-port";
     public static final String REMOTE_TCP_FALLBACK_CLIENT_CONNECT_PORT = "drasyl.remote.tcp-fallback.client.connect-port";
     public static final String INTRA_VM_DISCOVERY_ENABLED = "drasyl.intra-vm-discovery.enabled";
     public static final String CHANNEL_INACTIVITY_TIMEOUT = "drasyl.channel.inactivity-timeout";
+    public static final String CHANNEL_AGGREGATION_ENABLED = "drasyl.channel.aggregation.enabled";
+    public static final String CHANNEL_AGGREGATION_FLUSH_DEADLINE = "drasyl.channel.aggregation.flush-deadline";
+    public static final String CHANNEL_DATAGRAM_ENABLED = "drasyl.channel.datagram.enabled";
+    public static final String CHANNEL_DATAGRAM_TYPES = "drasyl.channel.datagram.types";
+    public static final String EVENT_DISPATCHER_STRATEGY = "drasyl.event-dispatcher.strategy";
+    public static final String EVENT_DISPATCHER_CAPACITY = "drasyl.event-dispatcher.capacity";
+    public static final String EVENT_DISPATCHER_OVERFLOW_POLICY = "drasyl.event-dispatcher.overflow-policy";
     public static final String PLUGINS = "drasyl.plugins";
     public static final String SNTP_SERVER = "drasyl.sntp-server";
     public static final String SERIALIZATION_SERIALIZERS = "drasyl.serialization.serializers";
     public static final String SERIALIZATION_BINDINGS_INBOUND = "drasyl.serialization.bindings.inbound";
     public static final String SERIALIZATION_BINDINGS_OUTBOUND = "drasyl.serialization.bindings.outbound";
+    public static final String SERIALIZATION_TYPE_DICTIONARY_ENABLED = "drasyl.serialization.type-dictionary.enabled";
 
     public static DrasylConfig of() {
         return of(ConfigFactory.load());
@@ -185,6 +196,8 @@ public abstract class DrasylConfig {
             builder.remoteMessageArmApplicationAgreementMaxCount(config.getInt(REMOTE_MESSAGE_ARM_APPLICATION_AGREEMENT_MAX_COUNT));
             builder.remoteMessageArmApplicationAgreementExpireAfter(config.getDuration(REMOTE_MESSAGE_ARM_APPLICATION_AGREEMENT_EXPIRE_AFTER));
             builder.remoteMessageArmApplicationAgreementRetryInterval(config.getDuration(REMOTE_MESSAGE_ARM_APPLICATION_AGREEMENT_RETRY_INTERVAL));
+            builder.remoteMessageArmApplicationCryptoOffloadEnabled(config.getBoolean(REMOTE_MESSAGE_ARM_APPLICATION_CRYPTO_OFFLOAD_ENABLED));
+            builder.remoteMessageArmApplicationCryptoOffloadMaxPending(config.getInt(REMOTE_MESSAGE_ARM_APPLICATION_CRYPTO_OFFLOAD_MAX_PENDING));
 
             // intra vm discovery
             builder.intraVmDiscoveryEnabled(config.getBoolean(INTRA_VM_DISCOVERY_ENABLED));
@@ -199,9 +212,19 @@ public abstract class DrasylConfig {
             builder.serializationSerializers(Map.copyOf(getSerializationSerializers(config, SERIALIZATION_SERIALIZERS)));
             builder.serializationsBindingsInbound(Map.copyOf(getSerializationBindings(config, SERIALIZATION_BINDINGS_INBOUND, getSerializationSerializers(config, SERIALIZATION_SERIALIZERS).keySet())));
             builder.serializationsBindingsOutbound(Map.copyOf(getSerializationBindings(config, SERIALIZATION_BINDINGS_OUTBOUND, getSerializationSerializers(config, SERIALIZATION_SERIALIZERS).keySet())));
+            builder.serializationTypeDictionaryEnabled(config.getBoolean(SERIALIZATION_TYPE_DICTIONARY_ENABLED));
 
             // channel
             builder.channelInactivityTimeout(config.getDuration(CHANNEL_INACTIVITY_TIMEOUT));
+            builder.channelAggregationEnabled(config.getBoolean(CHANNEL_AGGREGATION_ENABLED));
+            builder.channelAggregationFlushDeadline(config.getDuration(CHANNEL_AGGREGATION_FLUSH_DEADLINE));
+            builder.channelDatagramEnabled(config.getBoolean(CHANNEL_DATAGRAM_ENABLED));
+            builder.channelDatagramTypes(Set.copyOf(getClassSet(config, CHANNEL_DATAGRAM_TYPES)));
+
+            // event dispatcher
+            builder.eventDispatcherStrategy(config.getEnum(EventDispatcher.Strategy.class, EVENT_DISPATCHER_STRATEGY));
+            builder.eventDispatcherCapacity(config.getInt(EVENT_DISPATCHER_CAPACITY));
+            builder.eventDispatcherOverflowPolicy(config.getEnum(EventDispatcher.OverflowPolicy.class, EVENT_DISPATCHER_OVERFLOW_POLICY));
 
             return builder.build();
         }
@@ -515,6 +538,23 @@ public abstract class DrasylConfig {
         }
     }
 
+    /**
+     * @throws DrasylConfigException if value at path is invalid
+     */
+    @SuppressWarnings("java:S2658")
+    public static Set<Class<?>> getClassSet(final Config config, final String path) {
+        try {
+            final Set<Class<?>> classes = new HashSet<>();
+            for (final String clazzName : config.getStringList(path)) {
+                classes.add(Class.forName(clazzName));
+            }
+            return classes;
+        }
+        catch (final ClassNotFoundException | ConfigException e) {
+            throw new DrasylConfigException(path, e);
+        }
+    }
+
     @SuppressWarnings("java:S2658")
     public static Map<Class<?>, String> getSerializationBindings(final Config config,
                                                                  final String path,
@@ -783,6 +823,10 @@ public abstract class DrasylConfig {
 
     public abstract Duration getRemoteMessageArmApplicationAgreementRetryInterval();
 
+    public abstract boolean isRemoteMessageArmApplicationCryptoOffloadEnabled();
+
+    public abstract int getRemoteMessageArmApplicationCryptoOffloadMaxPending();
+
     @Deprecated
     public abstract boolean isRemoteTcpFallbackEnabled();
 
@@ -808,8 +852,24 @@ public abstract class DrasylConfig {
 
     public abstract Map<Class<?>, String> getSerializationsBindingsOutbound();
 
+    public abstract boolean isSerializationTypeDictionaryEnabled();
+
     public abstract Duration getChannelInactivityTimeout();
 
+    public abstract boolean isChannelAggregationEnabled();
+
+    public abstract Duration getChannelAggregationFlushDeadline();
+
+    public abstract boolean isChannelDatagramEnabled();
+
+    public abstract Set<Class<?>> getChannelDatagramTypes();
+
+    public abstract EventDispatcher.Strategy getEventDispatcherStrategy();
+
+    public abstract int getEventDispatcherCapacity();
+
+    public abstract EventDispatcher.OverflowPolicy getEventDispatcherOverflowPolicy();
+
     @SuppressWarnings("java:S118")
     @AutoValue.Builder
     public abstract static class Builder {
@@ -882,6 +942,10 @@ public abstract class DrasylConfig {
 
         public abstract Builder remoteMessageArmApplicationAgreementRetryInterval(final Duration remoteMessageArmApplicationAgreementRetryInterval);
 
+        public abstract Builder remoteMessageArmApplicationCryptoOffloadEnabled(final boolean remoteMessageArmApplicationCryptoOffloadEnabled);
+
+        public abstract Builder remoteMessageArmApplicationCryptoOffloadMaxPending(final int remoteMessageArmApplicationCryptoOffloadMaxPending);
+
         @Deprecated
         public abstract Builder remoteSuperPeerEnabled(final boolean remoteSuperPeerEnabled);
 
@@ -927,8 +991,24 @@ public abstract class DrasylConfig {
 
         public abstract Builder serializationsBindingsOutbound(final Map<Class<?>, String> serializationsBindingsOutbound);
 
+        public abstract Builder serializationTypeDictionaryEnabled(final boolean serializationTypeDictionaryEnabled);
+
         abstract Builder channelInactivityTimeout(final Duration channelInactivityTimeout);
 
+        public abstract Builder channelAggregationEnabled(final boolean channelAggregationEnabled);
+
+        public abstract Builder channelAggregationFlushDeadline(final Duration channelAggregationFlushDeadline);
+
+        public abstract Builder channelDatagramEnabled(final boolean channelDatagramEnabled);
+
+        public abstract Builder channelDatagramTypes(final Set<Class<?>> channelDatagramTypes);
+
+        public abstract Builder eventDispatcherStrategy(final EventDispatcher.Strategy eventDispatcherStrategy);
+
+        public abstract Builder eventDispatcherCapacity(final int eventDispatcherCapacity);
+
+        public abstract Builder eventDispatcherOverflowPolicy(final EventDispatcher.OverflowPolicy eventDispatcherOverflowPolicy);
+
         abstract DrasylConfig autoBuild();
 
         @SuppressWarnings({ "java:S1192", "java:S1541", "java:S3776" })
@@ -962,9 +1042,18 @@ public abstract class DrasylConfig {
             if (config.getRemoteLocalHostDiscoveryLeaseTime().isNegative() || config.getRemoteLocalHostDiscoveryLeaseTime().isZero()) {
                 throw new DrasylConfigException(REMOTE_LOCAL_HOST_DISCOVERY_LEASE_TIME, "Must be a positive value.");
             }
+            if (config.getRemoteMessageArmApplicationCryptoOffloadMaxPending() < 1) {
+                throw new DrasylConfigException(REMOTE_MESSAGE_ARM_APPLICATION_CRYPTO_OFFLOAD_MAX_PENDING, "Must be a positive value.");
+            }
             if (config.getChannelInactivityTimeout().isNegative()) {
                 throw new DrasylConfigException(REMOTE_UNITE_MIN_INTERVAL, "Must be a non-negative value.");
             }
+            if (config.getChannelAggregationFlushDeadline().isNegative()) {
+                throw new DrasylConfigException(CHANNEL_AGGREGATION_FLUSH_DEADLINE, "Must be a non-negative value.");
+            }
+            if (config.getEventDispatcherCapacity() < 1) {
+                throw new DrasylConfigException(EVENT_DISPATCHER_CAPACITY, "Must be a positive value.");
+            }
             for (final Entry<Class<?>, String> entry : config.getSerializationsBindingsInbound().entrySet()) {
                 final Class<?> clazz = entry.getKey();
                 final String serializerName = entry.getValue();
@@ -29,6 +29,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.PromiseCombiner;
 import org.drasyl.channel.DrasylChannel;
@@ -43,6 +44,10 @@ import org.drasyl.node.channel.DrasylNodeChannelInitializer;
 import org.drasyl.node.channel.DrasylNodeServerChannelInitializer;
 import org.drasyl.node.event.Event;
 import org.drasyl.node.event.MessageEvent;
+import org.drasyl.node.event.dispatch.EventDispatcher;
+import org.drasyl.node.event.dispatch.InlineEventDispatcher;
+import org.drasyl.node.event.dispatch.PerSenderEventDispatcher;
+import org.drasyl.node.event.dispatch.RingBufferEventDispatcher;
 import org.drasyl.node.handler.serialization.MessageSerializer;
 import org.drasyl.node.identity.IdentityManager;
 import org.drasyl.util.FutureUtil;
@@ -57,9 +62,14 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -70,8 +80,11 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.ARM_MESSAGES;
 import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.HELLO_TIMEOUT;
 import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.INTRA_VM_DISCOVERY_ENABLED;
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.LOCAL_HOST_DISCOVERY_LEASE_TIME;
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.LOCAL_HOST_DISCOVERY_PATH;
 import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.MAX_PEERS;
 import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.NETWORK_ID;
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.STATIC_ROUTES;
 import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.SUPER_PEERS;
 import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.UDP_PORT;
 import static org.drasyl.node.Null.NULL;
@@ -110,6 +123,9 @@ public abstract class DrasylNode {
     protected final Identity identity;
     protected final ServerBootstrap bootstrap;
     private final List<SocketAddress> sntpServers;
+    // channels used by the fire-and-forget send methods. Channels remove themselves on close
+    private final Map<DrasylAddress, Channel> channels = new ConcurrentHashMap<>();
+    private final EventDispatcher eventDispatcher;
     private ChannelFuture channelFuture;
 
     static {
@@ -147,6 +163,7 @@ public abstract class DrasylNode {
         this.bootstrap = requireNonNull(bootstrap);
         this.channelFuture = channelFuture;
         this.sntpServers = sntpServers;
+        this.eventDispatcher = new InlineEventDispatcher(this::onEvent);
     }
 
     /**
@@ -164,6 +181,7 @@ public abstract class DrasylNode {
     @SuppressWarnings({ "java:S2095" })
     protected DrasylNode(final DrasylConfig config) throws DrasylException {
         identity = DrasylNode.generateIdentity(config);
+        eventDispatcher = newEventDispatcher(config);
 
         final EventLoopGroup parentGroup = DrasylNodeSharedEventLoopGroupHolder.getParentGroup();
         final EventLoopGroup childGroup = DrasylNodeSharedEventLoopGroupHolder.getChildGroup();
@@ -181,7 +199,10 @@ public abstract class DrasylNode {
                 .option(UDP_PORT, udpServerPort(config.getRemoteBindPort(), identity.getAddress()))
                 //.option(PATH_IDLE_TIME, config.getRemotePingCommunicationTimeout())
                 .option(INTRA_VM_DISCOVERY_ENABLED, config.isIntraVmDiscoveryEnabled())
-                .handler(new DrasylNodeServerChannelInitializer(config, this)).childHandler(new DrasylNodeChannelInitializer(config, this));
+                .option(STATIC_ROUTES, config.getRemoteStaticRoutes())
+                .option(LOCAL_HOST_DISCOVERY_PATH, config.isRemoteLocalHostDiscoveryEnabled() ? config.getRemoteLocalHostDiscoveryPath() : null)
+                .option(LOCAL_HOST_DISCOVERY_LEASE_TIME, config.getRemoteLocalHostDiscoveryLeaseTime())
+                .handler(new DrasylNodeServerChannelInitializer(config, this, eventDispatcher)).childHandler(new DrasylNodeChannelInitializer(config, this, eventDispatcher));
         sntpServers = config.getSntpServers();
 
         LOG.debug("drasyl node with config `{}` and address `{}` created", config, identity);
@@ -234,6 +255,9 @@ public abstract class DrasylNode {
     /**
      * Sends <code>event</code> to the application and tells it information about the local node,
      * other peers, connections or incoming messages.
+     * <p>
+     * The calling thread depends on {@link DrasylConfig#getEventDispatcherStrategy()}. By default,
+     * this method is called by an event loop and should therefore not block.
      *
      * @param event the event
      */
@@ -301,7 +325,7 @@ public abstract class DrasylNode {
                 channelFuture.channel().eventLoop().execute(() -> {
                     final MessageEvent event = MessageEvent.of(identity.getIdentityPublicKey(), payload);
                     try {
-                        onEvent(event);
+                        eventDispatcher.dispatch(recipient, event);
                         future.complete(null);
                     }
                     catch (final Exception e) {
@@ -333,6 +357,117 @@ public abstract class DrasylNode {
         }
     }
 
+    /**
+     * Sends the content of {@code payload} to the identity {@code recipient} without reporting the
+     * outcome. Unlike {@link #send(DrasylAddress, Object)}, this method creates no futures and
+     * reuses the {@link Channel} to {@code recipient} as long as it is open. This makes it suitable
+     * for applications sending many small messages.
+     * <p>
+     * Messages that cannot be serialized or sent are dropped. The cause is logged or passed to
+     * {@link #onEvent(Event)} like for any other channel exception.
+     *
+     * @param recipient the recipient of a message
+     * @param payload   the payload of a message
+     * @throws IllegalStateException if the node has not been started
+     * @see #sendBatch(DrasylAddress, Iterable)
+     */
+    public void sendAndForget(@NonNull final DrasylAddress recipient,
+                              @Nullable final Object payload) {
+        final Channel channel = channels.get(recipient);
+        if (channel != null && channel.isOpen()) {
+            channel.writeAndFlush(payload != null ? payload : NULL, channel.voidPromise());
+        }
+        else {
+            sendAndForgetUncached(recipient, Collections.singletonList(payload));
+        }
+    }
+
+    /**
+     * Sends all {@code payloads} to the identity {@code recipient} in the given order without
+     * reporting the outcome. The messages are written with a single flush. Apart from that, this
+     * method behaves like {@link #sendAndForget(DrasylAddress, Object)}.
+     *
+     * @param recipient the recipient of the messages
+     * @param payloads  the payloads of the messages
+     * @throws IllegalStateException if the node has not been started
+     */
+    public void sendBatch(@NonNull final DrasylAddress recipient,
+                          @NonNull final Iterable<?> payloads) {
+        final Channel channel = channels.get(recipient);
+        if (channel != null && channel.isOpen()) {
+            writeAndFlush(channel, payloads);
+        }
+        else {
+            sendAndForgetUncached(recipient, payloads);
+        }
+    }
+
+    private void sendAndForgetUncached(final DrasylAddress recipient,
+                                       final Iterable<?> payloads) {
+        final ChannelFuture future = channelFuture;
+        if (future == null || !future.channel().isOpen()) {
+            throw new IllegalStateException("You have to start the node first!");
+        }
+
+        if (identity.getAddress().equals(recipient)) {
+            LOG.trace("Outbound messages are addressed to us. Convert to inbound messages.");
+            for (final Object payload : payloads) {
+                try {
+                    future.channel().eventLoop().execute(() -> eventDispatcher.dispatch(recipient, MessageEvent.of(identity.getIdentityPublicKey(), payload)));
+                }
+                catch (final RejectedExecutionException e) {
+                    LOG.debug("Unable to pass message addressed to us to onEvent. Drop message.", e);
+                    ReferenceCountUtil.release(payload);
+                }
+            }
+            return;
+        }
+
+        final ChannelFuture serveFuture = ((DrasylServerChannel) future.channel()).serve(recipient);
+        if (serveFuture.isDone() && serveFuture.channel().eventLoop().inEventLoop()) {
+            channelServed(recipient, serveFuture, payloads);
+        }
+        else {
+            // listeners are notified on the channel's event loop. payloads might be modified by the
+            // caller until then
+            final Iterable<?> pendingPayloads = copyOf(payloads);
+            serveFuture.addListener((ChannelFutureListener) f -> channelServed(recipient, f, pendingPayloads));
+        }
+    }
+
+    private void channelServed(final DrasylAddress recipient,
+                               final ChannelFuture serveFuture,
+                               final Iterable<?> payloads) {
+        if (serveFuture.isSuccess()) {
+            final Channel channel = serveFuture.channel();
+            if (channels.put(recipient, channel) != channel) {
+                channel.closeFuture().addListener(closeFuture -> channels.remove(recipient, channel));
+            }
+            writeAndFlush(channel, payloads);
+        }
+        else {
+            LOG.debug("Unable to create channel for `{}`. Drop messages.", recipient, serveFuture.cause());
+            for (final Object payload : payloads) {
+                ReferenceCountUtil.release(payload);
+            }
+        }
+    }
+
+    private static void writeAndFlush(final Channel channel, final Iterable<?> payloads) {
+        for (final Object payload : payloads) {
+            channel.write(payload != null ? payload : NULL, channel.voidPromise());
+        }
+        channel.flush();
+    }
+
+    private static List<Object> copyOf(final Iterable<?> payloads) {
+        final List<Object> copy = new ArrayList<>();
+        for (final Object payload : payloads) {
+            copy.add(payload);
+        }
+        return copy;
+    }
+
     /**
      * Creates a future containing a {@link Channel} for communication with {@code address}.
      * <p>
@@ -426,6 +561,7 @@ public abstract class DrasylNode {
             }
             finally {
                 channelFuture = null;
+                channels.clear();
             }
         }
         else {
@@ -502,6 +638,17 @@ public abstract class DrasylNode {
         return identity;
     }
 
+    /**
+     * Returns the {@link EventDispatcher} passing events to {@link #onEvent(Event)}. It can be
+     * used to monitor queue depth and dispatch latency.
+     *
+     * @return the {@link EventDispatcher} of this node
+     */
+    @NonNull
+    public EventDispatcher eventDispatcher() {
+        return eventDispatcher;
+    }
+
     /**
      * Returns the {@link PeersList} of this node.
      *
@@ -518,6 +665,17 @@ public abstract class DrasylNode {
         return null;
     }
 
+    private EventDispatcher newEventDispatcher(final DrasylConfig config) {
+        switch (config.getEventDispatcherStrategy()) {
+            case RING_BUFFER:
+                return new RingBufferEventDispatcher(this::onEvent, config.getEventDispatcherCapacity(), config.getEventDispatcherOverflowPolicy());
+            case PER_SENDER:
+                return new PerSenderEventDispatcher(this::onEvent, DrasylNodeSharedEventLoopGroupHolder.getEventDispatchExecutor(), config.getEventDispatcherCapacity(), config.getEventDispatcherOverflowPolicy());
+            default:
+                return new InlineEventDispatcher(this::onEvent);
+        }
+    }
+
     private static int udpServerPort(final int remoteBindPort, final DrasylAddress address) {
         if (remoteBindPort == -1) {
             /*
@@ -34,7 +34,14 @@ import org.drasyl.util.internal.UnstableApi;
 import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
 import static io.netty.util.concurrent.ImmediateEventExecutor.INSTANCE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Holds parent and child {@link io.netty.channel.EventLoop}s that are shared across all
@@ -52,9 +59,14 @@ public final class DrasylNodeSharedEventLoopGroupHolder {
     public static final int CHILD_DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() - 2);
     // pool should have at least 2 and max 10% of available processors
     public static final int NETWORK_DEFAULT_THREADS = Math.max(2, (int) Math.ceil(Runtime.getRuntime().availableProcessors() * 0.1));
+    // pool should have at least 2 threads and use all processors not occupied by the child group
+    public static final int CRYPTO_DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() - 2);
+    public static final int CRYPTO_DEFAULT_QUEUE_CAPACITY = 4_096;
     static volatile boolean parentEventLoopGroupCreated;
     static volatile boolean childEventLoopGroupCreated;
     static volatile boolean networkEventLoopGroupCreated;
+    static volatile boolean cryptoExecutorCreated;
+    static volatile boolean eventDispatchExecutorCreated;
 
     private DrasylNodeSharedEventLoopGroupHolder() {
         // util class
@@ -96,6 +108,32 @@ public final class DrasylNodeSharedEventLoopGroupHolder {
         return LazyNetworkHolder.INSTANCE;
     }
 
+    /**
+     * Use this {@link Executor} to offload encryption and decryption of messages from the
+     * {@link DrasylNode}'s child {@link io.netty.channel.Channel}s. By default, the executor has
+     * {@link #CRYPTO_DEFAULT_THREADS} threads and queues up to {@link #CRYPTO_DEFAULT_QUEUE_CAPACITY}
+     * tasks. Further tasks are rejected. These numbers can be changed by using the java system
+     * properties {@code org.drasyl.node.crypto-executor} and
+     * {@code org.drasyl.node.crypto-executor.queue-capacity}.
+     *
+     * @return a bounded {@link Executor} for crypto operations
+     */
+    public static Executor getCryptoExecutor() {
+        return LazyCryptoHolder.INSTANCE;
+    }
+
+    /**
+     * Use this {@link Executor} to deliver events of {@link DrasylNode}s using the
+     * {@link org.drasyl.node.event.dispatch.EventDispatcher.Strategy#PER_SENDER} strategy. If
+     * supported by the JVM, a new virtual thread is started for each task. Otherwise, the executor
+     * starts new threads on demand and reuses idle ones.
+     *
+     * @return an {@link Executor} for event delivery
+     */
+    public static Executor getEventDispatchExecutor() {
+        return LazyEventDispatchHolder.INSTANCE;
+    }
+
     /**
      * Shutdown the two schedulers.
      *
@@ -119,6 +157,14 @@ public final class DrasylNodeSharedEventLoopGroupHolder {
             combiner.add(LazyNetworkHolder.INSTANCE.shutdownGracefully());
         }
 
+        if (cryptoExecutorCreated) {
+            LazyCryptoHolder.INSTANCE.shutdown();
+        }
+
+        if (eventDispatchExecutorCreated) {
+            LazyEventDispatchHolder.INSTANCE.shutdown();
+        }
+
         final Promise<Void> aggregatePromise = new DefaultPromise<>(INSTANCE);
         combiner.finish(aggregatePromise);
         return aggregatePromise;
@@ -163,4 +209,40 @@ public final class DrasylNodeSharedEventLoopGroupHolder {
         @SuppressWarnings("unused")
         static final boolean LOCK = networkEventLoopGroupCreated = true;
     }
+
+    private static final class LazyCryptoHolder {
+        static final int SIZE;
+        static final int QUEUE_CAPACITY;
+
+        static {
+            SIZE = SystemPropertyUtil.getInt("org.drasyl.node.crypto-executor", CRYPTO_DEFAULT_THREADS);
+            QUEUE_CAPACITY = SystemPropertyUtil.getInt("org.drasyl.node.crypto-executor.queue-capacity", CRYPTO_DEFAULT_QUEUE_CAPACITY);
+            LOG.debug("Crypto executor size: {} (queue capacity: {})", SIZE, QUEUE_CAPACITY);
+        }
+
+        static final ThreadPoolExecutor INSTANCE = new ThreadPoolExecutor(SIZE, SIZE, 0L, MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), new DefaultThreadFactory(DrasylNodeSharedEventLoopGroupHolder.class.getSimpleName() + "-crypto", true));
+        @SuppressWarnings("unused")
+        static final boolean LOCK = cryptoExecutorCreated = true;
+    }
+
+    private static final class LazyEventDispatchHolder {
+        static final ExecutorService INSTANCE;
+
+        static {
+            ExecutorService executor;
+            try {
+                // virtual threads are available since Java 21
+                executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                LOG.debug("Event dispatch executor uses virtual threads.");
+            }
+            catch (final ReflectiveOperationException e) {
+                executor = Executors.newCachedThreadPool(new DefaultThreadFactory(DrasylNodeSharedEventLoopGroupHolder.class.getSimpleName() + "-event-dispatch", true));
+                LOG.debug("Event dispatch executor uses platform threads.");
+            }
+            INSTANCE = executor;
+        }
+
+        @SuppressWarnings("unused")
+        static final boolean LOCK = eventDispatchExecutorCreated = true;
+    }
 }
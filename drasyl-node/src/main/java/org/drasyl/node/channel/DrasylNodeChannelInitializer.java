@@ -23,24 +23,34 @@ package org.drasyl.node.channel;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
 import org.drasyl.channel.ConnectionChannelInitializer;
 import org.drasyl.channel.DrasylChannel;
+import org.drasyl.channel.rs.RustDrasylServerChannel;
 import org.drasyl.crypto.Crypto;
 import org.drasyl.crypto.CryptoException;
+import org.drasyl.handler.codec.AggregateDecoder;
+import org.drasyl.handler.codec.AggregateEncoder;
 import org.drasyl.handler.connection.ConnectionConfig;
+import org.drasyl.handler.connection.SegmentCodec;
 import org.drasyl.identity.IdentityPublicKey;
 import org.drasyl.node.DrasylConfig;
 import org.drasyl.node.DrasylNode;
+import org.drasyl.node.DrasylNodeSharedEventLoopGroupHolder;
 import org.drasyl.node.event.Event;
 import org.drasyl.node.event.InboundExceptionEvent;
 import org.drasyl.node.event.MessageEvent;
+import org.drasyl.node.event.dispatch.EventDispatcher;
+import org.drasyl.node.event.dispatch.InlineEventDispatcher;
 import org.drasyl.node.handler.crypto.ArmHeaderCodec;
 import org.drasyl.node.handler.crypto.PFSArmHandler;
+import org.drasyl.node.handler.datagram.DatagramHandler;
 import org.drasyl.node.handler.plugin.PluginsChildHandler;
 import org.drasyl.node.handler.serialization.MessageSerializer;
+import org.drasyl.util.internal.Nullable;
 import org.drasyl.util.internal.UnstableApi;
 import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
@@ -57,28 +67,51 @@ public class DrasylNodeChannelInitializer extends ConnectionChannelInitializer {
     // PublicHeader: 98 bytes + 4 bytes MagicNumber
     // PrivateHeader: 3 byte + 16 bytes MAC
     public static final int PROTOCOL_OVERHEAD = 127;
+    private static final int MAX_AGGREGATE_LENGTH = ConnectionConfig.IP_MTU - ConnectionConfig.DRASYL_HDR_SIZE;
     private static final ArmHeaderCodec ARM_HEADER_CODEC = new ArmHeaderCodec();
     private static final Logger LOG = LoggerFactory.getLogger(DrasylNodeChannelInitializer.class);
     private final DrasylConfig config;
     private final DrasylNode node;
+    private final EventDispatcher eventDispatcher;
 
     public DrasylNodeChannelInitializer(final DrasylConfig config,
-                                        final DrasylNode node) {
-        super(DEFAULT_SERVER_PORT, DEFAULT_SERVER_PORT, ConnectionConfig.newBuilder()
-                .activeOpen(false)
-                .userTimeout(config.getRemoteHandshakeTimeout())
-                .build());
+                                        final DrasylNode node,
+                                        final EventDispatcher eventDispatcher) {
+        super(DEFAULT_SERVER_PORT, DEFAULT_SERVER_PORT, connectionConfig(config));
         this.config = requireNonNull(config);
         this.node = requireNonNull(node);
+        this.eventDispatcher = requireNonNull(eventDispatcher);
+    }
+
+    public DrasylNodeChannelInitializer(final DrasylConfig config,
+                                        final DrasylNode node) {
+        this(config, node, new InlineEventDispatcher(node::onEvent));
+    }
+
+    private static ConnectionConfig connectionConfig(final DrasylConfig config) {
+        final ConnectionConfig.Builder builder = ConnectionConfig.newBuilder()
+                .activeOpen(false)
+                .userTimeout(config.getRemoteHandshakeTimeout());
+        if (config.isChannelAggregationEnabled()) {
+            // leave room for the length field added by the aggregation stage
+            builder.mmsS(MAX_AGGREGATE_LENGTH - AggregateEncoder.LENGTH_FIELD_LENGTH)
+                    .mmsR(MAX_AGGREGATE_LENGTH - AggregateEncoder.LENGTH_FIELD_LENGTH);
+        }
+        return builder.build();
     }
 
     @Override
     protected void initChannel(final DrasylChannel ch) throws Exception {
         super.initChannel(ch);
 
+        aggregationStage(ch);
         firstStage(ch);
+        final DatagramHandler datagramHandler = datagramStage(ch);
         armStage(ch);
         serializationStage(ch);
+        if (datagramHandler != null) {
+            ch.pipeline().addLast(datagramHandler.selector());
+        }
         lastStage(ch);
     }
 
@@ -93,11 +126,56 @@ public class DrasylNodeChannelInitializer extends ConnectionChannelInitializer {
         ctx.channel().close();
     }
 
+    /**
+     * This stage coalesces outbound messages into MTU-bounded datagrams and splits inbound
+     * datagrams back into messages. It is placed closest to the wire.
+     */
+    protected void aggregationStage(final DrasylChannel ch) {
+        if (config.isChannelAggregationEnabled()) {
+            int maxAggregateLength = MAX_AGGREGATE_LENGTH;
+            if (ch.parent() instanceof RustDrasylServerChannel && ((RustDrasylServerChannel) ch.parent()).mtu() > 0) {
+                maxAggregateLength = Math.min(maxAggregateLength, ((RustDrasylServerChannel) ch.parent()).mtu());
+            }
+
+            ch.pipeline().addFirst(
+                    new AggregateDecoder(),
+                    new AggregateEncoder(maxAggregateLength, config.getChannelAggregationFlushDeadline().toNanos() / 1_000)
+            );
+        }
+    }
+
     protected void firstStage(final DrasylChannel ch) {
         ch.pipeline().addLast(new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 0, 4, 0, 4));
         ch.pipeline().addLast(new LengthFieldPrepender(4));
     }
 
+    /**
+     * This stage lets selected outbound messages bypass the connection layer and the framing of the
+     * {@link #firstStage(DrasylChannel)}. The returned handler's
+     * {@link DatagramHandler#selector()} must be placed above the
+     * {@link #serializationStage(DrasylChannel)}. Returns {@code null} if datagrams are disabled.
+     */
+    @Nullable
+    protected DatagramHandler datagramStage(final DrasylChannel ch) {
+        if (!config.isChannelDatagramEnabled()) {
+            return null;
+        }
+
+        int maxDatagramLength = MAX_AGGREGATE_LENGTH;
+        if (ch.parent() instanceof RustDrasylServerChannel && ((RustDrasylServerChannel) ch.parent()).mtu() > 0) {
+            maxDatagramLength = Math.min(maxDatagramLength, ((RustDrasylServerChannel) ch.parent()).mtu());
+        }
+        if (config.isChannelAggregationEnabled()) {
+            maxDatagramLength -= AggregateEncoder.LENGTH_FIELD_LENGTH;
+        }
+
+        final DatagramHandler handler = new DatagramHandler(config.getChannelDatagramTypes(), maxDatagramLength);
+        final ChannelPipeline p = ch.pipeline();
+        p.addBefore(p.context(SegmentCodec.class).name(), null, handler.wireHandler());
+        p.addLast(handler);
+        return handler;
+    }
+
     /**
      * This stage arms outbound and disarms inbound messages.
      */
@@ -113,7 +191,9 @@ public class DrasylNodeChannelInitializer extends ConnectionChannelInitializer {
                         config.getRemoteMessageArmApplicationAgreementRetryInterval(),
                         config.getRemoteMessageArmApplicationAgreementMaxCount(),
                         node.identity(),
-                        (IdentityPublicKey) ch.remoteAddress()
+                        (IdentityPublicKey) ch.remoteAddress(),
+                        config.isRemoteMessageArmApplicationCryptoOffloadEnabled() ? DrasylNodeSharedEventLoopGroupHolder.getCryptoExecutor() : null,
+                        config.getRemoteMessageArmApplicationCryptoOffloadMaxPending()
                 ));
             }
         }
@@ -132,25 +212,25 @@ public class DrasylNodeChannelInitializer extends ConnectionChannelInitializer {
      */
     protected void lastStage(final DrasylChannel ch) {
         ch.pipeline().addLast(new PluginsChildHandler(config, node.identity()));
-        ch.pipeline().addLast(new NodeEventHandler(node));
+        ch.pipeline().addLast(new NodeEventHandler(eventDispatcher));
     }
 
     /**
      * Creates a {@link MessageEvent} for every inbound message and a {@link InboundExceptionEvent}
-     * for every exception.
+     * for every exception and passes them to the {@link EventDispatcher}.
      */
     private static class NodeEventHandler extends ChannelInboundHandlerAdapter {
         private static final Logger LOG = LoggerFactory.getLogger(NodeEventHandler.class);
-        private final DrasylNode node;
+        private final EventDispatcher eventDispatcher;
 
-        public NodeEventHandler(final DrasylNode node) {
-            this.node = requireNonNull(node);
+        public NodeEventHandler(final EventDispatcher eventDispatcher) {
+            this.eventDispatcher = requireNonNull(eventDispatcher);
         }
 
         @Override
         public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) {
             if (evt instanceof Event) {
-                node.onEvent((Event) evt);
+                eventDispatcher.dispatch(ctx.channel().remoteAddress(), (Event) evt);
             }
         }
 
@@ -162,7 +242,7 @@ public class DrasylNodeChannelInitializer extends ConnectionChannelInitializer {
             }
 
             final MessageEvent event = MessageEvent.of((IdentityPublicKey) ctx.channel().remoteAddress(), msg);
-            node.onEvent(event);
+            eventDispatcher.dispatch(event.getSender(), event);
         }
 
         @Override
@@ -173,7 +253,7 @@ public class DrasylNodeChannelInitializer extends ConnectionChannelInitializer {
                 LOG.error(e);
             }
             else {
-                node.onEvent(InboundExceptionEvent.of(e));
+                eventDispatcher.dispatch(ctx.channel().remoteAddress(), InboundExceptionEvent.of(e));
             }
         }
     }
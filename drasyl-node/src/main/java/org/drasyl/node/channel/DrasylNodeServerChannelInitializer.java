@@ -42,6 +42,8 @@ import org.drasyl.node.event.NodeDownEvent;
 import org.drasyl.node.event.NodeNormalTerminationEvent;
 import org.drasyl.node.event.NodeUnrecoverableErrorEvent;
 import org.drasyl.node.event.NodeUpEvent;
+import org.drasyl.node.event.dispatch.EventDispatcher;
+import org.drasyl.node.event.dispatch.InlineEventDispatcher;
 import org.drasyl.node.handler.PeersManagerHandler;
 import org.drasyl.node.handler.plugin.PluginsServerHandler;
 import org.drasyl.util.internal.UnstableApi;
@@ -78,11 +80,19 @@ public class DrasylNodeServerChannelInitializer extends ChannelInitializer<RustD
 
     private final DrasylConfig config;
     private final DrasylNode node;
+    private final EventDispatcher eventDispatcher;
 
     public DrasylNodeServerChannelInitializer(final DrasylConfig config,
-                                              final DrasylNode node) {
+                                              final DrasylNode node,
+                                              final EventDispatcher eventDispatcher) {
         this.config = requireNonNull(config);
         this.node = requireNonNull(node);
+        this.eventDispatcher = requireNonNull(eventDispatcher);
+    }
+
+    public DrasylNodeServerChannelInitializer(final DrasylConfig config,
+                                              final DrasylNode node) {
+        this(config, node, new InlineEventDispatcher(node::onEvent));
     }
 
     @SuppressWarnings("java:S1188")
@@ -101,7 +111,7 @@ public class DrasylNodeServerChannelInitializer extends ChannelInitializer<RustD
             ch.pipeline().addLast(new TelemetryHandler(TELEMETRY_INTERVAL_SECONDS, TELEMETRY_URI, TELEMETRY_IP_ENABLED));
         }
 
-        ch.pipeline().addLast(new NodeLifecycleTailHandler(node));
+        ch.pipeline().addLast(new NodeLifecycleTailHandler(node, eventDispatcher));
     }
 
     /**
@@ -113,10 +123,12 @@ public class DrasylNodeServerChannelInitializer extends ChannelInitializer<RustD
     private static class NodeLifecycleTailHandler extends ChannelInboundHandlerAdapter {
         private static final Logger LOG = LoggerFactory.getLogger(NodeLifecycleTailHandler.class);
         private final DrasylNode node;
+        private final EventDispatcher eventDispatcher;
         private boolean errorOccurred;
 
-        NodeLifecycleTailHandler(final DrasylNode node) {
+        NodeLifecycleTailHandler(final DrasylNode node, final EventDispatcher eventDispatcher) {
             this.node = requireNonNull(node);
+            this.eventDispatcher = requireNonNull(eventDispatcher);
         }
 
         @Override
@@ -149,7 +161,7 @@ public class DrasylNodeServerChannelInitializer extends ChannelInitializer<RustD
                     return;
                 }
 
-                node.onEvent((Event) evt);
+                eventDispatcher.dispatch(node.identity().getAddress(), (Event) evt);
             }
             else {
                 ctx.fireUserEventTriggered(evt);
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.event.dispatch;
+
+import io.netty.util.ReferenceCountUtil;
+import org.drasyl.node.event.Event;
+import org.drasyl.node.event.MessageEvent;
+import org.drasyl.node.event.NodeEvent;
+import org.drasyl.util.logging.Logger;
+import org.drasyl.util.logging.LoggerFactory;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Skeleton implementation of an {@link EventDispatcher} recording metrics.
+ */
+abstract class AbstractEventDispatcher implements EventDispatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractEventDispatcher.class);
+    protected final Consumer<Event> consumer;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAccumulator latencyMax = new LongAccumulator(Math::max, 0);
+
+    protected AbstractEventDispatcher(final Consumer<Event> consumer) {
+        this.consumer = requireNonNull(consumer);
+    }
+
+    /**
+     * Passes {@code pending} to {@link #consumer}. Exceptions thrown by the consumer are logged.
+     */
+    protected void deliver(final PendingEvent pending) {
+        final long latency = System.nanoTime() - pending.dispatchTime;
+        latencySum.add(latency);
+        latencyMax.accumulate(latency);
+        delivered.increment();
+
+        try {
+            consumer.accept(pending.event);
+        }
+        catch (final Exception e) {
+            LOG.warn("Exception occurred while delivering event `{}`:", pending.event, e);
+        }
+    }
+
+    protected void deliveredInline() {
+        delivered.increment();
+    }
+
+    /**
+     * Records that {@code pending} has been dropped. The payload of a dropped {@link MessageEvent}
+     * is released, as the application will never see it.
+     */
+    protected void dropped(final PendingEvent pending) {
+        dropped.increment();
+        LOG.trace("Queue is full. Drop event `{}`.", pending.event);
+        if (pending.event instanceof MessageEvent) {
+            ReferenceCountUtil.release(((MessageEvent) pending.event).getPayload());
+        }
+    }
+
+    /**
+     * Returns {@code true} if {@code event} may be dropped due to a full queue. {@link NodeEvent}s
+     * (e.g., {@link org.drasyl.node.event.NodeUpEvent} or
+     * {@link org.drasyl.node.event.NodeOfflineEvent}) report the node's lifecycle and are never
+     * dropped.
+     */
+    static boolean droppable(final Event event) {
+        return !(event instanceof NodeEvent);
+    }
+
+    @Override
+    public long deliveredEvents() {
+        return delivered.sum();
+    }
+
+    @Override
+    public long droppedEvents() {
+        return dropped.sum();
+    }
+
+    @Override
+    public long averageDispatchLatencyNanos() {
+        final long count = delivered.sum();
+        return count == 0 ? 0 : latencySum.sum() / count;
+    }
+
+    @Override
+    public long maxDispatchLatencyNanos() {
+        return latencyMax.get();
+    }
+
+    /**
+     * An event waiting for delivery.
+     */
+    static final class PendingEvent {
+        final Event event;
+        final long dispatchTime;
+
+        PendingEvent(final Event event) {
+            this.event = event;
+            this.dispatchTime = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.event.dispatch;
+
+import org.drasyl.node.event.Event;
+
+/**
+ * Passes {@link Event}s to the application. Events passed with the same {@code key} are always
+ * delivered in the order they were dispatched.
+ *
+ * @see InlineEventDispatcher
+ * @see RingBufferEventDispatcher
+ * @see PerSenderEventDispatcher
+ */
+public interface EventDispatcher {
+    /**
+     * Passes {@code event} to the application.
+     *
+     * @param key   events with the same key are delivered in order (e.g., the sender of the event)
+     * @param event the event to deliver
+     */
+    void dispatch(Object key, Event event);
+
+    /**
+     * Returns the number of events that have been dispatched but not yet delivered.
+     */
+    long queueDepth();
+
+    /**
+     * Returns the number of events that have been delivered.
+     */
+    long deliveredEvents();
+
+    /**
+     * Returns the number of events that have been dropped due to a full queue.
+     */
+    long droppedEvents();
+
+    /**
+     * Returns the average time in nanoseconds between dispatch and delivery of an event.
+     */
+    long averageDispatchLatencyNanos();
+
+    /**
+     * Returns the maximum time in nanoseconds between dispatch and delivery of an event.
+     */
+    long maxDispatchLatencyNanos();
+
+    enum Strategy {
+        /**
+         * Events are delivered by the dispatching thread.
+         */
+        INLINE,
+        /**
+         * Events are put into a bounded queue drained by a dedicated thread.
+         */
+        RING_BUFFER,
+        /**
+         * Events are put into a bounded queue per key. Each queue is drained by a shared executor.
+         * Events of different keys are not ordered. In particular, {@link
+         * org.drasyl.node.event.NodeEvent}s are keyed by the node's own address and may therefore
+         * be delivered before message events received earlier or after message events received
+         * later.
+         */
+        PER_SENDER
+    }
+
+    /**
+     * Specifies what happens if an event is dispatched to a full queue. {@link
+     * org.drasyl.node.event.NodeEvent}s are never dropped. If they would be, they are queued
+     * anyway (exceeding the capacity) or the dispatching thread waits like with {@link #BLOCK}.
+     * Payloads of dropped {@link org.drasyl.node.event.MessageEvent}s are released.
+     */
+    enum OverflowPolicy {
+        /**
+         * The dispatching thread waits until the queue has capacity again.
+         */
+        BLOCK,
+        /**
+         * The oldest queued event is dropped.
+         */
+        DROP_OLDEST,
+        /**
+         * The dispatched event is dropped.
+         */
+        DROP_NEWEST
+    }
+}
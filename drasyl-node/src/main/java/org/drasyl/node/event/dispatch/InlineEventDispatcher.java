@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.event.dispatch;
+
+import org.drasyl.node.event.Event;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers events on the dispatching thread. This adds no overhead, but delays the dispatching
+ * thread (usually an event loop shared with other peers) until the event has been processed.
+ * Exceptions thrown by the consumer are passed to the dispatching thread.
+ */
+public class InlineEventDispatcher extends AbstractEventDispatcher {
+    public InlineEventDispatcher(final Consumer<Event> consumer) {
+        super(consumer);
+    }
+
+    @Override
+    public void dispatch(final Object key, final Event event) {
+        deliveredInline();
+        consumer.accept(event);
+    }
+
+    @Override
+    public long queueDepth() {
+        return 0;
+    }
+}
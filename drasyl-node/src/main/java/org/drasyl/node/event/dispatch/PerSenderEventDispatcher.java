@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.event.dispatch;
+
+import org.drasyl.node.event.Event;
+import org.drasyl.util.logging.Logger;
+import org.drasyl.util.logging.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+import static org.drasyl.util.Preconditions.requirePositive;
+
+/**
+ * Puts events into a bounded queue per key (usually the sender). Each queue is drained by a task
+ * submitted to a shared {@link Executor}, so a slow consumer only delays events of the same key.
+ * Events with the same key are delivered in the order they have been dispatched. Queues are
+ * discarded once they have been drained. If the executor rejects a drain task, the queued events of
+ * the affected key are dropped.
+ */
+public class PerSenderEventDispatcher extends AbstractEventDispatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(PerSenderEventDispatcher.class);
+    // number of events delivered before the drain task gives other keys a chance
+    private static final int MAX_DELIVERIES_PER_TASK = 64;
+    private final Map<Object, SenderQueue> queues = new ConcurrentHashMap<>();
+    private final LongAdder queueDepth = new LongAdder();
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    public PerSenderEventDispatcher(final Consumer<Event> consumer,
+                                    final Executor executor,
+                                    final int capacity,
+                                    final OverflowPolicy overflowPolicy) {
+        super(consumer);
+        this.executor = requireNonNull(executor);
+        this.capacity = requirePositive(capacity);
+        this.overflowPolicy = requireNonNull(overflowPolicy);
+    }
+
+    @Override
+    public void dispatch(final Object key, final Event event) {
+        final PendingEvent pending = new PendingEvent(event);
+        while (!queues.computeIfAbsent(key, SenderQueue::new).offer(pending)) {
+            // queue has been discarded in the meantime, try again
+        }
+    }
+
+    @Override
+    public long queueDepth() {
+        return queueDepth.sum();
+    }
+
+    private class SenderQueue implements Runnable {
+        private final Object key;
+        private final Queue<PendingEvent> events = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean discarded;
+        private volatile Thread drainingThread;
+
+        SenderQueue(final Object key) {
+            this.key = key;
+        }
+
+        /**
+         * @return {@code false} if this queue has been discarded
+         */
+        @SuppressWarnings("java:S2274")
+        boolean offer(final PendingEvent pending) {
+            final boolean schedule;
+            synchronized (this) {
+                while (true) {
+                    // queue might have been discarded while we were waiting
+                    if (discarded) {
+                        return false;
+                    }
+                    if (events.size() < capacity) {
+                        break;
+                    }
+
+                    if (overflowPolicy != OverflowPolicy.BLOCK && !droppable(pending.event)) {
+                        // node events are never dropped and may exceed the capacity
+                        break;
+                    }
+                    else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                        if (!dropOldest()) {
+                            // only node events are queued, drop the new event instead
+                            dropped(pending);
+                            return true;
+                        }
+                    }
+                    else if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                        dropped(pending);
+                        return true;
+                    }
+                    else if (Thread.currentThread() == drainingThread) {
+                        // we would wait for ourselves
+                        break;
+                    }
+                    else {
+                        try {
+                            wait();
+                        }
+                        catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            dropped(pending);
+                            return true;
+                        }
+                    }
+                }
+
+                events.add(pending);
+                queueDepth.increment();
+                schedule = !scheduled;
+                scheduled = true;
+            }
+
+            if (schedule) {
+                schedule();
+            }
+            return true;
+        }
+
+        /**
+         * Submits this queue to {@link #executor}. If the executor rejects it (e.g., because it has
+         * been shut down), nobody will drain this queue. All queued events are then dropped and the
+         * queue is discarded.
+         */
+        private void schedule() {
+            try {
+                executor.execute(this);
+            }
+            catch (final RejectedExecutionException e) {
+                LOG.debug("Executor rejected delivery of events. Drop all queued events.", e);
+                final List<PendingEvent> rejected;
+                synchronized (this) {
+                    rejected = new ArrayList<>(events);
+                    events.clear();
+                    queueDepth.add(-rejected.size());
+                    scheduled = false;
+                    discarded = true;
+                    queues.remove(key, this);
+                    notifyAll();
+                }
+                for (final PendingEvent pending : rejected) {
+                    dropped(pending);
+                }
+            }
+        }
+
+        /**
+         * Drops the oldest queued event that is {@link #droppable(Event)}.
+         *
+         * @return {@code false} if no queued event may be dropped
+         */
+        private boolean dropOldest() {
+            final Iterator<PendingEvent> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                final PendingEvent oldest = iterator.next();
+                if (droppable(oldest.event)) {
+                    iterator.remove();
+                    queueDepth.decrement();
+                    dropped(oldest);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            drainingThread = Thread.currentThread();
+            try {
+                for (int i = 0; i < MAX_DELIVERIES_PER_TASK; i++) {
+                    final PendingEvent pending;
+                    synchronized (this) {
+                        pending = events.poll();
+                        if (pending == null) {
+                            scheduled = false;
+                            discarded = true;
+                            queues.remove(key, this);
+                            return;
+                        }
+                        queueDepth.decrement();
+                        if (overflowPolicy == OverflowPolicy.BLOCK) {
+                            notifyAll();
+                        }
+                    }
+
+                    deliver(pending);
+                }
+            }
+            finally {
+                drainingThread = null;
+            }
+
+            // give other keys a chance
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.event.dispatch;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.internal.PlatformDependent;
+import org.drasyl.node.event.Event;
+
+import java.util.Queue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+import static org.drasyl.util.Preconditions.requirePositive;
+
+/**
+ * Puts events into a bounded multi-producer single-consumer queue that is drained by a dedicated
+ * thread. Events are delivered in the order they have been dispatched. The thread is started on
+ * demand and terminates after being idle for one second.
+ */
+public class RingBufferEventDispatcher extends AbstractEventDispatcher {
+    private static final long IDLE_TIMEOUT_NANOS = 1_000_000_000L;
+    private static final long BLOCK_PARK_NANOS = 10_000L;
+    private final Queue<PendingEvent> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final ThreadFactory threadFactory;
+    private final AtomicBoolean running = new AtomicBoolean();
+    // consumer polls must be serialized with producers dropping the oldest event
+    private final Object pollLock = new Object();
+    private volatile Thread consumerThread;
+    private volatile boolean consumerParked;
+
+    RingBufferEventDispatcher(final Consumer<Event> consumer,
+                              final int capacity,
+                              final OverflowPolicy overflowPolicy,
+                              final ThreadFactory threadFactory) {
+        super(consumer);
+        this.queue = PlatformDependent.newFixedMpscQueue(requirePositive(capacity));
+        this.overflowPolicy = requireNonNull(overflowPolicy);
+        this.threadFactory = requireNonNull(threadFactory);
+    }
+
+    public RingBufferEventDispatcher(final Consumer<Event> consumer,
+                                     final int capacity,
+                                     final OverflowPolicy overflowPolicy) {
+        this(consumer, capacity, overflowPolicy, new DefaultThreadFactory("drasyl-event-dispatcher", true));
+    }
+
+    @Override
+    public void dispatch(final Object key, final Event event) {
+        final PendingEvent pending = new PendingEvent(event);
+        if (!queue.offer(pending)) {
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST && offerDroppingOldest(pending)) {
+                wakeUpConsumer();
+                return;
+            }
+            if (overflowPolicy != OverflowPolicy.BLOCK && droppable(event)) {
+                // DROP_NEWEST, or DROP_OLDEST with a node event at the head of the queue
+                dropped(pending);
+                return;
+            }
+
+            // BLOCK, or a node event that must not be dropped
+            if (Thread.currentThread() == consumerThread) {
+                // we would wait for ourselves
+                deliver(pending);
+                return;
+            }
+            while (!queue.offer(pending)) {
+                wakeUpConsumer();
+                LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            }
+        }
+        wakeUpConsumer();
+    }
+
+    /**
+     * Drops the oldest queued events until {@code pending} fits into the queue.
+     *
+     * @return {@code false} if the oldest event must not be dropped
+     */
+    private boolean offerDroppingOldest(final PendingEvent pending) {
+        synchronized (pollLock) {
+            while (!queue.offer(pending)) {
+                // peek is safe, as the consumer only polls while holding pollLock
+                final PendingEvent oldest = queue.peek();
+                if (oldest != null) {
+                    if (!droppable(oldest.event)) {
+                        return false;
+                    }
+                    queue.poll();
+                    dropped(oldest);
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long queueDepth() {
+        return queue.size();
+    }
+
+    private void wakeUpConsumer() {
+        if (running.compareAndSet(false, true)) {
+            threadFactory.newThread(this::drain).start();
+        }
+        else if (consumerParked) {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    @SuppressWarnings("java:S3776")
+    private void drain() {
+        consumerThread = Thread.currentThread();
+        long lastDelivery = System.nanoTime();
+        while (true) {
+            final PendingEvent pending = poll();
+            if (pending != null) {
+                deliver(pending);
+                lastDelivery = System.nanoTime();
+                continue;
+            }
+
+            consumerParked = true;
+            if (queue.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_TIMEOUT_NANOS);
+            }
+            consumerParked = false;
+
+            if (queue.isEmpty() && System.nanoTime() - lastDelivery >= IDLE_TIMEOUT_NANOS) {
+                running.set(false);
+                // an event might have been dispatched after our last check
+                if (queue.isEmpty() || !running.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private PendingEvent poll() {
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            synchronized (pollLock) {
+                return queue.poll();
+            }
+        }
+        else {
+            return queue.poll();
+        }
+    }
+}
@@ -23,8 +23,8 @@ package org.drasyl.node.handler;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.drasyl.channel.rs.PeersTracker;
 import org.drasyl.channel.rs.RustDrasylServerChannel;
-import org.drasyl.identity.DrasylAddress;
 import org.drasyl.identity.IdentityPublicKey;
 import org.drasyl.node.event.Node;
 import org.drasyl.node.event.NodeOfflineEvent;
@@ -34,111 +34,65 @@ import org.drasyl.node.event.PeerDirectEvent;
 import org.drasyl.node.event.PeerRelayEvent;
 import org.drasyl.util.internal.UnstableApi;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.util.HashSet;
-import java.util.Set;
-
-import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_node_peers_list;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_pk;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_reachable;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peer_super_peer;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers_free;
-import static org.drasyl.channel.rs.Libdrasyl.drasyl_peers_list_peers_len;
-import static org.drasyl.channel.rs.Libdrasyl.ensureSuccess;
-
 /**
- * This handler track received {@link PathEvent}s and will contain an internal state of all peers,
- * super peers, children, and available paths.
+ * This handler listens to the {@link PeersTracker} of the {@link RustDrasylServerChannel}, which
+ * is polled by the channel with an interval adapting to topology changes.
  * <p>
  * This handler will emit...
  * <ul>
- * <li>...a {@link org.drasyl.node.event.PeerDirectEvent} for each peer with at least one available path.
- * <li>...a {@link org.drasyl.node.event.PeerRelayEvent} when the last path to a peer becomes unavailable.
+ * <li>...a {@link org.drasyl.node.event.PeerDirectEvent} when a peer becomes reachable.
+ * <li>...a {@link org.drasyl.node.event.PeerRelayEvent} when a peer becomes unreachable.
  * <li>...a {@link org.drasyl.node.event.NodeOnlineEvent} if this node is registered to at least one super peer.
  * <li>...a {@link org.drasyl.node.event.NodeOfflineEvent} when this node is not longer registered to any super peer.
  */
 @UnstableApi
 public class PeersManagerHandler extends ChannelInboundHandlerAdapter {
-    private final Set<DrasylAddress> reachableChildren;
-    private final Set<DrasylAddress> reachableSuperPeers;
+    private int reachableSuperPeers;
+    private Node node;
+    private PeersTracker.Listener listener;
 
-    @SuppressWarnings("java:S2384")
-    PeersManagerHandler(final Set<DrasylAddress> reachableChildren,
-                        final Set<DrasylAddress> reachableSuperPeers) {
-        this.reachableChildren = requireNonNull(reachableChildren);
-        this.reachableSuperPeers = requireNonNull(reachableSuperPeers);
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) {
+        // the tracker might be polled by other threads (see RustDrasylServerChannel#hasReachableSuperPeer)
+        listener = (peer, superPeer, reachable) -> ctx.executor().execute(() -> peerChanged(ctx, peer, superPeer, reachable));
+        ((RustDrasylServerChannel) ctx.channel()).peersTracker().addListener(listener);
     }
 
-    public PeersManagerHandler() {
-        this(new HashSet<>(), new HashSet<>());
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        ((RustDrasylServerChannel) ctx.channel()).peersTracker().removeListener(listener);
     }
 
     @Override
-    public void handlerAdded(final ChannelHandlerContext ctx) {
-        final RustDrasylServerChannel channel = (RustDrasylServerChannel) ctx.channel();
-
-        ctx.executor().scheduleAtFixedRate(() -> {
-            if (channel.isActive()) {
-                final ByteBuffer peersListBuf = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
-                ensureSuccess(drasyl_node_peers_list(channel.bind, peersListBuf.array()));
-                final long peersList = peersListBuf.getLong();
-                final ByteBuffer peersBuf = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
-                ensureSuccess(drasyl_peers_list_peers(peersList, peersBuf.array()));
-                final long peers = peersBuf.getLong();
-
-                final long peersLen = drasyl_peers_list_peers_len(peers);
-                for (int i = 0; i < peersLen; i++) {
-                    final byte[] pkBytes = new byte[IdentityPublicKey.KEY_LENGTH_AS_BYTES];
-                    ensureSuccess(drasyl_peers_list_peer_pk(peers, i, pkBytes));
-                    final IdentityPublicKey publicKey = IdentityPublicKey.of(pkBytes);
-                    final boolean isSuperPeer = ensureSuccess(drasyl_peers_list_peer_super_peer(peers, i)) == 1;
-                    final boolean isReachable = ensureSuccess(drasyl_peers_list_peer_reachable(peers, i)) == 1;
-
-                    if (isSuperPeer) {
-                        if (isReachable) {
-                            if (this.reachableSuperPeers.isEmpty()) {
-                                ctx.fireUserEventTriggered(NodeOnlineEvent.of(Node.of(channel.identity())));
-                            }
-                            if (this.reachableSuperPeers.add(publicKey)) {
-                                ctx.fireUserEventTriggered(PeerDirectEvent.of(Peer.of(publicKey)));
-                            }
-                        }
-                        else {
-                            if (this.reachableSuperPeers.remove(publicKey)) {
-                                ctx.fireUserEventTriggered(PeerRelayEvent.of(Peer.of(publicKey)));
+    public void channelInactive(final ChannelHandlerContext ctx) {
+        if (reachableSuperPeers != 0) {
+            reachableSuperPeers = 0;
+            // identity has already been removed from the closed channel
+            ctx.fireUserEventTriggered(NodeOfflineEvent.of(node));
+        }
+        ctx.fireChannelInactive();
+    }
 
-                                if (this.reachableSuperPeers.isEmpty()) {
-                                    ctx.fireUserEventTriggered(NodeOfflineEvent.of(Node.of(channel.identity())));
-                                }
-                            }
-                        }
-                    }
-                    else {
-                        if (isReachable) {
-                            if (this.reachableChildren.add(publicKey)) {
-                                ctx.fireUserEventTriggered(PeerDirectEvent.of(Peer.of(publicKey)));
-                            }
-                        }
-                        else {
-                            if (this.reachableChildren.remove(publicKey)) {
-                                ctx.fireUserEventTriggered(PeerRelayEvent.of(Peer.of(publicKey)));
-                            }
-                        }
-                    }
-                }
+    private void peerChanged(final ChannelHandlerContext ctx,
+                             final IdentityPublicKey peer,
+                             final boolean superPeer,
+                             final boolean reachable) {
+        if (!ctx.channel().isActive()) {
+            return;
+        }
 
-                ensureSuccess(drasyl_peers_list_peers_free(peers));
+        if (reachable) {
+            if (superPeer && reachableSuperPeers++ == 0) {
+                node = Node.of(((RustDrasylServerChannel) ctx.channel()).identity());
+                ctx.fireUserEventTriggered(NodeOnlineEvent.of(node));
             }
-            else {
-                if (!this.reachableSuperPeers.isEmpty()) {
-                    this.reachableSuperPeers.clear();
-                    ctx.fireUserEventTriggered(NodeOfflineEvent.of(Node.of(channel.identity())));
-                }
+            ctx.fireUserEventTriggered(PeerDirectEvent.of(Peer.of(peer)));
+        }
+        else {
+            ctx.fireUserEventTriggered(PeerRelayEvent.of(Peer.of(peer)));
+            if (superPeer && reachableSuperPeers > 0 && --reachableSuperPeers == 0) {
+                ctx.fireUserEventTriggered(NodeOfflineEvent.of(node));
             }
-        }, 0, 100, MILLISECONDS);
+        }
     }
 }
@@ -22,8 +22,10 @@
 package org.drasyl.node.handler.crypto;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.MessageToMessageCodec;
 import org.drasyl.crypto.Crypto;
 import org.drasyl.crypto.CryptoException;
@@ -36,11 +38,26 @@ import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.drasyl.crypto.sodium.DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES;
+import static org.drasyl.util.Preconditions.requirePositive;
 
 /**
  * Skeleton handler that arms (encrypt) outbound and disarms (decrypt) inbound messages. Messages
  * that could not be (dis-)armed are dropped.
+ * <p>
+ * If a crypto executor is given, encryption and decryption of application messages is offloaded to
+ * this executor, so that a single channel can make use of multiple cores. Results are passed on in
+ * the order in which the messages entered this handler. At most {@code maxPendingCryptoTasks} tasks
+ * per channel are offloaded at the same time. If this limit is reached or the executor rejects a
+ * task, the task is processed on the channel's event loop instead, which slows down the channel
+ * accordingly.
  */
 @UnstableApi
 public abstract class AbstractArmHandler extends MessageToMessageCodec<ArmHeader, ByteBuf> {
@@ -48,44 +65,157 @@ public abstract class AbstractArmHandler extends MessageToMessageCodec<ArmHeader
     protected final Crypto crypto;
     protected final IdentityPublicKey peerIdentity;
     protected final Session session;
+    private final Executor cryptoExecutor;
+    private final int maxPendingCryptoTasks;
+    private final Queue<PendingTask> outboundTasks = new ArrayDeque<>();
+    private final Queue<PendingTask> inboundTasks = new ArrayDeque<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private int offloadedCryptoTasks;
+    private boolean draining;
 
+    /**
+     * @param crypto                the crypto instance
+     * @param peerIdentity          the identity of the peer
+     * @param session               the session with the peer
+     * @param cryptoExecutor        executor for encryption and decryption of application messages.
+     *                              If {@code null}, all work is done on the channel's event loop
+     * @param maxPendingCryptoTasks maximum number of tasks offloaded to {@code cryptoExecutor} at
+     *                              the same time. Must be positive if {@code cryptoExecutor} is
+     *                              given
+     */
     protected AbstractArmHandler(final Crypto crypto,
                                  final IdentityPublicKey peerIdentity,
-                                 final Session session) {
+                                 final Session session,
+                                 final Executor cryptoExecutor,
+                                 final int maxPendingCryptoTasks) {
         this.crypto = crypto;
         this.session = session;
         this.peerIdentity = peerIdentity;
+        this.cryptoExecutor = cryptoExecutor;
+        this.maxPendingCryptoTasks = cryptoExecutor != null ? requirePositive(maxPendingCryptoTasks) : maxPendingCryptoTasks;
+    }
+
+    protected AbstractArmHandler(final Crypto crypto,
+                                 final IdentityPublicKey peerIdentity,
+                                 final Session session) {
+        this(crypto, peerIdentity, session, null, 1);
     }
 
     protected AbstractArmHandler(final Crypto crypto,
                                  final Duration expireAfter,
                                  final int maxAgreements,
                                  final Identity identity,
-                                 final IdentityPublicKey peerIdentity) throws CryptoException {
+                                 final IdentityPublicKey peerIdentity,
+                                 final Executor cryptoExecutor,
+                                 final int maxPendingCryptoTasks) throws CryptoException {
         this(crypto, peerIdentity, new Session(Agreement.of(
                 AgreementId.of(identity.getKeyAgreementPublicKey(), peerIdentity.getLongTimeKeyAgreementKey()),
                 crypto.generateSessionKeyPair(identity.getKeyAgreementKeyPair(), peerIdentity.getLongTimeKeyAgreementKey()),
-                -1), maxAgreements, expireAfter));
+                -1), maxAgreements, expireAfter), cryptoExecutor, maxPendingCryptoTasks);
+    }
+
+    protected AbstractArmHandler(final Crypto crypto,
+                                 final Duration expireAfter,
+                                 final int maxAgreements,
+                                 final Identity identity,
+                                 final IdentityPublicKey peerIdentity) throws CryptoException {
+        this(crypto, expireAfter, maxAgreements, identity, peerIdentity, null, 1);
     }
 
     @Override
-    protected void encode(final ChannelHandlerContext ctx,
-                          final ByteBuf msg,
-                          final List<Object> out) throws Exception {
-        // check for agreement
-        Agreement agreement = session.getCurrentActiveAgreement().getValue().orElse(null);
+    public void write(final ChannelHandlerContext ctx,
+                      final Object msg,
+                      final ChannelPromise promise) throws Exception {
+        if (cryptoExecutor == null) {
+            super.write(ctx, msg, promise);
+        }
+        else if (acceptOutboundMessage(msg)) {
+            final ByteBuf byteBuf = (ByteBuf) msg;
+            final ArmTask task;
+            try {
+                beforeArm(ctx);
+                task = new ArmTask(outboundAgreement(ctx), applicationBuffer(ctx, byteBuf), promise);
+            }
+            finally {
+                byteBuf.release();
+            }
+            outboundTasks.add(task);
+            submit(ctx, task);
+        }
+        else if (outboundTasks.isEmpty()) {
+            ctx.write(msg, promise);
+        }
+        else {
+            outboundTasks.add(new PassThroughWrite(msg, promise));
+        }
+    }
 
-        // if not available or stale, return default agreement
-        if (agreement == null || agreement.isStale()) {
-            agreement = session.getLongTimeAgreement();
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+        if (outboundTasks.isEmpty()) {
+            ctx.flush();
+        }
+        else {
+            outboundTasks.add(PendingEvent.FLUSH);
+        }
+    }
 
-            onNonAgreement(ctx);
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        if (cryptoExecutor == null) {
+            super.channelRead(ctx, msg);
+        }
+        else if (acceptInboundMessage(msg)) {
+            final ArmHeader armHeader = (ArmHeader) msg;
+            final DisarmTask task;
+            try {
+                beforeDisarm(ctx, armHeader);
+                final Agreement agreement = inboundAgreement(ctx, armHeader);
+                if (agreement == null) {
+                    return;
+                }
+                task = new DisarmTask(agreement, armHeader.getNonce(), ciphertextBuffer(ctx, armHeader.content()));
+            }
+            finally {
+                armHeader.release();
+            }
+            inboundTasks.add(task);
+            submit(ctx, task);
+        }
+        else if (inboundTasks.isEmpty()) {
+            ctx.fireChannelRead(msg);
+        }
+        else {
+            inboundTasks.add(new PassThroughRead(msg));
+        }
+    }
+
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext ctx) throws Exception {
+        if (inboundTasks.isEmpty()) {
+            super.channelReadComplete(ctx);
+        }
+        else {
+            inboundTasks.add(PendingEvent.READ_COMPLETE);
         }
+    }
 
-        final ByteBuf byteBuf = ArmMessage.fromApplication(msg, ctx.alloc());
-        final ArmHeader arm = arm(ctx, agreement, byteBuf);
-        byteBuf.release();
-        out.add(arm);
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        if (inboundTasks.isEmpty()) {
+            super.channelInactive(ctx);
+        }
+        else {
+            inboundTasks.add(PendingEvent.INACTIVE);
+        }
+    }
+
+    @Override
+    protected void encode(final ChannelHandlerContext ctx,
+                          final ByteBuf msg,
+                          final List<Object> out) throws Exception {
+        beforeArm(ctx);
+        out.add(armInPlace(outboundAgreement(ctx), applicationBuffer(ctx, msg)));
         LOG.trace("[{}] Armed msg: {}", ctx.channel()::id, () -> msg);
     }
 
@@ -93,17 +223,13 @@ public abstract class AbstractArmHandler extends MessageToMessageCodec<ArmHeader
     protected void decode(final ChannelHandlerContext ctx,
                           final ArmHeader msg,
                           final List<Object> out) throws Exception {
-        final Agreement agreement = getAgreement(msg.getAgreementId());
-        final Object plaintext;
-
+        beforeDisarm(ctx, msg);
+        final Agreement agreement = inboundAgreement(ctx, msg);
         if (agreement == null) {
-            onNonAgreement(ctx);
-
-            LOG.debug("Agreement id `{}` could not be found. Dropped message: {}", msg::getAgreementId, () -> msg);
             return;
         }
 
-        plaintext = unarm(ctx, agreement, msg.getNonce(), msg.content());
+        final Object plaintext = unarm(ctx, agreement, msg.getNonce(), msg.content());
 
         removeStaleAgreement(ctx, agreement);
 
@@ -116,6 +242,25 @@ public abstract class AbstractArmHandler extends MessageToMessageCodec<ArmHeader
         }
     }
 
+    /**
+     * Is called on the event loop before an outbound application message is armed.
+     *
+     * @param ctx the handler context
+     */
+    protected void beforeArm(final ChannelHandlerContext ctx) {
+        // NOOP
+    }
+
+    /**
+     * Is called on the event loop before an inbound message is disarmed.
+     *
+     * @param ctx the handler context
+     * @param msg the message to disarm
+     */
+    protected void beforeDisarm(final ChannelHandlerContext ctx, final ArmHeader msg) {
+        // NOOP
+    }
+
     protected abstract void inboundArmMessage(final ChannelHandlerContext ctx, Object msg);
 
     protected abstract void onNonAgreement(ChannelHandlerContext ctx);
@@ -124,9 +269,17 @@ public abstract class AbstractArmHandler extends MessageToMessageCodec<ArmHeader
                            final Agreement agreement,
                            final Nonce nonce,
                            final ByteBuf byteBuf) throws CryptoException {
+        final ByteBuf plaintext = ciphertextBuffer(ctx, byteBuf);
+        try {
+            crypto.decryptInPlace(plaintext, new byte[0], nonce, agreement.getSessionPair());
+        }
+        catch (final CryptoException e) {
+            plaintext.release();
+            throw e;
+        }
+
         try {
-            final byte[] bytes = crypto.decrypt(ByteBufUtil.getBytes(byteBuf), new byte[0], nonce, agreement.getSessionPair());
-            return ArmMessage.of(ctx.alloc().buffer(bytes.length).writeBytes(bytes));
+            return ArmMessage.of(plaintext);
         }
         catch (final InvalidMessageFormatException e) {
             throw new CryptoException("Can't unarm message: ", e);
@@ -136,17 +289,327 @@ public abstract class AbstractArmHandler extends MessageToMessageCodec<ArmHeader
     protected ArmHeader arm(final ChannelHandlerContext ctx,
                             final Agreement agreement,
                             final ByteBuf msg) throws CryptoException {
-        final Nonce nonce = Nonce.randomNonce();
-        final byte[] bytes = crypto.encrypt(ByteBufUtil.getBytes(msg), new byte[0], nonce, agreement.getSessionPair());
-        return ArmHeader.of(
-                agreement.getAgreementId(),
-                nonce,
-                ctx.alloc().buffer(bytes.length).writeBytes(bytes)
-        );
+        final ByteBuf byteBuf = ctx.alloc().buffer(msg.readableBytes() + XCHACHA20POLY1305_IETF_ABYTES);
+        byteBuf.writeBytes(msg, msg.readerIndex(), msg.readableBytes());
+        return armInPlace(agreement, byteBuf);
+    }
+
+    /**
+     * Encrypts {@code byteBuf} in place and wraps it into an {@link ArmHeader}. {@code byteBuf} is
+     * released if encryption fails.
+     */
+    private ArmHeader armInPlace(final Agreement agreement,
+                                 final ByteBuf byteBuf) throws CryptoException {
+        final Nonce nonce = agreement.nextNonce();
+        try {
+            crypto.encryptInPlace(byteBuf, new byte[0], nonce, agreement.getSessionPair());
+        }
+        catch (final CryptoException e) {
+            byteBuf.release();
+            throw e;
+        }
+        return ArmHeader.of(agreement.getAgreementId(), nonce, byteBuf);
+    }
+
+    /**
+     * Returns the agreement to arm outbound messages with. If no active agreement is available, the
+     * long time agreement is returned.
+     */
+    private Agreement outboundAgreement(final ChannelHandlerContext ctx) {
+        // check for agreement
+        final Agreement agreement = session.getCurrentActiveAgreement().getValue().orElse(null);
+
+        // if not available or stale, return default agreement
+        if (agreement == null || agreement.isStale()) {
+            onNonAgreement(ctx);
+
+            return session.getLongTimeAgreement();
+        }
+        return agreement;
+    }
+
+    /**
+     * Returns the agreement {@code msg} has been armed with, or {@code null} if unknown.
+     */
+    private Agreement inboundAgreement(final ChannelHandlerContext ctx, final ArmHeader msg) {
+        final Agreement agreement = getAgreement(msg.getAgreementId());
+
+        if (agreement == null) {
+            onNonAgreement(ctx);
+
+            LOG.debug("Agreement id `{}` could not be found. Dropped message: {}", msg::getAgreementId, () -> msg);
+        }
+        return agreement;
+    }
+
+    /**
+     * Writes type and {@code msg} directly into the buffer that will carry the cipher text.
+     */
+    private static ByteBuf applicationBuffer(final ChannelHandlerContext ctx, final ByteBuf msg) {
+        final ByteBuf byteBuf = ctx.alloc().buffer(ArmMessage.LENGTH + msg.readableBytes() + XCHACHA20POLY1305_IETF_ABYTES);
+        return byteBuf.writeByte(ArmMessage.MessageType.APPLICATION.getByte()).writeBytes(msg, msg.readerIndex(), msg.readableBytes());
+    }
+
+    /**
+     * Returns a buffer {@code byteBuf} can be decrypted in. This is a retained slice of
+     * {@code byteBuf} unless it is read-only.
+     */
+    private static ByteBuf ciphertextBuffer(final ChannelHandlerContext ctx,
+                                            final ByteBuf byteBuf) {
+        if (byteBuf.isReadOnly()) {
+            return ctx.alloc().buffer(byteBuf.readableBytes()).writeBytes(byteBuf, byteBuf.readerIndex(), byteBuf.readableBytes());
+        }
+        else {
+            // decrypt in place, the given buffer is not used afterwards
+            return byteBuf.retainedSlice();
+        }
+    }
+
+    private void submit(final ChannelHandlerContext ctx, final CryptoTask task) {
+        if (offloadedCryptoTasks < maxPendingCryptoTasks) {
+            task.ctx = ctx;
+            try {
+                cryptoExecutor.execute(task);
+                offloadedCryptoTasks++;
+                return;
+            }
+            catch (final RejectedExecutionException e) {
+                // queue of executor is full
+                task.ctx = null;
+            }
+        }
+
+        // backpressure: process task on the event loop
+        task.run();
+        drainPendingTasks(ctx);
+    }
+
+    private void scheduleDrain(final ChannelHandlerContext ctx) {
+        if (drainScheduled.compareAndSet(false, true)) {
+            ctx.executor().execute(() -> drainPendingTasks(ctx));
+        }
+    }
+
+    /**
+     * Passes on all completed tasks at the head of the outbound and inbound queue.
+     */
+    private void drainPendingTasks(final ChannelHandlerContext ctx) {
+        drainScheduled.set(false);
+        if (draining) {
+            // we're called from a task completion, the outer loop will continue
+            return;
+        }
+
+        draining = true;
+        try {
+            boolean progress = true;
+            while (progress) {
+                progress = drainPendingTasks(ctx, outboundTasks);
+                progress = drainPendingTasks(ctx, inboundTasks) || progress;
+            }
+        }
+        finally {
+            draining = false;
+        }
+    }
+
+    private boolean drainPendingTasks(final ChannelHandlerContext ctx,
+                                      final Queue<PendingTask> tasks) {
+        boolean progress = false;
+        PendingTask task;
+        while ((task = tasks.peek()) != null && task.isDone()) {
+            tasks.remove();
+            if (task instanceof CryptoTask && ((CryptoTask) task).ctx != null) {
+                offloadedCryptoTasks--;
+            }
+            task.complete(ctx);
+            progress = true;
+        }
+        return progress;
     }
 
     protected abstract void removeStaleAgreement(final ChannelHandlerContext ctx,
                                                  final Agreement agreement);
 
     protected abstract Agreement getAgreement(final AgreementId agreementId);
+
+    /**
+     * An outbound or inbound event waiting to be passed on.
+     */
+    private interface PendingTask {
+        boolean isDone();
+
+        void complete(ChannelHandlerContext ctx);
+    }
+
+    private enum PendingEvent implements PendingTask {
+        FLUSH {
+            @Override
+            public void complete(final ChannelHandlerContext ctx) {
+                ctx.flush();
+            }
+        },
+        READ_COMPLETE {
+            @Override
+            public void complete(final ChannelHandlerContext ctx) {
+                ctx.fireChannelReadComplete();
+            }
+        },
+        INACTIVE {
+            @Override
+            public void complete(final ChannelHandlerContext ctx) {
+                ctx.fireChannelInactive();
+            }
+        };
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+    }
+
+    private static class PassThroughWrite implements PendingTask {
+        private final Object msg;
+        private final ChannelPromise promise;
+
+        PassThroughWrite(final Object msg, final ChannelPromise promise) {
+            this.msg = msg;
+            this.promise = promise;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public void complete(final ChannelHandlerContext ctx) {
+            ctx.write(msg, promise);
+        }
+    }
+
+    private static class PassThroughRead implements PendingTask {
+        private final Object msg;
+
+        PassThroughRead(final Object msg) {
+            this.msg = msg;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public void complete(final ChannelHandlerContext ctx) {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    /**
+     * Encrypts or decrypts a buffer in place. Can be run on any thread.
+     */
+    private abstract class CryptoTask implements PendingTask, Runnable {
+        protected final Agreement agreement;
+        protected final Nonce nonce;
+        protected final ByteBuf byteBuf;
+        // set if task has been offloaded, only accessed on the event loop
+        ChannelHandlerContext ctx;
+        protected CryptoException cause;
+        private volatile boolean done;
+
+        CryptoTask(final Agreement agreement, final Nonce nonce, final ByteBuf byteBuf) {
+            this.agreement = agreement;
+            this.nonce = nonce;
+            this.byteBuf = byteBuf;
+        }
+
+        @Override
+        public void run() {
+            // read before done is set, as ctx must only be accessed by the event loop afterwards
+            final ChannelHandlerContext offloadedCtx = ctx;
+            try {
+                process();
+            }
+            catch (final CryptoException e) {
+                cause = e;
+            }
+            finally {
+                done = true;
+                if (offloadedCtx != null) {
+                    scheduleDrain(offloadedCtx);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        protected abstract void process() throws CryptoException;
+    }
+
+    private class ArmTask extends CryptoTask {
+        private final ChannelPromise promise;
+
+        ArmTask(final Agreement agreement, final ByteBuf byteBuf, final ChannelPromise promise) {
+            super(agreement, agreement.nextNonce(), byteBuf);
+            this.promise = promise;
+        }
+
+        @Override
+        protected void process() throws CryptoException {
+            crypto.encryptInPlace(byteBuf, new byte[0], nonce, agreement.getSessionPair());
+        }
+
+        @Override
+        public void complete(final ChannelHandlerContext ctx) {
+            if (cause != null) {
+                byteBuf.release();
+                promise.tryFailure(new EncoderException(cause));
+            }
+            else {
+                ctx.write(ArmHeader.of(agreement.getAgreementId(), nonce, byteBuf), promise);
+            }
+        }
+    }
+
+    private class DisarmTask extends CryptoTask {
+        DisarmTask(final Agreement agreement, final Nonce nonce, final ByteBuf byteBuf) {
+            super(agreement, nonce, byteBuf);
+        }
+
+        @Override
+        protected void process() throws CryptoException {
+            crypto.decryptInPlace(byteBuf, new byte[0], nonce, agreement.getSessionPair());
+        }
+
+        @Override
+        public void complete(final ChannelHandlerContext ctx) {
+            if (cause != null) {
+                byteBuf.release();
+                ctx.fireExceptionCaught(new DecoderException(cause));
+                return;
+            }
+
+            final Object plaintext;
+            try {
+                plaintext = ArmMessage.of(byteBuf);
+            }
+            catch (final InvalidMessageFormatException e) {
+                ctx.fireExceptionCaught(new DecoderException(new CryptoException("Can't unarm message: ", e)));
+                return;
+            }
+
+            removeStaleAgreement(ctx, agreement);
+
+            if (plaintext instanceof ByteBuf) {
+                ctx.fireChannelRead(plaintext);
+            }
+            else {
+                inboundArmMessage(ctx, plaintext);
+            }
+        }
+    }
 }
@@ -23,13 +23,19 @@ package org.drasyl.node.handler.crypto;
 
 import com.google.auto.value.AutoValue;
 import org.drasyl.crypto.sodium.SessionPair;
+import org.drasyl.handler.remote.protocol.Nonce;
+import org.drasyl.handler.remote.protocol.NonceSequence;
 
 /**
- * This object represents a session key agreement between two nodes.
+ * This object represents a session key agreement between two nodes. Nonces for messages armed with
+ * this agreement are taken from a {@link NonceSequence}. Agreements become renewable once half of
+ * the sequence is used and stale once it is exhausted, so that the key is rotated before the
+ * sequence has to fall back to a new prefix.
  */
 @AutoValue
 public abstract class Agreement {
     public static final long RENEW_DIVISOR = 2;
+    private final NonceSequence nonceSequence = new NonceSequence();
 
     public abstract AgreementId getAgreementId();
 
@@ -41,11 +47,20 @@ public abstract class Agreement {
     public abstract long getStaleAt();
 
     public boolean isStale() {
-        return getStaleAt() < 0 || getStaleAt() < System.currentTimeMillis();
+        return getStaleAt() < 0 || getStaleAt() < System.currentTimeMillis() || nonceSequence.count() >= NonceSequence.CAPACITY;
     }
 
     public boolean isRenewable() {
-        return getStaleAt() < 0 || getStaleAt() < (System.currentTimeMillis() / RENEW_DIVISOR);
+        return getStaleAt() < 0 || getStaleAt() < (System.currentTimeMillis() / RENEW_DIVISOR) || nonceSequence.count() >= NonceSequence.CAPACITY / RENEW_DIVISOR;
+    }
+
+    /**
+     * Returns the nonce to arm the next message with.
+     *
+     * @return the nonce to arm the next message with
+     */
+    public Nonce nextNonce() {
+        return nonceSequence.next();
     }
 
     public static Agreement of(final AgreementId id,
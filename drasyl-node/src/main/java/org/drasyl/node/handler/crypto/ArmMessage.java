@@ -22,7 +22,6 @@
 package org.drasyl.node.handler.crypto;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import org.drasyl.handler.remote.protocol.InvalidMessageFormatException;
 import org.drasyl.util.internal.UnstableApi;
 
@@ -39,20 +38,13 @@ abstract class ArmMessage {
         writeBody(out);
     }
 
-    public static ByteBuf fromApplication(final ByteBuf msg, ByteBufAllocator alloc) {
-        final ByteBuf out = alloc.buffer(1 + msg.readableBytes());
-        out.writeByte(MessageType.APPLICATION.value);
-        out.writeBytes(msg);
-        return out;
-    }
-
     public static Object of(final ByteBuf byteBuf) throws InvalidMessageFormatException {
-        if (byteBuf.readableBytes() < LENGTH) {
-            throw new InvalidMessageFormatException("ArmMessage requires " + LENGTH + " readable bytes. Only " + byteBuf.readableBytes() + " left.");
-        }
-        final MessageType type = MessageType.forNumber(byteBuf.readByte());
-
         try {
+            if (byteBuf.readableBytes() < LENGTH) {
+                throw new InvalidMessageFormatException("ArmMessage requires " + LENGTH + " readable bytes. Only " + byteBuf.readableBytes() + " left.");
+            }
+            final MessageType type = MessageType.forNumber(byteBuf.readByte());
+
             switch (type) {
                 case ACKNOWLEDGEMENT:
                     return AcknowledgementMessage.of(byteBuf);
@@ -37,8 +37,8 @@ import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 
 import java.time.Duration;
-import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.LongSupplier;
 
 /**
@@ -65,35 +65,50 @@ public class PFSArmHandler extends AbstractArmHandler {
         this.state = state;
     }
 
+    /**
+     * Creates a handler that offloads encryption and decryption of application messages to
+     * {@code cryptoExecutor}. Messages are still passed on in order.
+     *
+     * @param cryptoExecutor        executor for encryption and decryption. If {@code null}, all
+     *                              work is done on the channel's event loop
+     * @param maxPendingCryptoTasks maximum number of tasks offloaded to {@code cryptoExecutor} at
+     *                              the same time. Further tasks are processed on the channel's
+     *                              event loop
+     */
+    @SuppressWarnings("java:S107")
     public PFSArmHandler(final Crypto crypto,
                          final Duration expireAfter,
                          final Duration retryInterval,
                          final int maxAgreements,
                          final Identity identity,
-                         final IdentityPublicKey peerIdentity) throws CryptoException {
-        super(crypto, expireAfter, maxAgreements, identity, peerIdentity);
+                         final IdentityPublicKey peerIdentity,
+                         final Executor cryptoExecutor,
+                         final int maxPendingCryptoTasks) throws CryptoException {
+        super(crypto, expireAfter, maxAgreements, identity, peerIdentity, cryptoExecutor, maxPendingCryptoTasks);
         this.retryInterval = retryInterval;
         this.expireProvider = () -> System.currentTimeMillis() + expireAfter.toMillis();
         this.state = State.LONG_TIME;
     }
 
+    public PFSArmHandler(final Crypto crypto,
+                         final Duration expireAfter,
+                         final Duration retryInterval,
+                         final int maxAgreements,
+                         final Identity identity,
+                         final IdentityPublicKey peerIdentity) throws CryptoException {
+        this(crypto, expireAfter, retryInterval, maxAgreements, identity, peerIdentity, null, 1);
+    }
+
     @Override
-    protected void encode(final ChannelHandlerContext ctx,
-                          final ByteBuf msg,
-                          final List<Object> out) throws Exception {
+    protected void beforeArm(final ChannelHandlerContext ctx) {
         ctx.executor().execute(() -> checkForRenewAgreement(ctx));
-
-        super.encode(ctx, msg, out);
     }
 
     @Override
-    protected void decode(final ChannelHandlerContext ctx,
-                          final ArmHeader msg,
-                          final List<Object> out) throws Exception {
+    protected void beforeDisarm(final ChannelHandlerContext ctx, final ArmHeader msg) {
         ctx.executor().execute(() -> checkForRenewAgreement(ctx));
 
         receivedAck(ctx, msg.getAgreementId());
-        super.decode(ctx, msg, out);
     }
 
     @Override
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.datagram;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import org.drasyl.util.internal.UnstableApi;
+
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+import static org.drasyl.util.Preconditions.requirePositive;
+
+/**
+ * Sends messages as datagrams past the connection layer (and its handshake, acknowledgements, and
+ * retransmissions). This handler consists of three parts:
+ * <ul>
+ * <li>{@link #selector()} is placed above the serialization and decides which messages are sent as
+ * datagrams. These are all messages or, if {@code types} is not empty, only instances of the given
+ * types.</li>
+ * <li>this handler is placed between the framing and the arming. It sends selected messages
+ * fitting into {@code maxDatagramLength} directly to {@link #wireHandler()}. All other messages
+ * take the reliable path.</li>
+ * <li>{@link #wireHandler()} is placed below the connection layer. It adds a magic number to
+ * outbound datagrams and passes inbound datagrams directly back to this handler.</li>
+ * </ul>
+ * <p>
+ * Datagrams may be lost, duplicated, or reordered. Both peers must use this handler.
+ */
+@UnstableApi
+public class DatagramHandler extends ChannelDuplexHandler {
+    public static final int MAGIC_NUMBER = 1_232_217_840;
+    public static final int MAGIC_NUMBER_LENGTH = Integer.BYTES;
+    private final Set<Class<?>> types;
+    private final int maxDatagramLength;
+    private final Selector selector = new Selector();
+    private final WireHandler wireHandler = new WireHandler();
+    private ChannelHandlerContext wireCtx;
+    private ChannelHandlerContext handlerCtx;
+    private boolean flushPending;
+
+    /**
+     * @param types             types to send as datagrams. All messages are sent as datagrams if
+     *                          empty.
+     * @param maxDatagramLength maximum length of a datagram (including the magic number) written to
+     *                          the channel. Larger messages take the reliable path.
+     */
+    public DatagramHandler(final Set<Class<?>> types, final int maxDatagramLength) {
+        this.types = requireNonNull(types);
+        this.maxDatagramLength = requirePositive(maxDatagramLength);
+    }
+
+    /**
+     * Returns the handler that selects the messages to be sent as datagrams. Must be placed above
+     * the serialization.
+     */
+    public ChannelHandler selector() {
+        return selector;
+    }
+
+    /**
+     * Returns the handler that (de)frames datagrams. Must be placed below the connection layer.
+     */
+    public ChannelHandler wireHandler() {
+        return wireHandler;
+    }
+
+    /**
+     * Returns {@code true} if {@code promise} marks its message to be sent as a datagram. Such
+     * messages may be lost, or may overtake or be overtaken by messages on the reliable path.
+     */
+    public static boolean isDatagram(final ChannelPromise promise) {
+        return promise instanceof DatagramPromise;
+    }
+
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) {
+        handlerCtx = ctx;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx,
+                      final Object msg,
+                      final ChannelPromise promise) {
+        if (isDatagram(promise) && msg instanceof ByteBuf && wireCtx != null && MAGIC_NUMBER_LENGTH + ((ByteBuf) msg).readableBytes() <= maxDatagramLength) {
+            final ByteBuf datagram = (ByteBuf) msg;
+            final ByteBuf header = ctx.alloc().buffer(MAGIC_NUMBER_LENGTH).writeInt(MAGIC_NUMBER);
+            wireCtx.write(ctx.alloc().compositeBuffer(2).addComponents(true, header, datagram), promise);
+            flushPending = true;
+        }
+        else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+        if (flushPending) {
+            flushPending = false;
+            // the connection layer does not pass flushes through if there is no connection
+            wireCtx.flush();
+        }
+        ctx.flush();
+    }
+
+    private boolean isSelected(final Object msg) {
+        if (types.isEmpty()) {
+            return true;
+        }
+        for (final Class<?> type : types) {
+            if (type.isInstance(msg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks selected messages with a {@link DatagramPromise}.
+     */
+    private class Selector extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void write(final ChannelHandlerContext ctx,
+                          final Object msg,
+                          final ChannelPromise promise) {
+            if (isSelected(msg)) {
+                ctx.write(msg, DatagramPromise.wrap(promise));
+            }
+            else {
+                ctx.write(msg, promise);
+            }
+        }
+    }
+
+    /**
+     * Adds the magic number to outbound datagrams (done by {@link DatagramHandler}) and passes
+     * inbound datagrams to {@link DatagramHandler}, bypassing the connection layer.
+     */
+    private class WireHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void handlerAdded(final ChannelHandlerContext ctx) {
+            wireCtx = ctx;
+        }
+
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            if (msg instanceof ByteBuf && handlerCtx != null && isDatagram((ByteBuf) msg)) {
+                final ByteBuf datagram = (ByteBuf) msg;
+                datagram.skipBytes(MAGIC_NUMBER_LENGTH);
+                handlerCtx.fireChannelRead(datagram);
+            }
+            else {
+                ctx.fireChannelRead(msg);
+            }
+        }
+
+        private boolean isDatagram(final ByteBuf buf) {
+            return buf.readableBytes() >= MAGIC_NUMBER_LENGTH && buf.getInt(buf.readerIndex()) == MAGIC_NUMBER;
+        }
+    }
+}
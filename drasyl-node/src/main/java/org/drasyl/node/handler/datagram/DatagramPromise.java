@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.datagram;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.util.concurrent.PromiseNotifier;
+
+/**
+ * A {@link ChannelPromise} marking the message it has been passed with to be sent as a datagram.
+ * The promise is handed down the pipeline together with the message and, therefore, survives
+ * encoding and (possibly offloaded) encryption.
+ */
+class DatagramPromise extends DefaultChannelPromise {
+    DatagramPromise(final Channel channel) {
+        super(channel);
+    }
+
+    /**
+     * Returns a {@link DatagramPromise} that completes {@code promise} once it is completed.
+     */
+    static DatagramPromise wrap(final ChannelPromise promise) {
+        final DatagramPromise datagramPromise = new DatagramPromise(promise.channel());
+        if (!promise.isVoid()) {
+            PromiseNotifier.cascade(datagramPromise, promise);
+        }
+        return datagramPromise;
+    }
+}
@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 import java.util.Arrays;
 
@@ -54,4 +56,23 @@ public class BooleanSerializer extends BoundedSerializer<Boolean> {
             throw new IOException("Unexpected bytes value");
         }
     }
+
+    @Override
+    void matchedWriteTo(final Boolean o, final ByteBuf out) {
+        out.writeBoolean(Boolean.TRUE.equals(o));
+    }
+
+    @Override
+    Boolean matchedReadFrom(final ByteBuf in, final Class<Boolean> type) throws IOException {
+        if (in.readableBytes() == 1) {
+            final byte b = in.readByte();
+            if (b == TRUE_BYTES[0]) {
+                return Boolean.TRUE;
+            }
+            else if (b == FALSE_BYTES[0]) {
+                return Boolean.FALSE;
+            }
+        }
+        throw new IOException("Unexpected bytes value");
+    }
 }
@@ -21,12 +21,14 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.drasyl.util.TypeParameterMatcher;
 
 import java.io.IOException;
 
 @SuppressWarnings("java:S118")
-abstract class BoundedSerializer<B> implements Serializer {
+abstract class BoundedSerializer<B> implements ByteBufSerializer {
     private final TypeParameterMatcher matcher;
 
     protected BoundedSerializer() {
@@ -58,4 +60,34 @@ abstract class BoundedSerializer<B> implements Serializer {
     }
 
     abstract B matchedFromByteArray(final byte[] bytes, Class<B> type) throws IOException;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void writeTo(final Object o, final ByteBuf out) throws IOException {
+        if (matcher.match(o)) {
+            matchedWriteTo((B) o, out);
+        }
+        else {
+            throw new IOException("Object must be of type `" + matcher.getType().getName() + "`");
+        }
+    }
+
+    void matchedWriteTo(final B o, final ByteBuf out) throws IOException {
+        out.writeBytes(matchedToByArray(o));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T readFrom(final ByteBuf in, final Class<T> type) throws IOException {
+        if (matcher.matchClass(type)) {
+            return (T) matchedReadFrom(in, (Class<B>) type);
+        }
+        else {
+            throw new IOException("Type must be a subclass of `" + matcher.getType().getName() + "`");
+        }
+    }
+
+    B matchedReadFrom(final ByteBuf in, final Class<B> type) throws IOException {
+        return matchedFromByteArray(ByteBufUtil.getBytes(in), type);
+    }
 }
@@ -21,6 +21,9 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
 /**
  * This Serializer (de)serializes byte arrays (just returns the byte array unchanged/uncopied).
  */
@@ -35,4 +38,14 @@ public class ByteArraySerializer extends BoundedSerializer<byte[]> {
                                 final Class<byte[]> type) {
         return bytes;
     }
+
+    @Override
+    void matchedWriteTo(final byte[] o, final ByteBuf out) {
+        out.writeBytes(o);
+    }
+
+    @Override
+    byte[] matchedReadFrom(final ByteBuf in, final Class<byte[]> type) {
+        return ByteBufUtil.getBytes(in);
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.serialization;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * This Serializer (de)serializes {@link ByteBuf}s without copying them: {@link MessageSerializer}
+ * adds outbound buffers as component behind the type header and delivers inbound buffers as
+ * retained slice of the received message. The receiver is responsible for releasing it.
+ */
+public class ByteBufPassthroughSerializer extends BoundedSerializer<ByteBuf> {
+    @Override
+    byte[] matchedToByArray(final ByteBuf o) {
+        return ByteBufUtil.getBytes(o);
+    }
+
+    @Override
+    ByteBuf matchedFromByteArray(final byte[] bytes, final Class<ByteBuf> type) {
+        return Unpooled.wrappedBuffer(bytes);
+    }
+
+    @Override
+    void matchedWriteTo(final ByteBuf o, final ByteBuf out) {
+        out.writeBytes(o, o.readerIndex(), o.readableBytes());
+    }
+
+    @Override
+    ByteBuf matchedReadFrom(final ByteBuf in, final Class<ByteBuf> type) {
+        return in.readRetainedSlice(in.readableBytes());
+    }
+}
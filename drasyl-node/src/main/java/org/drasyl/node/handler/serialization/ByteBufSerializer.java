@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.serialization;
+
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+
+/**
+ * A {@link Serializer} that is able to write objects directly to and read them directly from a
+ * {@link ByteBuf}. {@link MessageSerializer} prefers these methods over the {@code byte[]}-based
+ * ones, which saves copying the serialized object.
+ */
+public interface ByteBufSerializer extends Serializer {
+    /**
+     * Serializes the given object into {@code out}.
+     *
+     * @throws IOException if serialization fails
+     */
+    void writeTo(Object o, ByteBuf out) throws IOException;
+
+    /**
+     * Produces an object of type {@code T} from all readable bytes of {@code in}.
+     *
+     * @throws IOException if deserialization fails
+     */
+    <T> T readFrom(ByteBuf in, Class<T> type) throws IOException;
+
+    @SuppressWarnings("java:S2658")
+    default Object readFrom(final ByteBuf in, final String typeName) throws IOException {
+        try {
+            return readFrom(in, typeName != null && !typeName.isEmpty() ? Class.forName(typeName) : null);
+        }
+        catch (final ClassNotFoundException e) {
+            throw new IOException("Class with name `" + typeName + "` could not be located.", e);
+        }
+    }
+}
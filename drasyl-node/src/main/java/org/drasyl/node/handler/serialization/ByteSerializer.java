@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 
 /**
@@ -42,4 +44,19 @@ public class ByteSerializer extends BoundedSerializer<Byte> {
             throw new IOException("bytes must have a length of 1");
         }
     }
+
+    @Override
+    void matchedWriteTo(final Byte o, final ByteBuf out) {
+        out.writeByte(o);
+    }
+
+    @Override
+    Byte matchedReadFrom(final ByteBuf in, final Class<Byte> type) throws IOException {
+        if (in.readableBytes() == 1) {
+            return in.readByte();
+        }
+        else {
+            throw new IOException("bytes must have a length of 1");
+        }
+    }
 }
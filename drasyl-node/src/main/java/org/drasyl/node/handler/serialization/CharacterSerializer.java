@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -44,4 +46,19 @@ public class CharacterSerializer extends BoundedSerializer<Character> {
             throw new IOException("bytes must have a length of 1");
         }
     }
+
+    @Override
+    void matchedWriteTo(final Character o, final ByteBuf out) {
+        out.writeCharSequence(String.valueOf(o), UTF_8);
+    }
+
+    @Override
+    Character matchedReadFrom(final ByteBuf in, final Class<Character> type) throws IOException {
+        if (in.readableBytes() == 1) {
+            return (char) in.readByte();
+        }
+        else {
+            throw new IOException("bytes must have a length of 1");
+        }
+    }
 }
@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
@@ -46,4 +48,19 @@ public class DoubleSerializer extends BoundedSerializer<Double> {
             throw new IOException(e);
         }
     }
+
+    @Override
+    void matchedWriteTo(final Double o, final ByteBuf out) {
+        out.writeDouble(o);
+    }
+
+    @Override
+    Double matchedReadFrom(final ByteBuf in, final Class<Double> type) throws IOException {
+        if (in.readableBytes() >= DOUBLE_LENGTH) {
+            return in.readDouble();
+        }
+        else {
+            throw new IOException("bytes must have a length of at least " + DOUBLE_LENGTH);
+        }
+    }
 }
@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
@@ -46,4 +48,19 @@ public class FloatSerializer extends BoundedSerializer<Float> {
             throw new IOException(e);
         }
     }
+
+    @Override
+    void matchedWriteTo(final Float o, final ByteBuf out) {
+        out.writeFloat(o);
+    }
+
+    @Override
+    Float matchedReadFrom(final ByteBuf in, final Class<Float> type) throws IOException {
+        if (in.readableBytes() >= FLOAT_LENGTH) {
+            return in.readFloat();
+        }
+        else {
+            throw new IOException("bytes must have a length of at least " + FLOAT_LENGTH);
+        }
+    }
 }
@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
@@ -44,4 +46,19 @@ public class IntegerSerializer extends BoundedSerializer<Integer> {
             throw new IOException(e);
         }
     }
+
+    @Override
+    void matchedWriteTo(final Integer o, final ByteBuf out) {
+        out.writeInt(o);
+    }
+
+    @Override
+    Integer matchedReadFrom(final ByteBuf in, final Class<Integer> type) throws IOException {
+        if (in.readableBytes() >= Integer.BYTES) {
+            return in.readInt();
+        }
+        else {
+            throw new IOException("bytes must have a length of at least " + Integer.BYTES);
+        }
+    }
 }
@@ -22,10 +22,15 @@
 package org.drasyl.node.handler.serialization;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -33,7 +38,7 @@ import static java.util.Objects.requireNonNull;
  * A serializer based on the <a href="https://github.com/FasterXML/jackson">Jackson Library</a> for
  * converting java objects to and from JSON.
  */
-public class JacksonJsonSerializer implements Serializer {
+public class JacksonJsonSerializer implements ByteBufSerializer {
     private final ObjectMapper mapper;
 
     private JacksonJsonSerializer(final ObjectMapper mapper) {
@@ -58,4 +63,18 @@ public class JacksonJsonSerializer implements Serializer {
             return mapper.readValue(in, type);
         }
     }
+
+    @Override
+    public void writeTo(final Object o, final ByteBuf out) throws IOException {
+        try (final OutputStream stream = new ByteBufOutputStream(out)) {
+            mapper.writeValue(stream, o);
+        }
+    }
+
+    @Override
+    public <T> T readFrom(final ByteBuf in, final Class<T> type) throws IOException {
+        try (final InputStream stream = new ByteBufInputStream(in)) {
+            return mapper.readValue(stream, type);
+        }
+    }
 }
@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
@@ -44,4 +46,19 @@ public class LongSerializer extends BoundedSerializer<Long> {
             throw new IOException(e);
         }
     }
+
+    @Override
+    void matchedWriteTo(final Long o, final ByteBuf out) {
+        out.writeLong(o);
+    }
+
+    @Override
+    Long matchedReadFrom(final ByteBuf in, final Class<Long> type) throws IOException {
+        if (in.readableBytes() >= Long.BYTES) {
+            return in.readLong();
+        }
+        else {
+            throw new IOException("bytes must have a length of at least " + Long.BYTES);
+        }
+    }
 }
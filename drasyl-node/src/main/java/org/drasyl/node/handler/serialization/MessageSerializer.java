@@ -22,46 +22,102 @@
 package org.drasyl.node.handler.serialization;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.MessageToMessageCodec;
 import org.drasyl.node.DrasylConfig;
-import org.drasyl.util.ImmutableByteArray;
+import org.drasyl.node.handler.datagram.DatagramHandler;
 import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 import static org.drasyl.node.Null.NULL;
 
 /**
  * This handler serializes messages to {@link ByteBuf} and vice versa.
+ * <p>
+ * By default, each message is prefixed with the name of its type (see {@link SerializedPayload}).
+ * If the type dictionary is enabled, a type name is only transmitted once per channel: The first
+ * message of a type announces a numeric id for it, all following messages of this type only carry
+ * this id encoded as varint. Both formats can be distinguished by the first byte, as a type name
+ * length encoded by {@link SerializedPayload} never has its most significant bit set. Messages in
+ * both formats are always accepted, regardless of the configuration.
+ * <p>
+ * If a message references an unknown id (e.g., because the announcement has been lost or this
+ * node has been restarted), the message is dropped and the sender is asked to reset its
+ * dictionary. It will then announce all types again. Messages sent as datagrams (see
+ * {@link DatagramHandler}) always carry the type name, as they may be lost or overtake
+ * announcements.
+ * <p>
+ * By default, {@link ByteBuf}s are considered to be already serialized (e.g., by encoders placed
+ * above this handler) and are passed on unchanged. If {@link ByteBuf} is bound to
+ * {@link ByteBufPassthroughSerializer}, all {@link ByteBuf}s are instead sent as message without
+ * copying them.
  */
 @SuppressWarnings({ "java:S110" })
 public final class MessageSerializer extends MessageToMessageCodec<ByteBuf, Object> {
     private static final Logger LOG = LoggerFactory.getLogger(MessageSerializer.class);
+    static final int TYPE_REFERENCE = 0x80;
+    static final int TYPE_ANNOUNCEMENT = 0x81;
+    static final int TYPE_DICTIONARY_RESET = 0x82;
+    static final int TYPE_DICTIONARY_CAPACITY = 1024;
     private final Serialization inboundSerialization;
     private final Serialization outboundSerialization;
+    private final boolean typeDictionaryEnabled;
+    private final Map<Class<?>, Integer> outboundTypeIds = new HashMap<>();
+    private int nextOutboundTypeId;
+    private InboundType[] inboundTypes = new InboundType[16];
+    private boolean resetRequested;
+    // true while encoding a message marked as datagram
+    private boolean encodingDatagram;
 
     MessageSerializer(final Serialization inboundSerialization,
-                      final Serialization outboundSerialization) {
+                      final Serialization outboundSerialization,
+                      final boolean typeDictionaryEnabled) {
         this.inboundSerialization = requireNonNull(inboundSerialization);
         this.outboundSerialization = requireNonNull(outboundSerialization);
+        this.typeDictionaryEnabled = typeDictionaryEnabled;
+    }
+
+    MessageSerializer(final Serialization inboundSerialization,
+                      final Serialization outboundSerialization) {
+        this(inboundSerialization, outboundSerialization, false);
     }
 
     public MessageSerializer(final DrasylConfig config) {
         this(
                 new Serialization(config.getSerializationSerializers(), config.getSerializationsBindingsInbound()),
-                new Serialization(config.getSerializationSerializers(), config.getSerializationsBindingsOutbound())
+                new Serialization(config.getSerializationSerializers(), config.getSerializationsBindingsOutbound()),
+                config.isSerializationTypeDictionaryEnabled()
         );
     }
 
     @Override
     public boolean acceptOutboundMessage(final Object msg) {
-        return !(msg instanceof ByteBuf);
+        return !(msg instanceof ByteBuf) || outboundSerialization.findSerializerFor(ByteBuf.class.getName()) instanceof ByteBufPassthroughSerializer;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx,
+                      final Object msg,
+                      final ChannelPromise promise) throws Exception {
+        encodingDatagram = DatagramHandler.isDatagram(promise);
+        try {
+            super.write(ctx, msg, promise);
+        }
+        finally {
+            encodingDatagram = false;
+        }
     }
 
     @Override
@@ -72,11 +128,19 @@ public final class MessageSerializer extends MessageToMessageCodec<ByteBuf, Obje
             o = null;
         }
 
+        final Class<?> clazz;
         final String type;
-        if (o != null) {
-            type = o.getClass().getName();
+        if (o instanceof ByteBuf) {
+            // use a type name the receiver is able to resolve
+            clazz = ByteBuf.class;
+            type = clazz.getName();
+        }
+        else if (o != null) {
+            clazz = o.getClass();
+            type = clazz.getName();
         }
         else {
+            clazz = null;
             type = null;
         }
 
@@ -84,18 +148,38 @@ public final class MessageSerializer extends MessageToMessageCodec<ByteBuf, Obje
 
         if (serializer != null) {
             final ByteBuf bytes = ctx.alloc().buffer();
+            boolean success = false;
             try {
-                final byte[] payload = serializer.toByteArray(o);
-                SerializedPayload.of(type, ImmutableByteArray.of(payload))
-                        .writeTo(bytes);
+                // datagrams may be lost or overtake announcements on the reliable path. Therefore,
+                // they always carry the type name
+                if (o == null || !typeDictionaryEnabled || encodingDatagram || !writeTypeId(bytes, clazz, type)) {
+                    SerializedPayload.writeType(type, bytes);
+                }
 
-                out.add(bytes.retain());
+                if (serializer instanceof ByteBufPassthroughSerializer && o instanceof ByteBuf) {
+                    // o will be released after encoding
+                    out.add(ctx.alloc().compositeBuffer(2).addComponents(true, bytes.retain(), ((ByteBuf) o).retain()));
+                }
+                else {
+                    if (serializer instanceof ByteBufSerializer) {
+                        ((ByteBufSerializer) serializer).writeTo(o, bytes);
+                    }
+                    else {
+                        bytes.writeBytes(serializer.toByteArray(o));
+                    }
+                    out.add(bytes.retain());
+                }
+                success = true;
                 LOG.trace("Message `{}` has been serialized to `{}`", o, bytes);
             }
             catch (final IOException e) {
                 throw new EncoderException("Serialization failed", e);
             }
             finally {
+                if (!success && bytes.isReadable() && bytes.getUnsignedByte(0) == TYPE_ANNOUNCEMENT) {
+                    // announcement has not been sent, so the type must be announced again
+                    outboundTypeIds.remove(clazz);
+                }
                 bytes.release();
             }
         }
@@ -109,14 +193,36 @@ public final class MessageSerializer extends MessageToMessageCodec<ByteBuf, Obje
                           final ByteBuf bytes,
                           final List<Object> out) {
         try {
-            final SerializedPayload serializedPayload = SerializedPayload.of(bytes);
-
-            final String type = serializedPayload.getType();
-            final byte[] payload = serializedPayload.getPayload().getArray();
-            final Serializer serializer = inboundSerialization.findSerializerFor(type);
+            final String type;
+            final Serializer serializer;
+            final Class<?> clazz;
+            final short tag = bytes.getUnsignedByte(bytes.readerIndex());
+            if (tag == TYPE_DICTIONARY_RESET) {
+                bytes.skipBytes(1);
+                LOG.trace("Peer has asked us to announce our types again.");
+                outboundTypeIds.clear();
+                return;
+            }
+            else if (tag == TYPE_REFERENCE || tag == TYPE_ANNOUNCEMENT) {
+                final InboundType inboundType = readTypeId(ctx, bytes);
+                type = inboundType.name;
+                serializer = inboundType.serializer;
+                clazz = inboundType.clazz;
+            }
+            else {
+                type = SerializedPayload.readType(bytes);
+                serializer = inboundSerialization.findSerializerFor(type);
+                clazz = null;
+            }
 
             if (serializer != null) {
-                final Object o = serializer.fromByteArray(payload, type);
+                final Object o;
+                if (serializer instanceof ByteBufSerializer) {
+                    o = clazz != null ? ((ByteBufSerializer) serializer).readFrom(bytes, clazz) : ((ByteBufSerializer) serializer).readFrom(bytes, type);
+                }
+                else {
+                    o = clazz != null ? serializer.fromByteArray(ByteBufUtil.getBytes(bytes), clazz) : serializer.fromByteArray(ByteBufUtil.getBytes(bytes), type);
+                }
 
                 if (o == null) {
                     out.add(NULL);
@@ -135,4 +241,108 @@ public final class MessageSerializer extends MessageToMessageCodec<ByteBuf, Obje
             throw new DecoderException("Deserialization failed", e);
         }
     }
+
+    /**
+     * Writes the id of {@code type} to {@code out}. If the type has not been used before, it is
+     * assigned a new id that is announced together with the type name.
+     *
+     * @return {@code false} if the dictionary is exhausted and the classic format must be used
+     */
+    private boolean writeTypeId(final ByteBuf out, final Class<?> clazz, final String type) {
+        Integer id = outboundTypeIds.get(clazz);
+        if (id != null) {
+            out.writeByte(TYPE_REFERENCE);
+            writeVarInt(out, id);
+            return true;
+        }
+
+        // ids are never reused, even after a dictionary reset. Otherwise, an in-flight message
+        // could be decoded with the wrong type.
+        if (nextOutboundTypeId >= TYPE_DICTIONARY_CAPACITY) {
+            return false;
+        }
+        id = nextOutboundTypeId++;
+        outboundTypeIds.put(clazz, id);
+
+        out.writeByte(TYPE_ANNOUNCEMENT);
+        writeVarInt(out, id);
+        out.writeShort(ByteBufUtil.utf8Bytes(type));
+        out.writeCharSequence(type, UTF_8);
+        return true;
+    }
+
+    private InboundType readTypeId(final ChannelHandlerContext ctx, final ByteBuf in) {
+        final boolean announcement = in.readUnsignedByte() == TYPE_ANNOUNCEMENT;
+        final int id = readVarInt(in);
+        if (id >= TYPE_DICTIONARY_CAPACITY) {
+            throw new DecoderException("Type id " + id + " exceeds dictionary capacity.");
+        }
+
+        if (announcement) {
+            final int typeLength = in.readUnsignedShort();
+            final String type = in.readCharSequence(typeLength, UTF_8).toString();
+            if (id >= inboundTypes.length) {
+                inboundTypes = Arrays.copyOf(inboundTypes, Math.min(Math.max(id + 1, inboundTypes.length * 2), TYPE_DICTIONARY_CAPACITY));
+            }
+            final InboundType inboundType = new InboundType(type, inboundSerialization.findSerializerFor(type));
+            inboundTypes[id] = inboundType;
+            resetRequested = false;
+            return inboundType;
+        }
+
+        final InboundType type = id < inboundTypes.length ? inboundTypes[id] : null;
+        if (type == null) {
+            if (!resetRequested) {
+                resetRequested = true;
+                ctx.writeAndFlush(ctx.alloc().buffer(1).writeByte(TYPE_DICTIONARY_RESET));
+            }
+            throw new DecoderException("Message references unknown type id " + id + ". Peer has been asked to announce its types again.");
+        }
+        return type;
+    }
+
+    static void writeVarInt(final ByteBuf out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(final ByteBuf in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new DecoderException("Malformed varint.");
+    }
+
+    /**
+     * A type announced by the peer. Serializer and class are resolved once per announcement
+     * instead of once per message.
+     */
+    private static final class InboundType {
+        private final String name;
+        private final Serializer serializer;
+        // null if the class could not be located. Reported when a message of this type is decoded
+        private final Class<?> clazz;
+
+        @SuppressWarnings("java:S2658")
+        InboundType(final String name, final Serializer serializer) {
+            this.name = requireNonNull(name);
+            this.serializer = serializer;
+            Class<?> c;
+            try {
+                c = Class.forName(name);
+            }
+            catch (final ClassNotFoundException e) {
+                c = null;
+            }
+            this.clazz = c;
+        }
+    }
 }
@@ -21,12 +21,14 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 
 /**
  * This Serializer (de)serializes {@code null} only.
  */
-public class NullSerializer implements Serializer {
+public class NullSerializer implements ByteBufSerializer {
     @Override
     public byte[] toByteArray(final Object o) throws IOException {
         return new byte[0];
@@ -36,4 +38,14 @@ public class NullSerializer implements Serializer {
     public <T> T fromByteArray(final byte[] bytes, final Class<T> type) throws IOException {
         return null;
     }
+
+    @Override
+    public void writeTo(final Object o, final ByteBuf out) {
+        // nothing to write
+    }
+
+    @Override
+    public <T> T readFrom(final ByteBuf in, final Class<T> type) {
+        return null;
+    }
 }
@@ -21,11 +21,14 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Message;
+import io.netty.buffer.ByteBuf;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -35,6 +38,7 @@ import java.util.Optional;
  */
 public class ProtobufSerializer extends BoundedSerializer<Message> {
     private static final Map<Class<?>, Optional<Method>> typeMethods = new HashMap<>();
+    private static final Map<Class<?>, Optional<Method>> bufferTypeMethods = new HashMap<>();
 
     @Override
     byte[] matchedToByArray(final Message o) {
@@ -60,10 +64,53 @@ public class ProtobufSerializer extends BoundedSerializer<Message> {
         }
     }
 
+    @Override
+    void matchedWriteTo(final Message o, final ByteBuf out) throws IOException {
+        final int size = o.getSerializedSize();
+        out.ensureWritable(size);
+        if (out.nioBufferCount() == 1) {
+            // serialize directly into the buffer's memory
+            final ByteBuffer buffer = out.nioBuffer(out.writerIndex(), size);
+            final CodedOutputStream stream = CodedOutputStream.newInstance(buffer);
+            o.writeTo(stream);
+            stream.checkNoSpaceLeft();
+            out.writerIndex(out.writerIndex() + size);
+        }
+        else {
+            out.writeBytes(o.toByteArray());
+        }
+    }
+
+    @SuppressWarnings("java:S3878")
+    @Override
+    Message matchedReadFrom(final ByteBuf in, final Class<Message> type) throws IOException {
+        final Optional<Method> method = getParseFromMethod(bufferTypeMethods, type, ByteBuffer.class);
+
+        if (method.isPresent()) {
+            try {
+                final Message message = (Message) method.get().invoke(null, new Object[]{ in.nioBuffer() });
+                in.skipBytes(in.readableBytes());
+                return message;
+            }
+            catch (final IllegalAccessException | InvocationTargetException e) {
+                throw new IOException(e);
+            }
+        }
+        else {
+            return super.matchedReadFrom(in, type);
+        }
+    }
+
     private static <T> Optional<Method> getParseFromMethod(final Class<T> type) {
-        return typeMethods.computeIfAbsent(type, key -> {
+        return getParseFromMethod(typeMethods, type, byte[].class);
+    }
+
+    private static <T> Optional<Method> getParseFromMethod(final Map<Class<?>, Optional<Method>> methods,
+                                                           final Class<T> type,
+                                                           final Class<?> parameterType) {
+        return methods.computeIfAbsent(type, key -> {
             try {
-                return Optional.of(key.getDeclaredMethod("parseFrom", byte[].class));
+                return Optional.of(key.getDeclaredMethod("parseFrom", parameterType));
             }
             catch (final NoSuchMethodException e) {
                 return Optional.empty();
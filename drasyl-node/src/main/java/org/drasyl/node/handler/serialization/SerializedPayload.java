@@ -23,6 +23,7 @@ package org.drasyl.node.handler.serialization;
 
 import com.google.auto.value.AutoValue;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.drasyl.handler.remote.protocol.InvalidMessageFormatException;
 import org.drasyl.util.ImmutableByteArray;
 import org.drasyl.util.UnsignedShort;
@@ -48,35 +49,57 @@ public abstract class SerializedPayload {
      * @param byteBuf writes this message to the given buffer
      */
     public void writeTo(final ByteBuf byteBuf) {
-        if (getType() == null) {
-            byteBuf.writeBytes(UnsignedShort.of(0).toBytes())
-                    .writeBytes(getPayload().getArray());
+        writeType(getType(), byteBuf);
+        byteBuf.writeBytes(getPayload().getArray());
+    }
+
+    /**
+     * Writes only the {@code type} header to {@code byteBuf}. The payload can then be written
+     * directly to the buffer.
+     *
+     * @param type    type of the payload
+     * @param byteBuf writes the header to the given buffer
+     */
+    public static void writeType(final String type, final ByteBuf byteBuf) {
+        if (type == null) {
+            byteBuf.writeBytes(UnsignedShort.of(0).toBytes());
         }
         else {
-            byteBuf.writeBytes(UnsignedShort.of(getType().length()).toBytes());
-            byteBuf.writeCharSequence(getType(), UTF_8);
-            byteBuf.writeBytes(getPayload().getArray());
+            byteBuf.writeBytes(UnsignedShort.of(ByteBufUtil.utf8Bytes(type)).toBytes());
+            byteBuf.writeCharSequence(type, UTF_8);
         }
     }
 
-    public static SerializedPayload of(final String type, final ImmutableByteArray payload) {
-        return new AutoValue_SerializedPayload(type, payload);
-    }
-
-    public static SerializedPayload of(final ByteBuf byteBuf) throws InvalidMessageFormatException {
+    /**
+     * Reads only the type header from {@code byteBuf}. Afterwards, the buffer's readable bytes
+     * contain the payload.
+     *
+     * @param byteBuf reads the header from the given buffer
+     * @return type of the payload
+     * @throws InvalidMessageFormatException if {@code byteBuf} does not contain a header
+     */
+    @Nullable
+    public static String readType(final ByteBuf byteBuf) throws InvalidMessageFormatException {
         if (byteBuf.readableBytes() < MIN_LENGTH) {
             throw new InvalidMessageFormatException("SerializedPayload requires " + MIN_LENGTH + " readable bytes. Only " + byteBuf.readableBytes() + " left.");
         }
 
-        final int stringLength;
-        String type = null;
-        final byte[] payload;
-
-        stringLength = byteBuf.readUnsignedShort();
+        final int stringLength = byteBuf.readUnsignedShort();
         if (stringLength > 0) {
-            type = byteBuf.readCharSequence(stringLength, UTF_8).toString();
+            return byteBuf.readCharSequence(stringLength, UTF_8).toString();
         }
-        payload = new byte[byteBuf.readableBytes()];
+        else {
+            return null;
+        }
+    }
+
+    public static SerializedPayload of(final String type, final ImmutableByteArray payload) {
+        return new AutoValue_SerializedPayload(type, payload);
+    }
+
+    public static SerializedPayload of(final ByteBuf byteBuf) throws InvalidMessageFormatException {
+        final String type = readType(byteBuf);
+        final byte[] payload = new byte[byteBuf.readableBytes()];
         byteBuf.readBytes(payload);
 
         return of(type, ImmutableByteArray.of(payload));
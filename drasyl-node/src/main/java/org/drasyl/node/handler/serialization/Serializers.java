@@ -34,6 +34,7 @@ public final class Serializers {
     public static final String SERIALIZER_PRIMITIVE_LONG = "primitive-long";
     public static final String SERIALIZER_PRIMITIVE_SHORT = "primitive-short";
     public static final String SERIALIZER_BYTES = "bytes";
+    public static final String SERIALIZER_BYTE_BUF = "bytebuf";
     public static final String SERIALIZER_STRING = "string";
     public static final String SERIALIZER_JAVA = "java";
     public static final String SERIALIZER_JACKSON_JSON = "jackson-json";
@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.IOException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
@@ -44,4 +46,19 @@ public class ShortSerializer extends BoundedSerializer<Short> {
             throw new IOException(e);
         }
     }
+
+    @Override
+    void matchedWriteTo(final Short o, final ByteBuf out) {
+        out.writeShort(o);
+    }
+
+    @Override
+    Short matchedReadFrom(final ByteBuf in, final Class<Short> type) throws IOException {
+        if (in.readableBytes() >= Short.BYTES) {
+            return in.readShort();
+        }
+        else {
+            throw new IOException("bytes must have a length of at least " + Short.BYTES);
+        }
+    }
 }
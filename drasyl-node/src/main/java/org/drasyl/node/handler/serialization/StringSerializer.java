@@ -21,6 +21,8 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -37,4 +39,14 @@ public class StringSerializer extends BoundedSerializer<String> {
                                 final Class<String> type) {
         return new String(bytes, UTF_8);
     }
+
+    @Override
+    void matchedWriteTo(final String o, final ByteBuf out) {
+        out.writeCharSequence(o, UTF_8);
+    }
+
+    @Override
+    String matchedReadFrom(final ByteBuf in, final Class<String> type) {
+        return in.readCharSequence(in.readableBytes(), UTF_8).toString();
+    }
 }
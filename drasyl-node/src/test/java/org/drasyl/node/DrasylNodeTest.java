@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020-2023 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.drasyl.channel.DrasylServerChannel;
+import org.drasyl.node.event.Event;
+import org.drasyl.node.event.MessageEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static test.util.IdentityTestUtil.ID_1;
+import static test.util.IdentityTestUtil.ID_2;
+
+@ExtendWith(MockitoExtension.class)
+class DrasylNodeTest {
+    @Mock
+    private ServerBootstrap bootstrap;
+    @Mock
+    private ChannelFuture channelFuture;
+    @Mock
+    private DrasylServerChannel serverChannel;
+    private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+
+    private DrasylNode newNode(final ChannelFuture channelFuture) {
+        return new DrasylNode(ID_1, bootstrap, channelFuture, null) {
+            @Override
+            public void onEvent(final Event event) {
+                events.add(event);
+            }
+        };
+    }
+
+    @Nested
+    class SendAndForget {
+        private EventLoop eventLoop;
+
+        @BeforeEach
+        void setUp() {
+            eventLoop = new DefaultEventLoop();
+            when(channelFuture.channel()).thenReturn(serverChannel);
+            when(serverChannel.isOpen()).thenReturn(true);
+        }
+
+        @AfterEach
+        void tearDown() {
+            eventLoop.shutdownGracefully();
+        }
+
+        @Test
+        void shouldWriteMessagesOnceChannelHasBeenServed() {
+            final EmbeddedChannel channel = new EmbeddedChannel();
+            final ChannelPromise promise = channel.newPromise();
+            when(serverChannel.serve(ID_2.getAddress())).thenReturn(promise);
+            final DrasylNode node = newNode(channelFuture);
+
+            final List<Object> payloads = new ArrayList<>(List.of("Hello", "World"));
+            node.sendBatch(ID_2.getAddress(), payloads);
+            // caller reuses its list
+            payloads.clear();
+            promise.setSuccess();
+
+            assertEquals("Hello", channel.readOutbound());
+            assertEquals("World", channel.readOutbound());
+            assertNull(channel.readOutbound());
+        }
+
+        @Test
+        void shouldCopyMessagesIfServedChannelBelongsToAnotherThread(@Mock(answer = RETURNS_DEEP_STUBS) final Channel channel) {
+            when(channel.eventLoop()).thenReturn(eventLoop);
+            when(serverChannel.serve(ID_2.getAddress())).thenReturn(new DefaultChannelPromise(channel, eventLoop).setSuccess());
+            final DrasylNode node = newNode(channelFuture);
+
+            final List<Object> payloads = new ArrayList<>(List.of("Hello", "World"));
+            node.sendBatch(ID_2.getAddress(), payloads);
+            // caller reuses its list while the listener is still pending on the channel's event loop
+            payloads.clear();
+
+            verify(channel, timeout(5_000)).flush();
+            final InOrder inOrder = inOrder(channel);
+            inOrder.verify(channel).write(eq("Hello"), any());
+            inOrder.verify(channel).write(eq("World"), any());
+            inOrder.verify(channel).flush();
+        }
+
+        @Test
+        void shouldReuseCachedChannel() {
+            final EmbeddedChannel channel = new EmbeddedChannel();
+            when(serverChannel.serve(ID_2.getAddress())).thenReturn(channel.newSucceededFuture());
+            final DrasylNode node = newNode(channelFuture);
+
+            node.sendAndForget(ID_2.getAddress(), "Hello");
+            node.sendAndForget(ID_2.getAddress(), "World");
+            node.sendBatch(ID_2.getAddress(), List.of("Again"));
+
+            verify(serverChannel).serve(ID_2.getAddress());
+            assertEquals("Hello", channel.readOutbound());
+            assertEquals("World", channel.readOutbound());
+            assertEquals("Again", channel.readOutbound());
+        }
+
+        @Test
+        void shouldServeNewChannelIfCachedChannelHasBeenClosed() {
+            final EmbeddedChannel closedChannel = new EmbeddedChannel();
+            final EmbeddedChannel channel = new EmbeddedChannel();
+            when(serverChannel.serve(ID_2.getAddress())).thenReturn(closedChannel.newSucceededFuture(), channel.newSucceededFuture());
+            final DrasylNode node = newNode(channelFuture);
+
+            node.sendAndForget(ID_2.getAddress(), "Hello");
+            closedChannel.close();
+            node.sendAndForget(ID_2.getAddress(), "World");
+
+            verify(serverChannel, times(2)).serve(ID_2.getAddress());
+            assertEquals("Hello", closedChannel.readOutbound());
+            assertEquals("World", channel.readOutbound());
+        }
+
+        @Test
+        void shouldReleaseMessagesIfChannelCannotBeServed() {
+            final EmbeddedChannel channel = new EmbeddedChannel();
+            when(serverChannel.serve(ID_2.getAddress())).thenReturn(channel.newFailedFuture(new Exception("closed")));
+            final DrasylNode node = newNode(channelFuture);
+
+            final ByteBuf payload1 = Unpooled.buffer();
+            final ByteBuf payload2 = Unpooled.buffer();
+            node.sendBatch(ID_2.getAddress(), List.of(payload1, payload2));
+
+            assertEquals(0, payload1.refCnt());
+            assertEquals(0, payload2.refCnt());
+            assertNull(channel.readOutbound());
+        }
+
+        @Test
+        void shouldReleaseMessagesAddressedToUsIfEventLoopRejectsThem() {
+            eventLoop.shutdownGracefully(0, 0, SECONDS).syncUninterruptibly();
+            when(serverChannel.eventLoop()).thenReturn(eventLoop);
+            final DrasylNode node = newNode(channelFuture);
+
+            final ByteBuf payload = Unpooled.buffer();
+            node.sendAndForget(ID_1.getAddress(), payload);
+
+            assertEquals(0, payload.refCnt());
+        }
+
+        @Test
+        void shouldPassMessagesAddressedToUsToOnEvent() throws InterruptedException {
+            when(serverChannel.eventLoop()).thenReturn(eventLoop);
+            final DrasylNode node = newNode(channelFuture);
+
+            node.sendAndForget(ID_1.getAddress(), "Hello");
+            node.sendBatch(ID_1.getAddress(), List.of("World"));
+
+            assertEquals(MessageEvent.of(ID_1.getIdentityPublicKey(), "Hello"), events.poll(5, SECONDS));
+            assertEquals(MessageEvent.of(ID_1.getIdentityPublicKey(), "World"), events.poll(5, SECONDS));
+        }
+    }
+
+    @Nested
+    class SendAndForgetWithoutStartedNode {
+        @Test
+        void shouldThrowExceptionIfNodeHasNotBeenStarted() {
+            final DrasylNode node = newNode(null);
+
+            assertThrows(IllegalStateException.class, () -> node.sendAndForget(ID_2.getAddress(), "Hello"));
+            assertThrows(IllegalStateException.class, () -> node.sendBatch(ID_2.getAddress(), List.of("Hello")));
+        }
+
+        @Test
+        void shouldThrowExceptionIfServerChannelHasBeenClosed() {
+            when(channelFuture.channel()).thenReturn(serverChannel);
+            final DrasylNode node = newNode(channelFuture);
+
+            assertThrows(IllegalStateException.class, () -> node.sendAndForget(ID_2.getAddress(), "Hello"));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.event.dispatch;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.drasyl.node.event.Event;
+import org.drasyl.node.event.MessageEvent;
+import org.drasyl.node.event.NodeOfflineEvent;
+import org.drasyl.node.event.NodeUpEvent;
+import org.drasyl.node.event.dispatch.EventDispatcher.OverflowPolicy;
+import org.drasyl.node.event.dispatch.RingBufferEventDispatcherTest.BlockingConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static test.util.IdentityTestUtil.ID_1;
+
+class PerSenderEventDispatcherTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Nested
+    class Dispatch {
+        @Test
+        void shouldDeliverEventsOfSameKeyInOrder() throws InterruptedException {
+            final List<Event> delivered = new CopyOnWriteArrayList<>();
+            final CountDownLatch latch = new CountDownLatch(200);
+            final PerSenderEventDispatcher dispatcher = new PerSenderEventDispatcher(e -> {
+                delivered.add(e);
+                latch.countDown();
+            }, executor, 16, OverflowPolicy.BLOCK);
+
+            final Event[] events = new Event[200];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = mock(Event.class);
+                dispatcher.dispatch("key", events[i]);
+            }
+
+            assertTrue(latch.await(5, SECONDS));
+            assertEquals(List.of(events), delivered);
+            assertEquals(200, dispatcher.deliveredEvents());
+            assertEquals(0, dispatcher.queueDepth());
+        }
+
+        @Test
+        void shouldNotBlockOtherKeysBySlowConsumer() throws InterruptedException {
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch otherDelivered = new CountDownLatch(1);
+            final Event slow = mock(Event.class);
+            final Event other = mock(Event.class);
+            final PerSenderEventDispatcher dispatcher = new PerSenderEventDispatcher(e -> {
+                if (e == slow) {
+                    try {
+                        release.await();
+                    }
+                    catch (final InterruptedException e1) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                else {
+                    otherDelivered.countDown();
+                }
+            }, executor, 16, OverflowPolicy.BLOCK);
+
+            dispatcher.dispatch("slow", slow);
+            dispatcher.dispatch("other", other);
+
+            try {
+                assertTrue(otherDelivered.await(5, SECONDS));
+            }
+            finally {
+                release.countDown();
+            }
+        }
+
+        @Test
+        void shouldDropNewestEventsWhenFull() throws InterruptedException {
+            final BlockingConsumer consumer = new BlockingConsumer();
+            final PerSenderEventDispatcher dispatcher = new PerSenderEventDispatcher(consumer, executor, 2, OverflowPolicy.DROP_NEWEST);
+            final Event first = mock(Event.class);
+            dispatcher.dispatch("key", first);
+            assertTrue(consumer.entered.await(5, SECONDS));
+
+            final Event second = mock(Event.class);
+            final Event third = mock(Event.class);
+            dispatcher.dispatch("key", second);
+            dispatcher.dispatch("key", third);
+            dispatcher.dispatch("key", mock(Event.class));
+
+            assertEquals(2, dispatcher.queueDepth());
+            assertEquals(1, dispatcher.droppedEvents());
+
+            consumer.release.countDown();
+            consumer.awaitDeliveries(3);
+            assertEquals(List.of(first, second, third), consumer.delivered);
+        }
+
+        @Test
+        void shouldDropOldestEventsWhenFull() throws InterruptedException {
+            final BlockingConsumer consumer = new BlockingConsumer();
+            final PerSenderEventDispatcher dispatcher = new PerSenderEventDispatcher(consumer, executor, 2, OverflowPolicy.DROP_OLDEST);
+            final Event first = mock(Event.class);
+            dispatcher.dispatch("key", first);
+            assertTrue(consumer.entered.await(5, SECONDS));
+
+            dispatcher.dispatch("key", mock(Event.class));
+            final Event third = mock(Event.class);
+            final Event fourth = mock(Event.class);
+            dispatcher.dispatch("key", third);
+            dispatcher.dispatch("key", fourth);
+
+            assertEquals(2, dispatcher.queueDepth());
+            assertEquals(1, dispatcher.droppedEvents());
+
+            consumer.release.countDown();
+            consumer.awaitDeliveries(3);
+            assertEquals(List.of(first, third, fourth), consumer.delivered);
+        }
+
+        @Test
+        void shouldQueueNodeEventsEvenIfFull() throws InterruptedException {
+            final BlockingConsumer consumer = new BlockingConsumer();
+            final PerSenderEventDispatcher dispatcher = new PerSenderEventDispatcher(consumer, executor, 2, OverflowPolicy.DROP_NEWEST);
+            final Event first = mock(Event.class);
+            dispatcher.dispatch("key", first);
+            assertTrue(consumer.entered.await(5, SECONDS));
+
+            final Event second = mock(Event.class);
+            final Event third = mock(Event.class);
+            final Event nodeOffline = mock(NodeOfflineEvent.class);
+            dispatcher.dispatch("key", second);
+            dispatcher.dispatch("key", third);
+            dispatcher.dispatch("key", nodeOffline);
+
+            assertEquals(3, dispatcher.queueDepth());
+            assertEquals(0, dispatcher.droppedEvents());
+
+            consumer.release.countDown();
+            consumer.awaitDeliveries(4);
+            assertEquals(List.of(first, second, third, nodeOffline), consumer.delivered);
+        }
+
+        @Test
+        void shouldDropOldestEventThatIsNoNodeEvent() throws InterruptedException {
+            final BlockingConsumer consumer = new BlockingConsumer();
+            final PerSenderEventDispatcher dispatcher = new PerSenderEventDispatcher(consumer, executor, 2, OverflowPolicy.DROP_OLDEST);
+            final Event first = mock(Event.class);
+            dispatcher.dispatch("key", first);
+            assertTrue(consumer.entered.await(5, SECONDS));
+
+            final Event nodeUp = mock(NodeUpEvent.class);
+            final Event third = mock(Event.class);
+            dispatcher.dispatch("key", nodeUp);
+            dispatcher.dispatch("key", mock(Event.class));
+            dispatcher.dispatch("key", third);
+
+            assertEquals(2, dispatcher.queueDepth());
+            assertEquals(1, dispatcher.droppedEvents());
+
+            consumer.release.countDown();
+            consumer.awaitDeliveries(3);
+            assertEquals(List.of(first, nodeUp, third), consumer.delivered);
+        }
+
+        @Test
+        void shouldDropAndReleaseEventsRejectedByExecutor() {
+            final List<Event> delivered = new CopyOnWriteArrayList<>();
+            final PerSenderEventDispatcher dispatcher = new PerSenderEventDispatcher(delivered::add, command -> {
+                throw new RejectedExecutionException();
+            }, 16, OverflowPolicy.BLOCK);
+            final ByteBuf payload = Unpooled.buffer();
+
+            dispatcher.dispatch("key", MessageEvent.of(ID_1.getIdentityPublicKey(), payload));
+            dispatcher.dispatch("key", mock(Event.class));
+
+            assertEquals(0, payload.refCnt());
+            assertEquals(2, dispatcher.droppedEvents());
+            assertEquals(0, dispatcher.queueDepth());
+            assertTrue(delivered.isEmpty());
+        }
+
+        @Test
+        void shouldDeliverEventsAgainOnceExecutorAcceptsTasks() throws InterruptedException {
+            final AtomicBoolean reject = new AtomicBoolean(true);
+            final List<Event> delivered = new CopyOnWriteArrayList<>();
+            final CountDownLatch latch = new CountDownLatch(1);
+            final PerSenderEventDispatcher dispatcher = new PerSenderEventDispatcher(e -> {
+                delivered.add(e);
+                latch.countDown();
+            }, command -> {
+                if (reject.get()) {
+                    throw new RejectedExecutionException();
+                }
+                executor.execute(command);
+            }, 16, OverflowPolicy.BLOCK);
+
+            dispatcher.dispatch("key", mock(Event.class));
+            reject.set(false);
+            final Event event = mock(Event.class);
+            dispatcher.dispatch("key", event);
+
+            assertTrue(latch.await(5, SECONDS));
+            assertEquals(List.of(event), delivered);
+        }
+    }
+}
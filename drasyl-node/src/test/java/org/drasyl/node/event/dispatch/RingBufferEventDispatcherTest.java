@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.event.dispatch;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.drasyl.node.event.Event;
+import org.drasyl.node.event.MessageEvent;
+import org.drasyl.node.event.NodeUpEvent;
+import org.drasyl.node.event.dispatch.EventDispatcher.OverflowPolicy;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static test.util.IdentityTestUtil.ID_1;
+
+@ExtendWith(MockitoExtension.class)
+class RingBufferEventDispatcherTest {
+    @Nested
+    class Dispatch {
+        @Test
+        void shouldDeliverEventsInOrder() throws InterruptedException {
+            final List<Event> delivered = new CopyOnWriteArrayList<>();
+            final CountDownLatch latch = new CountDownLatch(100);
+            final RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(e -> {
+                delivered.add(e);
+                latch.countDown();
+            }, 16, OverflowPolicy.BLOCK);
+
+            final Event[] events = new Event[100];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = mock(Event.class);
+                dispatcher.dispatch("key", events[i]);
+            }
+
+            assertTrue(latch.await(5, SECONDS));
+            assertEquals(List.of(events), delivered);
+            assertEquals(100, dispatcher.deliveredEvents());
+            assertEquals(0, dispatcher.droppedEvents());
+        }
+
+        @Test
+        void shouldDropNewestEventsWhenFull() throws InterruptedException {
+            final BlockingConsumer consumer = new BlockingConsumer();
+            final RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(consumer, 4, OverflowPolicy.DROP_NEWEST);
+            final Event first = mock(Event.class);
+            dispatcher.dispatch("key", first);
+            assertTrue(consumer.entered.await(5, SECONDS));
+
+            final Event[] queued = new Event[4];
+            for (int i = 0; i < queued.length; i++) {
+                queued[i] = mock(Event.class);
+                dispatcher.dispatch("key", queued[i]);
+            }
+            dispatcher.dispatch("key", mock(Event.class));
+            dispatcher.dispatch("key", mock(Event.class));
+
+            assertEquals(4, dispatcher.queueDepth());
+            assertEquals(2, dispatcher.droppedEvents());
+
+            consumer.release.countDown();
+            consumer.awaitDeliveries(5);
+            assertEquals(List.of(first, queued[0], queued[1], queued[2], queued[3]), consumer.delivered);
+        }
+
+        @Test
+        void shouldDropOldestEventsWhenFull() throws InterruptedException {
+            final BlockingConsumer consumer = new BlockingConsumer();
+            final RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(consumer, 4, OverflowPolicy.DROP_OLDEST);
+            final Event first = mock(Event.class);
+            dispatcher.dispatch("key", first);
+            assertTrue(consumer.entered.await(5, SECONDS));
+
+            final Event[] queued = new Event[6];
+            for (int i = 0; i < queued.length; i++) {
+                queued[i] = mock(Event.class);
+                dispatcher.dispatch("key", queued[i]);
+            }
+
+            assertEquals(4, dispatcher.queueDepth());
+            assertEquals(2, dispatcher.droppedEvents());
+
+            consumer.release.countDown();
+            consumer.awaitDeliveries(5);
+            assertEquals(List.of(first, queued[2], queued[3], queued[4], queued[5]), consumer.delivered);
+        }
+
+        @Test
+        void shouldReleasePayloadOfDroppedMessageEvents() throws InterruptedException {
+            final BlockingConsumer consumer = new BlockingConsumer();
+            final RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(consumer, 1, OverflowPolicy.DROP_NEWEST);
+            dispatcher.dispatch("key", mock(Event.class));
+            assertTrue(consumer.entered.await(5, SECONDS));
+            dispatcher.dispatch("key", mock(Event.class));
+
+            final ByteBuf payload = Unpooled.buffer();
+            dispatcher.dispatch("key", MessageEvent.of(ID_1.getAddress(), payload));
+
+            assertEquals(1, dispatcher.droppedEvents());
+            assertEquals(0, payload.refCnt());
+            consumer.release.countDown();
+        }
+
+        @Test
+        void shouldNotDropNodeEvents() throws InterruptedException {
+            final BlockingConsumer consumer = new BlockingConsumer();
+            final RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(consumer, 4, OverflowPolicy.DROP_OLDEST);
+            final Event first = mock(Event.class);
+            dispatcher.dispatch("key", first);
+            assertTrue(consumer.entered.await(5, SECONDS));
+
+            final Event nodeUp = mock(NodeUpEvent.class);
+            dispatcher.dispatch("key", nodeUp);
+            final Event[] queued = new Event[3];
+            for (int i = 0; i < queued.length; i++) {
+                queued[i] = mock(Event.class);
+                dispatcher.dispatch("key", queued[i]);
+            }
+            // oldest event is a node event, so the new event is dropped instead
+            dispatcher.dispatch("key", mock(Event.class));
+
+            assertEquals(4, dispatcher.queueDepth());
+            assertEquals(1, dispatcher.droppedEvents());
+
+            consumer.release.countDown();
+            consumer.awaitDeliveries(5);
+            assertEquals(List.of(first, nodeUp, queued[0], queued[1], queued[2]), consumer.delivered);
+        }
+
+        @Test
+        void shouldKeepDeliveringWhenConsumerFails() throws InterruptedException {
+            final CountDownLatch latch = new CountDownLatch(2);
+            final RingBufferEventDispatcher dispatcher = new RingBufferEventDispatcher(e -> {
+                latch.countDown();
+                throw new IllegalStateException();
+            }, 4, OverflowPolicy.BLOCK);
+
+            dispatcher.dispatch("key", mock(Event.class));
+            dispatcher.dispatch("key", mock(Event.class));
+
+            assertTrue(latch.await(5, SECONDS));
+        }
+    }
+
+    static class BlockingConsumer implements Consumer<Event> {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Event> delivered = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void accept(final Event event) {
+            entered.countDown();
+            try {
+                release.await();
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(event);
+        }
+
+        void awaitDeliveries(final int count) throws InterruptedException {
+            for (int i = 0; i < 500 && delivered.size() < count; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, delivered.size());
+        }
+    }
+}
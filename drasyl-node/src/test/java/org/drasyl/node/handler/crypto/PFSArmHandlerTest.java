@@ -44,12 +44,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import test.util.IdentityTestUtil;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.drasyl.crypto.sodium.DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -106,7 +112,7 @@ class PFSArmHandlerTest {
 
             when(session.getCurrentActiveAgreement()).thenReturn(actualAgreement);
             when(actualAgreement.getValue()).thenReturn(Optional.of(agreement));
-            when(crypto.encrypt(any(), any(), any(), any())).thenReturn(enc);
+            doAnswer(invocation -> invocation.<ByteBuf>getArgument(0).clear().writeBytes(enc)).when(crypto).encryptInPlace(any(), any(), any(), any());
 
             final PFSArmHandler handler = new PFSArmHandler(crypto, IdentityTestUtil.ID_1, IdentityTestUtil.ID_2.getIdentityPublicKey(), session, System::currentTimeMillis, sessionRetryInterval, PFSArmHandler.State.PFS);
             final EmbeddedChannel channel = new EmbeddedChannel(handler);
@@ -156,8 +162,6 @@ class PFSArmHandlerTest {
             when(session.getLongTimeAgreement()).thenReturn(agreement);
             when(agreement.getAgreementId()).thenReturn(agreementId);
             when(agreement.getSessionPair()).thenReturn(sessionPair);
-            when(crypto.decrypt(any(), any(), any(), any())).thenReturn(ByteBufUtil.getBytes(byteBuf));
-            when(crypto.encrypt(any(), any(), any(), any())).thenReturn(new byte[0]);
 
             final PFSArmHandler handler = new PFSArmHandler(crypto, IdentityTestUtil.ID_1, IdentityTestUtil.ID_2.getIdentityPublicKey(), session, System::currentTimeMillis, sessionRetryInterval, PFSArmHandler.State.LONG_TIME);
             final EmbeddedChannel channel = new EmbeddedChannel(handler);
@@ -202,8 +206,6 @@ class PFSArmHandlerTest {
 
             when(session.getInitializedAgreements().get(any(AgreementId.class))).thenReturn(agreement);
             when(agreement.getSessionPair()).thenReturn(sessionPair);
-            when(crypto.decrypt(any(), any(), any(), any())).thenReturn(ByteBufUtil.getBytes(byteBuf));
-            when(crypto.encrypt(any(), any(), any(), any())).thenReturn(new byte[0]);
 
             final PFSArmHandler handler = new PFSArmHandler(crypto, IdentityTestUtil.ID_1, IdentityTestUtil.ID_2.getIdentityPublicKey(), session, System::currentTimeMillis, sessionRetryInterval, PFSArmHandler.State.LONG_TIME);
             final EmbeddedChannel channel = new EmbeddedChannel(handler);
@@ -297,4 +299,123 @@ class PFSArmHandlerTest {
             }
         }
     }
+
+    @Nested
+    class CryptoOffload {
+        @Test
+        void shouldPassOnMessagesInOrderEvenIfTasksCompleteOutOfOrder() throws CryptoException {
+            final List<Runnable> senderTasks = new ArrayList<>();
+            final List<Runnable> recipientTasks = new ArrayList<>();
+            final PFSArmHandler sender = new PFSArmHandler(Crypto.INSTANCE, sessionExpireTime, sessionRetryInterval, maxAgreements, IdentityTestUtil.ID_1, IdentityTestUtil.ID_2.getIdentityPublicKey(), senderTasks::add, 64);
+            final PFSArmHandler recipient = new PFSArmHandler(Crypto.INSTANCE, sessionExpireTime, sessionRetryInterval, maxAgreements, IdentityTestUtil.ID_2, IdentityTestUtil.ID_1.getIdentityPublicKey(), recipientTasks::add, 64);
+            final EmbeddedChannel senderChannel = new EmbeddedChannel(sender);
+            final EmbeddedChannel recipientChannel = new EmbeddedChannel(recipient);
+            try {
+                for (int i = 0; i < 3; i++) {
+                    senderChannel.write(Unpooled.buffer().writeInt(i));
+                }
+                senderChannel.flush();
+
+                // nothing is passed on before the tasks have been completed
+                assertEquals(3, senderTasks.size());
+                assertEquals(0, armedApplicationMessages(senderChannel, recipientChannel));
+
+                // complete tasks in reverse order
+                for (int i = senderTasks.size() - 1; i >= 0; i--) {
+                    senderTasks.get(i).run();
+                }
+                senderChannel.runPendingTasks();
+
+                assertEquals(3, armedApplicationMessages(senderChannel, recipientChannel));
+                for (int i = recipientTasks.size() - 1; i >= 0; i--) {
+                    recipientTasks.get(i).run();
+                }
+                recipientChannel.runPendingTasks();
+
+                for (int i = 0; i < 3; i++) {
+                    final ByteBuf actual = recipientChannel.readInbound();
+                    assertEquals(i, actual.readInt());
+                    actual.release();
+                }
+            }
+            finally {
+                senderChannel.checkException();
+                recipientChannel.checkException();
+                senderChannel.releaseOutbound();
+                recipientChannel.releaseOutbound();
+                senderChannel.close();
+                recipientChannel.close();
+            }
+        }
+
+        @Test
+        void shouldArmOnEventLoopIfExecutorRejectsTask() throws CryptoException {
+            final PFSArmHandler handler = new PFSArmHandler(Crypto.INSTANCE, sessionExpireTime, sessionRetryInterval, maxAgreements, IdentityTestUtil.ID_1, IdentityTestUtil.ID_2.getIdentityPublicKey(), task -> {
+                throw new RejectedExecutionException();
+            }, 64);
+            final EmbeddedChannel channel = new EmbeddedChannel(handler);
+            try {
+                channel.writeAndFlush(Unpooled.buffer().writeInt(42));
+
+                final Object actual = channel.readOutbound();
+                assertThat(actual, instanceOf(ArmHeader.class));
+
+                ReferenceCountUtil.release(actual);
+            }
+            finally {
+                channel.checkException();
+                channel.releaseOutbound();
+                channel.close();
+            }
+        }
+
+        @Test
+        void shouldArmOnEventLoopIfMaxPendingTasksIsReached() throws CryptoException {
+            final List<Runnable> tasks = new ArrayList<>();
+            final PFSArmHandler handler = new PFSArmHandler(Crypto.INSTANCE, sessionExpireTime, sessionRetryInterval, maxAgreements, IdentityTestUtil.ID_1, IdentityTestUtil.ID_2.getIdentityPublicKey(), tasks::add, 1);
+            final EmbeddedChannel channel = new EmbeddedChannel(handler);
+            try {
+                channel.write(Unpooled.buffer().writeInt(1));
+                channel.write(Unpooled.buffer().writeInt(2));
+                channel.flush();
+
+                // second message has been armed on the event loop but must wait for the first one
+                assertEquals(1, tasks.size());
+                assertEquals(0, armedApplicationMessages(channel, null));
+
+                tasks.get(0).run();
+                channel.runPendingTasks();
+
+                assertEquals(2, armedApplicationMessages(channel, null));
+            }
+            finally {
+                channel.checkException();
+                channel.releaseOutbound();
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Reads all outbound messages from {@code channel} and passes them to {@code recipient} (if
+     * given). Returns the number of armed application messages carrying an {@code int}. Other
+     * messages are key exchange messages.
+     */
+    private static int armedApplicationMessages(final EmbeddedChannel channel,
+                                                final EmbeddedChannel recipient) {
+        int count = 0;
+        ArmHeader armed;
+        while ((armed = channel.readOutbound()) != null) {
+            if (armed.content().readableBytes() == ArmMessage.LENGTH + Integer.BYTES + XCHACHA20POLY1305_IETF_ABYTES) {
+                count++;
+            }
+            if (recipient != null) {
+                recipient.writeInbound(armed);
+            }
+            else {
+                armed.release();
+            }
+        }
+        return count;
+    }
 }
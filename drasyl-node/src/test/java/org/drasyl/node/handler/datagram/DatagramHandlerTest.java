@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.datagram;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.drasyl.node.DrasylConfig;
+import org.drasyl.node.handler.serialization.MessageSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.drasyl.node.handler.datagram.DatagramHandler.MAGIC_NUMBER;
+import static org.drasyl.node.handler.datagram.DatagramHandler.MAGIC_NUMBER_LENGTH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatagramHandlerTest {
+    private ConnectionLayer connectionLayer;
+
+    @BeforeEach
+    void setUp() {
+        connectionLayer = new ConnectionLayer();
+    }
+
+    private EmbeddedChannel channel(final DatagramHandler handler) {
+        return new EmbeddedChannel(handler.wireHandler(), connectionLayer, handler, handler.selector());
+    }
+
+    @Nested
+    class Write {
+        @Test
+        void shouldBypassConnectionLayerForSelectedMessages() {
+            final EmbeddedChannel channel = channel(new DatagramHandler(Set.of(), 100));
+            try {
+                final ChannelPromise promise = channel.newPromise();
+                channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 }), promise);
+
+                final ByteBuf datagram = channel.readOutbound();
+                assertEquals(MAGIC_NUMBER, datagram.readInt());
+                assertEquals(Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 }), datagram);
+                assertTrue(connectionLayer.writes.isEmpty());
+                assertTrue(promise.isSuccess());
+                datagram.release();
+            }
+            finally {
+                channel.close();
+            }
+        }
+
+        @Test
+        void shouldPassOtherMessagesToConnectionLayer() {
+            final EmbeddedChannel channel = channel(new DatagramHandler(Set.of(String.class), 100));
+            try {
+                final ByteBuf msg = Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 });
+                channel.writeAndFlush(msg);
+
+                assertNull(channel.readOutbound());
+                assertEquals(List.of(msg), connectionLayer.writes);
+            }
+            finally {
+                connectionLayer.release();
+                channel.close();
+            }
+        }
+
+        @Test
+        void shouldPassMessagesExceedingDatagramLengthToConnectionLayer() {
+            final EmbeddedChannel channel = channel(new DatagramHandler(Set.of(), MAGIC_NUMBER_LENGTH + 2));
+            try {
+                final ByteBuf msg = Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 });
+                channel.writeAndFlush(msg);
+
+                assertNull(channel.readOutbound());
+                assertEquals(List.of(msg), connectionLayer.writes);
+            }
+            finally {
+                connectionLayer.release();
+                channel.close();
+            }
+        }
+    }
+
+    @Nested
+    class Read {
+        @Test
+        void shouldBypassConnectionLayerForDatagrams() {
+            final EmbeddedChannel channel = channel(new DatagramHandler(Set.of(), 100));
+            try {
+                channel.writeInbound(Unpooled.buffer().writeInt(MAGIC_NUMBER).writeBytes(new byte[]{ 1, 2, 3 }));
+
+                final ByteBuf msg = channel.readInbound();
+                assertEquals(Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 }), msg);
+                assertTrue(connectionLayer.reads.isEmpty());
+                msg.release();
+            }
+            finally {
+                channel.close();
+            }
+        }
+
+        @Test
+        void shouldPassOtherMessagesToConnectionLayer() {
+            final EmbeddedChannel channel = channel(new DatagramHandler(Set.of(), 100));
+            try {
+                final ByteBuf msg = Unpooled.buffer().writeInt(MAGIC_NUMBER + 1);
+                channel.writeInbound(msg);
+
+                assertNull(channel.readInbound());
+                assertEquals(List.of(msg), connectionLayer.reads);
+            }
+            finally {
+                connectionLayer.release();
+                channel.close();
+            }
+        }
+    }
+
+    @Nested
+    class WithTypeDictionary {
+        private final DrasylConfig config = DrasylConfig.newBuilder().serializationTypeDictionaryEnabled(true).build();
+
+        @Test
+        void shouldDecodeMessagesIfDatagramHasBeenLost() {
+            final DatagramHandler handler = new DatagramHandler(Set.of(), MAGIC_NUMBER_LENGTH + 32);
+            final EmbeddedChannel sender = new EmbeddedChannel(handler.wireHandler(), connectionLayer, handler, new MessageSerializer(config), handler.selector());
+            final EmbeddedChannel receiver = new EmbeddedChannel(new MessageSerializer(config));
+            try {
+                // datagram is lost
+                sender.writeAndFlush("Hello");
+                ((ByteBuf) sender.readOutbound()).release();
+
+                // too large for a datagram, takes the reliable path
+                final String large = "Hello World".repeat(10);
+                sender.writeAndFlush(large);
+                assertEquals(1, connectionLayer.writes.size());
+
+                receiver.writeInbound(connectionLayer.writes.remove(0));
+                assertEquals(large, receiver.readInbound());
+            }
+            finally {
+                connectionLayer.release();
+                sender.close();
+                receiver.close();
+            }
+        }
+
+        @Test
+        void shouldDecodeDatagramsOvertakingReliableMessages() {
+            final DatagramHandler handler = new DatagramHandler(Set.of(), MAGIC_NUMBER_LENGTH + 32);
+            final EmbeddedChannel sender = new EmbeddedChannel(handler.wireHandler(), connectionLayer, handler, new MessageSerializer(config), handler.selector());
+            final EmbeddedChannel receiver = new EmbeddedChannel(new MessageSerializer(config));
+            try {
+                // too large for a datagram. Held back by the connection layer (e.g., waiting for
+                // the handshake)
+                final String large = "Hello World".repeat(10);
+                sender.writeAndFlush(large);
+                sender.writeAndFlush("Hello");
+
+                final ByteBuf datagram = sender.readOutbound();
+                receiver.writeInbound(datagram.skipBytes(MAGIC_NUMBER_LENGTH));
+                receiver.writeInbound(connectionLayer.writes.remove(0));
+
+                assertEquals("Hello", receiver.readInbound());
+                assertEquals(large, receiver.readInbound());
+                // no dictionary reset requested
+                assertNull(receiver.readOutbound());
+            }
+            finally {
+                connectionLayer.release();
+                sender.close();
+                receiver.close();
+            }
+        }
+    }
+
+    /**
+     * Swallows all messages like a connection layer without an established connection.
+     */
+    private static class ConnectionLayer extends ChannelDuplexHandler {
+        final List<Object> writes = new ArrayList<>();
+        final List<Object> reads = new ArrayList<>();
+
+        @Override
+        public void write(final ChannelHandlerContext ctx,
+                          final Object msg,
+                          final ChannelPromise promise) {
+            writes.add(msg);
+        }
+
+        @Override
+        public void flush(final ChannelHandlerContext ctx) {
+            // NOOP
+        }
+
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            reads.add(msg);
+        }
+
+        void release() {
+            writes.forEach(ReferenceCountUtil::release);
+            reads.forEach(ReferenceCountUtil::release);
+        }
+    }
+}
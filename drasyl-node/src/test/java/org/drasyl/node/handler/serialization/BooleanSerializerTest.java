@@ -21,6 +21,9 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -79,4 +82,45 @@ class BooleanSerializerTest {
             assertThrows(IOException.class, () -> serializer.fromByteArray(new byte[]{}, String.class));
         }
     }
+
+    @Nested
+    class WriteTo {
+        @Test
+        void shouldSerializeTrueToCorrectByteBuf() throws IOException {
+            final ByteBuf buf = Unpooled.buffer();
+            try {
+                serializer.writeTo(true, buf);
+
+                assertArrayEquals(new byte[]{ 1 }, ByteBufUtil.getBytes(buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
+
+    @Nested
+    class ReadFrom {
+        @Test
+        void shouldDeserializeFalseByteBufToFalse() throws IOException {
+            final ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{ 0 });
+            try {
+                assertFalse(serializer.readFrom(buf, Boolean.class));
+            }
+            finally {
+                buf.release();
+            }
+        }
+
+        @Test
+        void shouldThrowExceptionForUnexpectedByteBuf() {
+            final ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{ 2 });
+            try {
+                assertThrows(IOException.class, () -> serializer.readFrom(buf, Boolean.class));
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.serialization;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ByteBufPassthroughSerializerTest {
+    private ByteBufPassthroughSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new ByteBufPassthroughSerializer();
+    }
+
+    @Nested
+    class ToByteArray {
+        @Test
+        void shouldSerializeByteBufToByteArray() throws IOException {
+            final ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 });
+            try {
+                assertArrayEquals(new byte[]{ 1, 2, 3 }, serializer.toByteArray(buf));
+                assertEquals(3, buf.readableBytes());
+            }
+            finally {
+                buf.release();
+            }
+        }
+
+        @Test
+        void shouldThrowExceptionForNonByteBuf() {
+            assertThrows(IOException.class, () -> serializer.toByteArray("Hallo Welt"));
+        }
+    }
+
+    @Nested
+    class FromByteArray {
+        @Test
+        void shouldDeserializeByteArrayToByteBuf() throws IOException {
+            final ByteBuf buf = serializer.fromByteArray(new byte[]{ 1, 2, 3 }, ByteBuf.class);
+            try {
+                assertArrayEquals(new byte[]{ 1, 2, 3 }, ByteBufUtil.getBytes(buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
+
+    @Nested
+    class ReadFrom {
+        @Test
+        void shouldReturnRetainedSlice() throws IOException {
+            final ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 });
+            try {
+                final ByteBuf slice = serializer.readFrom(buf, ByteBuf.class);
+
+                assertSame(buf, slice.unwrap());
+                assertEquals(2, buf.refCnt());
+                assertArrayEquals(new byte[]{ 1, 2, 3 }, ByteBufUtil.getBytes(slice));
+                slice.release();
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
+}
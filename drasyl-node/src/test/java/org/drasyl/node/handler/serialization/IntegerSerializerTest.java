@@ -21,6 +21,9 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -76,4 +79,45 @@ class IntegerSerializerTest {
             }, Integer.class));
         }
     }
+
+    @Nested
+    class WriteTo {
+        @Test
+        void shouldSerializeIntegerToByteBuf() throws IOException {
+            final ByteBuf buf = Unpooled.buffer();
+            try {
+                serializer.writeTo(1337, buf);
+
+                assertArrayEquals(new byte[]{ 0, 0, 5, 57 }, ByteBufUtil.getBytes(buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
+
+    @Nested
+    class ReadFrom {
+        @Test
+        void shouldDeserializeByteBufToInteger() throws IOException {
+            final ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{ 0, 0, 5, 57 });
+            try {
+                assertEquals(1337, serializer.readFrom(buf, Integer.class));
+            }
+            finally {
+                buf.release();
+            }
+        }
+
+        @Test
+        void shouldThrowExceptionForInvalidByteBuf() {
+            final ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{ 5, 57 });
+            try {
+                assertThrows(IOException.class, () -> serializer.readFrom(buf, Integer.class));
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
 }
@@ -22,12 +22,17 @@
 package org.drasyl.node.handler.serialization;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.DecoderException;
+import org.drasyl.handler.remote.protocol.InvalidMessageFormatException;
 import org.drasyl.identity.Identity;
+import org.drasyl.node.DrasylConfig;
 import org.drasyl.util.ImmutableByteArray;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -37,6 +42,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import test.util.IdentityTestUtil;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.drasyl.node.Null.NULL;
@@ -45,11 +53,15 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -250,4 +262,252 @@ class MessageSerializerTest {
             channel.checkException();
         }
     }
+
+    @Nested
+    class TypeDictionary {
+        @Test
+        void shouldAnnounceTypeOnlyOnce(@Mock(answer = RETURNS_DEEP_STUBS) final Serialization inboundSerialization,
+                                        @Mock(answer = RETURNS_DEEP_STUBS) final Serialization outboundSerialization) {
+            when(outboundSerialization.findSerializerFor(String.class.getName())).thenReturn(new StringSerializer());
+
+            final EmbeddedChannel channel = new EmbeddedChannel(new MessageSerializer(inboundSerialization, outboundSerialization, true));
+            try {
+                channel.writeAndFlush("Hello World");
+                channel.writeAndFlush("Hello World");
+
+                final ByteBuf announcement = channel.readOutbound();
+                final ByteBuf reference = channel.readOutbound();
+                assertEquals(MessageSerializer.TYPE_ANNOUNCEMENT, announcement.getUnsignedByte(0));
+                assertEquals(MessageSerializer.TYPE_REFERENCE, reference.getUnsignedByte(0));
+                // tag + id + payload
+                assertEquals(1 + 1 + "Hello World".length(), reference.readableBytes());
+
+                announcement.release();
+                reference.release();
+            }
+            finally {
+                channel.checkException();
+                channel.close();
+            }
+        }
+
+        @Test
+        void shouldDecodeAnnouncedAndReferencedTypes() {
+            final Serialization serialization = new Serialization(Map.of("string", new StringSerializer()), Map.of(String.class, "string"));
+            final EmbeddedChannel sender = new EmbeddedChannel(new MessageSerializer(serialization, serialization, true));
+            final EmbeddedChannel receiver = new EmbeddedChannel(new MessageSerializer(serialization, serialization, false));
+            try {
+                sender.writeAndFlush("Hello");
+                sender.writeAndFlush("World");
+
+                receiver.writeInbound((Object) sender.readOutbound());
+                receiver.writeInbound((Object) sender.readOutbound());
+
+                assertEquals("Hello", receiver.readInbound());
+                assertEquals("World", receiver.readInbound());
+            }
+            finally {
+                sender.close();
+                receiver.close();
+            }
+        }
+
+        @Test
+        void shouldResolveSerializerAndClassOnlyOncePerAnnouncedType(@Mock(answer = RETURNS_DEEP_STUBS) final Serialization inboundSerialization,
+                                                                     @Mock(answer = RETURNS_DEEP_STUBS) final Serialization outboundSerialization,
+                                                                     @Mock final ByteBufSerializer serializer) throws IOException {
+            when(inboundSerialization.findSerializerFor(String.class.getName())).thenReturn(serializer);
+            when(serializer.readFrom(any(ByteBuf.class), eq(String.class))).thenReturn("Hello");
+
+            final Serialization serialization = new Serialization(Map.of("string", new StringSerializer()), Map.of(String.class, "string"));
+            final EmbeddedChannel sender = new EmbeddedChannel(new MessageSerializer(serialization, serialization, true));
+            final EmbeddedChannel receiver = new EmbeddedChannel(new MessageSerializer(inboundSerialization, outboundSerialization, false));
+            try {
+                for (int i = 0; i < 3; i++) {
+                    sender.writeAndFlush("Hello");
+                    receiver.writeInbound((Object) sender.readOutbound());
+                    assertEquals("Hello", receiver.readInbound());
+                }
+
+                verify(inboundSerialization).findSerializerFor(anyString());
+                verify(serializer, times(3)).readFrom(any(ByteBuf.class), eq(String.class));
+                verify(serializer, never()).readFrom(any(ByteBuf.class), anyString());
+            }
+            finally {
+                sender.close();
+                receiver.close();
+            }
+        }
+
+        @Test
+        void shouldAskForResetOnUnknownTypeId() {
+            final Serialization serialization = new Serialization(Map.of("string", new StringSerializer()), Map.of(String.class, "string"));
+            final EmbeddedChannel sender = new EmbeddedChannel(new MessageSerializer(serialization, serialization, true));
+            final EmbeddedChannel receiver = new EmbeddedChannel(new MessageSerializer(serialization, serialization, false));
+            try {
+                // announcement is lost
+                sender.writeAndFlush("Hello");
+                ((ByteBuf) sender.readOutbound()).release();
+
+                sender.writeAndFlush("World");
+                assertThrows(DecoderException.class, () -> receiver.writeInbound((Object) sender.readOutbound()));
+                assertNull(receiver.readInbound());
+
+                // reset is passed to sender
+                final ByteBuf reset = receiver.readOutbound();
+                assertEquals(MessageSerializer.TYPE_DICTIONARY_RESET, reset.getUnsignedByte(0));
+                sender.writeInbound(reset);
+
+                // type is announced again
+                sender.writeAndFlush("Again");
+                receiver.writeInbound((Object) sender.readOutbound());
+                assertEquals("Again", receiver.readInbound());
+            }
+            finally {
+                sender.close();
+                receiver.close();
+            }
+        }
+
+        @Test
+        void shouldStillDecodeClassicFormat(@Mock(answer = RETURNS_DEEP_STUBS) final Serialization inboundSerialization,
+                                            @Mock(answer = RETURNS_DEEP_STUBS) final Serialization outboundSerialization) throws IOException {
+            when(inboundSerialization.findSerializerFor(String.class.getName()).fromByteArray(any(), eq(String.class.getName()))).thenReturn("Hallo Welt");
+
+            final EmbeddedChannel channel = new EmbeddedChannel(new MessageSerializer(inboundSerialization, outboundSerialization, true));
+            try {
+                final ByteBuf payload = Unpooled.buffer();
+                SerializedPayload.of(String.class.getName(), ImmutableByteArray.of("Hallo Welt".getBytes(UTF_8))).writeTo(payload);
+                channel.writeInbound(payload);
+
+                assertEquals("Hallo Welt", channel.readInbound());
+            }
+            finally {
+                channel.checkException();
+                channel.close();
+            }
+        }
+
+        @Test
+        void shouldEncodeAndDecodeVarInt() {
+            final ByteBuf buf = Unpooled.buffer();
+            try {
+                for (final int value : new int[]{ 0, 1, 127, 128, 1023, 300_000, Integer.MAX_VALUE }) {
+                    MessageSerializer.writeVarInt(buf, value);
+                    assertEquals(value, MessageSerializer.readVarInt(buf));
+                }
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
+
+    @Nested
+    class ByteBufPassthrough {
+        @Test
+        void shouldFrameOutboundByteBufWithoutCopying(@Mock(answer = RETURNS_DEEP_STUBS) final Serialization inboundSerialization,
+                                                     @Mock(answer = RETURNS_DEEP_STUBS) final Serialization outboundSerialization) throws InvalidMessageFormatException {
+            when(outboundSerialization.findSerializerFor(ByteBuf.class.getName())).thenReturn(new ByteBufPassthroughSerializer());
+
+            final MessageSerializer handler = new MessageSerializer(inboundSerialization, outboundSerialization);
+            final EmbeddedChannel channel = new EmbeddedChannel(handler);
+            try {
+                final byte[] payload = { 1, 2, 3 };
+                channel.writeAndFlush(Unpooled.wrappedBuffer(payload));
+
+                final CompositeByteBuf actual = channel.readOutbound();
+                assertSame(payload, actual.component(1).array());
+                assertEquals(ByteBuf.class.getName(), SerializedPayload.readType(actual));
+                assertEquals(Unpooled.wrappedBuffer(payload), actual);
+
+                actual.release();
+            }
+            finally {
+                channel.checkException();
+                channel.close();
+            }
+        }
+
+        @Test
+        void shouldPassThroughByteBufIfNotBound(@Mock(answer = RETURNS_DEEP_STUBS) final Serialization inboundSerialization,
+                                                @Mock(answer = RETURNS_DEEP_STUBS) final Serialization outboundSerialization) {
+            when(outboundSerialization.findSerializerFor(ByteBuf.class.getName())).thenReturn(null);
+
+            final MessageSerializer handler = new MessageSerializer(inboundSerialization, outboundSerialization);
+            final EmbeddedChannel channel = new EmbeddedChannel(handler);
+            try {
+                final ByteBuf msg = Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 });
+                channel.writeAndFlush(msg);
+
+                assertSame(msg, channel.readOutbound());
+
+                msg.release();
+            }
+            finally {
+                channel.checkException();
+                channel.close();
+            }
+        }
+
+        @Test
+        void shouldPassPreEncodedByteBufToPeerUnchangedByDefault() {
+            final DrasylConfig config = DrasylConfig.of();
+            final EmbeddedChannel sender = new EmbeddedChannel(new MessageSerializer(config));
+            final List<Object> received = new ArrayList<>();
+            final EmbeddedChannel receiver = new EmbeddedChannel(new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                    // decoder placed below the serialization, like the groups plugins do
+                    received.add(msg);
+                }
+            }, new MessageSerializer(config));
+            try {
+                final byte[] encoded = { 0x12, 0x34, 0x56, 0x78, 1, 2, 3 };
+                final ByteBuf msg = Unpooled.wrappedBuffer(encoded);
+                // written by an encoder placed above the serialization
+                sender.writeAndFlush(msg);
+
+                final ByteBuf actual = sender.readOutbound();
+                assertSame(msg, actual);
+                receiver.writeInbound(actual);
+
+                assertEquals(List.of(Unpooled.wrappedBuffer(encoded)), received);
+                ((ByteBuf) received.get(0)).release();
+            }
+            finally {
+                sender.checkException();
+                sender.close();
+                receiver.checkException();
+                receiver.close();
+            }
+        }
+
+        @Test
+        void shouldDeliverInboundByteBufAsRetainedSlice(@Mock(answer = RETURNS_DEEP_STUBS) final Serialization inboundSerialization,
+                                                       @Mock(answer = RETURNS_DEEP_STUBS) final Serialization outboundSerialization) {
+            when(inboundSerialization.findSerializerFor(ByteBuf.class.getName())).thenReturn(new ByteBufPassthroughSerializer());
+
+            final MessageSerializer handler = new MessageSerializer(inboundSerialization, outboundSerialization);
+            final EmbeddedChannel channel = new EmbeddedChannel(handler);
+            try {
+                final ByteBuf msg = Unpooled.buffer();
+                SerializedPayload.writeType(ByteBuf.class.getName(), msg);
+                msg.writeBytes(new byte[]{ 1, 2, 3 });
+                channel.writeInbound(msg);
+
+                final ByteBuf actual = channel.readInbound();
+                assertSame(msg.array(), actual.array());
+                assertEquals(Unpooled.wrappedBuffer(new byte[]{ 1, 2, 3 }), actual);
+                assertEquals(1, msg.refCnt());
+
+                actual.release();
+                assertEquals(0, msg.refCnt());
+            }
+            finally {
+                channel.checkException();
+                channel.close();
+            }
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.serialization;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.StringValue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProtobufSerializerTest {
+    private static final StringValue MESSAGE = StringValue.of("Hallo Welt");
+    private ProtobufSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new ProtobufSerializer();
+    }
+
+    @Nested
+    class ToByteArray {
+        @Test
+        void shouldSerializeMessageToByteArray() throws IOException {
+            assertArrayEquals(MESSAGE.toByteArray(), serializer.toByteArray(MESSAGE));
+        }
+
+        @Test
+        void shouldThrowExceptionForNonMessage() {
+            assertThrows(IOException.class, () -> serializer.toByteArray("Hallo Welt"));
+        }
+    }
+
+    @Nested
+    class FromByteArray {
+        @Test
+        void shouldDeserializeByteArrayToMessage() throws IOException {
+            assertEquals(MESSAGE, serializer.fromByteArray(MESSAGE.toByteArray(), StringValue.class));
+        }
+
+        @Test
+        void shouldThrowExceptionForMessageWithoutParseFromMethod() {
+            assertThrows(IOException.class, () -> serializer.fromByteArray(MESSAGE.toByteArray(), Message.class));
+        }
+    }
+
+    @Nested
+    class WriteTo {
+        @Test
+        void shouldSerializeMessageToHeapByteBuf() throws IOException {
+            final ByteBuf buf = Unpooled.buffer(1);
+            try {
+                serializer.writeTo(MESSAGE, buf);
+
+                assertArrayEquals(MESSAGE.toByteArray(), ByteBufUtil.getBytes(buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
+
+        @Test
+        void shouldSerializeMessageToDirectByteBuf() throws IOException {
+            final ByteBuf buf = Unpooled.directBuffer(1).writeByte(42);
+            try {
+                serializer.writeTo(MESSAGE, buf);
+
+                assertEquals(42, buf.readByte());
+                assertArrayEquals(MESSAGE.toByteArray(), ByteBufUtil.getBytes(buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
+
+    @Nested
+    class ReadFrom {
+        @Test
+        void shouldDeserializeByteBufToMessage() throws IOException {
+            final ByteBuf buf = Unpooled.directBuffer().writeBytes(MESSAGE.toByteArray());
+            try {
+                assertEquals(MESSAGE, serializer.readFrom(buf, StringValue.class));
+                assertEquals(0, buf.readableBytes());
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
+}
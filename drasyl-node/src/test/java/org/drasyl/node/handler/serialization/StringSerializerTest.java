@@ -21,6 +21,9 @@
  */
 package org.drasyl.node.handler.serialization;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -68,4 +71,45 @@ class StringSerializerTest {
             assertThrows(IOException.class, () -> serializer.fromByteArray(new byte[]{}, Integer.class));
         }
     }
+
+    @Nested
+    class WriteTo {
+        @Test
+        void shouldSerializeStringToByteBuf() throws IOException {
+            final ByteBuf buf = Unpooled.buffer();
+            try {
+                serializer.writeTo("Hallo Welt", buf);
+
+                assertArrayEquals("Hallo Welt".getBytes(), ByteBufUtil.getBytes(buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
+
+        @Test
+        void shouldThrowExceptionForNonString() {
+            final ByteBuf buf = Unpooled.buffer();
+            try {
+                assertThrows(IOException.class, () -> serializer.writeTo(1337, buf));
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
+
+    @Nested
+    class ReadFrom {
+        @Test
+        void shouldDeserializeByteBufToString() throws IOException {
+            final ByteBuf buf = Unpooled.wrappedBuffer("Hallo Welt".getBytes());
+            try {
+                assertEquals("Hallo Welt", serializer.readFrom(buf, String.class));
+            }
+            finally {
+                buf.release();
+            }
+        }
+    }
 }
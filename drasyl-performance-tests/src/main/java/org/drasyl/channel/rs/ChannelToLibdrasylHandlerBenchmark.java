@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel.rs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.drasyl.AbstractBenchmark;
+import org.drasyl.channel.rs.RustDrasylServerChannel.ChannelToLibdrasylHandler;
+import org.drasyl.identity.DrasylAddress;
+import org.drasyl.identity.Identity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_1;
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_2;
+
+/**
+ * Compares the preparation of arguments passed to libdrasyl on each send: allocating fresh arrays
+ * for recipient and payload vs. using the recipient array cached by the child channel and the
+ * per-thread staging array. Run with {@link GCProfiler} ({@code -prof gc}): the
+ * {@code gc.alloc.rate.norm} of {@link #staged(Blackhole)} should be 0 B/op.
+ */
+public class ChannelToLibdrasylHandlerBenchmark extends AbstractBenchmark {
+    @Param({ "64", "1024" })
+    private int payloadSize;
+    @Param({ "heap", "direct", "composite" })
+    private String bufferType;
+    private RustDrasylServerChannel parent;
+    private DrasylAddress recipient;
+    private ByteBuf content;
+
+    @Setup
+    public void setup() {
+        final Identity identity = ID_1;
+        recipient = ID_2.getAddress();
+        final Map<DrasylAddress, RustDrasylChannel> channels = new ConcurrentHashMap<>();
+        parent = new RustDrasylServerChannel(RustDrasylServerChannel.State.ACTIVE, channels, identity, null);
+        channels.put(recipient, new RustDrasylChannel(parent, RustDrasylChannel.State.CONNECTED, identity, recipient));
+
+        final PooledByteBufAllocator alloc = PooledByteBufAllocator.DEFAULT;
+        switch (bufferType) {
+            case "heap":
+                content = alloc.heapBuffer(payloadSize).writeZero(payloadSize);
+                break;
+            case "direct":
+                content = alloc.directBuffer(payloadSize).writeZero(payloadSize);
+                break;
+            default:
+                // e.g. length field prepended to payload
+                final CompositeByteBuf composite = alloc.compositeBuffer(2);
+                composite.addComponent(true, alloc.directBuffer(4).writeInt(payloadSize - 4));
+                composite.addComponent(true, alloc.directBuffer(payloadSize - 4).writeZero(payloadSize - 4));
+                content = composite;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        content.release();
+    }
+
+    @Override
+    protected ChainedOptionsBuilder newOptionsBuilder() throws IOException {
+        return super.newOptionsBuilder().addProfiler(GCProfiler.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    public void allocating(final Blackhole blackhole) {
+        blackhole.consume(recipient.toByteArray());
+        blackhole.consume(ByteBufUtil.getBytes(content));
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    public void staged(final Blackhole blackhole) {
+        blackhole.consume(ChannelToLibdrasylHandler.recipientBytes(parent, recipient));
+        blackhole.consume(ChannelToLibdrasylHandler.contentBytes(content));
+    }
+}
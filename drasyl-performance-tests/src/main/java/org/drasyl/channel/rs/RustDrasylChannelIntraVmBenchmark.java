@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.channel.rs;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.drasyl.AbstractBenchmark;
+import org.drasyl.identity.Identity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.INTRA_VM_DISCOVERY_ENABLED;
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.MIN_POW_DIFFICULTY;
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.SUPER_PEERS;
+import static org.drasyl.channel.rs.RustDrasylServerChannelConfig.UDP_PORT;
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_1;
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_2;
+
+/**
+ * Measures how many messages per second can be passed between two {@link RustDrasylChannel}s
+ * living in the same VM.
+ */
+@State(Scope.Benchmark)
+public class RustDrasylChannelIntraVmBenchmark extends AbstractBenchmark {
+    private static final int MESSAGES_PER_FLUSH = 32;
+    // limits the messages in flight to keep the receiver's inbound buffer bounded
+    private static final int MAX_MESSAGES_IN_FLIGHT = 8 * 1024;
+    @Param({ "64", "1024" })
+    private int payloadSize;
+    private EventLoopGroup group;
+    private Channel sender;
+    private Channel receiver;
+    private Channel child;
+    private ByteBuf payload;
+    private final LongAdder messagesReceived = new LongAdder();
+    private long messagesSent;
+
+    @Setup
+    public void setup() {
+        try {
+            group = new NioEventLoopGroup(2);
+            payload = PooledByteBufAllocator.DEFAULT.buffer(payloadSize).writeZero(payloadSize);
+
+            receiver = bind(ID_2, 22_571, ID_1, 22_572, new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(final Channel ch) {
+                    ch.pipeline().addLast(new SimpleChannelInboundHandler<ByteBuf>() {
+                        @Override
+                        protected void channelRead0(final ChannelHandlerContext ctx,
+                                                    final ByteBuf msg) {
+                            messagesReceived.increment();
+                        }
+                    });
+                }
+            });
+            sender = bind(ID_1, 22_572, ID_2, 22_571, new ChannelInboundHandlerAdapter());
+            child = ((RustDrasylServerChannel) sender).serve(ID_2.getAddress()).sync().channel();
+        }
+        catch (final Exception e) {
+            handleUnexpectedException(e);
+        }
+    }
+
+    private Channel bind(final Identity identity,
+                         final int port,
+                         final Identity peer,
+                         final int peerPort,
+                         final ChannelHandler childHandler) throws InterruptedException {
+        return new ServerBootstrap()
+                .group(group, group)
+                .channel(RustDrasylServerChannel.class)
+                .option(UDP_PORT, port)
+                // libdrasyl requires a super peer, it will never be contacted by this benchmark
+                .option(SUPER_PEERS, Map.of(peer.getIdentityPublicKey(), new InetSocketAddress("127.0.0.1", peerPort)))
+                .option(MIN_POW_DIFFICULTY, (byte) 0)
+                .option(INTRA_VM_DISCOVERY_ENABLED, true)
+                .handler(new ChannelInboundHandlerAdapter())
+                .childHandler(childHandler)
+                .bind(identity)
+                .sync()
+                .channel();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sender.close().syncUninterruptibly();
+        receiver.close().syncUninterruptibly();
+        group.shutdownGracefully().syncUninterruptibly();
+        payload.release();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(MESSAGES_PER_FLUSH)
+    public void writeAndFlush() {
+        while (messagesSent - messagesReceived.sum() > MAX_MESSAGES_IN_FLIGHT) {
+            Thread.onSpinWait();
+        }
+
+        for (int i = 0; i < MESSAGES_PER_FLUSH; i++) {
+            child.write(payload.retainedDuplicate(), child.voidPromise());
+        }
+        child.flush();
+        messagesSent += MESSAGES_PER_FLUSH;
+    }
+}
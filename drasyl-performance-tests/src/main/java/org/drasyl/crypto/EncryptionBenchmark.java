@@ -21,7 +21,10 @@
  */
 package org.drasyl.crypto;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.drasyl.AbstractBenchmark;
+import org.drasyl.crypto.sodium.DrasylSodiumWrapper;
 import org.drasyl.crypto.sodium.SessionPair;
 import org.drasyl.handler.remote.protocol.Nonce;
 import org.drasyl.identity.KeyAgreementPublicKey;
@@ -35,6 +38,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
@@ -95,6 +99,20 @@ public class EncryptionBenchmark extends AbstractBenchmark {
         }
     }
 
+    @Benchmark
+    @Threads(Threads.MAX)
+    @BenchmarkMode(Mode.Throughput)
+    public void encryptInPlace(final DirectBufferState state, final Blackhole blackhole) {
+        try {
+            final ByteBuf buf = state.buf.clear().writeBytes(message);
+            Crypto.INSTANCE.encryptInPlace(buf, new byte[0], nonce, sessionAlice);
+            blackhole.consume(buf);
+        }
+        catch (final CryptoException e) {
+            handleUnexpectedException(e);
+        }
+    }
+
     @Benchmark
     @Threads(Threads.MAX)
     @BenchmarkMode(Mode.Throughput)
@@ -106,4 +124,19 @@ public class EncryptionBenchmark extends AbstractBenchmark {
             handleUnexpectedException(e);
         }
     }
+
+    @State(Scope.Thread)
+    public static class DirectBufferState {
+        ByteBuf buf;
+
+        @Setup
+        public void setup(final EncryptionBenchmark benchmark) {
+            buf = Unpooled.directBuffer(benchmark.size + DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES);
+        }
+
+        @TearDown
+        public void teardown() {
+            buf.release();
+        }
+    }
 }
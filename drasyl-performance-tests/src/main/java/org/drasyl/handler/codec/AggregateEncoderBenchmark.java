@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.handler.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.drasyl.AbstractBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures messages/s written to a channel with and without {@link AggregateEncoder}. The sink
+ * mimics the native transport by copying every datagram to a {@code byte[]}.
+ */
+@State(Scope.Benchmark)
+public class AggregateEncoderBenchmark extends AbstractBenchmark {
+    private static final int MESSAGES_PER_FLUSH = 16;
+    private static final int MAX_AGGREGATE_LENGTH = 1312;
+    @Param({ "64", "256", "1024" })
+    private int payloadSize;
+    private Blackhole blackhole;
+    private EmbeddedChannel plainChannel;
+    private EmbeddedChannel aggregateChannel;
+    private ByteBuf payload;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        this.blackhole = blackhole;
+        payload = PooledByteBufAllocator.DEFAULT.buffer(payloadSize).writeZero(payloadSize);
+        plainChannel = new EmbeddedChannel(new DatagramSink());
+        aggregateChannel = new EmbeddedChannel(new DatagramSink(), new AggregateEncoder(MAX_AGGREGATE_LENGTH));
+        plainChannel.config().setAllocator(PooledByteBufAllocator.DEFAULT);
+        aggregateChannel.config().setAllocator(PooledByteBufAllocator.DEFAULT);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        plainChannel.close();
+        aggregateChannel.close();
+        payload.release();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(MESSAGES_PER_FLUSH)
+    public void withoutAggregation() {
+        writeAndFlush(plainChannel);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(MESSAGES_PER_FLUSH)
+    public void withAggregation() {
+        writeAndFlush(aggregateChannel);
+    }
+
+    private void writeAndFlush(final EmbeddedChannel channel) {
+        for (int i = 0; i < MESSAGES_PER_FLUSH; i++) {
+            channel.write(payload.retainedDuplicate(), channel.voidPromise());
+        }
+        channel.flush();
+    }
+
+    private class DatagramSink extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void write(final ChannelHandlerContext ctx,
+                          final Object msg,
+                          final ChannelPromise promise) {
+            final ByteBuf buf = (ByteBuf) msg;
+            blackhole.consume(ByteBufUtil.getBytes(buf));
+            buf.release();
+            promise.trySuccess();
+        }
+    }
+}
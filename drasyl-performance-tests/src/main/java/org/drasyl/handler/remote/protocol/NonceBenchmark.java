@@ -36,10 +36,12 @@ import org.openjdk.jmh.infra.Blackhole;
 public class NonceBenchmark extends AbstractBenchmark {
     @Param({ "true", "false" })
     private boolean pseudorandom;
+    private NonceSequence sequence;
 
     @Setup
     public void setup() {
         System.setProperty("org.drasyl.nonce.pseudorandom", Boolean.toString(pseudorandom));
+        sequence = new NonceSequence();
     }
 
     @Benchmark
@@ -48,4 +50,11 @@ public class NonceBenchmark extends AbstractBenchmark {
     public void randomNonce(final Blackhole blackhole) {
         blackhole.consume(Nonce.randomNonce());
     }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    public void nonceSequence(final Blackhole blackhole) {
+        blackhole.consume(sequence.next());
+    }
 }
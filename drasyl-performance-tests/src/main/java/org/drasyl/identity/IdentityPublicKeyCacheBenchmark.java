@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.identity;
+
+import org.drasyl.AbstractBenchmark;
+import org.drasyl.crypto.HexUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link IdentityPublicKey#of(byte[])}, which synchronizes on the intern pool, with a hit
+ * in {@link IdentityPublicKeyCache} when all available threads convert the same keys.
+ */
+@State(Scope.Benchmark)
+public class IdentityPublicKeyCacheBenchmark extends AbstractBenchmark {
+    private byte[] bytes;
+    private IdentityPublicKeyCache cache;
+
+    @Setup
+    public void setup() {
+        bytes = HexUtil.fromString("18cdb282be8d1293f5040cd620a91aca86a475682e4ddc397deabe300aad9127");
+        cache = new IdentityPublicKeyCache(64);
+        cache.get(bytes);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @BenchmarkMode(Mode.Throughput)
+    public void contendedIntern(final Blackhole blackhole) {
+        blackhole.consume(IdentityPublicKey.of(bytes));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @BenchmarkMode(Mode.Throughput)
+    public void contendedCacheHit(final Blackhole blackhole) {
+        blackhole.consume(cache.get(bytes));
+    }
+}
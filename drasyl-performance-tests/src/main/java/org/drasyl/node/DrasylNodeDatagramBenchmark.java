@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node;
+
+import org.drasyl.AbstractBenchmark;
+import org.drasyl.identity.DrasylAddress;
+import org.drasyl.node.event.Event;
+import org.drasyl.node.event.MessageEvent;
+import org.drasyl.util.internal.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_1;
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_2;
+
+/**
+ * Measures the round-trip time of small messages echoed between two nodes discovering each other
+ * within the JVM, with and without {@code drasyl.channel.datagram.enabled}.
+ */
+@State(Scope.Benchmark)
+public class DrasylNodeDatagramBenchmark extends AbstractBenchmark {
+    private static final byte[] PAYLOAD = new byte[64];
+    private final BlockingQueue<Object> replies = new LinkedBlockingQueue<>();
+    @Param({ "false", "true" })
+    private boolean datagram;
+    private DrasylNode node1;
+    private DrasylNode node2;
+    private DrasylAddress recipient;
+
+    @Setup
+    public void setup() {
+        try {
+            final DrasylConfig config1 = DrasylConfig.newBuilder()
+                    .identity(ID_1)
+                    .intraVmDiscoveryEnabled(true)
+                    .remoteLocalHostDiscoveryEnabled(false)
+                    .remoteEnabled(false)
+                    .channelDatagramEnabled(datagram)
+                    .build();
+            final DrasylConfig config2 = DrasylConfig.newBuilder()
+                    .identity(ID_2)
+                    .intraVmDiscoveryEnabled(true)
+                    .remoteLocalHostDiscoveryEnabled(false)
+                    .remoteEnabled(false)
+                    .channelDatagramEnabled(datagram)
+                    .build();
+
+            node1 = new DrasylNode(config1) {
+                @Override
+                public void onEvent(@NonNull final Event event) {
+                    if (event instanceof MessageEvent) {
+                        replies.add(((MessageEvent) event).getPayload());
+                    }
+                }
+            };
+
+            node2 = new DrasylNode(config2) {
+                @Override
+                public void onEvent(@NonNull final Event event) {
+                    if (event instanceof MessageEvent) {
+                        sendAndForget(((MessageEvent) event).getSender(), ((MessageEvent) event).getPayload());
+                    }
+                }
+            };
+
+            node1.start().toCompletableFuture().join();
+            node2.start().toCompletableFuture().join();
+            recipient = node2.identity().getIdentityPublicKey();
+        }
+        catch (final Exception e) {
+            handleUnexpectedException(e);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        node1.shutdown().toCompletableFuture().join();
+        node2.shutdown().toCompletableFuture().join();
+        DrasylNodeSharedEventLoopGroupHolder.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object roundTrip() throws InterruptedException {
+        Object reply;
+        do {
+            node1.sendAndForget(recipient, PAYLOAD);
+            // datagrams may get lost
+            reply = replies.poll(1, TimeUnit.SECONDS);
+        } while (reply == null);
+        return reply;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node;
+
+import org.drasyl.AbstractBenchmark;
+import org.drasyl.identity.DrasylAddress;
+import org.drasyl.node.event.Event;
+import org.drasyl.node.event.MessageEvent;
+import org.drasyl.util.internal.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_1;
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_2;
+
+/**
+ * Compares {@link DrasylNode#send(DrasylAddress, Object)} with
+ * {@link DrasylNode#sendAndForget(DrasylAddress, Object)} and
+ * {@link DrasylNode#sendBatch(DrasylAddress, Iterable)} for small messages sent between two
+ * nodes discovering each other within the JVM. The sender backs off if more than
+ * {@link #MAX_IN_FLIGHT} messages have not been received yet.
+ */
+@State(Scope.Benchmark)
+public class DrasylNodeSendBenchmark extends AbstractBenchmark {
+    private static final int BATCH_SIZE = 32;
+    private static final int MAX_IN_FLIGHT = 10_000;
+    private static final byte[] PAYLOAD = new byte[64];
+    private final AtomicLong received = new AtomicLong();
+    private long sent;
+    private DrasylNode node1;
+    private DrasylNode node2;
+    private DrasylAddress recipient;
+    private List<byte[]> batch;
+
+    @Setup
+    public void setup() {
+        try {
+            final DrasylConfig config1 = DrasylConfig.newBuilder()
+                    .identity(ID_1)
+                    .intraVmDiscoveryEnabled(true)
+                    .remoteLocalHostDiscoveryEnabled(false)
+                    .remoteEnabled(false)
+                    .build();
+            final DrasylConfig config2 = DrasylConfig.newBuilder()
+                    .identity(ID_2)
+                    .intraVmDiscoveryEnabled(true)
+                    .remoteLocalHostDiscoveryEnabled(false)
+                    .remoteEnabled(false)
+                    .build();
+
+            node1 = new DrasylNode(config1) {
+                @Override
+                public void onEvent(@NonNull final Event event) {
+                }
+            };
+
+            node2 = new DrasylNode(config2) {
+                @Override
+                public void onEvent(@NonNull final Event event) {
+                    if (event instanceof MessageEvent) {
+                        received.incrementAndGet();
+                    }
+                }
+            };
+
+            node1.start().toCompletableFuture().join();
+            node2.start().toCompletableFuture().join();
+            recipient = node2.identity().getIdentityPublicKey();
+            final byte[][] payloads = new byte[BATCH_SIZE][];
+            Arrays.fill(payloads, PAYLOAD);
+            batch = Arrays.asList(payloads);
+
+            // establish the channel
+            node1.send(recipient, PAYLOAD).toCompletableFuture().join();
+            sent = 1;
+        }
+        catch (final Exception e) {
+            handleUnexpectedException(e);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        node1.shutdown().toCompletableFuture().join();
+        node2.shutdown().toCompletableFuture().join();
+        DrasylNodeSharedEventLoopGroupHolder.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    public void send(final Blackhole blackhole) {
+        awaitCapacity(1);
+        blackhole.consume(node1.send(recipient, PAYLOAD));
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    public void sendAndForget() {
+        awaitCapacity(1);
+        node1.sendAndForget(recipient, PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sendBatch() {
+        awaitCapacity(BATCH_SIZE);
+        node1.sendBatch(recipient, batch);
+    }
+
+    private void awaitCapacity(final int messages) {
+        while (sent - received.get() > MAX_IN_FLIGHT) {
+            Thread.yield();
+        }
+        sent += messages;
+    }
+}
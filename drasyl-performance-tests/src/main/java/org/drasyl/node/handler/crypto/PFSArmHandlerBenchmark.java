@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020-2025 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.crypto;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import io.netty.channel.local.LocalChannel;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Promise;
+import org.drasyl.AbstractBenchmark;
+import org.drasyl.crypto.Crypto;
+import org.drasyl.crypto.CryptoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.drasyl.crypto.sodium.DrasylSodiumWrapper.XCHACHA20POLY1305_IETF_ABYTES;
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_1;
+import static org.drasyl.performance.IdentityBenchmarkUtil.ID_2;
+
+/**
+ * Measures messages/s armed by a single {@link PFSArmHandler} with encryption done on the
+ * channel's event loop ({@code cryptoThreads = 0}) or offloaded to a pool with
+ * {@code cryptoThreads} threads.
+ */
+@State(Scope.Benchmark)
+public class PFSArmHandlerBenchmark extends AbstractBenchmark {
+    private static final int MESSAGES_PER_FLUSH = 256;
+    @Param({ "0", "1", "2", "4", "8" })
+    private int cryptoThreads;
+    @Param({ "1432" })
+    private int payloadSize;
+    private ThreadPoolExecutor cryptoExecutor;
+    private EventLoop eventLoop;
+    private Channel channel;
+    private ArmedMessageSink sink;
+    private ByteBuf payload;
+
+    @Setup
+    public void setup() throws CryptoException, InterruptedException {
+        payload = PooledByteBufAllocator.DEFAULT.directBuffer(payloadSize).writeZero(payloadSize);
+        if (cryptoThreads > 0) {
+            cryptoExecutor = new ThreadPoolExecutor(cryptoThreads, cryptoThreads, 0L, MILLISECONDS, new ArrayBlockingQueue<>(MESSAGES_PER_FLUSH), new DefaultThreadFactory("crypto", true));
+        }
+        sink = new ArmedMessageSink(ArmMessage.LENGTH + payloadSize + XCHACHA20POLY1305_IETF_ABYTES);
+        eventLoop = new DefaultEventLoop();
+        // channel is never connected, all messages are consumed by the sink
+        channel = new LocalChannel();
+        channel.config().setAllocator(PooledByteBufAllocator.DEFAULT);
+        channel.pipeline().addLast(sink, new PFSArmHandler(Crypto.INSTANCE, Duration.ofMinutes(30), Duration.ofMinutes(30), 10, ID_1, ID_2.getIdentityPublicKey(), cryptoExecutor, MESSAGES_PER_FLUSH));
+        eventLoop.register(channel).sync();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        channel.close().syncUninterruptibly();
+        eventLoop.shutdownGracefully().syncUninterruptibly();
+        if (cryptoExecutor != null) {
+            cryptoExecutor.shutdown();
+        }
+        payload.release();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(MESSAGES_PER_FLUSH)
+    public void arm() throws InterruptedException {
+        final Promise<Void> allArmed = eventLoop.newPromise();
+        eventLoop.execute(() -> {
+            sink.armed = 0;
+            sink.allArmed = allArmed;
+            for (int i = 0; i < MESSAGES_PER_FLUSH; i++) {
+                channel.write(payload.retainedDuplicate(), channel.voidPromise());
+            }
+            channel.flush();
+        });
+        allArmed.await();
+    }
+
+    private static class ArmedMessageSink extends ChannelOutboundHandlerAdapter {
+        private final int armedLength;
+        int armed;
+        Promise<Void> allArmed;
+
+        ArmedMessageSink(final int armedLength) {
+            this.armedLength = armedLength;
+        }
+
+        @Override
+        public void write(final ChannelHandlerContext ctx,
+                          final Object msg,
+                          final ChannelPromise promise) {
+            // key exchange messages have a different length
+            if (msg instanceof ArmHeader && ((ArmHeader) msg).content().readableBytes() == armedLength && ++armed == MESSAGES_PER_FLUSH) {
+                allArmed.trySuccess(null);
+            }
+            ReferenceCountUtil.release(msg);
+            promise.trySuccess();
+        }
+
+        @Override
+        public void flush(final ChannelHandlerContext ctx) {
+            // NOOP
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020-2021 Heiko Bornholdt and Kevin Röbert
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.drasyl.node.handler.serialization;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.drasyl.AbstractBenchmark;
+import org.drasyl.node.DrasylConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.drasyl.node.handler.serialization.Serializers.SERIALIZER_BYTE_BUF;
+
+/**
+ * Measures encode and decode throughput of {@link MessageSerializer} with and without the type
+ * dictionary. The number of bytes on the wire per message is printed during setup. With
+ * {@code payload=bytebuf} a pooled {@link ByteBuf} is (de)serialized instead of a {@link String}
+ * to measure the copy-free {@link ByteBufPassthroughSerializer}.
+ */
+@State(Scope.Benchmark)
+public class MessageSerializerBenchmark extends AbstractBenchmark {
+    private static final String MESSAGE = "Hello World";
+    private static final int BYTE_BUF_LENGTH = 1024;
+    @Param({ "false", "true" })
+    private boolean typeDictionary;
+    @Param({ "string", "bytebuf" })
+    private String payload;
+    private ByteBuf byteBuf;
+    private Blackhole blackhole;
+    private EmbeddedChannel encodeChannel;
+    private EmbeddedChannel decodeChannel;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        this.blackhole = blackhole;
+        byteBuf = PooledByteBufAllocator.DEFAULT.buffer(BYTE_BUF_LENGTH).writeZero(BYTE_BUF_LENGTH);
+        final DrasylConfig config = DrasylConfig.of();
+        // ByteBuf is not bound by default
+        final Map<Class<?>, String> inboundBindings = new HashMap<>(config.getSerializationsBindingsInbound());
+        inboundBindings.put(ByteBuf.class, SERIALIZER_BYTE_BUF);
+        final Map<Class<?>, String> outboundBindings = new HashMap<>(config.getSerializationsBindingsOutbound());
+        outboundBindings.put(ByteBuf.class, SERIALIZER_BYTE_BUF);
+        final Serialization inbound = new Serialization(config.getSerializationSerializers(), inboundBindings);
+        final Serialization outbound = new Serialization(config.getSerializationSerializers(), outboundBindings);
+
+        encodeChannel = new EmbeddedChannel(new OutboundSink(), new MessageSerializer(inbound, outbound, typeDictionary));
+        encodeChannel.config().setAllocator(PooledByteBufAllocator.DEFAULT);
+        decodeChannel = new EmbeddedChannel(new MessageSerializer(inbound, outbound, typeDictionary), new InboundSink());
+        decodeChannel.config().setAllocator(PooledByteBufAllocator.DEFAULT);
+
+        // first message might contain a type announcement, the following one is what we measure
+        final EmbeddedChannel channel = new EmbeddedChannel(new MessageSerializer(inbound, outbound, typeDictionary));
+        channel.writeAndFlush(message());
+        decodeChannel.writeInbound((Object) channel.readOutbound());
+        channel.writeAndFlush(message());
+        encoded = channel.readOutbound();
+        channel.close();
+
+        System.out.printf("%nBytes per message (typeDictionary=%s, payload=%s): %d%n", typeDictionary, payload, encoded.readableBytes());
+    }
+
+    private Object message() {
+        return "bytebuf".equals(payload) ? byteBuf.retainedDuplicate() : MESSAGE;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        encodeChannel.close();
+        decodeChannel.close();
+        encoded.release();
+        byteBuf.release();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    public void encode() {
+        encodeChannel.writeAndFlush(message(), encodeChannel.voidPromise());
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.Throughput)
+    public void decode() {
+        decodeChannel.pipeline().fireChannelRead(encoded.retainedDuplicate());
+    }
+
+    private class OutboundSink extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void write(final ChannelHandlerContext ctx,
+                          final Object msg,
+                          final ChannelPromise promise) {
+            final ByteBuf buf = (ByteBuf) msg;
+            blackhole.consume(buf.readableBytes());
+            buf.release();
+            promise.trySuccess();
+        }
+    }
+
+    private class InboundSink extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            blackhole.consume(msg);
+            ReferenceCountUtil.release(msg);
+        }
+    }
+}
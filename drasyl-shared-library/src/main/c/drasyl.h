@@ -22,6 +22,7 @@
 #include <stdint.h>
 
 #define IDENTITY_PUBLIC_KEY_LENGTH_AS_STRING    64
+#define IDENTITY_PUBLIC_KEY_LENGTH_AS_BYTES     32
 #define IDENTITY_PRIVATE_KEY_LENGTH_AS_STRING   128
 
 typedef enum {
@@ -103,3 +104,16 @@ typedef struct {
     /** Message payload (only present for message events) */
     char* message_payload;
 } drasyl_event_t;
+
+/** Message received (drasyl_node_poll_events) or to be sent (drasyl_node_send_batch) */
+typedef struct {
+    /** Public key of the sender (received messages) or recipient (messages to be sent) */
+    uint8_t peer[IDENTITY_PUBLIC_KEY_LENGTH_AS_BYTES];
+    /** Length of the message payload */
+    uint32_t payload_len;
+    /**
+     * Message payload. Payloads of received messages remain valid until the next call of
+     * drasyl_node_poll_events by any thread. Therefore, only a single thread should poll.
+     */
+    char* payload;
+} drasyl_message_t;
@@ -21,7 +21,12 @@
  */
 package org.drasyl.node;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
+import io.netty.util.internal.PlatformDependent;
+import org.drasyl.identity.DrasylAddress;
 import org.drasyl.identity.Identity;
 import org.drasyl.identity.IdentityPublicKey;
 import org.drasyl.identity.IdentitySecretKey;
@@ -45,6 +50,7 @@ import org.drasyl.util.logging.Logger;
 import org.drasyl.util.logging.LoggerFactory;
 import org.graalvm.nativeimage.IsolateThread;
 import org.graalvm.nativeimage.StackValue;
+import org.graalvm.nativeimage.UnmanagedMemory;
 import org.graalvm.nativeimage.c.CContext;
 import org.graalvm.nativeimage.c.function.CEntryPoint;
 import org.graalvm.nativeimage.c.function.CFunctionPointer;
@@ -64,7 +70,9 @@ import org.graalvm.word.WordFactory;
 import java.io.File;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -86,6 +94,7 @@ final class LibDrasyl {
     private static final Pattern VERSION_PATTERN = Pattern.compile("^(\\d+).(\\d+).(\\d+)");
     private static final UnsignedWord IDENTITY_PUBLIC_KEY_LENGTH = WordFactory.unsigned(IdentityPublicKey.KEY_LENGTH_AS_STRING);
     private static final UnsignedWord IDENTITY_SECRET_KEY_LENGTH = WordFactory.unsigned(IdentitySecretKey.KEY_LENGTH_AS_STRING);
+    private static final int IDENTITY_PUBLIC_KEY_LENGTH_AS_BYTES = IdentityPublicKey.KEY_LENGTH_AS_BYTES;
     private static final short DRASYL_SUCCESS = 0;
     private static final short DRASYL_ERROR_GENERAL = -1;
 
@@ -117,6 +126,15 @@ final class LibDrasyl {
     private static final short DRASYL_EVENT_INBOUND_EXCEPTION = 40;
     private static DrasylNode node;
     private static boolean online;
+    // message events waiting for drasyl_node_poll_events (null if polling is disabled)
+    private static volatile Queue<MessageEvent> messageQueue;
+    // guards pollEvents, pollPayloads, and pollArena against concurrent drasyl_node_poll_events calls
+    private static final Object POLL_LOCK = new Object();
+    private static final List<MessageEvent> pollEvents = new ArrayList<>();
+    private static final List<byte[]> pollPayloads = new ArrayList<>();
+    // holds the payloads handed over by the last drasyl_node_poll_events call
+    private static CCharPointer pollArena = WordFactory.nullPointer();
+    private static long pollArenaCapacity;
 
     private LibDrasyl() {
 
@@ -243,6 +261,21 @@ final class LibDrasyl {
                         online = false;
                     }
 
+                    final Queue<MessageEvent> queue = messageQueue;
+                    if (queue != null && event instanceof MessageEvent) {
+                        if (!queue.offer((MessageEvent) event)) {
+                            LOG.warn("Drop message from `{}` as event queue is full. Poll more often or increase its capacity.", ((MessageEvent) event).getSender());
+                            ReferenceCountUtil.release(((MessageEvent) event).getPayload());
+                        }
+                        return;
+                    }
+                    if (listenerPointer.isNull()) {
+                        if (event instanceof MessageEvent) {
+                            ReferenceCountUtil.release(((MessageEvent) event).getPayload());
+                        }
+                        return;
+                    }
+
                     final NodeEventType nodeEventType = StackValue.get(NodeEventType.class);
 
                     if (event instanceof NodeEvent) {
@@ -307,9 +340,19 @@ final class LibDrasyl {
                     // message events
                     else if (event instanceof MessageEvent) {
                         CTypeConversion.toCString(((MessageEvent) event).getSender().toString(), UTF_8, nodeEventType.getMessageSender(), IDENTITY_PUBLIC_KEY_LENGTH);
-                        final String payload = ((MessageEvent) event).getPayload().toString();
-                        nodeEventType.setMessagePayloadLength(payload.length());
-                        final CCharPointerHolder cCharPointerHolder = CTypeConversion.toCString(payload);
+                        final Object payload = ((MessageEvent) event).getPayload();
+                        final CCharPointerHolder cCharPointerHolder;
+                        if (payload instanceof byte[] || payload instanceof ByteBuf) {
+                            // sent by drasyl_node_send_batch or received as ByteBuf
+                            final byte[] payloadBytes = payloadBytes(payload);
+                            nodeEventType.setMessagePayloadLength(payloadBytes.length);
+                            cCharPointerHolder = CTypeConversion.toCBytes(payloadBytes);
+                        }
+                        else {
+                            final String payloadString = payload.toString();
+                            nodeEventType.setMessagePayloadLength(payloadString.length());
+                            cCharPointerHolder = CTypeConversion.toCString(payloadString);
+                        }
                         nodeEventType.setMessagePayload(cCharPointerHolder.get());
                         nodeEventType.setEventCode(DRASYL_EVENT_MESSAGE);
                     }
@@ -374,6 +417,22 @@ final class LibDrasyl {
         try {
             node.shutdown().toCompletableFuture().join();
             node = null;
+            final Queue<MessageEvent> queue = messageQueue;
+            messageQueue = null;
+            if (queue != null) {
+                // nobody will poll these messages anymore
+                MessageEvent event;
+                while ((event = queue.poll()) != null) {
+                    ReferenceCountUtil.release(event.getPayload());
+                }
+            }
+            synchronized (POLL_LOCK) {
+                if (pollArena.isNonNull()) {
+                    UnmanagedMemory.free(pollArena);
+                    pollArena = WordFactory.nullPointer();
+                    pollArenaCapacity = 0;
+                }
+            }
             return DRASYL_SUCCESS;
         }
         catch (final Exception e) {
@@ -423,6 +482,142 @@ final class LibDrasyl {
         }
     }
 
+    @SuppressWarnings({ "java:S1166", "java:S2221" })
+    @CEntryPoint(name = "drasyl_node_send_batch")
+    private static int nodeSendBatch(final IsolateThread thread,
+                                     final MessageType messages,
+                                     final int count) {
+        if (node == null) {
+            return DRASYL_ERROR_GENERAL;
+        }
+
+        try {
+            // consecutive messages to the same recipient are written with a single flush
+            final List<byte[]> payloads = new ArrayList<>();
+            DrasylAddress recipient = null;
+            for (int i = 0; i < count; i++) {
+                final MessageType message = messages.addressOf(i);
+                final byte[] recipientBytes = new byte[IDENTITY_PUBLIC_KEY_LENGTH_AS_BYTES];
+                CTypeConversion.asByteBuffer(message.getPeer(), IDENTITY_PUBLIC_KEY_LENGTH_AS_BYTES).get(recipientBytes);
+                final DrasylAddress messageRecipient = IdentityPublicKey.of(recipientBytes);
+                if (recipient != null && !recipient.equals(messageRecipient)) {
+                    node.sendBatch(recipient, payloads);
+                    payloads.clear();
+                }
+                recipient = messageRecipient;
+
+                final byte[] payload = new byte[message.getPayloadLength()];
+                CTypeConversion.asByteBuffer(message.getPayload(), payload.length).get(payload);
+                payloads.add(payload);
+            }
+            if (recipient != null) {
+                node.sendBatch(recipient, payloads);
+            }
+            return DRASYL_SUCCESS;
+        }
+        catch (final Exception e) {
+            LOG.error("Could not send messages:", e);
+            return DRASYL_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "drasyl_node_enable_event_polling")
+    private static int nodeEnableEventPolling(final IsolateThread thread, final int capacity) {
+        if (node == null || capacity < 1) {
+            return DRASYL_ERROR_GENERAL;
+        }
+
+        messageQueue = PlatformDependent.newFixedMpscQueue(capacity);
+        return DRASYL_SUCCESS;
+    }
+
+    /**
+     * Copies up to {@code max} queued message events to {@code messages}. Payloads are copied to a
+     * buffer that is reused by the next call, so only one isolate crossing and no allocation of
+     * native memory is required per batch. Concurrent calls are serialized. As each call
+     * invalidates the payloads of the previous one, only a single thread should poll.
+     * <p>
+     * Payloads are copied out of the dequeued events right away and {@link ByteBuf} payloads are
+     * released. If copying to {@code messages} fails (e.g., because the buffer could not be
+     * allocated), the dequeued events are lost and {@link #DRASYL_ERROR_GENERAL} is returned.
+     */
+    @SuppressWarnings({ "java:S1166", "java:S2221" })
+    @CEntryPoint(name = "drasyl_node_poll_events")
+    private static int nodePollEvents(final IsolateThread thread,
+                                      final MessageType messages,
+                                      final int max) {
+        final Queue<MessageEvent> queue = messageQueue;
+        if (queue == null) {
+            return DRASYL_ERROR_GENERAL;
+        }
+
+        synchronized (POLL_LOCK) {
+            try {
+                long payloadsLength = 0;
+                MessageEvent event;
+                while (pollEvents.size() < max && (event = queue.poll()) != null) {
+                    final byte[] payload = payloadBytes(event.getPayload());
+                    pollEvents.add(event);
+                    pollPayloads.add(payload);
+                    payloadsLength += payload.length;
+                }
+
+                // payloads of the previous batch are no longer in use
+                if (payloadsLength > pollArenaCapacity) {
+                    pollArena = pollArena.isNull() ? UnmanagedMemory.malloc(WordFactory.unsigned(payloadsLength)) : UnmanagedMemory.realloc(pollArena, WordFactory.unsigned(payloadsLength));
+                    pollArenaCapacity = payloadsLength;
+                }
+
+                long offset = 0;
+                for (int i = 0; i < pollEvents.size(); i++) {
+                    final MessageType message = messages.addressOf(i);
+                    final byte[] payload = pollPayloads.get(i);
+                    CTypeConversion.asByteBuffer(message.getPeer(), IDENTITY_PUBLIC_KEY_LENGTH_AS_BYTES).put(pollEvents.get(i).getSender().toByteArray());
+                    final CCharPointer payloadPointer = pollArena.addressOf(WordFactory.signed(offset));
+                    if (payload.length > 0) {
+                        CTypeConversion.asByteBuffer(payloadPointer, payload.length).put(payload);
+                    }
+                    message.setPayload(payloadPointer);
+                    message.setPayloadLength(payload.length);
+                    offset += payload.length;
+                }
+                return pollEvents.size();
+            }
+            catch (final Exception e) {
+                LOG.error("Could not poll events:", e);
+                return DRASYL_ERROR_GENERAL;
+            }
+            finally {
+                pollEvents.clear();
+                pollPayloads.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the bytes of {@code payload}. The readable bytes of a {@link ByteBuf} are copied and
+     * the buffer is released.
+     */
+    private static byte[] payloadBytes(final Object payload) {
+        if (payload instanceof byte[]) {
+            return (byte[]) payload;
+        }
+        else if (payload instanceof ByteBuf) {
+            try {
+                return ByteBufUtil.getBytes((ByteBuf) payload);
+            }
+            finally {
+                ((ByteBuf) payload).release();
+            }
+        }
+        else if (payload == null) {
+            return new byte[0];
+        }
+        else {
+            return payload.toString().getBytes(UTF_8);
+        }
+    }
+
     @CEntryPoint(name = "drasyl_node_is_online")
     private static int nodeIsOnline(final IsolateThread thread) {
         if (online) {
@@ -542,6 +737,30 @@ final class LibDrasyl {
         void setMessagePayloadLength(int value);
     }
 
+    /**
+     * C struct representing a {@link MessageEvent} handed over by {@code drasyl_node_poll_events}
+     * or a message passed to {@code drasyl_node_send_batch}.
+     */
+    @CStruct(value = "drasyl_message_t")
+    private interface MessageType extends PointerBase {
+        @CFieldAddress("peer")
+        CCharPointer getPeer();
+
+        @CField("payload_len")
+        int getPayloadLength();
+
+        @CField("payload_len")
+        void setPayloadLength(int value);
+
+        @CField("payload")
+        CCharPointer getPayload();
+
+        @CField("payload")
+        void setPayload(CCharPointer value);
+
+        MessageType addressOf(int index);
+    }
+
     static final class Directives implements CContext.Directives {
         @Override
         public List<String> getOptions() {